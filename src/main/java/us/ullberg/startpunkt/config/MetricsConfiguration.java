@@ -0,0 +1,51 @@
+package us.ullberg.startpunkt.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+import java.util.Set;
+
+/**
+ * Configures the meters of the event pipeline. The timers from a Kubernetes event to its delivery
+ * to subscribers publish histogram buckets, so that percentiles can be aggregated across replicas
+ * in Prometheus. The dashboard in {@code deploy/grafana} is built on these meters.
+ */
+@Singleton
+public class MetricsConfiguration {
+
+  /** Timers of the event pipeline that publish histogram buckets. */
+  static final Set<String> PIPELINE_TIMERS =
+      Set.of(
+          "startpunkt.informer.handler",
+          "startpunkt.cache.load",
+          "startpunkt.cache.reload",
+          "startpunkt.snapshot.render",
+          "startpunkt.events.fanout",
+          "startpunkt.remote.sync",
+          "startpunkt.availability.cycle");
+
+  /**
+   * Enables histogram buckets for the timers of the event pipeline.
+   *
+   * @return the meter filter
+   */
+  @Produces
+  @Singleton
+  public MeterFilter pipelineHistograms() {
+    return new MeterFilter() {
+      @Override
+      public DistributionStatisticConfig configure(
+          Meter.Id id, DistributionStatisticConfig config) {
+        if (id.getType() != Meter.Type.TIMER || !PIPELINE_TIMERS.contains(id.getName())) {
+          return config;
+        }
+        return DistributionStatisticConfig.builder()
+            .percentilesHistogram(true)
+            .build()
+            .merge(config);
+      }
+    };
+  }
+}
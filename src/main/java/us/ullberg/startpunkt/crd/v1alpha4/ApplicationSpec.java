@@ -81,6 +81,11 @@ public class ApplicationSpec implements Comparable<ApplicationSpec> {
   @JsonPropertyDescription("Comma-separated tags for filtering applications")
   private String tags;
 
+  /** How the availability of the application is checked. */
+  @JsonProperty("probe")
+  @JsonPropertyDescription("How the availability of the application is checked")
+  private ProbeSpec probe;
+
   /** Default constructor. */
   public ApplicationSpec() {}
 
@@ -414,6 +419,24 @@ public class ApplicationSpec implements Comparable<ApplicationSpec> {
     this.urlFrom = urlFrom;
   }
 
+  /**
+   * Gets the availability probe settings.
+   *
+   * @return probe settings or null to use the global defaults
+   */
+  public ProbeSpec getProbe() {
+    return probe;
+  }
+
+  /**
+   * Sets the availability probe settings.
+   *
+   * @param probe probe settings
+   */
+  public void setProbe(ProbeSpec probe) {
+    this.probe = probe;
+  }
+
   /**
    * Compares this ApplicationSpec with another for sorting by group, location, and name. Group and
    * name comparisons are case-insensitive.
@@ -489,6 +512,9 @@ public class ApplicationSpec implements Comparable<ApplicationSpec> {
     if (tags != null ? !tags.equals(that.tags) : that.tags != null) {
       return false;
     }
+    if (probe != null ? !probe.equals(that.probe) : that.probe != null) {
+      return false;
+    }
     return true;
   }
 
@@ -510,6 +536,7 @@ public class ApplicationSpec implements Comparable<ApplicationSpec> {
     result = 31 * result + (enabled != null ? enabled.hashCode() : 0);
     result = 31 * result + (rootPath != null ? rootPath.hashCode() : 0);
     result = 31 * result + (urlFrom != null ? urlFrom.hashCode() : 0);
+    result = 31 * result + (probe != null ? probe.hashCode() : 0);
     return result;
   }
 
@@ -553,6 +580,8 @@ public class ApplicationSpec implements Comparable<ApplicationSpec> {
         + '\''
         + ", urlFrom="
         + urlFrom
+        + ", probe="
+        + probe
         + '}';
   }
 }
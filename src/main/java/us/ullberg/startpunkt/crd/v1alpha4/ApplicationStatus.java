@@ -1,15 +1,38 @@
 package us.ullberg.startpunkt.crd.v1alpha4;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 
 /**
- * Represents the status of an {@link Application} custom resource. This class can be extended to
- * include status-related fields.
+ * Represents the status of an {@link Application} custom resource.
+ *
+ * <p>The status carries the result of the latest availability probe. It is written by the replica
+ * that holds the availability leader lease and read by all other replicas through their informers,
+ * so that every URL is probed once regardless of the number of replicas.
  *
  * <p>Non-empty JSON properties are included in serialization.
  */
 @JsonInclude(JsonInclude.Include.NON_EMPTY)
+@RegisterForReflection(registerFullHierarchy = true)
 public class ApplicationStatus {
+
+  /** Whether the application was available at the last probe. */
+  @JsonProperty("available")
+  @JsonPropertyDescription("Whether the application was available at the last probe")
+  private Boolean available;
+
+  /** Time of the last probe in RFC 3339 format. */
+  @JsonProperty("lastChecked")
+  @JsonPropertyDescription("Time of the last probe")
+  private String lastChecked;
+
+  /** Response time of the last probe in milliseconds. */
+  @JsonProperty("latencyMs")
+  @JsonPropertyDescription("Response time of the last probe in milliseconds")
+  private Long latencyMs;
+
   /**
    * Creates an empty ApplicationStatus. Explicit constructor provided for clarity and documentation
    * compliance.
@@ -18,5 +41,88 @@ public class ApplicationStatus {
     super();
   }
 
-  // This class is currently empty, but it can be extended to include status fields
+  /**
+   * Creates an ApplicationStatus with the result of a probe.
+   *
+   * @param available whether the application was available
+   * @param lastChecked time of the probe in RFC 3339 format
+   * @param latencyMs response time in milliseconds, or null if no response was received
+   */
+  public ApplicationStatus(Boolean available, String lastChecked, Long latencyMs) {
+    this.available = available;
+    this.lastChecked = lastChecked;
+    this.latencyMs = latencyMs;
+  }
+
+  /**
+   * Gets whether the application was available at the last probe.
+   *
+   * @return availability or null if never probed
+   */
+  public Boolean getAvailable() {
+    return available;
+  }
+
+  /**
+   * Sets whether the application was available at the last probe.
+   *
+   * @param available availability
+   */
+  public void setAvailable(Boolean available) {
+    this.available = available;
+  }
+
+  /**
+   * Gets the time of the last probe.
+   *
+   * @return time in RFC 3339 format or null if never probed
+   */
+  public String getLastChecked() {
+    return lastChecked;
+  }
+
+  /**
+   * Sets the time of the last probe.
+   *
+   * @param lastChecked time in RFC 3339 format
+   */
+  public void setLastChecked(String lastChecked) {
+    this.lastChecked = lastChecked;
+  }
+
+  /**
+   * Gets the response time of the last probe.
+   *
+   * @return response time in milliseconds or null if no response was received
+   */
+  public Long getLatencyMs() {
+    return latencyMs;
+  }
+
+  /**
+   * Sets the response time of the last probe.
+   *
+   * @param latencyMs response time in milliseconds
+   */
+  public void setLatencyMs(Long latencyMs) {
+    this.latencyMs = latencyMs;
+  }
+
+  /**
+   * Returns a string representation of this ApplicationStatus.
+   *
+   * @return string with field values
+   */
+  @Override
+  public String toString() {
+    return "ApplicationStatus{"
+        + "available="
+        + available
+        + ", lastChecked='"
+        + lastChecked
+        + '\''
+        + ", latencyMs="
+        + latencyMs
+        + '}';
+  }
 }
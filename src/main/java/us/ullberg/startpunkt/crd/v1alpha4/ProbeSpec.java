@@ -0,0 +1,168 @@
+package us.ullberg.startpunkt.crd.v1alpha4;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Describes how the availability of an application is checked.
+ *
+ * <p>Cheaper strategies such as a plain TCP connect or a TLS handshake can be selected for
+ * applications where a full HTTP request is unnecessary, while a GET with an expected status and
+ * body prefix can be used where a response code alone is not a reliable signal.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+@RegisterForReflection(registerFullHierarchy = true)
+public class ProbeSpec {
+
+  /** Probe strategy. */
+  @JsonProperty("type")
+  @JsonPropertyDescription(
+      "Probe strategy: 'tcp', 'tls', 'head', 'head-follow' or 'get'"
+          + " (defaults to the global setting)")
+  private String type;
+
+  /** HTTP status code that marks the application available. */
+  @JsonProperty("expectedStatus")
+  @JsonPropertyDescription(
+      "HTTP status code that marks the application available (HTTP strategies only)")
+  private Integer expectedStatus;
+
+  /** Prefix the response body must start with. */
+  @JsonProperty("bodyPrefix")
+  @JsonPropertyDescription("Prefix the response body must start with ('get' strategy only)")
+  private String bodyPrefix;
+
+  /** Default constructor. */
+  public ProbeSpec() {}
+
+  /**
+   * Parameterized constructor.
+   *
+   * @param type probe strategy
+   * @param expectedStatus HTTP status code that marks the application available
+   * @param bodyPrefix prefix the response body must start with
+   */
+  public ProbeSpec(String type, Integer expectedStatus, String bodyPrefix) {
+    this.type = type;
+    this.expectedStatus = expectedStatus;
+    this.bodyPrefix = bodyPrefix;
+  }
+
+  /**
+   * Gets the probe strategy.
+   *
+   * @return probe strategy or null to use the global setting
+   */
+  public String getType() {
+    return type;
+  }
+
+  /**
+   * Sets the probe strategy.
+   *
+   * @param type probe strategy
+   */
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  /**
+   * Gets the HTTP status code that marks the application available.
+   *
+   * @return expected status code or null to accept any non-error response
+   */
+  public Integer getExpectedStatus() {
+    return expectedStatus;
+  }
+
+  /**
+   * Sets the HTTP status code that marks the application available.
+   *
+   * @param expectedStatus expected status code
+   */
+  public void setExpectedStatus(Integer expectedStatus) {
+    this.expectedStatus = expectedStatus;
+  }
+
+  /**
+   * Gets the prefix the response body must start with.
+   *
+   * @return body prefix or null if the body is not checked
+   */
+  public String getBodyPrefix() {
+    return bodyPrefix;
+  }
+
+  /**
+   * Sets the prefix the response body must start with.
+   *
+   * @param bodyPrefix body prefix
+   */
+  public void setBodyPrefix(String bodyPrefix) {
+    this.bodyPrefix = bodyPrefix;
+  }
+
+  /**
+   * Checks if this ProbeSpec is equal to another object.
+   *
+   * @param o other object
+   * @return true if equal
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+
+    ProbeSpec probeSpec = (ProbeSpec) o;
+
+    if (type != null ? !type.equals(probeSpec.type) : probeSpec.type != null) {
+      return false;
+    }
+    if (expectedStatus != null
+        ? !expectedStatus.equals(probeSpec.expectedStatus)
+        : probeSpec.expectedStatus != null) {
+      return false;
+    }
+    return bodyPrefix != null
+        ? bodyPrefix.equals(probeSpec.bodyPrefix)
+        : probeSpec.bodyPrefix == null;
+  }
+
+  /**
+   * Computes a hash code for this ProbeSpec.
+   *
+   * @return hash code
+   */
+  @Override
+  public int hashCode() {
+    int result = type != null ? type.hashCode() : 0;
+    result = 31 * result + (expectedStatus != null ? expectedStatus.hashCode() : 0);
+    result = 31 * result + (bodyPrefix != null ? bodyPrefix.hashCode() : 0);
+    return result;
+  }
+
+  /**
+   * Returns a string representation of this ProbeSpec.
+   *
+   * @return string with field values
+   */
+  @Override
+  public String toString() {
+    return "ProbeSpec{"
+        + "type='"
+        + type
+        + '\''
+        + ", expectedStatus="
+        + expectedStatus
+        + ", bodyPrefix='"
+        + bodyPrefix
+        + '\''
+        + '}';
+  }
+}
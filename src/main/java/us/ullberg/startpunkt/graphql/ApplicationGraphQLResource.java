@@ -25,16 +25,20 @@ import us.ullberg.startpunkt.crd.v1alpha4.ApplicationSpec;
 import us.ullberg.startpunkt.graphql.exception.ApplicationConflictException;
 import us.ullberg.startpunkt.graphql.input.CreateApplicationInput;
 import us.ullberg.startpunkt.graphql.input.UpdateApplicationInput;
+import us.ullberg.startpunkt.graphql.types.ApplicationChangesType;
 import us.ullberg.startpunkt.graphql.types.ApplicationGroupType;
 import us.ullberg.startpunkt.graphql.types.ApplicationType;
 import us.ullberg.startpunkt.graphql.types.ApplicationUpdateEvent;
 import us.ullberg.startpunkt.graphql.types.ApplicationUpdateType;
+import us.ullberg.startpunkt.graphql.types.ResourceKeyType;
+import us.ullberg.startpunkt.graphql.types.SourceStatusType;
 import us.ullberg.startpunkt.messaging.EventBroadcaster;
 import us.ullberg.startpunkt.objects.ApplicationGroup;
 import us.ullberg.startpunkt.objects.ApplicationResponse;
 import us.ullberg.startpunkt.service.ApplicationCacheService;
 import us.ullberg.startpunkt.service.ApplicationService;
 import us.ullberg.startpunkt.service.AvailabilityCheckService;
+import us.ullberg.startpunkt.service.CacheChanges;
 
 /**
  * GraphQL API resource for applications. Provides queries for retrieving applications with optional
@@ -128,6 +132,7 @@ public class ApplicationGraphQLResource {
   public List<ApplicationGroupType> getApplicationGroups(
       @Name("tags") @Description("Optional tags to filter applications") List<String> tags) {
     Log.debugf("GraphQL query: applicationGroups with tags: %s", tags);
+    availabilityCheckService.recordDemand();
 
     // Retrieve applications
     ArrayList<ApplicationResponse> applist = retrieveAppsWithAvailability();
@@ -165,6 +170,61 @@ public class ApplicationGraphQLResource {
         .collect(java.util.stream.Collectors.toList());
   }
 
+  /**
+   * Retrieve the applications changed since a version, for incremental synchronization by remote
+   * Startpunkt instances. Returns the same applications as {@code applicationGroups} without tags;
+   * an application that gains tags is reported as removed.
+   *
+   * @param since the version returned by the previous call, or null to get all applications
+   * @return the changes and the version to pass on the next call
+   */
+  @Query("applicationChanges")
+  @Description("Retrieve the applications changed since a version, for incremental synchronization")
+  @Timed(value = "graphql.query.applicationChanges")
+  public ApplicationChangesType getApplicationChanges(
+      @Name("since") @Description("Version returned by the previous call; omit to get everything")
+          String since) {
+    Log.debugf("GraphQL query: applicationChanges since %s", since);
+    CacheChanges<ApplicationResponse> changes = applicationCacheService.getChangesSince(since);
+
+    ApplicationChangesType result = new ApplicationChangesType();
+    result.version = changes.version();
+    result.full = changes.full();
+    result.changed = new ArrayList<>();
+    result.removed = new ArrayList<>();
+    for (ApplicationResponse app : changes.changed()) {
+      if (app.getTags() == null || app.getTags().trim().isEmpty()) {
+        result.changed.add(ApplicationType.fromResponse(app));
+      } else if (!changes.full()) {
+        result.removed.add(toResourceKey(app));
+      }
+    }
+    for (ApplicationResponse app : changes.removed()) {
+      result.removed.add(toResourceKey(app));
+    }
+    return result;
+  }
+
+  /**
+   * Retrieve the state of every source the applications are loaded from, such as a resource type in
+   * a cluster or a remote Startpunkt instance.
+   *
+   * @return the state of each source, sorted by name
+   */
+  @Query("applicationSources")
+  @Description("Retrieve the state of every source the applications are loaded from")
+  @Timed(value = "graphql.query.applicationSources")
+  public List<SourceStatusType> getApplicationSources() {
+    Log.debug("GraphQL query: applicationSources");
+    return applicationCacheService.getPartitionStatuses().stream()
+        .map(SourceStatusType::fromPartitionStatus)
+        .collect(java.util.stream.Collectors.toList());
+  }
+
+  private static ResourceKeyType toResourceKey(ApplicationResponse app) {
+    return new ResourceKeyType(app.getCluster(), app.getNamespace(), app.getResourceName());
+  }
+
   /**
    * Retrieve a single application by group and name.
    *
@@ -429,17 +489,23 @@ public class ApplicationGraphQLResource {
    * <p>Clients can subscribe to this to receive notifications when applications are added, updated,
    * or removed. Optional filtering by namespace and tags is supported.
    *
+   * <p>When {@code diff} is true, UPDATED events for which the previous version is known carry only
+   * the stable id, the changed field names and a JSON merge patch instead of the full application.
+   *
    * @param namespace optional namespace filter (only events for this namespace will be sent)
    * @param tags optional list of tags to filter applications
+   * @param diff whether UPDATED events should carry only the changed fields
    * @return Multi stream of application update events
    */
   @Subscription("applicationUpdates")
   @Description("Subscribe to real-time application updates with optional filtering")
   public Multi<ApplicationUpdateEvent> subscribeToApplicationUpdates(
       @Name("namespace") @Description("Optional namespace filter") String namespace,
-      @Name("tags") @Description("Optional tags to filter applications") List<String> tags) {
+      @Name("tags") @Description("Optional tags to filter applications") List<String> tags,
+      @Name("diff") @Description("Send only the changed fields for UPDATED events") Boolean diff) {
     Log.debugf(
-        "GraphQL subscription: applicationUpdates with namespace=%s, tags=%s", namespace, tags);
+        "GraphQL subscription: applicationUpdates with namespace=%s, tags=%s, diff=%s",
+        namespace, tags, diff);
 
     Multi<ApplicationUpdateEvent> stream = subscriptionEventEmitter.getApplicationStream();
 
@@ -491,7 +557,28 @@ public class ApplicationGraphQLResource {
       }
     }
 
-    return stream;
+    // Strip the full payload once filtering is done, so filters still see the application
+    if (Boolean.TRUE.equals(diff)) {
+      stream = stream.map(ApplicationUpdateEvent::toDiffOnly);
+    }
+
+    return trackViewer(stream);
+  }
+
+  /**
+   * Counts a subscription as an active viewer for as long as it stays open, so that availability
+   * probing runs at full rate while someone is looking at the dashboard.
+   *
+   * @param stream the subscription stream
+   * @param <T> the event type
+   * @return the stream, reporting subscribe and cancel to the availability check service
+   */
+  private <T> Multi<T> trackViewer(Multi<T> stream) {
+    return stream
+        .onSubscription()
+        .invoke(subscription -> availabilityCheckService.viewerConnected())
+        .onTermination()
+        .invoke(availabilityCheckService::viewerDisconnected);
   }
 
   /**
@@ -503,10 +590,11 @@ public class ApplicationGraphQLResource {
   @Description("Subscribe to notifications when new applications are added")
   public Multi<ApplicationType> subscribeToApplicationsAdded() {
     Log.debug("GraphQL subscription: applicationAdded");
-    return subscriptionEventEmitter
-        .getApplicationStream()
-        .filter(event -> event.getType() == ApplicationUpdateType.ADDED)
-        .map(ApplicationUpdateEvent::getApplication);
+    return trackViewer(
+        subscriptionEventEmitter
+            .getApplicationStream()
+            .filter(event -> event.getType() == ApplicationUpdateType.ADDED)
+            .map(ApplicationUpdateEvent::getApplication));
   }
 
   /**
@@ -518,10 +606,11 @@ public class ApplicationGraphQLResource {
   @Description("Subscribe to notifications when applications are removed")
   public Multi<ApplicationType> subscribeToApplicationsRemoved() {
     Log.debug("GraphQL subscription: applicationRemoved");
-    return subscriptionEventEmitter
-        .getApplicationStream()
-        .filter(event -> event.getType() == ApplicationUpdateType.REMOVED)
-        .map(ApplicationUpdateEvent::getApplication);
+    return trackViewer(
+        subscriptionEventEmitter
+            .getApplicationStream()
+            .filter(event -> event.getType() == ApplicationUpdateType.REMOVED)
+            .map(ApplicationUpdateEvent::getApplication));
   }
 
   /**
@@ -533,9 +622,10 @@ public class ApplicationGraphQLResource {
   @Description("Subscribe to notifications when applications are updated")
   public Multi<ApplicationType> subscribeToApplicationsUpdated() {
     Log.debug("GraphQL subscription: applicationUpdated");
-    return subscriptionEventEmitter
-        .getApplicationStream()
-        .filter(event -> event.getType() == ApplicationUpdateType.UPDATED)
-        .map(ApplicationUpdateEvent::getApplication);
+    return trackViewer(
+        subscriptionEventEmitter
+            .getApplicationStream()
+            .filter(event -> event.getType() == ApplicationUpdateType.UPDATED)
+            .map(ApplicationUpdateEvent::getApplication));
   }
 }
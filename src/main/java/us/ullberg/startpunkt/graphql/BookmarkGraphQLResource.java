@@ -24,16 +24,20 @@ import us.ullberg.startpunkt.crd.v1alpha4.BookmarkSpec;
 import us.ullberg.startpunkt.graphql.exception.BookmarkConflictException;
 import us.ullberg.startpunkt.graphql.input.CreateBookmarkInput;
 import us.ullberg.startpunkt.graphql.input.UpdateBookmarkInput;
+import us.ullberg.startpunkt.graphql.types.BookmarkChangesType;
 import us.ullberg.startpunkt.graphql.types.BookmarkGroupType;
 import us.ullberg.startpunkt.graphql.types.BookmarkType;
 import us.ullberg.startpunkt.graphql.types.BookmarkUpdateEvent;
 import us.ullberg.startpunkt.graphql.types.BookmarkUpdateType;
+import us.ullberg.startpunkt.graphql.types.ResourceKeyType;
+import us.ullberg.startpunkt.graphql.types.SourceStatusType;
 import us.ullberg.startpunkt.messaging.EventBroadcaster;
 import us.ullberg.startpunkt.objects.BookmarkGroup;
 import us.ullberg.startpunkt.objects.BookmarkResponse;
 import us.ullberg.startpunkt.service.BookmarkCacheService;
 import us.ullberg.startpunkt.service.BookmarkManagementService;
 import us.ullberg.startpunkt.service.BookmarkService;
+import us.ullberg.startpunkt.service.CacheChanges;
 
 /**
  * GraphQL API resource for bookmarks. Provides queries for retrieving bookmarks grouped by their
@@ -96,6 +100,52 @@ public class BookmarkGraphQLResource {
     return groups.stream().map(BookmarkGroupType::fromBookmarkGroup).collect(Collectors.toList());
   }
 
+  /**
+   * Retrieve the bookmarks changed since a version, for incremental synchronization by remote
+   * Startpunkt instances.
+   *
+   * @param since the version returned by the previous call, or null to get all bookmarks
+   * @return the changes and the version to pass on the next call
+   */
+  @Query("bookmarkChanges")
+  @Description("Retrieve the bookmarks changed since a version, for incremental synchronization")
+  @Timed(value = "graphql.query.bookmarkChanges")
+  public BookmarkChangesType getBookmarkChanges(
+      @Name("since") @Description("Version returned by the previous call; omit to get everything")
+          String since) {
+    Log.debugf("GraphQL query: bookmarkChanges since %s", since);
+    CacheChanges<BookmarkResponse> changes = bookmarkCacheService.getChangesSince(since);
+
+    BookmarkChangesType result = new BookmarkChangesType();
+    result.version = changes.version();
+    result.full = changes.full();
+    result.changed = changes.changed().stream().map(BookmarkType::fromResponse).toList();
+    result.removed =
+        changes.removed().stream()
+            .map(
+                bookmark ->
+                    new ResourceKeyType(
+                        bookmark.getCluster(), bookmark.getNamespace(), bookmark.getResourceName()))
+            .toList();
+    return result;
+  }
+
+  /**
+   * Retrieve the state of every source the bookmarks are loaded from, such as a resource type in a
+   * cluster or a remote Startpunkt instance.
+   *
+   * @return the state of each source, sorted by name
+   */
+  @Query("bookmarkSources")
+  @Description("Retrieve the state of every source the bookmarks are loaded from")
+  @Timed(value = "graphql.query.bookmarkSources")
+  public List<SourceStatusType> getBookmarkSources() {
+    Log.debug("GraphQL query: bookmarkSources");
+    return bookmarkCacheService.getPartitionStatuses().stream()
+        .map(SourceStatusType::fromPartitionStatus)
+        .collect(Collectors.toList());
+  }
+
   /**
    * Retrieves bookmarks from the cache and sorts them alphabetically.
    *
@@ -261,13 +311,22 @@ public class BookmarkGraphQLResource {
    * <p>Clients can subscribe to this to receive notifications when bookmarks are added, updated, or
    * removed.
    *
+   * <p>When {@code diff} is true, UPDATED events for which the previous version is known carry only
+   * the stable id, the changed field names and a JSON merge patch instead of the full bookmark.
+   *
+   * @param diff whether UPDATED events should carry only the changed fields
    * @return Multi stream of bookmark update events
    */
   @Subscription("bookmarkUpdates")
   @Description("Subscribe to real-time bookmark updates")
-  public Multi<BookmarkUpdateEvent> subscribeToBookmarkUpdates() {
-    Log.debug("GraphQL subscription: bookmarkUpdates");
-    return subscriptionEventEmitter.getBookmarkStream();
+  public Multi<BookmarkUpdateEvent> subscribeToBookmarkUpdates(
+      @Name("diff") @Description("Send only the changed fields for UPDATED events") Boolean diff) {
+    Log.debugf("GraphQL subscription: bookmarkUpdates with diff=%s", diff);
+    Multi<BookmarkUpdateEvent> stream = subscriptionEventEmitter.getBookmarkStream();
+    if (Boolean.TRUE.equals(diff)) {
+      stream = stream.map(BookmarkUpdateEvent::toDiffOnly);
+    }
+    return stream;
   }
 
   /**
@@ -16,14 +16,17 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.graphql.Description;
 import org.eclipse.microprofile.graphql.GraphQLApi;
 import org.eclipse.microprofile.graphql.Name;
 import org.eclipse.microprofile.graphql.Query;
+import us.ullberg.startpunkt.service.IconCatalog;
 
 /**
- * GraphQL API resource for Iconify icon search. Proxies requests to the Iconify API to avoid CORS
- * issues.
+ * GraphQL API resource for Iconify icon search. Searches are answered from the local {@link
+ * IconCatalog}; when it has no hits, requests are proxied to the Iconify API, which also avoids
+ * CORS issues, unless the remote fallback is disabled.
  */
 @GraphQLApi
 @ApplicationScoped
@@ -34,15 +37,24 @@ public class IconifyGraphQLResource {
   private static final int MAX_LIMIT = 100;
   private final HttpClient httpClient;
   private final ObjectMapper objectMapper;
+  private final IconCatalog iconCatalog;
 
-  /** Constructor for IconifyGraphQLResource. Initializes HTTP client and JSON object mapper. */
-  public IconifyGraphQLResource() {
+  @ConfigProperty(name = "startpunkt.icons.search.remoteFallback", defaultValue = "true")
+  boolean remoteFallback;
+
+  /**
+   * Constructor for IconifyGraphQLResource. Initializes HTTP client and JSON object mapper.
+   *
+   * @param iconCatalog the local icon catalog
+   */
+  public IconifyGraphQLResource(IconCatalog iconCatalog) {
     this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
     this.objectMapper = new ObjectMapper();
+    this.iconCatalog = iconCatalog;
   }
 
   /**
-   * Search for icons using the Iconify API.
+   * Search for icons in the local catalog, falling back to the Iconify API when it has no hits.
    *
    * @param query The search query
    * @param limit Maximum number of results (default: 20, max: 100)
@@ -51,7 +63,6 @@ public class IconifyGraphQLResource {
   @Query("searchIcons")
   @Description("Search for icons from Iconify")
   @Timed(value = "iconify.search", description = "Time spent searching icons")
-  @CacheResult(cacheName = "iconify-search-cache")
   public IconSearchResult searchIcons(@Name("query") String query, @Name("limit") Integer limit) {
 
     if (query == null || query.trim().isEmpty()) {
@@ -61,6 +72,26 @@ public class IconifyGraphQLResource {
 
     int actualLimit = limit != null ? Math.min(limit, MAX_LIMIT) : DEFAULT_LIMIT;
 
+    IconCatalog.SearchResult local = iconCatalog.search(query, actualLimit);
+    if (local.total() > 0) {
+      Log.debugf("Found %d icons for query in the local catalog: %s", local.total(), query);
+      return new IconSearchResult(local.icons(), local.total());
+    }
+    if (!remoteFallback) {
+      return new IconSearchResult(new ArrayList<>(), 0);
+    }
+    return searchRemote(query, actualLimit);
+  }
+
+  /**
+   * Search for icons using the Iconify API.
+   *
+   * @param query The search query
+   * @param actualLimit Maximum number of results
+   * @return List of icon identifiers
+   */
+  @CacheResult(cacheName = "iconify-search-cache")
+  IconSearchResult searchRemote(String query, int actualLimit) {
     try {
       String encodedQuery = URLEncoder.encode(query.trim(), StandardCharsets.UTF_8);
       String url =
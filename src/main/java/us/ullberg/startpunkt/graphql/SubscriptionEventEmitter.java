@@ -1,9 +1,17 @@
 package us.ullberg.startpunkt.graphql;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.logging.Log;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import us.ullberg.startpunkt.graphql.types.ApplicationUpdateEvent;
 import us.ullberg.startpunkt.graphql.types.BookmarkUpdateEvent;
 
@@ -13,6 +21,12 @@ import us.ullberg.startpunkt.graphql.types.BookmarkUpdateEvent;
  * <p>This service provides reactive streams for application and bookmark update events that can be
  * subscribed to via GraphQL subscriptions. It uses Mutiny's BroadcastProcessor to fan-out events to
  * multiple subscribers.
+ *
+ * <p>Every subscriber gets its own instrumented view of a stream. The number of open subscriptions
+ * is reported in {@code startpunkt.subscriptions.active}, the time from the creation of an event in
+ * the informer callback to its delivery to each subscriber in {@code startpunkt.events.fanout}, and
+ * events a subscriber could not keep up with are dropped for that subscriber only and counted in
+ * {@code startpunkt.subscriptions.dropped}.
  */
 @ApplicationScoped
 public class SubscriptionEventEmitter {
@@ -25,6 +39,19 @@ public class SubscriptionEventEmitter {
   private final BroadcastProcessor<BookmarkUpdateEvent> bookmarkEventProcessor =
       BroadcastProcessor.create();
 
+  private final StreamMetrics applicationMetrics;
+  private final StreamMetrics bookmarkMetrics;
+
+  /**
+   * Constructor with injected dependencies.
+   *
+   * @param meterRegistry the meter registry used to report subscriptions and their delivery
+   */
+  public SubscriptionEventEmitter(MeterRegistry meterRegistry) {
+    this.applicationMetrics = new StreamMetrics(meterRegistry, "applications");
+    this.bookmarkMetrics = new StreamMetrics(meterRegistry, "bookmarks");
+  }
+
   /**
    * Get the reactive stream for application update events.
    *
@@ -33,7 +60,8 @@ public class SubscriptionEventEmitter {
    * @return Multi stream of application update events
    */
   public Multi<ApplicationUpdateEvent> getApplicationStream() {
-    return applicationEventProcessor;
+    return applicationMetrics.instrument(
+        applicationEventProcessor, ApplicationUpdateEvent::getTimestamp);
   }
 
   /**
@@ -44,7 +72,7 @@ public class SubscriptionEventEmitter {
    * @return Multi stream of bookmark update events
    */
   public Multi<BookmarkUpdateEvent> getBookmarkStream() {
-    return bookmarkEventProcessor;
+    return bookmarkMetrics.instrument(bookmarkEventProcessor, BookmarkUpdateEvent::getTimestamp);
   }
 
   /**
@@ -90,4 +118,47 @@ public class SubscriptionEventEmitter {
       Log.error("Error emitting bookmark update event", e);
     }
   }
+
+  /** Meters of the subscribers of one stream. */
+  private static final class StreamMetrics {
+    private final AtomicInteger active = new AtomicInteger();
+    private final Timer fanout;
+    private final Counter dropped;
+
+    StreamMetrics(MeterRegistry meterRegistry, String stream) {
+      Gauge.builder("startpunkt.subscriptions.active", active, AtomicInteger::get)
+          .description("Number of open GraphQL subscriptions")
+          .tag("stream", stream)
+          .register(meterRegistry);
+      this.fanout =
+          Timer.builder("startpunkt.events.fanout")
+              .description("Time from the creation of an event to its delivery to a subscriber")
+              .tag("stream", stream)
+              .register(meterRegistry);
+      this.dropped =
+          Counter.builder("startpunkt.subscriptions.dropped")
+              .description("Events dropped because a subscriber did not keep up")
+              .tag("stream", stream)
+              .register(meterRegistry);
+    }
+
+    <T> Multi<T> instrument(Multi<T> events, Function<T, Instant> timestamp) {
+      return events
+          .onOverflow()
+          .invoke(event -> dropped.increment())
+          .drop()
+          .onItem()
+          .invoke(event -> record(timestamp.apply(event)))
+          .onSubscription()
+          .invoke(subscription -> active.incrementAndGet())
+          .onTermination()
+          .invoke(active::decrementAndGet);
+    }
+
+    private void record(Instant created) {
+      if (created != null) {
+        fanout.record(Duration.between(created, Instant.now()));
+      }
+    }
+  }
 }
@@ -0,0 +1,30 @@
+package us.ullberg.startpunkt.graphql.types;
+
+import java.util.List;
+import org.eclipse.microprofile.graphql.Description;
+import org.eclipse.microprofile.graphql.Type;
+
+/**
+ * GraphQL type for the applications changed since a version. Used by remote Startpunkt instances to
+ * synchronize incrementally.
+ */
+@Type("ApplicationChanges")
+@Description("Applications added, updated or removed since a version")
+public class ApplicationChangesType {
+
+  @Description("Version to pass as 'since' on the next call")
+  public String version;
+
+  @Description(
+      "True if 'changed' holds all applications and previously received ones must be dropped")
+  public boolean full;
+
+  @Description("Applications added or updated since the version")
+  public List<ApplicationType> changed;
+
+  @Description("Applications removed since the version")
+  public List<ResourceKeyType> removed;
+
+  /** Default constructor for GraphQL. */
+  public ApplicationChangesType() {}
+}
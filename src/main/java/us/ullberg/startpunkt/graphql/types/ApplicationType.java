@@ -44,6 +44,15 @@ public class ApplicationType {
   @Description("Whether the application is currently reachable")
   public Boolean available;
 
+  @Description("Median response time of recent availability probes in milliseconds")
+  public Long responseTimeP50;
+
+  @Description("95th percentile response time of recent availability probes in milliseconds")
+  public Long responseTimeP95;
+
+  @Description("Percentage of successful availability probes over the last 24 hours")
+  public Double uptime24h;
+
   @Description("Kubernetes namespace of the resource")
   public String namespace;
 
@@ -80,6 +89,9 @@ public class ApplicationType {
     type.rootPath = response.getRootPath();
     type.tags = response.getTags();
     type.available = response.getAvailable();
+    type.responseTimeP50 = response.getResponseTimeP50();
+    type.responseTimeP95 = response.getResponseTimeP95();
+    type.uptime24h = response.getUptime24h();
     type.namespace = response.getNamespace();
     type.resourceName = response.getResourceName();
     type.hasOwnerReferences = response.getHasOwnerReferences();
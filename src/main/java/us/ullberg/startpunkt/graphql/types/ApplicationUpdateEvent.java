@@ -1,6 +1,7 @@
 package us.ullberg.startpunkt.graphql.types;
 
 import java.time.Instant;
+import java.util.List;
 import org.eclipse.microprofile.graphql.Description;
 import org.eclipse.microprofile.graphql.Type;
 
@@ -22,6 +23,19 @@ public class ApplicationUpdateEvent {
   @Description("Timestamp when the event occurred")
   private Instant timestamp;
 
+  @Description("Stable identifier of the application (cluster/namespace/resourceName)")
+  private String id;
+
+  @Description(
+      "Names of the fields that changed since the previous version (UPDATED events only, when"
+          + " known)")
+  private List<String> changedFields;
+
+  @Description(
+      "JSON merge patch (RFC 7396) against the previous version of the application (UPDATED events"
+          + " only, when known)")
+  private String patch;
+
   /** Default constructor for serialization. */
   public ApplicationUpdateEvent() {}
 
@@ -62,4 +76,55 @@ public class ApplicationUpdateEvent {
   public void setTimestamp(Instant timestamp) {
     this.timestamp = timestamp;
   }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public List<String> getChangedFields() {
+    return changedFields;
+  }
+
+  public void setChangedFields(List<String> changedFields) {
+    this.changedFields = changedFields;
+  }
+
+  public String getPatch() {
+    return patch;
+  }
+
+  public void setPatch(String patch) {
+    this.patch = patch;
+  }
+
+  /**
+   * Checks whether this event carries a field-level diff.
+   *
+   * @return true if a patch against the previous version is available
+   */
+  public boolean hasPatch() {
+    return patch != null;
+  }
+
+  /**
+   * Creates a diff-only copy of this event. The copy carries the id, changed fields and patch but
+   * omits the full application payload. Events without a patch are returned unchanged.
+   *
+   * @return a diff-only copy of this event, or this event if no patch is available
+   */
+  public ApplicationUpdateEvent toDiffOnly() {
+    if (!hasPatch()) {
+      return this;
+    }
+
+    ApplicationUpdateEvent diff = new ApplicationUpdateEvent(type, null, timestamp);
+    diff.setId(id);
+    diff.setChangedFields(changedFields);
+    diff.setPatch(patch);
+    return diff;
+  }
 }
@@ -0,0 +1,29 @@
+package us.ullberg.startpunkt.graphql.types;
+
+import java.util.List;
+import org.eclipse.microprofile.graphql.Description;
+import org.eclipse.microprofile.graphql.Type;
+
+/**
+ * GraphQL type for the bookmarks changed since a version. Used by remote Startpunkt instances to
+ * synchronize incrementally.
+ */
+@Type("BookmarkChanges")
+@Description("Bookmarks added, updated or removed since a version")
+public class BookmarkChangesType {
+
+  @Description("Version to pass as 'since' on the next call")
+  public String version;
+
+  @Description("True if 'changed' holds all bookmarks and previously received ones must be dropped")
+  public boolean full;
+
+  @Description("Bookmarks added or updated since the version")
+  public List<BookmarkType> changed;
+
+  @Description("Bookmarks removed since the version")
+  public List<ResourceKeyType> removed;
+
+  /** Default constructor for GraphQL. */
+  public BookmarkChangesType() {}
+}
@@ -0,0 +1,35 @@
+package us.ullberg.startpunkt.graphql.types;
+
+import org.eclipse.microprofile.graphql.Description;
+import org.eclipse.microprofile.graphql.Type;
+
+/** GraphQL type identifying an application or bookmark by its Kubernetes metadata. */
+@Type("ResourceKey")
+@Description("Identifies an application or bookmark by cluster, namespace and resource name")
+public class ResourceKeyType {
+
+  @Description("Cluster name")
+  public String cluster;
+
+  @Description("Kubernetes namespace")
+  public String namespace;
+
+  @Description("Kubernetes resource name")
+  public String resourceName;
+
+  /** Default constructor for GraphQL. */
+  public ResourceKeyType() {}
+
+  /**
+   * Constructor with all fields.
+   *
+   * @param cluster cluster name
+   * @param namespace Kubernetes namespace
+   * @param resourceName Kubernetes resource name
+   */
+  public ResourceKeyType(String cluster, String namespace, String resourceName) {
+    this.cluster = cluster;
+    this.namespace = namespace;
+    this.resourceName = resourceName;
+  }
+}
@@ -0,0 +1,49 @@
+package us.ullberg.startpunkt.graphql.types;
+
+import org.eclipse.microprofile.graphql.Description;
+import org.eclipse.microprofile.graphql.Type;
+import us.ullberg.startpunkt.service.PartitionStatus;
+
+/** GraphQL type describing the state of one source of applications or bookmarks. */
+@Type("SourceStatus")
+@Description("State of one source of applications or bookmarks, such as a resource type or remote")
+public class SourceStatusType {
+
+  @Description("Source name, cluster/source")
+  public String source;
+
+  @Description("Number of entries last loaded from the source")
+  public int size;
+
+  @Description("When the source was last loaded successfully (ISO-8601), if ever")
+  public String lastUpdated;
+
+  @Description("When loading the source last failed (ISO-8601), if ever")
+  public String lastFailed;
+
+  @Description("Reason of the last failure")
+  public String error;
+
+  @Description("Whether the entries are last-known-good data because the latest load failed")
+  public boolean stale;
+
+  /** Default constructor for GraphQL. */
+  public SourceStatusType() {}
+
+  /**
+   * Create a GraphQL type from the status of a cache partition.
+   *
+   * @param status the partition status
+   * @return the GraphQL type
+   */
+  public static SourceStatusType fromPartitionStatus(PartitionStatus status) {
+    SourceStatusType type = new SourceStatusType();
+    type.source = status.partition();
+    type.size = status.size();
+    type.lastUpdated = status.lastUpdated() == null ? null : status.lastUpdated().toString();
+    type.lastFailed = status.lastFailed() == null ? null : status.lastFailed().toString();
+    type.error = status.error();
+    type.stale = status.stale();
+    return type;
+  }
+}
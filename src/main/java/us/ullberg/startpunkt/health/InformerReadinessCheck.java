@@ -0,0 +1,123 @@
+package us.ullberg.startpunkt.health;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.List;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+import us.ullberg.startpunkt.service.ApplicationCacheService;
+import us.ullberg.startpunkt.service.BookmarkCacheService;
+import us.ullberg.startpunkt.service.KubernetesInformerService;
+import us.ullberg.startpunkt.service.MultiClusterService;
+import us.ullberg.startpunkt.service.PartitionStatus;
+import us.ullberg.startpunkt.service.RemoteStartpunktClient;
+
+/**
+ * Readiness {@link HealthCheck} based on the state Startpunkt already keeps in memory, so that
+ * frequent readiness probes never call the Kubernetes API server.
+ *
+ * <p>The replica is ready once the informers have been started and the caches loaded from them,
+ * and as long as every informer is running. Informers reconnect on their own, so a watch that is
+ * being re-established is reported but does not make the replica unready. Remote Startpunkt
+ * instances are reported as well; a failing remote only means its last-known-good data is served,
+ * so it does not affect readiness either.
+ */
+@Readiness
+@ApplicationScoped
+public class InformerReadinessCheck implements HealthCheck {
+
+  private final KubernetesInformerService informerService;
+  private final MultiClusterService multiClusterService;
+  private final RemoteStartpunktClient remoteStartpunktClient;
+  private final ApplicationCacheService applicationCacheService;
+  private final BookmarkCacheService bookmarkCacheService;
+
+  /**
+   * Constructor with injected dependencies.
+   *
+   * @param informerService the informer service
+   * @param multiClusterService the multi-cluster service, listing the remotes
+   * @param remoteStartpunktClient the remote client, whose circuit breakers are reported
+   * @param applicationCacheService the application cache, whose remote sources are reported
+   * @param bookmarkCacheService the bookmark cache, whose remote sources are reported
+   */
+  public InformerReadinessCheck(
+      KubernetesInformerService informerService,
+      MultiClusterService multiClusterService,
+      RemoteStartpunktClient remoteStartpunktClient,
+      ApplicationCacheService applicationCacheService,
+      BookmarkCacheService bookmarkCacheService) {
+    this.informerService = informerService;
+    this.multiClusterService = multiClusterService;
+    this.remoteStartpunktClient = remoteStartpunktClient;
+    this.applicationCacheService = applicationCacheService;
+    this.bookmarkCacheService = bookmarkCacheService;
+  }
+
+  /**
+   * Performs the readiness check from the state of the informers and caches.
+   *
+   * @return a HealthCheckResponse indicating up/down status and the state of each source
+   */
+  @Override
+  public HealthCheckResponse call() {
+    HealthCheckResponseBuilder responseBuilder =
+        HealthCheckResponse.named("Kubernetes informer readiness check");
+
+    boolean ready;
+    if (!informerService.isWatchEnabled()) {
+      responseBuilder.withData("Informers", "disabled");
+      ready = true;
+    } else if (informerService.getInitializationError() != null) {
+      responseBuilder.withData("Initial sync", "failed");
+      responseBuilder.withData("error", informerService.getInitializationError());
+      ready = false;
+    } else if (!informerService.isInitialSyncComplete()) {
+      responseBuilder.withData("Initial sync", "pending");
+      ready = false;
+    } else {
+      responseBuilder.withData("Initial sync", "complete");
+      ready = true;
+      for (KubernetesInformerService.InformerStatus informer :
+          informerService.getInformerStatuses()) {
+        responseBuilder.withData(informer.name() + " informer", describe(informer));
+        ready &= informer.running();
+      }
+    }
+
+    for (String clusterName : multiClusterService.getAllClusterConfigs().keySet()) {
+      responseBuilder.withData(clusterName + " remote", describeRemote(clusterName));
+    }
+
+    return responseBuilder.status(ready).build();
+  }
+
+  private String describeRemote(String clusterName) {
+    if (remoteStartpunktClient.isCircuitOpen(clusterName)) {
+      return "circuit open";
+    }
+    String partition = RemoteStartpunktClient.partition(clusterName);
+    for (List<PartitionStatus> statuses :
+        List.of(
+            applicationCacheService.getPartitionStatuses(),
+            bookmarkCacheService.getPartitionStatuses())) {
+      for (PartitionStatus status : statuses) {
+        if (status.partition().equals(partition) && status.stale()) {
+          return "stale: " + status.error();
+        }
+      }
+    }
+    return "ok";
+  }
+
+  private static String describe(KubernetesInformerService.InformerStatus informer) {
+    if (!informer.running()) {
+      return "stopped";
+    }
+    if (!informer.synced()) {
+      return "syncing";
+    }
+    return informer.watching() ? "watching" : "reconnecting";
+  }
+}
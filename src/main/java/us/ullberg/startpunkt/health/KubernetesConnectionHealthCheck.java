@@ -1,24 +1,37 @@
 package us.ullberg.startpunkt.health;
 
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.Instant;
 import java.util.logging.Logger;
 import org.eclipse.microprofile.health.HealthCheck;
 import org.eclipse.microprofile.health.HealthCheckResponse;
 import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
-import org.eclipse.microprofile.health.Readiness;
+import org.eclipse.microprofile.health.HealthGroup;
 
 /**
  * {@link HealthCheck} that verifies connectivity and availability of key Kubernetes API groups.
  *
- * <p>This readiness check queries the Kubernetes cluster for its version, node count, namespace
- * count, and presence of specific API groups used by the application.
+ * <p>This check queries the Kubernetes cluster for its version, node count, namespace count, and
+ * presence of specific API groups used by the application. Listing nodes and namespaces and
+ * running API discovery is expensive on large clusters, so the result is refreshed on a slow
+ * schedule and served from memory. It is exposed in the {@code kubernetes} health group at {@code
+ * /q/health/group/kubernetes}; readiness is decided by {@link InformerReadinessCheck}.
  */
-@Readiness
+@HealthGroup(KubernetesConnectionHealthCheck.GROUP)
+@ApplicationScoped
 public class KubernetesConnectionHealthCheck implements HealthCheck {
+  /** Name of the health group of this check. */
+  public static final String GROUP = "kubernetes";
+
   private static final Logger LOGGER =
       Logger.getLogger(KubernetesConnectionHealthCheck.class.getName());
   private final KubernetesClient client;
 
+  // Result of the last refresh, null until the first one
+  private volatile HealthCheckResponse inventory;
+
   /**
    * Constructs a KubernetesConnectionHealthCheck with the given Kubernetes client.
    *
@@ -29,12 +42,31 @@ public class KubernetesConnectionHealthCheck implements HealthCheck {
   }
 
   /**
-   * Performs the health check by querying Kubernetes cluster details and API group availability.
+   * Returns the result of the last inventory refresh, refreshing it if there was none yet.
    *
    * @return a HealthCheckResponse indicating up/down status and cluster information
    */
   @Override
   public HealthCheckResponse call() {
+    HealthCheckResponse response = inventory;
+    return response != null ? response : refresh();
+  }
+
+  /** Refreshes the inventory in the background. */
+  @Scheduled(
+      every = "${startpunkt.health.inventory.interval:10m}",
+      delayed = "${startpunkt.health.inventory.interval:10m}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void refreshInventory() {
+    refresh();
+  }
+
+  /**
+   * Queries Kubernetes cluster details and API group availability.
+   *
+   * @return the refreshed response
+   */
+  private HealthCheckResponse refresh() {
     HealthCheckResponseBuilder responseBuilder =
         HealthCheckResponse.named("Kubernetes connection health check");
 
@@ -52,6 +84,7 @@ public class KubernetesConnectionHealthCheck implements HealthCheck {
       responseBuilder.withData("Traefik API group found", client.hasApiGroup("traefik.io", true));
       responseBuilder.withData(
           "Gateway API group found", client.hasApiGroup("gateway.networking.k8s.io", true));
+      responseBuilder.withData("Checked at", Instant.now().toString());
 
       responseBuilder.up();
     } catch (Exception e) {
@@ -59,6 +92,8 @@ public class KubernetesConnectionHealthCheck implements HealthCheck {
       responseBuilder.down().withData("error", e.getMessage());
     }
 
-    return responseBuilder.build();
+    HealthCheckResponse response = responseBuilder.build();
+    inventory = response;
+    return response;
   }
 }
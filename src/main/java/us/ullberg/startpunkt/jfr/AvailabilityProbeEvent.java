@@ -0,0 +1,30 @@
+package us.ullberg.startpunkt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Flight Recorder event for one availability probe of an application URL. */
+@Name("us.ullberg.startpunkt.AvailabilityProbe")
+@Label("Availability Probe")
+@Description("A single availability probe of an application URL")
+@Category({"Startpunkt", "Availability"})
+@StackTrace(false)
+public class AvailabilityProbeEvent extends Event {
+
+  @Label("URL")
+  public String url;
+
+  @Label("Strategy")
+  public String strategy;
+
+  @Label("Available")
+  public boolean available;
+
+  @Label("Failure")
+  @Description("Why the application was considered unavailable, if it was")
+  public String failure;
+}
@@ -0,0 +1,44 @@
+package us.ullberg.startpunkt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for an event broadcast to GraphQL subscribers. Events that are not
+ * emitted, because they are debounced or duplicates, are recorded without a duration.
+ */
+@Name("us.ullberg.startpunkt.Broadcast")
+@Label("Broadcast")
+@Description("An event broadcast to GraphQL subscribers, or why it was not")
+@Category({"Startpunkt", "Subscriptions"})
+@StackTrace(false)
+public class BroadcastEvent extends Event {
+
+  /** Outcome of an event that was passed to the subscribers. */
+  public static final String EMITTED = "emitted";
+
+  /** Outcome of an event coalesced with an earlier one of the same type. */
+  public static final String DEBOUNCED = "debounced";
+
+  /** Outcome of an event dropped because the same change was already broadcast. */
+  public static final String DUPLICATE = "duplicate";
+
+  @Label("Event")
+  @Description("The event type, e.g. APPLICATION_UPDATED")
+  public String event;
+
+  @Label("Outcome")
+  @Description("emitted, debounced or duplicate")
+  public String outcome;
+
+  @Label("Resource")
+  @Description("The object the event is about, cluster/namespace/name")
+  public String resource;
+
+  @Label("Deduplication Key")
+  public String dedupKey;
+}
@@ -0,0 +1,34 @@
+package us.ullberg.startpunkt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Flight Recorder event for handling one Kubernetes informer event. */
+@Name("us.ullberg.startpunkt.InformerEvent")
+@Label("Informer Event")
+@Description("Handling of an informer event for a single Kubernetes object")
+@Category({"Startpunkt", "Kubernetes"})
+@StackTrace(false)
+public class InformerEvent extends Event {
+
+  @Label("Resource")
+  @Description("Group, version and kind of the object")
+  public String gvk;
+
+  @Label("Action")
+  @Description("add, update or delete")
+  public String action;
+
+  @Label("Namespace")
+  public String namespace;
+
+  @Label("Name")
+  public String name;
+
+  @Label("Resource Version")
+  public String resourceVersion;
+}
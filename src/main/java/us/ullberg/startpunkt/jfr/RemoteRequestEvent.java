@@ -0,0 +1,44 @@
+package us.ullberg.startpunkt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** Flight Recorder event for one request to a remote Startpunkt instance. */
+@Name("us.ullberg.startpunkt.RemoteRequest")
+@Label("Remote Request")
+@Description("A request to a remote Startpunkt instance, from sending it to parsing the response")
+@Category({"Startpunkt", "Remote"})
+@StackTrace(false)
+public class RemoteRequestEvent extends Event {
+
+  @Label("Kind")
+  @Description("GraphQL or Sync")
+  public String kind;
+
+  @Label("URI")
+  public String uri;
+
+  @Label("Status")
+  public int status;
+
+  @Label("Response Size")
+  @Description("Size of the response body as received, before decompression")
+  @DataAmount
+  public long bytes;
+
+  @Label("Compressed")
+  public boolean gzip;
+
+  @Label("Parse Time")
+  @Timespan(Timespan.NANOSECONDS)
+  public long parseTime;
+
+  @Label("Error")
+  public String error;
+}
@@ -0,0 +1,31 @@
+package us.ullberg.startpunkt.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Flight Recorder event for loading one source of the application or bookmark cache. */
+@Name("us.ullberg.startpunkt.SourceLoad")
+@Label("Cache Source Load")
+@Description("Loading the entries of one source into the application or bookmark cache")
+@Category({"Startpunkt", "Cache"})
+@StackTrace(false)
+public class SourceLoadEvent extends Event {
+
+  @Label("Cache")
+  @Description("The cache type, applications or bookmarks")
+  public String type;
+
+  @Label("Source")
+  @Description("The partition of the cache, cluster/source")
+  public String source;
+
+  @Label("Entries")
+  public int entries;
+
+  @Label("Success")
+  public boolean success;
+}
@@ -1,10 +1,17 @@
 package us.ullberg.startpunkt.messaging;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.arc.Arc;
 import io.quarkus.logging.Log;
 import jakarta.enterprise.context.ApplicationScoped;
-import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -17,6 +24,7 @@ import us.ullberg.startpunkt.graphql.types.ApplicationUpdateType;
 import us.ullberg.startpunkt.graphql.types.BookmarkType;
 import us.ullberg.startpunkt.graphql.types.BookmarkUpdateEvent;
 import us.ullberg.startpunkt.graphql.types.BookmarkUpdateType;
+import us.ullberg.startpunkt.jfr.BroadcastEvent;
 import us.ullberg.startpunkt.objects.ApplicationResponse;
 import us.ullberg.startpunkt.objects.BookmarkResponse;
 
@@ -25,7 +33,22 @@ import us.ullberg.startpunkt.objects.BookmarkResponse;
  *
  * <p>This service provides methods to broadcast various types of events (application changes,
  * bookmark updates, etc.) to all connected clients via GraphQL subscriptions. It includes
- * debouncing logic to prevent flooding clients with rapid updates.
+ * debouncing logic to prevent flooding clients with rapid updates. Events are debounced per event
+ * type and object, so that a change of one object never hides the change of another.
+ *
+ * <p>Changes made through GraphQL mutations are broadcast immediately by the mutation resolver and
+ * then observed again a moment later by the Kubernetes informer. To make sure every logical change
+ * reaches subscribers exactly once, events are deduplicated by the resource's {@code uid} and
+ * {@code resourceVersion} within a short window ({@code
+ * startpunkt.graphql.subscription.dedupWindowMs}). Suppressed duplicates are counted in the {@code
+ * startpunkt.events.duplicates.suppressed} metric.
+ *
+ * <p>The last broadcast projection of every application and bookmark is retained so that UPDATED
+ * events can also carry a JSON merge patch of just the fields that changed. Subscribers may opt
+ * into receiving only that diff instead of the full payload.
+ *
+ * <p>Every event that is emitted, debounced or suppressed as a duplicate is recorded as a Flight
+ * Recorder {@link BroadcastEvent}.
  */
 @ApplicationScoped
 public class EventBroadcaster {
@@ -36,8 +59,35 @@ public class EventBroadcaster {
   @ConfigProperty(name = "startpunkt.websocket.eventDebounceMs", defaultValue = "500")
   long eventDebounceMs;
 
-  // Track last broadcast time for each event type to implement debouncing
-  private final Map<String, Instant> lastBroadcastTimes = new ConcurrentHashMap<>();
+  @ConfigProperty(name = "startpunkt.graphql.subscription.dedupWindowMs", defaultValue = "5000")
+  long dedupWindowMs;
+
+  private final MeterRegistry meterRegistry;
+
+  // Track last broadcast time for each event type and object to implement debouncing, in the
+  // order they were broadcast; all entries share the same window, so the eldest entry is always the
+  // first to expire
+  // Key format: "EVENT_TYPE:cluster/namespace/resourceName" (or "EVENT_TYPE" for status changes)
+  private final LinkedHashMap<String, Instant> lastBroadcastTimes = new LinkedHashMap<>();
+
+  // Track recently broadcast resource versions to suppress duplicate events, in the order they were
+  // claimed; all keys share the same window, so the eldest key is always the first to expire
+  // Key format: "EVENT_KIND:uid@resourceVersion" (or "EVENT_KIND:uid" for removals)
+  private final LinkedHashMap<String, Instant> recentEventKeys = new LinkedHashMap<>();
+
+  // Last broadcast projection per object, used to compute field-level diffs for UPDATED events
+  // Key format: "cluster/namespace/resourceName"
+  private final Map<String, ApplicationType> applicationProjections = new ConcurrentHashMap<>();
+  private final Map<String, BookmarkType> bookmarkProjections = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor with injected dependencies.
+   *
+   * @param meterRegistry the meter registry used to count suppressed duplicate events
+   */
+  public EventBroadcaster(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
 
   /**
    * Get the subscription event emitter if available using Arc CDI container.
@@ -54,19 +104,150 @@ public class EventBroadcaster {
   }
 
   /**
-   * Checks if an event should be debounced based on the last broadcast time.
+   * Checks if an event should be debounced based on the last broadcast time of the same event for
+   * the same object, and records the broadcast if it should not.
    *
-   * @param eventKey the unique key for the event
+   * @param eventKey the event type key
+   * @param data the object the event is about, or data that does not identify an object
    * @return true if the event should be debounced, false otherwise
    */
-  private boolean shouldDebounce(String eventKey) {
-    Instant lastBroadcast = lastBroadcastTimes.get(eventKey);
-    if (lastBroadcast == null) {
+  private boolean shouldDebounce(String eventKey, Object data) {
+    String object = describe(data);
+    String debounceKey = object != null ? eventKey + ":" + object : eventKey;
+
+    Instant now = Instant.now();
+    Instant cutoff = now.minusMillis(eventDebounceMs);
+    synchronized (lastBroadcastTimes) {
+      Iterator<Instant> broadcast = lastBroadcastTimes.values().iterator();
+      while (broadcast.hasNext() && !broadcast.next().isAfter(cutoff)) {
+        broadcast.remove();
+      }
+      return lastBroadcastTimes.putIfAbsent(debounceKey, now) != null;
+    }
+  }
+
+  /**
+   * Builds the deduplication key for a Kubernetes resource event.
+   *
+   * <p>Added and updated events are keyed by {@code uid@resourceVersion}, so the mutation response
+   * and the informer notification for the same write produce the same key. Removals are keyed by
+   * {@code uid} only, because the informer's final state may carry a newer resource version than
+   * the object read before deletion.
+   *
+   * @param eventKind the event kind (e.g., "APPLICATION", "BOOKMARK")
+   * @param removal whether the event is a removal
+   * @param data the resource the event is about
+   * @return the deduplication key, or null if the resource carries no identifying metadata
+   */
+  static String getDedupKey(String eventKind, boolean removal, Object data) {
+    if (!(data instanceof HasMetadata resource) || resource.getMetadata() == null) {
+      return null;
+    }
+
+    ObjectMeta metadata = resource.getMetadata();
+    String identity =
+        metadata.getUid() != null
+            ? metadata.getUid()
+            : metadata.getNamespace() + "/" + metadata.getName();
+
+    if (removal) {
+      return eventKind + "_REMOVED:" + identity;
+    }
+
+    if (metadata.getResourceVersion() == null) {
+      return null;
+    }
+    return eventKind + ":" + identity + "@" + metadata.getResourceVersion();
+  }
+
+  /**
+   * Claims a deduplication key for an event. Returns true if the same logical change has already
+   * been broadcast within the deduplication window.
+   *
+   * @param dedupKey the deduplication key, or null to skip deduplication
+   * @param eventKey the event type key used for metric tagging
+   * @return true if the event is a duplicate and should be suppressed
+   */
+  boolean isDuplicate(String dedupKey, String eventKey) {
+    if (dedupKey == null || dedupWindowMs <= 0) {
       return false;
     }
 
-    Duration timeSinceLastBroadcast = Duration.between(lastBroadcast, Instant.now());
-    return timeSinceLastBroadcast.toMillis() < eventDebounceMs;
+    Instant now = Instant.now();
+    Instant cutoff = now.minusMillis(dedupWindowMs);
+    synchronized (recentEventKeys) {
+      Iterator<Instant> claimed = recentEventKeys.values().iterator();
+      while (claimed.hasNext() && claimed.next().isBefore(cutoff)) {
+        claimed.remove();
+      }
+      if (recentEventKeys.putIfAbsent(dedupKey, now) == null) {
+        return false;
+      }
+    }
+
+    Log.debugf("Suppressing duplicate event: %s (%s)", eventKey, dedupKey);
+    meterRegistry.counter("startpunkt.events.duplicates.suppressed", "event", eventKey).increment();
+    recordBroadcast(new BroadcastEvent(), eventKey, BroadcastEvent.DUPLICATE, dedupKey, null);
+    return true;
+  }
+
+  /**
+   * Drops an event coalesced with an earlier one of the same type for the same object. The
+   * deduplication key is released so that a later copy of the same change is still delivered.
+   *
+   * @param eventKey the event type key
+   * @param dedupKey the deduplication key, or null
+   * @param data the resource the event is about
+   */
+  private void debounced(String eventKey, String dedupKey, Object data) {
+    Log.debugf("Debouncing event: %s", eventKey);
+    releaseDedupKey(dedupKey);
+    recordBroadcast(new BroadcastEvent(), eventKey, BroadcastEvent.DEBOUNCED, dedupKey, data);
+  }
+
+  /**
+   * Commits a Flight Recorder event for an event that was emitted or dropped. The object is only
+   * described when the event is recorded.
+   */
+  private static void recordBroadcast(
+      BroadcastEvent broadcast, String eventKey, String outcome, String dedupKey, Object data) {
+    broadcast.end();
+    if (broadcast.shouldCommit()) {
+      broadcast.event = eventKey;
+      broadcast.outcome = outcome;
+      broadcast.dedupKey = dedupKey;
+      broadcast.resource = describe(data);
+      broadcast.commit();
+    }
+  }
+
+  private static String describe(Object data) {
+    if (data instanceof ApplicationResponse app) {
+      return getProjectionId(app.getCluster(), app.getNamespace(), app.getResourceName());
+    }
+    if (data instanceof BookmarkResponse bookmark) {
+      return getProjectionId(
+          bookmark.getCluster(), bookmark.getNamespace(), bookmark.getResourceName());
+    }
+    if (data instanceof HasMetadata resource && resource.getMetadata() != null) {
+      return getProjectionId(
+          null, resource.getMetadata().getNamespace(), resource.getMetadata().getName());
+    }
+    return null;
+  }
+
+  /**
+   * Releases a previously claimed deduplication key, used when the event was not emitted after all
+   * (e.g., because it was debounced) so that a later copy of the same change is still delivered.
+   *
+   * @param dedupKey the deduplication key, or null
+   */
+  private void releaseDedupKey(String dedupKey) {
+    if (dedupKey != null) {
+      synchronized (recentEventKeys) {
+        recentEventKeys.remove(dedupKey);
+      }
+    }
   }
 
   /**
@@ -81,20 +262,25 @@ public class EventBroadcaster {
     }
 
     String eventKey = "APPLICATION_ADDED";
-    if (shouldDebounce(eventKey)) {
-      Log.debugf("Debouncing event: %s", eventKey);
+    String dedupKey = getDedupKey("APPLICATION", false, applicationData);
+    if (isDuplicate(dedupKey, eventKey)) {
       return;
     }
 
-    lastBroadcastTimes.put(eventKey, Instant.now());
+    if (shouldDebounce(eventKey, applicationData)) {
+      debounced(eventKey, dedupKey, applicationData);
+      return;
+    }
 
+    BroadcastEvent broadcast = new BroadcastEvent();
+    broadcast.begin();
     SubscriptionEventEmitter emitter = getSubscriptionEventEmitter();
     if (emitter != null) {
       try {
         ApplicationType appType = convertToApplicationType(applicationData);
         if (appType != null) {
           ApplicationUpdateEvent event =
-              new ApplicationUpdateEvent(ApplicationUpdateType.ADDED, appType, Instant.now());
+              createApplicationEvent(ApplicationUpdateType.ADDED, appType);
           emitter.emitApplicationUpdate(event);
           Log.infof("Emitted application added event via subscription");
         }
@@ -102,6 +288,7 @@ public class EventBroadcaster {
         Log.error("Error emitting application added event to subscriptions", e);
       }
     }
+    recordBroadcast(broadcast, eventKey, BroadcastEvent.EMITTED, dedupKey, applicationData);
   }
 
   /**
@@ -116,20 +303,25 @@ public class EventBroadcaster {
     }
 
     String eventKey = "APPLICATION_REMOVED";
-    if (shouldDebounce(eventKey)) {
-      Log.debugf("Debouncing event: %s", eventKey);
+    String dedupKey = getDedupKey("APPLICATION", true, applicationData);
+    if (isDuplicate(dedupKey, eventKey)) {
       return;
     }
 
-    lastBroadcastTimes.put(eventKey, Instant.now());
+    if (shouldDebounce(eventKey, applicationData)) {
+      debounced(eventKey, dedupKey, applicationData);
+      return;
+    }
 
+    BroadcastEvent broadcast = new BroadcastEvent();
+    broadcast.begin();
     SubscriptionEventEmitter emitter = getSubscriptionEventEmitter();
     if (emitter != null) {
       try {
         ApplicationType appType = convertToApplicationType(applicationData);
         if (appType != null) {
           ApplicationUpdateEvent event =
-              new ApplicationUpdateEvent(ApplicationUpdateType.REMOVED, appType, Instant.now());
+              createApplicationEvent(ApplicationUpdateType.REMOVED, appType);
           emitter.emitApplicationUpdate(event);
           Log.infof("Emitted application removed event via subscription");
         }
@@ -137,6 +329,7 @@ public class EventBroadcaster {
         Log.error("Error emitting application removed event to subscriptions", e);
       }
     }
+    recordBroadcast(broadcast, eventKey, BroadcastEvent.EMITTED, dedupKey, applicationData);
   }
 
   /**
@@ -151,20 +344,25 @@ public class EventBroadcaster {
     }
 
     String eventKey = "APPLICATION_UPDATED";
-    if (shouldDebounce(eventKey)) {
-      Log.debugf("Debouncing event: %s", eventKey);
+    String dedupKey = getDedupKey("APPLICATION", false, applicationData);
+    if (isDuplicate(dedupKey, eventKey)) {
       return;
     }
 
-    lastBroadcastTimes.put(eventKey, Instant.now());
+    if (shouldDebounce(eventKey, applicationData)) {
+      debounced(eventKey, dedupKey, applicationData);
+      return;
+    }
 
+    BroadcastEvent broadcast = new BroadcastEvent();
+    broadcast.begin();
     SubscriptionEventEmitter emitter = getSubscriptionEventEmitter();
     if (emitter != null) {
       try {
         ApplicationType appType = convertToApplicationType(applicationData);
         if (appType != null) {
           ApplicationUpdateEvent event =
-              new ApplicationUpdateEvent(ApplicationUpdateType.UPDATED, appType, Instant.now());
+              createApplicationEvent(ApplicationUpdateType.UPDATED, appType);
           emitter.emitApplicationUpdate(event);
           Log.infof("Emitted application updated event via subscription");
         }
@@ -172,6 +370,7 @@ public class EventBroadcaster {
         Log.error("Error emitting application updated event to subscriptions", e);
       }
     }
+    recordBroadcast(broadcast, eventKey, BroadcastEvent.EMITTED, dedupKey, applicationData);
   }
 
   /**
@@ -200,13 +399,13 @@ public class EventBroadcaster {
     }
 
     String eventKey = "STATUS_CHANGED";
-    if (shouldDebounce(eventKey)) {
-      Log.debugf("Debouncing event: %s", eventKey);
+    if (shouldDebounce(eventKey, statusData)) {
+      debounced(eventKey, null, statusData);
       return;
     }
 
-    lastBroadcastTimes.put(eventKey, Instant.now());
-
+    BroadcastEvent broadcast = new BroadcastEvent();
+    broadcast.begin();
     SubscriptionEventEmitter emitter = getSubscriptionEventEmitter();
     if (emitter != null) {
       try {
@@ -225,6 +424,7 @@ public class EventBroadcaster {
         Log.error("Error emitting status changed event to subscriptions", e);
       }
     }
+    recordBroadcast(broadcast, eventKey, BroadcastEvent.EMITTED, null, statusData);
   }
 
   /**
@@ -239,20 +439,24 @@ public class EventBroadcaster {
     }
 
     String eventKey = "BOOKMARK_ADDED";
-    if (shouldDebounce(eventKey)) {
-      Log.debugf("Debouncing event: %s", eventKey);
+    String dedupKey = getDedupKey("BOOKMARK", false, bookmarkData);
+    if (isDuplicate(dedupKey, eventKey)) {
       return;
     }
 
-    lastBroadcastTimes.put(eventKey, Instant.now());
+    if (shouldDebounce(eventKey, bookmarkData)) {
+      debounced(eventKey, dedupKey, bookmarkData);
+      return;
+    }
 
+    BroadcastEvent broadcast = new BroadcastEvent();
+    broadcast.begin();
     SubscriptionEventEmitter emitter = getSubscriptionEventEmitter();
     if (emitter != null) {
       try {
         BookmarkType bookmarkType = convertToBookmarkType(bookmarkData);
         if (bookmarkType != null) {
-          BookmarkUpdateEvent event =
-              new BookmarkUpdateEvent(BookmarkUpdateType.ADDED, bookmarkType, Instant.now());
+          BookmarkUpdateEvent event = createBookmarkEvent(BookmarkUpdateType.ADDED, bookmarkType);
           emitter.emitBookmarkUpdate(event);
           Log.infof("Emitted bookmark added event via subscription");
         }
@@ -260,6 +464,7 @@ public class EventBroadcaster {
         Log.error("Error emitting bookmark added event to subscriptions", e);
       }
     }
+    recordBroadcast(broadcast, eventKey, BroadcastEvent.EMITTED, dedupKey, bookmarkData);
   }
 
   /**
@@ -274,20 +479,24 @@ public class EventBroadcaster {
     }
 
     String eventKey = "BOOKMARK_REMOVED";
-    if (shouldDebounce(eventKey)) {
-      Log.debugf("Debouncing event: %s", eventKey);
+    String dedupKey = getDedupKey("BOOKMARK", true, bookmarkData);
+    if (isDuplicate(dedupKey, eventKey)) {
       return;
     }
 
-    lastBroadcastTimes.put(eventKey, Instant.now());
+    if (shouldDebounce(eventKey, bookmarkData)) {
+      debounced(eventKey, dedupKey, bookmarkData);
+      return;
+    }
 
+    BroadcastEvent broadcast = new BroadcastEvent();
+    broadcast.begin();
     SubscriptionEventEmitter emitter = getSubscriptionEventEmitter();
     if (emitter != null) {
       try {
         BookmarkType bookmarkType = convertToBookmarkType(bookmarkData);
         if (bookmarkType != null) {
-          BookmarkUpdateEvent event =
-              new BookmarkUpdateEvent(BookmarkUpdateType.REMOVED, bookmarkType, Instant.now());
+          BookmarkUpdateEvent event = createBookmarkEvent(BookmarkUpdateType.REMOVED, bookmarkType);
           emitter.emitBookmarkUpdate(event);
           Log.infof("Emitted bookmark removed event via subscription");
         }
@@ -295,6 +504,7 @@ public class EventBroadcaster {
         Log.error("Error emitting bookmark removed event to subscriptions", e);
       }
     }
+    recordBroadcast(broadcast, eventKey, BroadcastEvent.EMITTED, dedupKey, bookmarkData);
   }
 
   /**
@@ -309,20 +519,24 @@ public class EventBroadcaster {
     }
 
     String eventKey = "BOOKMARK_UPDATED";
-    if (shouldDebounce(eventKey)) {
-      Log.debugf("Debouncing event: %s", eventKey);
+    String dedupKey = getDedupKey("BOOKMARK", false, bookmarkData);
+    if (isDuplicate(dedupKey, eventKey)) {
       return;
     }
 
-    lastBroadcastTimes.put(eventKey, Instant.now());
+    if (shouldDebounce(eventKey, bookmarkData)) {
+      debounced(eventKey, dedupKey, bookmarkData);
+      return;
+    }
 
+    BroadcastEvent broadcast = new BroadcastEvent();
+    broadcast.begin();
     SubscriptionEventEmitter emitter = getSubscriptionEventEmitter();
     if (emitter != null) {
       try {
         BookmarkType bookmarkType = convertToBookmarkType(bookmarkData);
         if (bookmarkType != null) {
-          BookmarkUpdateEvent event =
-              new BookmarkUpdateEvent(BookmarkUpdateType.UPDATED, bookmarkType, Instant.now());
+          BookmarkUpdateEvent event = createBookmarkEvent(BookmarkUpdateType.UPDATED, bookmarkType);
           emitter.emitBookmarkUpdate(event);
           Log.infof("Emitted bookmark updated event via subscription");
         }
@@ -330,12 +544,87 @@ public class EventBroadcaster {
         Log.error("Error emitting bookmark updated event to subscriptions", e);
       }
     }
+    recordBroadcast(broadcast, eventKey, BroadcastEvent.EMITTED, dedupKey, bookmarkData);
+  }
+
+  /**
+   * Builds the stable identifier of an object from its cluster, namespace and resource name.
+   *
+   * @param cluster the cluster name, or null for the local cluster
+   * @param namespace the namespace
+   * @param resourceName the resource name
+   * @return the stable identifier
+   */
+  static String getProjectionId(String cluster, String namespace, String resourceName) {
+    return String.format("%s/%s/%s", cluster != null ? cluster : "local", namespace, resourceName);
+  }
+
+  /**
+   * Creates an application update event and records the projection. UPDATED events carry a merge
+   * patch against the previously broadcast projection when one is known.
+   *
+   * @param type the update type
+   * @param appType the current application projection
+   * @return the event to emit
+   */
+  ApplicationUpdateEvent createApplicationEvent(
+      ApplicationUpdateType type, ApplicationType appType) {
+    String id = getProjectionId(appType.cluster, appType.namespace, appType.resourceName);
+    ApplicationUpdateEvent event = new ApplicationUpdateEvent(type, appType, Instant.now());
+    event.setId(id);
+
+    if (type == ApplicationUpdateType.REMOVED) {
+      applicationProjections.remove(id);
+      return event;
+    }
+
+    ApplicationType previous = applicationProjections.put(id, appType);
+    if (type == ApplicationUpdateType.UPDATED && previous != null) {
+      ObjectNode patch = JsonMergePatch.diff(previous, appType);
+      event.setChangedFields(fieldNames(patch));
+      event.setPatch(JsonMergePatch.toJson(patch));
+    }
+    return event;
+  }
+
+  /**
+   * Creates a bookmark update event and records the projection. UPDATED events carry a merge patch
+   * against the previously broadcast projection when one is known.
+   *
+   * @param type the update type
+   * @param bookmarkType the current bookmark projection
+   * @return the event to emit
+   */
+  BookmarkUpdateEvent createBookmarkEvent(BookmarkUpdateType type, BookmarkType bookmarkType) {
+    String id =
+        getProjectionId(bookmarkType.cluster, bookmarkType.namespace, bookmarkType.resourceName);
+    BookmarkUpdateEvent event = new BookmarkUpdateEvent(type, bookmarkType, Instant.now());
+    event.setId(id);
+
+    if (type == BookmarkUpdateType.REMOVED) {
+      bookmarkProjections.remove(id);
+      return event;
+    }
+
+    BookmarkType previous = bookmarkProjections.put(id, bookmarkType);
+    if (type == BookmarkUpdateType.UPDATED && previous != null) {
+      ObjectNode patch = JsonMergePatch.diff(previous, bookmarkType);
+      event.setChangedFields(fieldNames(patch));
+      event.setPatch(JsonMergePatch.toJson(patch));
+    }
+    return event;
+  }
+
+  private static List<String> fieldNames(ObjectNode patch) {
+    List<String> names = new ArrayList<>();
+    patch.fieldNames().forEachRemaining(names::add);
+    return names;
   }
 
   /**
    * Converts application data to ApplicationType for GraphQL subscriptions.
    *
-   * @param applicationData the application data (Application CRD)
+   * @param applicationData the application data (Application CRD or remote ApplicationResponse)
    * @return ApplicationType or null if conversion fails
    */
   private ApplicationType convertToApplicationType(Object applicationData) {
@@ -351,6 +640,11 @@ public class EventBroadcaster {
       return ApplicationType.fromResponse(response);
     }
 
+    if (applicationData instanceof ApplicationResponse response) {
+      // Applications received from remote Startpunkt instances
+      return ApplicationType.fromResponse(response);
+    }
+
     Log.warnf("Unknown application data type for subscription: %s", applicationData.getClass());
     return null;
   }
@@ -358,7 +652,7 @@ public class EventBroadcaster {
   /**
    * Converts bookmark data to BookmarkType for GraphQL subscriptions.
    *
-   * @param bookmarkData the bookmark data (Bookmark CRD)
+   * @param bookmarkData the bookmark data (Bookmark CRD or remote BookmarkResponse)
    * @return BookmarkType or null if conversion fails
    */
   private BookmarkType convertToBookmarkType(Object bookmarkData) {
@@ -374,6 +668,11 @@ public class EventBroadcaster {
       return BookmarkType.fromResponse(response);
     }
 
+    if (bookmarkData instanceof BookmarkResponse response) {
+      // Bookmarks received from remote Startpunkt instances
+      return BookmarkType.fromResponse(response);
+    }
+
     Log.warnf("Unknown bookmark data type for subscription: %s", bookmarkData.getClass());
     return null;
   }
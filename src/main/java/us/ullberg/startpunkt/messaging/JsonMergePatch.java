@@ -0,0 +1,85 @@
+package us.ullberg.startpunkt.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * Computes JSON merge patches (RFC 7396) between two projections of the same object.
+ *
+ * <p>The resulting patch contains only the fields whose values differ. Fields that were removed (or
+ * became null) are present in the patch with a JSON {@code null} value, so applying the patch to
+ * the previous projection with merge-patch semantics yields the current projection.
+ */
+public final class JsonMergePatch {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private JsonMergePatch() {
+    // Utility class
+  }
+
+  /**
+   * Computes the merge patch that transforms {@code previous} into {@code current}.
+   *
+   * @param previous the previous projection
+   * @param current the current projection
+   * @return the merge patch; empty if both projections are equal
+   */
+  public static ObjectNode diff(Object previous, Object current) {
+    JsonNode previousNode = OBJECT_MAPPER.valueToTree(previous);
+    JsonNode currentNode = OBJECT_MAPPER.valueToTree(current);
+    return diffNodes(previousNode, currentNode);
+  }
+
+  /**
+   * Serializes a merge patch to its compact JSON representation.
+   *
+   * @param patch the patch to serialize
+   * @return the JSON string
+   */
+  public static String toJson(ObjectNode patch) {
+    return patch.toString();
+  }
+
+  private static ObjectNode diffNodes(JsonNode previous, JsonNode current) {
+    ObjectNode patch = JsonNodeFactory.instance.objectNode();
+
+    if (previous != null && previous.isObject()) {
+      Iterator<String> previousFields = previous.fieldNames();
+      while (previousFields.hasNext()) {
+        String field = previousFields.next();
+        if (!previous.get(field).isNull() && (current == null || !current.has(field))) {
+          patch.putNull(field);
+        }
+      }
+    }
+
+    if (current != null && current.isObject()) {
+      Iterator<String> currentFields = current.fieldNames();
+      while (currentFields.hasNext()) {
+        String field = currentFields.next();
+        JsonNode newValue = current.get(field);
+        JsonNode oldValue = previous != null ? previous.get(field) : null;
+
+        if (newValue.isNull()) {
+          if (oldValue != null && !oldValue.isNull()) {
+            patch.putNull(field);
+          }
+        } else if (newValue.isObject() && oldValue != null && oldValue.isObject()) {
+          ObjectNode nested = diffNodes(oldValue, newValue);
+          if (!nested.isEmpty()) {
+            patch.set(field, nested);
+          }
+        } else if (!Objects.equals(oldValue, newValue)) {
+          patch.set(field, newValue);
+        }
+      }
+    }
+
+    return patch;
+  }
+}
@@ -1,8 +1,10 @@
 package us.ullberg.startpunkt.objects;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.quarkus.runtime.annotations.RegisterForReflection;
+import java.util.List;
 import us.ullberg.startpunkt.crd.v1alpha4.ApplicationSpec;
 
 /**
@@ -35,6 +37,21 @@ public class ApplicationResponse extends ApplicationSpec {
   @JsonProperty("cluster")
   private String cluster;
 
+  /** Median response time of recent availability probes in milliseconds. */
+  @JsonProperty("responseTimeP50")
+  private Long responseTimeP50;
+
+  /** 95th percentile response time of recent availability probes in milliseconds. */
+  @JsonProperty("responseTimeP95")
+  private Long responseTimeP95;
+
+  /** Percentage of successful availability probes over the last 24 hours. */
+  @JsonProperty("uptime24h")
+  private Double uptime24h;
+
+  /** Services backing the application as "namespace/name" keys, used for availability checks. */
+  @JsonIgnore private List<String> backendServices = List.of();
+
   /** Default constructor. */
   public ApplicationResponse() {
     super();
@@ -58,6 +75,7 @@ public class ApplicationResponse extends ApplicationSpec {
     this.setEnabled(spec.getEnabled());
     this.setRootPath(spec.getRootPath());
     this.setTags(spec.getTags());
+    this.setProbe(spec.getProbe());
   }
 
   /**
@@ -149,4 +167,78 @@ public class ApplicationResponse extends ApplicationSpec {
   public void setCluster(String cluster) {
     this.cluster = cluster;
   }
+
+  /**
+   * Gets the median response time of recent availability probes.
+   *
+   * @return the response time in milliseconds, null if not yet measured
+   */
+  public Long getResponseTimeP50() {
+    return responseTimeP50;
+  }
+
+  /**
+   * Sets the median response time of recent availability probes.
+   *
+   * @param responseTimeP50 the response time in milliseconds
+   */
+  public void setResponseTimeP50(Long responseTimeP50) {
+    this.responseTimeP50 = responseTimeP50;
+  }
+
+  /**
+   * Gets the 95th percentile response time of recent availability probes.
+   *
+   * @return the response time in milliseconds, null if not yet measured
+   */
+  public Long getResponseTimeP95() {
+    return responseTimeP95;
+  }
+
+  /**
+   * Sets the 95th percentile response time of recent availability probes.
+   *
+   * @param responseTimeP95 the response time in milliseconds
+   */
+  public void setResponseTimeP95(Long responseTimeP95) {
+    this.responseTimeP95 = responseTimeP95;
+  }
+
+  /**
+   * Gets the percentage of successful availability probes over the last 24 hours.
+   *
+   * @return uptime between 0 and 100, null if not yet probed
+   */
+  public Double getUptime24h() {
+    return uptime24h;
+  }
+
+  /**
+   * Sets the percentage of successful availability probes over the last 24 hours.
+   *
+   * @param uptime24h uptime between 0 and 100
+   */
+  public void setUptime24h(Double uptime24h) {
+    this.uptime24h = uptime24h;
+  }
+
+  /**
+   * Gets the Services backing the application.
+   *
+   * @return list of "namespace/name" keys, empty if unknown
+   */
+  @JsonIgnore
+  public List<String> getBackendServices() {
+    return backendServices;
+  }
+
+  /**
+   * Sets the Services backing the application.
+   *
+   * @param backendServices list of "namespace/name" keys
+   */
+  @JsonIgnore
+  public void setBackendServices(List<String> backendServices) {
+    this.backendServices = backendServices != null ? List.copyOf(backendServices) : List.of();
+  }
 }
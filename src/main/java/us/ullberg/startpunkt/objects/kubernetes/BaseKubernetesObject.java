@@ -6,9 +6,11 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
 import io.quarkus.logging.Log;
 import jakarta.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import us.ullberg.startpunkt.crd.v1alpha4.ApplicationSpec;
+import us.ullberg.startpunkt.crd.v1alpha4.ProbeSpec;
 
 /**
  * Abstract base class representing a Kubernetes custom resource wrapper. Provides common
@@ -81,41 +83,37 @@ public abstract class BaseKubernetesObject implements KubernetesObject {
    * @param anyNamespace if true, searches across all namespaces; otherwise uses matchNames
    * @param matchNames list of namespace names to filter on (used only if anyNamespace is false)
    * @return list of GenericKubernetesResource objects
+   * @throws io.fabric8.kubernetes.client.KubernetesClientException if the resources cannot be
+   *     listed, so that callers keep their last-known-good data instead of an empty list
    */
   protected GenericKubernetesResourceList getGenericKubernetesResources(
       KubernetesClient client, boolean anyNamespace, List<String> matchNames) {
     ResourceDefinitionContext resourceDefinitionContext = getResourceDefinitionContext();
     Log.debugf("Fetching %s/%s resources from Kubernetes", group, pluralKind);
 
-    try {
-      if (anyNamespace) {
-        Log.debug("Searching across all namespaces");
-        GenericKubernetesResourceList result =
-            client.genericKubernetesResources(resourceDefinitionContext).inAnyNamespace().list();
-        Log.debugf("Found %d %s resources in all namespaces", result.getItems().size(), pluralKind);
-        return result;
-      }
-
-      GenericKubernetesResourceList list = new GenericKubernetesResourceList();
-      Log.debugf("Searching in specific namespaces: %s", matchNames);
-      for (String namespace : matchNames) {
-        var items =
-            client
-                .genericKubernetesResources(resourceDefinitionContext)
-                .inNamespace(namespace)
-                .list()
-                .getItems();
-        Log.debugf("Found %d %s resources in namespace: %s", items.size(), pluralKind, namespace);
-        list.getItems().addAll(items);
-      }
+    if (anyNamespace) {
+      Log.debug("Searching across all namespaces");
+      GenericKubernetesResourceList result =
+          client.genericKubernetesResources(resourceDefinitionContext).inAnyNamespace().list();
+      Log.debugf("Found %d %s resources in all namespaces", result.getItems().size(), pluralKind);
+      return result;
+    }
 
-      Log.debugf("Total %s resources found: %d", pluralKind, list.getItems().size());
-      return list;
-    } catch (Exception ex) {
-      Log.warnf("Error retrieving %s/%s resources: %s", group, pluralKind, ex.getMessage());
-      // Returning empty list if retrieval fails. Consider improving error handling.
-      return new GenericKubernetesResourceList();
+    GenericKubernetesResourceList list = new GenericKubernetesResourceList();
+    Log.debugf("Searching in specific namespaces: %s", matchNames);
+    for (String namespace : matchNames) {
+      var items =
+          client
+              .genericKubernetesResources(resourceDefinitionContext)
+              .inNamespace(namespace)
+              .list()
+              .getItems();
+      Log.debugf("Found %d %s resources in namespace: %s", items.size(), pluralKind, namespace);
+      list.getItems().addAll(items);
     }
+
+    Log.debugf("Total %s resources found: %d", pluralKind, list.getItems().size());
+    return list;
   }
 
   /**
@@ -191,6 +189,7 @@ public abstract class BaseKubernetesObject implements KubernetesObject {
     withMetadata.setResourceName(getResourceMetadataName(item));
     withMetadata.setHasOwnerReferences(hasOwnerReferences(item));
     withMetadata.setCluster(clusterName);
+    withMetadata.setBackendServices(getBackendServices(item));
 
     return withMetadata;
   }
@@ -215,6 +214,7 @@ public abstract class BaseKubernetesObject implements KubernetesObject {
             getAppEnabled(item),
             getAppRootPath(item),
             getAppTags(item));
+    spec.setProbe(getAppProbe(item));
 
     // Note: Metadata fields (namespace, resourceName, hasOwnerReferences) are set
     // by ApplicationResource when wrapping in ApplicationResponse
@@ -278,6 +278,71 @@ public abstract class BaseKubernetesObject implements KubernetesObject {
     return item.getMetadata().getName();
   }
 
+  /**
+   * Resolves the Services that back a resource, used to derive availability from EndpointSlice
+   * readiness instead of HTTP probing. Resources that do not route to Services return an empty
+   * list.
+   *
+   * @param item the Kubernetes generic resource
+   * @return list of backend services as "namespace/name" keys
+   */
+  protected List<String> getBackendServices(GenericKubernetesResource item) {
+    return List.of();
+  }
+
+  /**
+   * Adds a backend service to a list of service keys if it is a Service reference with a name.
+   *
+   * @param services the list of "namespace/name" keys to add to
+   * @param namespace the namespace of the service
+   * @param name the name of the service
+   */
+  protected static void addBackendService(List<String> services, String namespace, Object name) {
+    if (namespace == null || name == null || name.toString().isEmpty()) {
+      return;
+    }
+    String key = namespace + "/" + name;
+    if (!services.contains(key)) {
+      services.add(key);
+    }
+  }
+
+  /**
+   * Returns a nested map from a parent map, or null if missing or not a map.
+   *
+   * @param parent the parent map
+   * @param key the key of the nested map
+   * @return the nested map or null
+   */
+  @SuppressWarnings("unchecked")
+  protected static Map<String, Object> getMap(Map<String, Object> parent, String key) {
+    if (parent == null) {
+      return null;
+    }
+    Object value = parent.get(key);
+    return value instanceof Map ? (Map<String, Object>) value : null;
+  }
+
+  /**
+   * Returns a list of nested maps from a parent map, skipping entries that are not maps.
+   *
+   * @param parent the parent map
+   * @param key the key of the nested list
+   * @return the nested maps, empty if missing
+   */
+  @SuppressWarnings("unchecked")
+  protected static List<Map<String, Object>> getMapList(Map<String, Object> parent, String key) {
+    List<Map<String, Object>> result = new ArrayList<>();
+    if (parent != null && parent.get(key) instanceof List<?> list) {
+      for (Object entry : list) {
+        if (entry instanceof Map) {
+          result.add((Map<String, Object>) entry);
+        }
+      }
+    }
+    return result;
+  }
+
   /**
    * Returns the annotations map from the Kubernetes resource metadata.
    *
@@ -443,6 +508,39 @@ public abstract class BaseKubernetesObject implements KubernetesObject {
     return null;
   }
 
+  /**
+   * Returns the availability probe settings of the application. By default, reads from the
+   * "startpunkt.ullberg.us/probe", "startpunkt.ullberg.us/probeExpectedStatus" and
+   * "startpunkt.ullberg.us/probeBodyPrefix" annotations.
+   *
+   * @param item the Kubernetes generic resource
+   * @return probe settings or null if none of the annotations are set
+   */
+  protected ProbeSpec getAppProbe(GenericKubernetesResource item) {
+    var annotations = getAnnotations(item);
+    if (annotations == null) {
+      return null;
+    }
+    String type = annotations.get("startpunkt.ullberg.us/probe");
+    String expectedStatus = annotations.get("startpunkt.ullberg.us/probeExpectedStatus");
+    String bodyPrefix = annotations.get("startpunkt.ullberg.us/probeBodyPrefix");
+    if (type == null && expectedStatus == null && bodyPrefix == null) {
+      return null;
+    }
+
+    Integer status = null;
+    if (expectedStatus != null) {
+      try {
+        status = Integer.parseInt(expectedStatus.trim());
+      } catch (NumberFormatException e) {
+        Log.warnf(
+            "Invalid probeExpectedStatus annotation value '%s' for %s/%s - must be a valid integer",
+            expectedStatus, getResourceNamespace(item), getResourceMetadataName(item));
+      }
+    }
+    return new ProbeSpec(type, status, bodyPrefix);
+  }
+
   /**
    * Retrieves a string property from the spec or returns a fallback value.
    *
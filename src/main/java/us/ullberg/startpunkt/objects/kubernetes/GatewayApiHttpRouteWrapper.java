@@ -4,6 +4,7 @@ import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import us.ullberg.startpunkt.crd.v1alpha4.ApplicationSpec;
 
 /**
@@ -77,6 +78,35 @@ public class GatewayApiHttpRouteWrapper extends AnnotatedKubernetesObject {
     return appendRootPath(baseUrl, item);
   }
 
+  /**
+   * Resolves the Services referenced by the backendRefs of all HTTPRoute rules. References to other
+   * kinds of backends are ignored; cross-namespace references use their explicit namespace.
+   *
+   * @param item the HTTPRoute resource
+   * @return list of backend services as "namespace/name" keys
+   */
+  @Override
+  protected List<String> getBackendServices(GenericKubernetesResource item) {
+    Map<String, Object> spec = getSpec(item);
+    String namespace = getResourceNamespace(item);
+    List<String> services = new ArrayList<>();
+
+    for (Map<String, Object> rule : getMapList(spec, "rules")) {
+      for (Map<String, Object> backendRef : getMapList(rule, "backendRefs")) {
+        Object group = backendRef.get("group");
+        Object kind = backendRef.get("kind");
+        if ((group == null || "".equals(group)) && (kind == null || "Service".equals(kind))) {
+          Object refNamespace = backendRef.get("namespace");
+          addBackendService(
+              services,
+              refNamespace != null ? refNamespace.toString() : namespace,
+              backendRef.get("name"));
+        }
+      }
+    }
+    return services;
+  }
+
   /**
    * Retrieves a list of ApplicationSpec objects for matching HTTPRoute resources. If the wrapper is
    * configured to only include annotated resources, filters the result accordingly.
@@ -3,6 +3,7 @@ package us.ullberg.startpunkt.objects.kubernetes;
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.api.model.GenericKubernetesResourceList;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import us.ullberg.startpunkt.crd.v1alpha4.ApplicationSpec;
@@ -93,6 +94,33 @@ public class IngressApplicationWrapper extends AnnotatedKubernetesObject {
     return ingressClassNames.contains(ingressClassName);
   }
 
+  /**
+   * Resolves the Services referenced by the default backend and the rule paths of an Ingress.
+   *
+   * @param item the Ingress resource
+   * @return list of backend services as "namespace/name" keys
+   */
+  @Override
+  protected List<String> getBackendServices(GenericKubernetesResource item) {
+    Map<String, Object> spec = getSpec(item);
+    String namespace = getResourceNamespace(item);
+    List<String> services = new ArrayList<>();
+
+    Map<String, Object> defaultService = getMap(getMap(spec, "defaultBackend"), "service");
+    if (defaultService != null) {
+      addBackendService(services, namespace, defaultService.get("name"));
+    }
+    for (Map<String, Object> rule : getMapList(spec, "rules")) {
+      for (Map<String, Object> path : getMapList(getMap(rule, "http"), "paths")) {
+        Map<String, Object> service = getMap(getMap(path, "backend"), "service");
+        if (service != null) {
+          addBackendService(services, namespace, service.get("name"));
+        }
+      }
+    }
+    return services;
+  }
+
   /**
    * Extracts the ingressClassName from an Ingress resource's spec.
    *
@@ -2,7 +2,9 @@ package us.ullberg.startpunkt.objects.kubernetes;
 
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import us.ullberg.startpunkt.crd.v1alpha4.ApplicationSpec;
 
 /**
@@ -64,6 +66,33 @@ public class RouteApplicationWrapper extends AnnotatedKubernetesObject {
     return appendRootPath(baseUrl, item);
   }
 
+  /**
+   * Resolves the Services a Route sends traffic to, including alternate backends.
+   *
+   * @param item the Route resource
+   * @return list of backend services as "namespace/name" keys
+   */
+  @Override
+  protected List<String> getBackendServices(GenericKubernetesResource item) {
+    Map<String, Object> spec = getSpec(item);
+    String namespace = getResourceNamespace(item);
+    List<String> services = new ArrayList<>();
+
+    List<Map<String, Object>> targets = new ArrayList<>();
+    Map<String, Object> to = getMap(spec, "to");
+    if (to != null) {
+      targets.add(to);
+    }
+    targets.addAll(getMapList(spec, "alternateBackends"));
+    for (Map<String, Object> target : targets) {
+      Object kind = target.get("kind");
+      if (kind == null || "Service".equals(kind)) {
+        addBackendService(services, namespace, target.get("name"));
+      }
+    }
+    return services;
+  }
+
   /**
    * Retrieves a list of {@link ApplicationSpec} objects from OpenShift Route resources. Applies
    * filtering based on annotation settings.
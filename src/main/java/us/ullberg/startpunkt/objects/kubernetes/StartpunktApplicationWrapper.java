@@ -7,6 +7,7 @@ import io.quarkus.logging.Log;
 import java.util.List;
 import java.util.Map;
 import us.ullberg.startpunkt.crd.v1alpha4.ApplicationSpec;
+import us.ullberg.startpunkt.crd.v1alpha4.ProbeSpec;
 
 /**
  * Wrapper for Startpunkt application Kubernetes custom resources. This class extracts
@@ -49,18 +50,21 @@ public class StartpunktApplicationWrapper extends BaseKubernetesObject {
    */
   protected ApplicationSpec mapToApplicationSpec(
       GenericKubernetesResource item, KubernetesClient client) {
-    return new ApplicationSpec(
-        getAppName(item),
-        getAppGroup(item),
-        getAppIcon(item),
-        getAppIconColor(item),
-        getAppUrl(item, client),
-        getAppInfo(item),
-        getAppTargetBlank(item),
-        getAppLocation(item),
-        getAppEnabled(item),
-        getAppRootPath(item),
-        getAppTags(item));
+    ApplicationSpec spec =
+        new ApplicationSpec(
+            getAppName(item),
+            getAppGroup(item),
+            getAppIcon(item),
+            getAppIconColor(item),
+            getAppUrl(item, client),
+            getAppInfo(item),
+            getAppTargetBlank(item),
+            getAppLocation(item),
+            getAppEnabled(item),
+            getAppRootPath(item),
+            getAppTags(item));
+    spec.setProbe(getAppProbe(item));
+    return spec;
   }
 
   /**
@@ -375,4 +379,26 @@ public class StartpunktApplicationWrapper extends BaseKubernetesObject {
   protected String getAppTags(GenericKubernetesResource item) {
     return getOptionalSpecString(item, "tags", super.getAppTags(item));
   }
+
+  /**
+   * Retrieves the availability probe settings from the resource spec. Returns base class probe
+   * settings if not present.
+   *
+   * @param item Kubernetes resource
+   * @return probe settings or null if not set
+   */
+  @Override
+  protected ProbeSpec getAppProbe(GenericKubernetesResource item) {
+    Map<String, Object> probe = getMap(getSpec(item), "probe");
+    if (probe == null) {
+      return super.getAppProbe(item);
+    }
+    Object type = probe.get("type");
+    Object expectedStatus = probe.get("expectedStatus");
+    Object bodyPrefix = probe.get("bodyPrefix");
+    return new ProbeSpec(
+        type != null ? type.toString() : null,
+        expectedStatus instanceof Number number ? number.intValue() : null,
+        bodyPrefix != null ? bodyPrefix.toString() : null);
+  }
 }
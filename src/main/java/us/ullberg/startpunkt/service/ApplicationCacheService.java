@@ -3,9 +3,15 @@ package us.ullberg.startpunkt.service;
 import io.quarkus.logging.Log;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import us.ullberg.startpunkt.objects.ApplicationResponse;
 
 /**
@@ -17,6 +23,13 @@ import us.ullberg.startpunkt.objects.ApplicationResponse;
  *
  * <p>Thread-safe operations ensure multiple watch handlers can update the cache concurrently
  * without data corruption.
+ *
+ * <p>Entries are grouped into partitions by source (cluster and resource type). Each partition is
+ * replaced on its own when its source has been loaded, and keeps its last-known-good entries when
+ * loading fails, so a slow or failing source never empties the cache.
+ *
+ * <p>The cache is versioned: every change is recorded with a revision, so that remote Startpunkt
+ * instances can fetch only the applications changed since the version they last saw.
  */
 @ApplicationScoped
 public class ApplicationCacheService {
@@ -28,6 +41,14 @@ public class ApplicationCacheService {
   // identifier
   private final Map<String, ApplicationResponse> applicationCache = new ConcurrentHashMap<>();
 
+  // Revision of the last change of every entry, for incremental synchronization
+  private final CacheRevisions<ApplicationResponse> revisions = new CacheRevisions<>();
+
+  // Source partitions of the cache; replacing a partition holds the write lock so that readers
+  // see either its old or its new contents, never a mix
+  private final CachePartitions partitions = new CachePartitions();
+  private final ReadWriteLock partitionLock = new ReentrantReadWriteLock();
+
   /**
    * Generate a cache key for an application.
    *
@@ -66,6 +87,9 @@ public class ApplicationCacheService {
 
     String key = getCacheKey(app);
     ApplicationResponse existing = applicationCache.put(key, app);
+    if (existing == null || !isSameContent(existing, app)) {
+      revisions.changed(key);
+    }
 
     if (existing == null) {
       Log.debugf("Added application to cache: %s", key);
@@ -74,6 +98,21 @@ public class ApplicationCacheService {
     }
   }
 
+  /**
+   * Add or update an application that belongs to a source partition, for changes applied between
+   * two loads of the partition.
+   *
+   * @param partition the partition name, {@code cluster/source}
+   * @param app the application to add or update
+   */
+  public void put(String partition, ApplicationResponse app) {
+    if (app == null) {
+      return;
+    }
+    partitions.claim(partition, getCacheKey(app));
+    put(app);
+  }
+
   /**
    * Add or update multiple applications in the cache.
    *
@@ -104,6 +143,7 @@ public class ApplicationCacheService {
     ApplicationResponse removed = applicationCache.remove(key);
 
     if (removed != null) {
+      revisions.removed(key, removed);
       Log.debugf("Removed application from cache: %s", key);
     } else {
       Log.debugf("Application not found in cache for removal: %s", key);
@@ -131,7 +171,12 @@ public class ApplicationCacheService {
    * @return a list of all cached applications
    */
   public List<ApplicationResponse> getAll() {
-    return new ArrayList<>(applicationCache.values());
+    partitionLock.readLock().lock();
+    try {
+      return new ArrayList<>(applicationCache.values());
+    } finally {
+      partitionLock.readLock().unlock();
+    }
   }
 
   /**
@@ -150,7 +195,9 @@ public class ApplicationCacheService {
    */
   public void clear() {
     int size = applicationCache.size();
-    applicationCache.clear();
+    for (String key : new ArrayList<>(applicationCache.keySet())) {
+      removeKey(key);
+    }
     Log.infof("Cleared application cache (%d applications removed)", size);
   }
 
@@ -172,7 +219,7 @@ public class ApplicationCacheService {
     }
 
     for (String key : keysToRemove) {
-      applicationCache.remove(key);
+      removeKey(key);
     }
 
     if (!keysToRemove.isEmpty()) {
@@ -201,7 +248,7 @@ public class ApplicationCacheService {
     }
 
     for (String key : keysToRemove) {
-      applicationCache.remove(key);
+      removeKey(key);
     }
 
     if (!keysToRemove.isEmpty()) {
@@ -229,7 +276,7 @@ public class ApplicationCacheService {
     }
 
     for (String key : keysToRemove) {
-      applicationCache.remove(key);
+      removeKey(key);
     }
 
     if (!keysToRemove.isEmpty()) {
@@ -238,4 +285,148 @@ public class ApplicationCacheService {
 
     return keysToRemove.size();
   }
+
+  /**
+   * Replace the contents of the cache with a new set of applications. Unlike {@link #clear()}
+   * followed by {@link #putAll(List)}, the cache never appears empty to readers, and applications
+   * whose content did not change keep their revision, so they are not reported as changed to
+   * incremental synchronization clients.
+   *
+   * @param applications the complete new set of applications
+   */
+  public void replaceAll(List<ApplicationResponse> applications) {
+    int removed = 0;
+    partitionLock.writeLock().lock();
+    try {
+      Set<String> keys = new HashSet<>();
+      for (ApplicationResponse app : applications) {
+        keys.add(getCacheKey(app));
+        put(app);
+      }
+
+      for (String key : new ArrayList<>(applicationCache.keySet())) {
+        if (!keys.contains(key) && removeKey(key)) {
+          removed++;
+        }
+      }
+    } finally {
+      partitionLock.writeLock().unlock();
+    }
+
+    Log.infof("Cached %d applications (%d removed)", applications.size(), removed);
+  }
+
+  /**
+   * Replace the contents of one source partition of the cache, such as the applications of one
+   * resource type in one cluster. Other partitions are not affected, and readers see the partition
+   * change at once.
+   *
+   * @param partition the partition name, {@code cluster/source}
+   * @param applications the complete new contents of the partition
+   * @return the number of applications removed from the cache
+   */
+  public int replacePartition(String partition, List<ApplicationResponse> applications) {
+    partitionLock.writeLock().lock();
+    try {
+      Set<String> keys = new HashSet<>();
+      for (ApplicationResponse app : applications) {
+        keys.add(getCacheKey(app));
+        put(app);
+      }
+
+      int removed = 0;
+      for (String key : partitions.replace(partition, keys)) {
+        if (removeKey(key)) {
+          removed++;
+        }
+      }
+      Log.debugf(
+          "Replaced partition %s with %d applications (%d removed)",
+          partition, applications.size(), removed);
+      return removed;
+    } finally {
+      partitionLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Record that loading a source partition failed. The applications of the partition are kept as
+   * last-known-good data, and the partition is reported as stale until it loads again.
+   *
+   * @param partition the partition name, {@code cluster/source}
+   * @param error the reason of the failure
+   */
+  public void markPartitionFailed(String partition, String error) {
+    partitions.failed(partition, error);
+    Log.warnf("Keeping last-known-good applications of partition %s: %s", partition, error);
+  }
+
+  /**
+   * Drop all source partitions that are not in the given set, e.g. sources that were disabled.
+   *
+   * @param active the partitions to keep
+   */
+  public void retainPartitions(Collection<String> active) {
+    partitionLock.writeLock().lock();
+    try {
+      for (String key : partitions.retain(active)) {
+        removeKey(key);
+      }
+    } finally {
+      partitionLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Get the load status of every source partition.
+   *
+   * @return the partition statuses, ordered by name
+   */
+  public List<PartitionStatus> getPartitionStatuses() {
+    return partitions.statuses();
+  }
+
+  /**
+   * Get the current version of the cache, which changes whenever an application is added, updated
+   * or removed.
+   *
+   * @return the current version
+   */
+  public String getVersion() {
+    return revisions.version();
+  }
+
+  /**
+   * Get the applications added, updated or removed since a version returned earlier by this cache.
+   *
+   * @param since the version the caller has, or null to get all applications
+   * @return the changes, or all applications if the version is unknown or too old
+   */
+  public CacheChanges<ApplicationResponse> getChangesSince(String since) {
+    // Take the partition lock before the revisions, in the same order as the writers
+    partitionLock.readLock().lock();
+    try {
+      return revisions.changesSince(
+          since, applicationCache::get, () -> new ArrayList<>(applicationCache.values()));
+    } finally {
+      partitionLock.readLock().unlock();
+    }
+  }
+
+  private boolean removeKey(String key) {
+    ApplicationResponse removed = applicationCache.remove(key);
+    if (removed == null) {
+      return false;
+    }
+    revisions.removed(key, removed);
+    return true;
+  }
+
+  private static boolean isSameContent(ApplicationResponse a, ApplicationResponse b) {
+    return a.equals(b)
+        && Objects.equals(a.getNamespace(), b.getNamespace())
+        && Objects.equals(a.getResourceName(), b.getResourceName())
+        && Objects.equals(a.getHasOwnerReferences(), b.getHasOwnerReferences())
+        && Objects.equals(a.getCluster(), b.getCluster());
+  }
 }
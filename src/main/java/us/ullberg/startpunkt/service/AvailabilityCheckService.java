@@ -1,30 +1,48 @@
 package us.ullberg.startpunkt.service;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.cache.CacheInvalidate;
 import io.quarkus.logging.Log;
-import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.security.cert.X509Certificate;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.nio.channels.UnresolvedAddressException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLParameters;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.net.ssl.SSLHandshakeException;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import us.ullberg.startpunkt.crd.v1alpha4.ApplicationSpec;
+import us.ullberg.startpunkt.crd.v1alpha4.ProbeSpec;
+import us.ullberg.startpunkt.jfr.AvailabilityProbeEvent;
 import us.ullberg.startpunkt.messaging.EventBroadcaster;
 import us.ullberg.startpunkt.objects.ApplicationResponse;
 
@@ -32,22 +50,79 @@ import us.ullberg.startpunkt.objects.ApplicationResponse;
  * Service for checking the availability of applications by probing their URLs. Runs periodic checks
  * in the background to maintain up-to-date availability status.
  *
- * <p>The service uses a dual-speed approach for efficient availability checking:
+ * <p>Every registered URL has its own next-due time held in a delay queue, so probes are spread out
+ * over the interval instead of arriving in a burst at every tick:
  *
  * <ul>
- *   <li><b>Healthy URLs</b>: Checked at the regular interval (e.g., every 60 seconds)
- *   <li><b>Failing URLs</b>: Use exponential backoff (5s, 10s, 20s, 40s, etc.) to reduce load on
- *       unresponsive services
+ *   <li><b>New URLs</b>: Probed right after registration (spread over a short random delay)
+ *   <li><b>Healthy URLs</b>: Rescheduled one interval (e.g., 60 seconds) after each check
+ *   <li><b>Failing URLs</b>: Rescheduled with exponential backoff (5s, 10s, 20s, 40s, etc.) to
+ *       reduce load on unresponsive services
  * </ul>
  *
- * <p>This design ensures that healthy applications are monitored regularly, while failing
- * applications are checked less frequently to avoid overwhelming them. When a failing application
- * recovers, its backoff state is reset and it returns to regular interval checking.
+ * <p>All delays are randomized by {@code startpunkt.availability.jitter} so that URLs registered
+ * together drift apart over time. When a failing application recovers, its backoff state is reset
+ * and it returns to regular interval checking.
+ *
+ * <p>Probes run concurrently on virtual threads, bounded by a global concurrency limit and a
+ * per-host limit so that a large fleet neither floods the network nor hammers a single ingress.
+ * Every probe has its own hard deadline of {@code startpunkt.availability.timeout} seconds.
+ *
+ * <p>URLs are grouped by scheme, host and port. Probes to the same host share the pooled keep-alive
+ * connections of a single HTTP client, and a host-level failure (DNS resolution, connection refused
+ * or timed out, TLS handshake) marks the whole host as unreachable until the failing URL is due
+ * again. Other URLs on that host are failed without sending any traffic in the meantime.
+ *
+ * <p>Each URL is probed with a {@link ProbeStrategy}: a TCP connect, a TLS handshake, a HEAD
+ * request with or without following redirects, or a GET request that can require a specific status
+ * code and body prefix. The strategy is taken from the {@code probe} settings of the application
+ * (the {@code startpunkt.ullberg.us/probe*} annotations or the {@code spec.probe} field of an
+ * Application) and defaults to {@code startpunkt.availability.strategy}. All strategies share the
+ * same scheduling, backoff, host failure sharing and statistics.
+ *
+ * <p>Probing follows demand. While no client is subscribed to application updates and no {@code
+ * applicationGroups} query has been made for {@code startpunkt.availability.idle.after}, URLs are
+ * probed at most once per {@code startpunkt.availability.idle.interval} ({@code keep-warm}) or not
+ * at all ({@code pause}). The next subscription or query ends the idle period and probes every URL
+ * in one burst, so the client sees fresh results.
+ *
+ * <p>When several replicas run, only the one holding the availability lease probes; see {@link
+ * AvailabilitySharingService}. The other replicas have probing switched off with {@link
+ * #setProbingEnabled(boolean)} and receive results through {@link #applySharedResult(String,
+ * boolean, Long, long)}. Every completed probe is reported to registered {@link
+ * ProbeResultListener}s.
+ *
+ * <p>With {@code startpunkt.availability.mode=endpoints}, applications discovered from Ingresses,
+ * OpenShift Routes and Gateway API HTTPRoutes are not probed over HTTP at all. Their availability
+ * follows the readiness of the EndpointSlices of their backend Services, as reported by {@link
+ * EndpointAvailabilityService}: an application is available while at least one backend endpoint is
+ * ready. Applications without known backend Services (external URLs, Application CRDs, remote
+ * clusters) are still probed over HTTP, as are all applications if the EndpointSlice informer
+ * cannot be started.
+ *
+ * <p>Every probe also feeds fixed-size {@link ProbeStatistics} for its URL. Response time
+ * percentiles and 24 hour uptime are added to {@link ApplicationResponse} objects and published as
+ * Micrometer meters tagged by cluster, namespace and application:
+ *
+ * <ul>
+ *   <li>{@code startpunkt.availability.response.time} - Timer of probe response times
+ *   <li>{@code startpunkt.availability.up} - Gauge that is 1 while the application is available
+ *   <li>{@code startpunkt.availability.uptime} - Gauge of the 24 hour uptime percentage
+ * </ul>
  *
  * <p>Backoff behavior can be configured via the following properties:
  *
  * <ul>
+ *   <li>{@code startpunkt.availability.mode} - {@code http} to probe every URL, or {@code
+ *       endpoints} to use EndpointSlice readiness where backend Services are known (default: http)
+ *   <li>{@code startpunkt.availability.strategy} - Probe strategy for applications that do not
+ *       select one: {@code tcp}, {@code tls}, {@code head}, {@code head-follow} or {@code get}
+ *       (default: head-follow)
  *   <li>{@code startpunkt.availability.interval} - Check interval for healthy URLs (default: 60s)
+ *   <li>{@code startpunkt.availability.jitter} - Random spread applied to every delay, as a
+ *       fraction of the delay (default: 0.1)
+ *   <li>{@code startpunkt.availability.firstProbeSpreadMs} - Upper bound for the random delay
+ *       before the first probe of a newly registered URL (default: 1000ms)
  *   <li>{@code startpunkt.availability.maxRetries} - Maximum number of consecutive failures before
  *       warning (default: 5)
  *   <li>{@code startpunkt.availability.initialDelayMs} - Initial backoff delay in milliseconds
@@ -56,10 +131,38 @@ import us.ullberg.startpunkt.objects.ApplicationResponse;
  *       (default: 300000ms = 5 minutes)
  *   <li>{@code startpunkt.availability.backoffMultiplier} - Exponential multiplier for backoff
  *       delay (default: 2.0)
+ *   <li>{@code startpunkt.availability.maxConcurrency} - Maximum number of probes in flight at once
+ *       (default: 32)
+ *   <li>{@code startpunkt.availability.maxConcurrencyPerHost} - Maximum number of probes in flight
+ *       against a single host (default: 4)
+ *   <li>{@code startpunkt.availability.shareHostFailures} - Whether a host-level failure fails all
+ *       URLs on that host without probing them (default: true)
+ *   <li>{@code startpunkt.availability.idle.mode} - Probing while nobody is viewing: {@code always}
+ *       (no throttling), {@code keep-warm} or {@code pause} (default: keep-warm)
+ *   <li>{@code startpunkt.availability.idle.after} - Time without subscribers or queries before
+ *       probing is throttled (default: 5m)
+ *   <li>{@code startpunkt.availability.idle.interval} - Probe interval in {@code keep-warm} mode
+ *       (default: 15m)
  * </ul>
  */
 @ApplicationScoped
-public class AvailabilityCheckService {
+public class AvailabilityCheckService implements EndpointAvailabilityService.ReadinessListener {
+
+  /** Delay used to coalesce availability changes from independent probes into one event. */
+  private static final long CHANGE_COALESCE_MS = 1000;
+
+  /** Listener for completed probes. */
+  public interface ProbeResultListener {
+    /**
+     * Called after a URL has been probed by this replica.
+     *
+     * @param url the probed URL
+     * @param available whether the application was available
+     * @param latencyMillis response time in milliseconds, or null if no response was received
+     * @param checkedAtMillis wall-clock time of the probe in milliseconds
+     */
+    void probeCompleted(String url, boolean available, Long latencyMillis, long checkedAtMillis);
+  }
 
   @ConfigProperty(name = "startpunkt.availability.enabled", defaultValue = "true")
   private boolean availabilityCheckEnabled;
@@ -67,13 +170,20 @@ public class AvailabilityCheckService {
   @ConfigProperty(name = "startpunkt.availability.timeout", defaultValue = "5")
   private int availabilityTimeout;
 
-  /**
-   * Interval for availability checks, injected from configuration. This field is referenced via
-   * annotation expressions (e.g., @Scheduled(every = "{startpunkt.availability.interval}")) and is
-   * retained for documentation and potential future use.
-   */
+  @ConfigProperty(name = "startpunkt.availability.mode", defaultValue = "http")
+  private String availabilityMode;
+
   @ConfigProperty(name = "startpunkt.availability.interval", defaultValue = "60s")
-  private String availabilityCheckInterval;
+  private Duration availabilityCheckInterval;
+
+  @ConfigProperty(name = "startpunkt.availability.strategy", defaultValue = "head-follow")
+  private String defaultStrategy;
+
+  @ConfigProperty(name = "startpunkt.availability.jitter", defaultValue = "0.1")
+  private double jitter;
+
+  @ConfigProperty(name = "startpunkt.availability.firstProbeSpreadMs", defaultValue = "1000")
+  private long firstProbeSpreadMs;
 
   @ConfigProperty(name = "startpunkt.availability.ignoreCertificates", defaultValue = "false")
   private boolean ignoreCertificates;
@@ -90,65 +200,155 @@ public class AvailabilityCheckService {
   @ConfigProperty(name = "startpunkt.availability.backoffMultiplier", defaultValue = "2.0")
   private double backoffMultiplier;
 
-  private final Map<String, Boolean> availabilityCache = new ConcurrentHashMap<>();
-  private final Map<String, Boolean> previousAvailabilityCache = new ConcurrentHashMap<>();
-  private final Map<String, Integer> consecutiveFailures = new ConcurrentHashMap<>();
-  private final Map<String, Long> nextCheckTime = new ConcurrentHashMap<>();
-  private final HttpClient httpClient;
+  @ConfigProperty(name = "startpunkt.availability.maxConcurrencyPerHost", defaultValue = "4")
+  private int maxConcurrencyPerHost;
+
+  @ConfigProperty(name = "startpunkt.availability.shareHostFailures", defaultValue = "true")
+  private boolean shareHostFailures;
+
+  @ConfigProperty(name = "startpunkt.availability.idle.mode", defaultValue = "keep-warm")
+  private String idleMode;
+
+  @ConfigProperty(name = "startpunkt.availability.idle.after", defaultValue = "5m")
+  private Duration idleAfter;
+
+  @ConfigProperty(name = "startpunkt.availability.idle.interval", defaultValue = "15m")
+  private Duration idleInterval;
+
+  private final Map<String, UrlState> urlStates = new ConcurrentHashMap<>();
+  private final Map<Tags, ApplicationMeters> applicationMeters = new ConcurrentHashMap<>();
+  private final Map<String, HostState> hostStates = new ConcurrentHashMap<>();
+  private final AtomicBoolean changeFlushPending = new AtomicBoolean(false);
+  private final AvailabilityProber prober;
   private final EventBroadcaster eventBroadcaster;
+  private final EndpointAvailabilityService endpointAvailabilityService;
+  private final AtomicBoolean endpointListenerRegistered = new AtomicBoolean(false);
+  private final MeterRegistry meterRegistry;
+  private final ScheduledThreadPoolExecutor dueQueue;
+  private final ExecutorService probeExecutor;
+  private final Semaphore globalPermits;
+  private final AtomicInteger activeViewers = new AtomicInteger();
+  private final AtomicLong lastDemandMillis = new AtomicLong(System.currentTimeMillis());
+  private final AtomicLong availabilityVersion = new AtomicLong();
+  private final List<ProbeResultListener> resultListeners = new CopyOnWriteArrayList<>();
+  private volatile boolean probingEnabled = true;
+
+  /**
+   * Per-URL availability state. All fields for a URL live together so that registration, probing,
+   * rescheduling and removal never observe a partially updated view.
+   */
+  private static final class UrlState {
+    /** Last known availability; newly registered URLs are considered available until probed. */
+    volatile boolean available;
+
+    /** Availability last reported to subscribers, or null if never reported. */
+    volatile Boolean reported;
+
+    /** Number of consecutive failed probes. */
+    volatile int consecutiveFailures;
+
+    /** Wall-clock time in milliseconds at which the next probe is due. */
+    volatile long nextDueMillis;
+
+    /** Wall-clock time in milliseconds of the last probe, or 0 if never probed. */
+    volatile long lastProbeMillis;
+
+    /** Response time of the last probe in milliseconds, or null if no response was received. */
+    volatile Long lastLatencyMillis;
+
+    /** Probe settings of the application using this URL, or null for the global strategy. */
+    volatile ProbeSpec probe;
+
+    /** Pending probe in the delay queue. */
+    ScheduledFuture<?> scheduled;
+
+    /**
+     * Backend services as "namespace/name" keys whose EndpointSlice readiness determines the
+     * availability of this URL. Empty for URLs that are probed over HTTP.
+     */
+    volatile Set<String> backendServices = Set.of();
+
+    /** Guards against overlapping probes of the same URL. */
+    final AtomicBoolean probing = new AtomicBoolean(false);
+
+    /** Response time histogram and rolling uptime window. */
+    final ProbeStatistics statistics = new ProbeStatistics();
+
+    /** Response time timers of the applications using this URL, keyed by their tags. */
+    final Map<Tags, Timer> applicationTimers = new ConcurrentHashMap<>();
+
+    UrlState(boolean available) {
+      this.available = available;
+    }
+  }
+
+  /**
+   * Meters of an application, keyed by its tags and bound to the state of the URL it currently
+   * uses. When the application moves to another URL, its meters are rebound to the new state.
+   *
+   * @param state the state of the URL the meters report on
+   * @param meters the meters registered for the application
+   */
+  private record ApplicationMeters(UrlState state, List<Meter> meters) {}
+
+  /** Per-host state shared by all URLs with the same scheme, host and port. */
+  private static final class HostState {
+    /** Limits the number of concurrent probes against the host. */
+    final Semaphore permits;
+
+    /** Time in milliseconds until which the host is considered unreachable, or 0. */
+    volatile long unreachableUntil;
+
+    /** Description of the failure that made the host unreachable. */
+    volatile String unreachableReason;
+
+    HostState(int maxConcurrency) {
+      this.permits = new Semaphore(Math.max(1, maxConcurrency));
+    }
+  }
 
   /**
-   * Constructor that initializes the HTTP client with appropriate timeouts.
+   * Constructor that initializes the probe clients with appropriate timeouts.
    *
    * @param ignoreCertificates whether to ignore SSL certificate validation
+   * @param maxConcurrency maximum number of probes in flight at once
    * @param eventBroadcaster the event broadcaster for sending availability change events
+   * @param endpointAvailabilityService the EndpointSlice readiness source for in-cluster apps
+   * @param meterRegistry the meter registry for probe and cycle metrics
    */
   public AvailabilityCheckService(
       @ConfigProperty(name = "startpunkt.availability.ignoreCertificates", defaultValue = "false")
           boolean ignoreCertificates,
-      EventBroadcaster eventBroadcaster) {
+      @ConfigProperty(name = "startpunkt.availability.maxConcurrency", defaultValue = "32")
+          int maxConcurrency,
+      EventBroadcaster eventBroadcaster,
+      EndpointAvailabilityService endpointAvailabilityService,
+      MeterRegistry meterRegistry) {
     this.eventBroadcaster = eventBroadcaster;
-    HttpClient.Builder builder =
-        HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(5))
-            .followRedirects(HttpClient.Redirect.NORMAL);
-
-    if (ignoreCertificates) {
-      Log.warn(
-          "SSL certificate validation and hostname verification "
-              + "are disabled for availability checks. "
-              + "This is insecure and should only be used in "
-              + "development environments.");
-      try {
-        // Create a trust manager that accepts all certificates
-        TrustManager[] trustAllCerts =
-            new TrustManager[] {
-              new X509TrustManager() {
-                public X509Certificate[] getAcceptedIssuers() {
-                  return new X509Certificate[0];
-                }
-
-                public void checkClientTrusted(X509Certificate[] certs, String authType) {}
-
-                public void checkServerTrusted(X509Certificate[] certs, String authType) {}
-              }
-            };
-
-        // Install the all-trusting trust manager
-        SSLContext sslContext = SSLContext.getInstance("TLS");
-        sslContext.init(null, trustAllCerts, new SecureRandom());
-
-        // Create SSL parameters that disable hostname verification
-        SSLParameters sslParameters = new SSLParameters();
-        sslParameters.setEndpointIdentificationAlgorithm(null);
-
-        builder.sslContext(sslContext).sslParameters(sslParameters);
-      } catch (NoSuchAlgorithmException | KeyManagementException e) {
-        Log.error("Failed to configure SSL context to ignore certificates", e);
-      }
-    }
+    this.endpointAvailabilityService = endpointAvailabilityService;
+    this.meterRegistry = meterRegistry;
+    this.probeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    this.globalPermits = new Semaphore(Math.max(1, maxConcurrency));
+    this.dueQueue =
+        new ScheduledThreadPoolExecutor(
+            1,
+            r -> {
+              Thread thread = new Thread(r, "availability-scheduler");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.dueQueue.setRemoveOnCancelPolicy(true);
+    Gauge.builder("startpunkt.availability.viewers", activeViewers, AtomicInteger::get)
+        .description("Number of connected clients subscribed to application updates")
+        .register(meterRegistry);
+    this.prober = new AvailabilityProber(ignoreCertificates);
+  }
 
-    this.httpClient = builder.build();
+  /** Stops the scheduler and the probe executor on shutdown. */
+  @PreDestroy
+  void shutdown() {
+    dueQueue.shutdownNow();
+    probeExecutor.shutdownNow();
   }
 
   /**
@@ -174,9 +374,9 @@ public class AvailabilityCheckService {
   /**
    * Checks the availability of a single application URL with exponential backoff support.
    *
-   * <p>This method performs an actual HTTP check for the URL. For healthy URLs, checks are
-   * performed at the regular interval. For failing URLs, exponential backoff is applied to reduce
-   * load on unresponsive services.
+   * <p>This method performs an actual HTTP check for the URL and reschedules the next background
+   * probe from the result: one interval later on success, or after the exponential backoff delay on
+   * failure. URLs that were not registered before become tracked by the check.
    *
    * @param url the URL to check
    * @param respectBackoff if true, skip the check if the URL is in backoff period
@@ -187,86 +387,274 @@ public class AvailabilityCheckService {
       return true; // Default to available if checking is disabled
     }
 
+    UrlState state = urlStates.computeIfAbsent(url, k -> new UrlState(false));
+
     // Check if we should skip this check due to exponential backoff
-    if (respectBackoff) {
+    if (respectBackoff && state.consecutiveFailures > 0) {
       long currentTime = System.currentTimeMillis();
-      Long nextCheck = nextCheckTime.get(url);
-      if (nextCheck != null && currentTime < nextCheck) {
+      if (currentTime < state.nextDueMillis) {
         // Still in backoff period, return cached availability
         Log.tracef(
             "Skipping availability check for %s due to backoff (next check in %d ms)",
-            url, nextCheck - currentTime);
-        return availabilityCache.getOrDefault(url, false);
+            url, state.nextDueMillis - currentTime);
+        return state.available;
       }
     }
 
+    Timer.Sample probeTimer = Timer.start(meterRegistry);
+    boolean available = probe(url, state);
+    probeTimer.stop(
+        meterRegistry.timer(
+            "startpunkt.availability.probe", "outcome", available ? "available" : "unavailable"));
+    return available;
+  }
+
+  /**
+   * Performs a single probe with the strategy of the URL, updates the state for the URL and
+   * reschedules its next probe. The probe is bounded by a hard deadline of {@code
+   * startpunkt.availability.timeout} seconds covering DNS resolution, connect, TLS handshake and
+   * the part of the response the strategy needs. Every probe is recorded as a Flight Recorder
+   * {@link AvailabilityProbeEvent}.
+   *
+   * @param url the URL to probe
+   * @param state the state of the URL
+   * @return true if the application is available, false otherwise
+   */
+  private boolean probe(String url, UrlState state) {
+    AvailabilityProbeEvent event = new AvailabilityProbeEvent();
+    event.begin();
+    state.lastProbeMillis = System.currentTimeMillis();
+    state.lastLatencyMillis = null;
+    ProbeStrategy strategy = null;
     try {
-      HttpRequest request =
-          HttpRequest.newBuilder()
-              .uri(URI.create(url))
-              .timeout(Duration.ofSeconds(availabilityTimeout))
-              .method("HEAD", HttpRequest.BodyPublishers.noBody())
-              .build();
-
-      HttpResponse<Void> response =
-          httpClient.send(request, HttpResponse.BodyHandlers.discarding());
-
-      // Consider 2xx and 3xx status codes as available
-      // 404 Not Found should count as unavailable (resource doesn't exist)
-      // Other 4xx codes (401, 403, etc.) mean the server is responding but rejecting
-      // our request
-      // 5xx server errors indicate the service is actually unavailable
-      int statusCode = response.statusCode();
-      if ((statusCode >= 200 && statusCode < 400)
-          || (statusCode >= 400 && statusCode < 500 && statusCode != 404)) {
-        // Success - reset backoff state and update cache
-        availabilityCache.put(url, true);
-        resetBackoffState(url);
+      strategy = getStrategy(state);
+      long started = System.nanoTime();
+      String failure =
+          prober.probe(
+              URI.create(url), strategy, state.probe, Duration.ofSeconds(availabilityTimeout));
+      recordLatency(state, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+      if (failure == null) {
+        // Success - reset backoff state and reschedule at the regular interval
+        state.available = true;
+        state.statistics.recordOutcome(true, System.currentTimeMillis());
+        getHostState(url).unreachableUntil = 0;
+        resetBackoffState(url, state);
+        recordProbe(event, url, strategy, null);
         return true;
       } else {
-        Log.warnf("Availability check for %s returned status code %d", url, statusCode);
-        // Failure - update cache and increment backoff
-        availabilityCache.put(url, false);
-        incrementBackoff(url);
+        Log.warnf("Availability check for %s %s", url, failure);
+        // Failure - reschedule with backoff
+        state.available = false;
+        state.statistics.recordOutcome(false, System.currentTimeMillis());
+        incrementBackoff(url, state);
+        recordProbe(event, url, strategy, failure);
         return false;
       }
     } catch (Exception e) {
-      Log.warnf("Availability check failed for %s: %s", url, e.getMessage());
-      // Failure - update cache and increment backoff
-      availabilityCache.put(url, false);
-      incrementBackoff(url);
+      if (e instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
+      String reason =
+          e instanceof TimeoutException || e instanceof SocketTimeoutException
+              ? "timed out after " + availabilityTimeout + "s"
+              : e instanceof ExecutionException && e.getCause() != null
+                  ? e.getCause().toString()
+                  : e.toString();
+      Log.warnf("Availability check failed for %s: %s", url, reason);
+      // Failure - reschedule with backoff
+      state.available = false;
+      state.statistics.recordOutcome(false, System.currentTimeMillis());
+      incrementBackoff(url, state);
+      if (shareHostFailures && isHostLevelFailure(e)) {
+        HostState host = getHostState(url);
+        host.unreachableReason = reason;
+        host.unreachableUntil = state.nextDueMillis;
+      }
+      recordProbe(event, url, strategy, reason);
       return false;
     }
   }
 
+  private static void recordProbe(
+      AvailabilityProbeEvent event, String url, ProbeStrategy strategy, String failure) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.url = url;
+      event.strategy = strategy != null ? strategy.getValue() : null;
+      event.available = failure == null;
+      event.failure = failure;
+      event.commit();
+    }
+  }
+
   /**
-   * Resets the exponential backoff state for a URL after a successful check.
+   * Resolves the probe strategy of a URL from the probe settings of its application, falling back
+   * to {@code startpunkt.availability.strategy}.
+   *
+   * @param state the state of the URL
+   * @return the strategy to probe the URL with
+   */
+  private ProbeStrategy getStrategy(UrlState state) {
+    ProbeSpec probe = state.probe;
+    ProbeStrategy strategy = probe != null ? ProbeStrategy.fromValue(probe.getType()) : null;
+    if (strategy == null) {
+      strategy = ProbeStrategy.fromValue(defaultStrategy);
+    }
+    return strategy != null ? strategy : ProbeStrategy.HEAD_FOLLOW;
+  }
+
+  /**
+   * Records the response time of a probe in the URL statistics and the timers of the applications
+   * using the URL.
+   *
+   * @param state the state of the URL
+   * @param latencyMillis the response time in milliseconds
+   */
+  private void recordLatency(UrlState state, long latencyMillis) {
+    state.lastLatencyMillis = latencyMillis;
+    state.statistics.recordLatency(latencyMillis, System.currentTimeMillis());
+    for (Timer timer : state.applicationTimers.values()) {
+      timer.record(latencyMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Registers the per-application meters for an application whose URL is being probed. Repeated
+   * calls for the same application and URL are cheap no-ops; if the application now uses another
+   * URL, its meters are removed and registered again against the state of the new URL.
+   *
+   * @param app the application
+   * @param state the state of its URL
+   */
+  private void bindApplicationMeters(ApplicationResponse app, UrlState state) {
+    if (app.getResourceName() == null) {
+      return;
+    }
+    Tags tags =
+        Tags.of(
+            "cluster", app.getCluster() != null ? app.getCluster() : "local",
+            "namespace", app.getNamespace() != null ? app.getNamespace() : "",
+            "app", app.getResourceName());
+    ApplicationMeters current = applicationMeters.get(tags);
+    if (current != null && current.state() == state) {
+      return;
+    }
+    applicationMeters.compute(
+        tags,
+        (key, bound) -> {
+          if (bound != null && bound.state() == state) {
+            return bound;
+          }
+          if (bound != null) {
+            unbindApplicationMeters(key, bound);
+          }
+          Timer timer =
+              Timer.builder("startpunkt.availability.response.time")
+                  .description("Response time of application availability probes")
+                  .tags(key)
+                  .register(meterRegistry);
+          Gauge up =
+              Gauge.builder("startpunkt.availability.up", state, s -> s.available ? 1 : 0)
+                  .description("Whether the application is currently available")
+                  .tags(key)
+                  .register(meterRegistry);
+          Gauge uptime =
+              Gauge.builder(
+                      "startpunkt.availability.uptime",
+                      state,
+                      s -> {
+                        Double value = s.statistics.getUptime(System.currentTimeMillis());
+                        return value != null ? value : Double.NaN;
+                      })
+                  .description("Percentage of successful availability probes over 24 hours")
+                  .baseUnit("percent")
+                  .tags(key)
+                  .register(meterRegistry);
+          state.applicationTimers.put(key, timer);
+          return new ApplicationMeters(state, List.of(timer, up, uptime));
+        });
+  }
+
+  /**
+   * Removes the meters of an application from the registry and from the state they report on.
+   *
+   * @param tags the tags of the application
+   * @param bound the meters of the application
+   */
+  private void unbindApplicationMeters(Tags tags, ApplicationMeters bound) {
+    bound.state().applicationTimers.remove(tags);
+    bound.meters().forEach(meterRegistry::remove);
+  }
+
+  /**
+   * Determines whether a probe failure affects the whole host rather than a single URL, i.e. the
+   * host name could not be resolved, the connection could not be established or timed out, or the
+   * TLS handshake failed.
+   *
+   * @param error the probe failure
+   * @return true if every URL on the same host would fail the same way
+   */
+  static boolean isHostLevelFailure(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConnectException
+          || cause instanceof HttpConnectTimeoutException
+          || cause instanceof SocketTimeoutException
+          || cause instanceof UnknownHostException
+          || cause instanceof UnresolvedAddressException
+          || cause instanceof SSLHandshakeException) {
+        return true;
+      }
+      if (cause.getCause() == cause) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the shared state for the host of a URL.
+   *
+   * @param url the URL
+   * @return the state of its scheme, host and port
+   */
+  private HostState getHostState(String url) {
+    return hostStates.computeIfAbsent(
+        getHostKey(url), host -> new HostState(maxConcurrencyPerHost));
+  }
+
+  /**
+   * Resets the exponential backoff state for a URL after a successful check and schedules the next
+   * probe one interval later.
    *
    * @param url the URL to reset
+   * @param state the state of the URL
    */
-  private void resetBackoffState(String url) {
-    Integer previousFailures = consecutiveFailures.remove(url);
-    nextCheckTime.remove(url);
-    if (previousFailures != null && previousFailures > 0) {
+  private void resetBackoffState(String url, UrlState state) {
+    int previousFailures = state.consecutiveFailures;
+    state.consecutiveFailures = 0;
+    if (previousFailures > 0) {
       Log.infof("Reset backoff state for %s after successful check", url);
     }
+    schedule(url, state, jittered(availabilityCheckInterval.toMillis()));
   }
 
   /**
-   * Increments the exponential backoff for a URL after a failed check.
+   * Increments the exponential backoff for a URL after a failed check and schedules the next probe
+   * after the backoff delay.
    *
    * @param url the URL to increment backoff for
+   * @param state the state of the URL
    */
-  private void incrementBackoff(String url) {
-    int failures = consecutiveFailures.getOrDefault(url, 0) + 1;
-    consecutiveFailures.put(url, failures);
+  private void incrementBackoff(String url, UrlState state) {
+    int failures = state.consecutiveFailures + 1;
+    state.consecutiveFailures = failures;
 
     // Calculate exponential backoff delay
     long delay = (long) (initialDelayMs * Math.pow(backoffMultiplier, failures - 1));
-    delay = Math.min(delay, maxDelayMs); // Cap at max delay
+    delay = jittered(Math.min(delay, maxDelayMs)); // Cap at max delay
 
-    long nextCheck = System.currentTimeMillis() + delay;
-    nextCheckTime.put(url, nextCheck);
+    schedule(url, state, delay);
 
     if (failures <= maxRetries) {
       Log.infof(
@@ -280,6 +668,82 @@ public class AvailabilityCheckService {
     }
   }
 
+  /**
+   * Applies the configured random jitter to a delay.
+   *
+   * @param delayMs the nominal delay in milliseconds
+   * @return the delay randomized by up to {@code jitter} of its length in either direction
+   */
+  private long jittered(long delayMs) {
+    long spread = (long) (delayMs * Math.max(0.0, jitter));
+    if (spread <= 0) {
+      return delayMs;
+    }
+    return Math.max(0, delayMs + ThreadLocalRandom.current().nextLong(-spread, spread + 1));
+  }
+
+  /**
+   * Places the next probe of a URL in the delay queue, replacing any pending probe. Does nothing if
+   * the URL has been unregistered in the meantime.
+   *
+   * @param url the URL to schedule
+   * @param state the state of the URL
+   * @param delayMs delay in milliseconds before the probe is due
+   */
+  private void schedule(String url, UrlState state, long delayMs) {
+    synchronized (state) {
+      if (urlStates.get(url) != state
+          || dueQueue.isShutdown()
+          || !state.backendServices.isEmpty()) {
+        return;
+      }
+      state.nextDueMillis = System.currentTimeMillis() + delayMs;
+      if (state.scheduled != null) {
+        state.scheduled.cancel(false);
+      }
+      state.scheduled =
+          dueQueue.schedule(() -> dispatch(url, state), delayMs, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Hands a due probe from the delay queue to the probe executor. While nobody is viewing the
+   * dashboard, the probe is deferred to the keep-warm interval or parked until demand returns.
+   *
+   * @param url the URL that is due
+   * @param state the state of the URL
+   */
+  private void dispatch(String url, UrlState state) {
+    if (!probingEnabled) {
+      synchronized (state) {
+        state.scheduled = null;
+      }
+      Log.tracef("Parked availability check for %s while another replica probes", url);
+      return;
+    }
+    long now = System.currentTimeMillis();
+    if (isIdle(now)) {
+      if ("pause".equalsIgnoreCase(idleMode)) {
+        synchronized (state) {
+          state.scheduled = null;
+        }
+        Log.tracef("Parked availability check for %s while idle", url);
+        return;
+      }
+      long sinceLastProbe = now - state.lastProbeMillis;
+      if (sinceLastProbe < idleInterval.toMillis()) {
+        schedule(url, state, jittered(idleInterval.toMillis() - sinceLastProbe));
+        return;
+      }
+    }
+    probeExecutor.execute(
+        () -> {
+          if (refreshUrl(url, state)) {
+            onAvailabilityChanged();
+          }
+        });
+  }
+
   /**
    * Wraps a list of ApplicationSpec objects with availability status.
    *
@@ -299,7 +763,7 @@ public class AvailabilityCheckService {
         String url = app.getUrl();
         if (url != null && !url.isEmpty()) {
           // Check if we have a cached result
-          Boolean cached = availabilityCache.get(url);
+          Boolean cached = getCachedAvailability(url);
           if (cached != null) {
             wrapped.setAvailable(cached);
           } else {
@@ -318,9 +782,10 @@ public class AvailabilityCheckService {
   }
 
   /**
-   * Enriches a list of ApplicationResponse objects with availability status. Unlike
-   * wrapWithAvailability, this method works with already-wrapped objects that may have metadata
-   * fields populated.
+   * Enriches a list of ApplicationResponse objects with availability status, response time
+   * percentiles and 24 hour uptime. Unlike wrapWithAvailability, this method works with
+   * already-wrapped objects that may have metadata fields populated, which are also used to tag the
+   * per-application availability meters.
    *
    * @param applications list of ApplicationResponse to enrich
    * @return the same list with availability status updated
@@ -334,9 +799,14 @@ public class AvailabilityCheckService {
         String url = app.getUrl();
         if (url != null && !url.isEmpty()) {
           // Check if we have a cached result
-          Boolean cached = availabilityCache.get(url);
-          if (cached != null) {
-            app.setAvailable(cached);
+          UrlState state = urlStates.get(url);
+          if (state != null) {
+            app.setAvailable(state.available);
+            long now = System.currentTimeMillis();
+            app.setResponseTimeP50(state.statistics.getPercentile(50, now));
+            app.setResponseTimeP95(state.statistics.getPercentile(95, now));
+            app.setUptime24h(state.statistics.getUptime(now));
+            bindApplicationMeters(app, state);
           } else {
             // If not cached, default to true to avoid blocking
             app.setAvailable(true);
@@ -351,82 +821,561 @@ public class AvailabilityCheckService {
   }
 
   /**
-   * Background job that periodically checks application availability. This runs asynchronously to
-   * avoid blocking the main request flow.
+   * Probes every tracked URL that is not in backoff right away, bypassing the per-URL schedule, and
+   * waits for the probes to complete. Each probed URL is then rescheduled from its new result.
    *
-   * <p>The job runs at the configured interval and checks all registered URLs. Healthy URLs are
-   * checked every interval, while failing URLs use exponential backoff (5s, 10s, 20s, etc.) to
-   * reduce load on unresponsive services.
+   * <p>All due URLs are probed concurrently on virtual threads, limited by {@code
+   * startpunkt.availability.maxConcurrency} in total and {@code
+   * startpunkt.availability.maxConcurrencyPerHost} per host. For each host one URL is probed first;
+   * the remaining URLs on that host are probed only once it has answered, so that an unreachable
+   * host costs a single probe. The duration is recorded in the {@code
+   * startpunkt.availability.cycle} timer.
    */
-  @Scheduled(every = "{startpunkt.availability.interval}", delayed = "5s")
   void refreshAvailability() {
-    if (!availabilityCheckEnabled) {
+    if (!availabilityCheckEnabled || !probingEnabled) {
       return;
     }
 
-    Log.info("Running background availability checks for " + availabilityCache.size() + " URLs");
+    // Failing URLs still in their backoff period are not probed
+    long currentTime = System.currentTimeMillis();
+    List<Map.Entry<String, UrlState>> dueUrls =
+        urlStates.entrySet().stream()
+            .filter(entry -> entry.getValue().backendServices.isEmpty())
+            .filter(
+                entry ->
+                    entry.getValue().consecutiveFailures == 0
+                        || currentTime >= entry.getValue().nextDueMillis)
+            .toList();
 
-    boolean hasChanges = false;
+    Log.infof("Running availability checks for %d of %d URLs", dueUrls.size(), urlStates.size());
 
-    // Get all unique URLs from the cache keys
-    for (String url : availabilityCache.keySet()) {
-      try {
-        // Use respectBackoff=true so failing URLs use exponential backoff
-        // Healthy URLs get checked every interval
-        boolean isAvailable = checkAvailability(url, true);
-        Boolean previousValue = previousAvailabilityCache.get(url);
+    Timer.Sample cycleTimer = Timer.start(meterRegistry);
+    AtomicBoolean hasChanges = new AtomicBoolean(false);
 
-        availabilityCache.put(url, isAvailable);
+    Map<String, List<Map.Entry<String, UrlState>>> byHost =
+        dueUrls.stream()
+            .collect(
+                Collectors.groupingBy(
+                    entry -> getHostKey(entry.getKey()), LinkedHashMap::new, Collectors.toList()));
 
-        // Track if availability changed
-        if (previousValue == null || previousValue != isAvailable) {
-          Log.infof("Availability changed for %s: %s -> %s", url, previousValue, isAvailable);
-          hasChanges = true;
-        }
+    List<CompletableFuture<Void>> probes = new ArrayList<>(byHost.size());
+    for (List<Map.Entry<String, UrlState>> hostUrls : byHost.values()) {
+      Map.Entry<String, UrlState> first = hostUrls.get(0);
+      List<Map.Entry<String, UrlState>> rest = hostUrls.subList(1, hostUrls.size());
+      probes.add(
+          refreshAsync(first, hasChanges)
+              .thenCompose(
+                  ignored ->
+                      CompletableFuture.allOf(
+                          rest.stream()
+                              .map(entry -> refreshAsync(entry, hasChanges))
+                              .toArray(CompletableFuture[]::new))));
+    }
+
+    try {
+      CompletableFuture.allOf(probes.toArray(CompletableFuture[]::new)).join();
+    } catch (Exception e) {
+      Log.warnf("Error waiting for availability checks to complete: %s", e.getMessage());
+    }
 
-        previousAvailabilityCache.put(url, isAvailable);
-        Log.tracef("Availability check for %s: %s", url, isAvailable);
-      } catch (Exception e) {
-        Log.debugf("Error checking availability for %s: %s", url, e.getMessage());
-        Boolean previousValue = previousAvailabilityCache.get(url);
+    long cycleNanos = cycleTimer.stop(meterRegistry.timer("startpunkt.availability.cycle"));
+    Log.debugf(
+        "Availability check cycle for %d URLs completed in %d ms",
+        dueUrls.size(), TimeUnit.NANOSECONDS.toMillis(cycleNanos));
 
-        availabilityCache.put(url, false);
+    if (hasChanges.get()) {
+      onAvailabilityChanged();
+    }
+  }
+
+  /**
+   * Starts a background probe of a URL on the probe executor.
+   *
+   * @param entry the URL and its state
+   * @param hasChanges flag set if the availability of the URL changed
+   * @return a future that completes when the probe is done
+   */
+  private CompletableFuture<Void> refreshAsync(
+      Map.Entry<String, UrlState> entry, AtomicBoolean hasChanges) {
+    return CompletableFuture.runAsync(
+        () -> {
+          if (refreshUrl(entry.getKey(), entry.getValue())) {
+            hasChanges.set(true);
+          }
+        },
+        probeExecutor);
+  }
 
-        // Track if availability changed to false due to error
-        if (previousValue == null || previousValue) {
-          Log.infof("Availability changed for %s to false due to error: %s", url, e.getMessage());
-          hasChanges = true;
+  /**
+   * Probes a single URL from the background scheduler, honoring the global and per-host concurrency
+   * limits, and records whether its availability changed. A probe that is already in flight for the
+   * same URL is not duplicated. If the host of the URL is currently known to be unreachable, the
+   * URL is failed without being probed.
+   *
+   * @param url the URL to probe
+   * @param state the state of the URL
+   * @return true if the availability of the URL changed
+   */
+  private boolean refreshUrl(String url, UrlState state) {
+    if (!state.probing.compareAndSet(false, true)) {
+      return false;
+    }
+    HostState host = getHostState(url);
+    try {
+      globalPermits.acquire();
+      try {
+        host.permits.acquire();
+        try {
+          if (shareHostFailures && System.currentTimeMillis() < host.unreachableUntil) {
+            Log.debugf(
+                "Skipping probe of %s, host is unreachable: %s", url, host.unreachableReason);
+            meterRegistry.counter("startpunkt.availability.probes.skipped").increment();
+            state.lastProbeMillis = System.currentTimeMillis();
+            state.lastLatencyMillis = null;
+            state.available = false;
+            state.statistics.recordOutcome(false, state.lastProbeMillis);
+            incrementBackoff(url, state);
+            return completeProbe(url, state, false);
+          }
+          boolean isAvailable = checkAvailability(url, false);
+          return completeProbe(url, state, isAvailable);
+        } finally {
+          host.permits.release();
         }
+      } finally {
+        globalPermits.release();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (Exception e) {
+      Log.debugf("Error checking availability for %s: %s", url, e.getMessage());
+      return recordAvailability(url, state, false);
+    } finally {
+      state.probing.set(false);
+    }
+  }
+
+  /**
+   * Records the result of a background probe and reports it to the registered {@link
+   * ProbeResultListener}s.
+   *
+   * @param url the probed URL
+   * @param state the state of the URL
+   * @param isAvailable the probe result
+   * @return true if the availability of the URL changed
+   */
+  private boolean completeProbe(String url, UrlState state, boolean isAvailable) {
+    boolean changed = recordAvailability(url, state, isAvailable);
+    if (urlStates.get(url) == state) {
+      for (ProbeResultListener listener : resultListeners) {
+        listener.probeCompleted(url, isAvailable, state.lastLatencyMillis, state.lastProbeMillis);
+      }
+    }
+    return changed;
+  }
+
+  /**
+   * Records the result of a background probe and reports whether it differs from the availability
+   * last reported to subscribers.
+   *
+   * @param url the probed URL
+   * @param state the state of the URL
+   * @param isAvailable the probe result
+   * @return true if the availability of the URL changed
+   */
+  private boolean recordAvailability(String url, UrlState state, boolean isAvailable) {
+    // The URL may have been unregistered while the probe was in flight
+    if (urlStates.get(url) != state) {
+      return false;
+    }
+
+    Boolean previousValue = state.reported;
+    state.reported = isAvailable;
+    Log.tracef("Availability check for %s: %s", url, isAvailable);
+
+    if (previousValue == null || previousValue != isAvailable) {
+      Log.infof("Availability changed for %s: %s -> %s", url, previousValue, isAvailable);
+      availabilityVersion.incrementAndGet();
+      return true;
+    }
+    return false;
+  }
 
-        previousAvailabilityCache.put(url, false);
+  /**
+   * Invalidates the application caches and broadcasts a single STATUS_CHANGED event for all
+   * availability changes observed within {@link #CHANGE_COALESCE_MS}.
+   */
+  private void onAvailabilityChanged() {
+    if (!changeFlushPending.compareAndSet(false, true) || dueQueue.isShutdown()) {
+      return;
+    }
+    dueQueue.schedule(
+        () -> {
+          changeFlushPending.set(false);
+          Log.info("Broadcasting STATUS_CHANGED event due to availability changes");
+          // Invalidate caches BEFORE broadcasting to ensure fresh data
+          invalidateApplicationCaches();
+          eventBroadcaster.broadcastStatusChanged(
+              Map.of("timestamp", System.currentTimeMillis(), "reason", "availability_check"));
+        },
+        CHANGE_COALESCE_MS,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Derives the per-host concurrency key (scheme, host and port) for a URL.
+   *
+   * @param url the URL
+   * @return the host key, or the URL itself if it cannot be parsed
+   */
+  static String getHostKey(String url) {
+    try {
+      URI uri = URI.create(url);
+      if (uri.getHost() == null) {
+        return url;
       }
+      return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+    } catch (IllegalArgumentException e) {
+      return url;
+    }
+  }
+
+  /**
+   * Records a request for availability data, such as an {@code applicationGroups} query. If the
+   * service was idle, all URLs are probed right away so the client sees fresh results.
+   */
+  public void recordDemand() {
+    long now = System.currentTimeMillis();
+    long previous = lastDemandMillis.getAndSet(now);
+    if (activeViewers.get() == 0 && wasIdle(previous, now)) {
+      Log.info("Client activity detected, resuming availability checks");
+      wakeUp();
+    }
+  }
+
+  /**
+   * Records a client that subscribed to application updates. Probing runs at full rate while at
+   * least one client is subscribed. If the service was idle, all URLs are probed right away.
+   */
+  public void viewerConnected() {
+    long now = System.currentTimeMillis();
+    int before = activeViewers.getAndIncrement();
+    long previous = lastDemandMillis.getAndSet(now);
+    if (before == 0 && wasIdle(previous, now)) {
+      Log.info("Client activity detected, resuming availability checks");
+      wakeUp();
     }
+  }
+
+  /**
+   * Records a client that unsubscribed from application updates. Probing slows down once no client
+   * has been subscribed or queried for {@code startpunkt.availability.idle.after}.
+   */
+  public void viewerDisconnected() {
+    activeViewers.updateAndGet(count -> Math.max(0, count - 1));
+    lastDemandMillis.set(System.currentTimeMillis());
+  }
+
+  /**
+   * Checks whether probing is currently throttled because nobody is viewing the dashboard.
+   *
+   * @param nowMillis the current wall-clock time in milliseconds
+   * @return true if there is no subscribed client and no recent query
+   */
+  boolean isIdle(long nowMillis) {
+    return activeViewers.get() == 0 && wasIdle(lastDemandMillis.get(), nowMillis);
+  }
+
+  private boolean wasIdle(long lastDemand, long nowMillis) {
+    return availabilityCheckEnabled
+        && !"always".equalsIgnoreCase(idleMode)
+        && nowMillis - lastDemand >= idleAfter.toMillis();
+  }
+
+  /**
+   * Gets the number of clients currently subscribed to application updates.
+   *
+   * @return the number of subscribed clients
+   */
+  public int getActiveViewers() {
+    return activeViewers.get();
+  }
+
+  /**
+   * Gets a version that changes whenever the reported availability of a URL changes, so that views
+   * built from {@link #enrichWithAvailability(List)} can tell whether they are stale. Response time
+   * statistics change with every probe and are not covered.
+   *
+   * @return the availability version
+   */
+  public long getAvailabilityVersion() {
+    return availabilityVersion.get();
+  }
 
-    // Broadcast status changed event if any availability changed
-    if (hasChanges) {
-      Log.info("Broadcasting STATUS_CHANGED event due to availability changes");
-      // Invalidate caches BEFORE broadcasting to ensure fresh data
-      invalidateApplicationCaches();
-      eventBroadcaster.broadcastStatusChanged(
-          Map.of("timestamp", System.currentTimeMillis(), "reason", "availability_check"));
+  /**
+   * Gets the time of the last subscription, unsubscription or query.
+   *
+   * @return wall-clock time in milliseconds
+   */
+  public long getLastDemandMillis() {
+    return lastDemandMillis.get();
+  }
+
+  /**
+   * Registers a listener for probes completed by this replica.
+   *
+   * @param listener the listener to add
+   */
+  public void addProbeResultListener(ProbeResultListener listener) {
+    resultListeners.add(listener);
+  }
+
+  /**
+   * Switches probing on this replica on or off. While probing is off, due URLs are parked and
+   * availability is only updated through {@link #applySharedResult(String, boolean, Long, long)}.
+   * Switching probing back on probes every URL that is not in backoff right away.
+   *
+   * @param enabled whether this replica probes
+   */
+  public void setProbingEnabled(boolean enabled) {
+    if (probingEnabled == enabled) {
+      return;
+    }
+    probingEnabled = enabled;
+    if (enabled) {
+      Log.info("Availability probing enabled on this replica");
+      wakeUp();
+    } else {
+      Log.info("Availability probing disabled on this replica, using shared results");
     }
   }
 
   /**
-   * Registers a URL for periodic availability checking.
+   * Checks whether this replica probes URLs itself.
+   *
+   * @return true if probing is enabled
+   */
+  public boolean isProbingEnabled() {
+    return probingEnabled;
+  }
+
+  /**
+   * Applies a probe result shared by the replica that holds the availability lease. Results are
+   * ignored while this replica probes itself, for URLs that are not tracked or follow EndpointSlice
+   * readiness, and when they are not newer than the current state of the URL.
+   *
+   * @param url the probed URL
+   * @param available whether the application was available
+   * @param latencyMillis response time in milliseconds, or null if no response was received
+   * @param checkedAtMillis wall-clock time of the probe in milliseconds
+   * @return true if the result was applied
+   */
+  public boolean applySharedResult(
+      String url, boolean available, Long latencyMillis, long checkedAtMillis) {
+    if (!availabilityCheckEnabled || probingEnabled || url == null) {
+      return false;
+    }
+    UrlState state = urlStates.get(url);
+    if (state == null
+        || !state.backendServices.isEmpty()
+        || checkedAtMillis <= state.lastProbeMillis) {
+      return false;
+    }
+    state.lastProbeMillis = checkedAtMillis;
+    state.available = available;
+    state.lastLatencyMillis = latencyMillis;
+    if (latencyMillis != null) {
+      recordLatency(state, latencyMillis);
+    }
+    state.statistics.recordOutcome(available, checkedAtMillis);
+    if (recordAvailability(url, state, available)) {
+      onAvailabilityChanged();
+    }
+    return true;
+  }
+
+  /**
+   * Returns from idle: reschedules parked URLs at their original due time and probes every URL that
+   * is not in backoff in one bounded burst.
+   */
+  private void wakeUp() {
+    long now = System.currentTimeMillis();
+    for (Map.Entry<String, UrlState> entry : urlStates.entrySet()) {
+      UrlState state = entry.getValue();
+      boolean parked;
+      synchronized (state) {
+        parked = state.scheduled == null;
+      }
+      // URLs that are not in backoff are covered by the burst below
+      if (parked && state.consecutiveFailures > 0 && now < state.nextDueMillis) {
+        schedule(entry.getKey(), state, state.nextDueMillis - now);
+      }
+    }
+    if (!probeExecutor.isShutdown()) {
+      probeExecutor.execute(this::refreshAvailability);
+    }
+  }
+
+  /**
+   * Registers an application for availability checking. In {@code endpoints} mode, applications
+   * with known backend Services follow EndpointSlice readiness; all other applications have their
+   * URL registered for HTTP probing.
+   *
+   * @param app the application to register
+   */
+  public void registerApplication(ApplicationResponse app) {
+    String url = app.getUrl();
+    if (!availabilityCheckEnabled || url == null || url.isEmpty()) {
+      return;
+    }
+    if (!"endpoints".equalsIgnoreCase(availabilityMode)
+        || app.getBackendServices().isEmpty()
+        || !startEndpointAvailability()) {
+      ProbeSpec probe = app.getProbe();
+      if (probe != null
+          && probe.getType() != null
+          && ProbeStrategy.fromValue(probe.getType()) == null) {
+        Log.warnf(
+            "Unknown probe strategy '%s' for %s, using '%s'",
+            probe.getType(), url, defaultStrategy);
+      }
+      register(url, probe).probe = probe;
+      return;
+    }
+
+    Set<String> services = Set.copyOf(app.getBackendServices());
+    UrlState state = urlStates.computeIfAbsent(url, k -> new UrlState(true));
+    synchronized (state) {
+      state.backendServices = services;
+      if (state.scheduled != null) {
+        state.scheduled.cancel(false);
+        state.scheduled = null;
+      }
+    }
+    if (updateFromEndpoints(url, state)) {
+      onAvailabilityChanged();
+    }
+    Log.debugf("Registered URL for endpoint-based availability: %s -> %s", url, services);
+  }
+
+  /**
+   * Starts the EndpointSlice informer and subscribes to its readiness changes.
+   *
+   * @return true if EndpointSlice readiness is available
+   */
+  private boolean startEndpointAvailability() {
+    if (endpointListenerRegistered.compareAndSet(false, true)) {
+      endpointAvailabilityService.addListener(this);
+    }
+    return endpointAvailabilityService.ensureStarted();
+  }
+
+  /**
+   * Updates the availability of an endpoint-backed URL from the readiness of its backend services.
+   *
+   * @param url the URL
+   * @param state the state of the URL
+   * @return true if the availability of the URL changed
+   */
+  private boolean updateFromEndpoints(String url, UrlState state) {
+    Set<String> services = state.backendServices;
+    if (services.isEmpty()) {
+      return false;
+    }
+    Boolean ready = endpointAvailabilityService.isAnyReady(services);
+    if (ready == null) {
+      return false; // Not synced yet, keep the current value
+    }
+    state.available = ready;
+    state.statistics.recordOutcome(ready, System.currentTimeMillis());
+    return recordAvailability(url, state, ready);
+  }
+
+  /**
+   * Re-evaluates all URLs backed by a service whose readiness changed.
+   *
+   * @param serviceKey the service as a "namespace/name" key
+   */
+  @Override
+  public void readinessChanged(String serviceKey) {
+    boolean changed = false;
+    for (Map.Entry<String, UrlState> entry : urlStates.entrySet()) {
+      if (entry.getValue().backendServices.contains(serviceKey)) {
+        changed |= updateFromEndpoints(entry.getKey(), entry.getValue());
+      }
+    }
+    if (changed) {
+      onAvailabilityChanged();
+    }
+  }
+
+  /** Re-evaluates all endpoint-backed URLs once EndpointSlices have been synced. */
+  @Override
+  public void synced() {
+    boolean changed = false;
+    for (Map.Entry<String, UrlState> entry : urlStates.entrySet()) {
+      changed |= updateFromEndpoints(entry.getKey(), entry.getValue());
+    }
+    if (changed) {
+      onAvailabilityChanged();
+    }
+  }
+
+  /** Falls back to HTTP probing for all endpoint-backed URLs. */
+  @Override
+  public void informerFailed() {
+    for (Map.Entry<String, UrlState> entry : urlStates.entrySet()) {
+      UrlState state = entry.getValue();
+      if (!state.backendServices.isEmpty()) {
+        state.backendServices = Set.of();
+        schedule(entry.getKey(), state, jittered(firstProbeSpreadMs));
+      }
+    }
+  }
+
+  /**
+   * Registers a URL for periodic availability checking. The first probe is scheduled right away,
+   * after a short random delay of up to {@code startpunkt.availability.firstProbeSpreadMs} so that
+   * URLs registered together (e.g., at startup) are not probed in a single burst. Until that probe
+   * completes the URL is reported as available.
    *
    * @param url the URL to register
    */
   public void registerUrl(String url) {
     if (availabilityCheckEnabled && url != null && !url.isEmpty()) {
-      boolean wasNew =
-          availabilityCache.putIfAbsent(url, true) == null; // Default to available until checked
-      if (wasNew) {
-        Log.infof(
-            "Registered URL for availability checking: %s (total: %d)",
-            url, availabilityCache.size());
+      register(url, null);
+    }
+  }
+
+  /**
+   * Starts tracking a URL for HTTP probing unless it is tracked already. A tracked URL that follows
+   * EndpointSlice readiness, because the application using it had backend Services, is probed over
+   * HTTP again from now on.
+   *
+   * @param url the URL to register
+   * @param probe the probe settings for a newly tracked URL
+   * @return the state of the URL
+   */
+  private UrlState register(String url, ProbeSpec probe) {
+    UrlState state = new UrlState(true); // Default to available until checked
+    state.probe = probe;
+    UrlState existing = urlStates.putIfAbsent(url, state);
+    if (existing != null) {
+      synchronized (existing) {
+        if (!existing.backendServices.isEmpty()) {
+          existing.backendServices = Set.of();
+          schedule(url, existing, jittered(firstProbeSpreadMs));
+          Log.debugf("URL no longer has backend services, probing over HTTP: %s", url);
+        }
       }
+      return existing;
     }
+    long firstProbeDelay =
+        firstProbeSpreadMs > 0 ? ThreadLocalRandom.current().nextLong(firstProbeSpreadMs + 1) : 0;
+    schedule(url, state, firstProbeDelay);
+    Log.infof("Registered URL for availability checking: %s (total: %d)", url, urlStates.size());
+    return state;
   }
 
   /**
@@ -437,14 +1386,27 @@ public class AvailabilityCheckService {
    */
   public void unregisterUrl(String url) {
     if (url != null && !url.isEmpty()) {
-      final boolean wasPresent = availabilityCache.remove(url) != null;
-      previousAvailabilityCache.remove(url);
-      consecutiveFailures.remove(url);
-      nextCheckTime.remove(url);
-      if (wasPresent) {
+      UrlState state = urlStates.remove(url);
+      if (state != null) {
+        synchronized (state) {
+          if (state.scheduled != null) {
+            state.scheduled.cancel(false);
+          }
+        }
+        for (Tags tags : state.applicationTimers.keySet()) {
+          applicationMeters.computeIfPresent(
+              tags,
+              (key, bound) -> {
+                if (bound.state() != state) {
+                  return bound;
+                }
+                unbindApplicationMeters(key, bound);
+                return null;
+              });
+        }
         Log.infof(
             "Unregistered URL from availability checking: %s (remaining: %d)",
-            url, availabilityCache.size());
+            url, urlStates.size());
       }
     }
   }
@@ -455,7 +1417,7 @@ public class AvailabilityCheckService {
    * @return a set of all URLs currently registered
    */
   public Set<String> getTrackedUrls() {
-    return new HashSet<>(availabilityCache.keySet());
+    return new HashSet<>(urlStates.keySet());
   }
 
   /**
@@ -465,7 +1427,19 @@ public class AvailabilityCheckService {
    * @return true if available, false if not, null if not cached
    */
   public Boolean getCachedAvailability(String url) {
-    return availabilityCache.get(url);
+    UrlState state = urlStates.get(url);
+    return state != null ? state.available : null;
+  }
+
+  /**
+   * Gets the time at which the next probe of a URL is due.
+   *
+   * @param url the URL
+   * @return wall-clock time in milliseconds, or null if the URL is not tracked
+   */
+  Long getNextDueTime(String url) {
+    UrlState state = urlStates.get(url);
+    return state != null ? state.nextDueMillis : null;
   }
 
   /**
@@ -0,0 +1,279 @@
+package us.ullberg.startpunkt.service;
+
+import io.quarkus.logging.Log;
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import us.ullberg.startpunkt.crd.v1alpha4.ProbeSpec;
+
+/**
+ * Executes a single availability probe using one of the {@link ProbeStrategy} strategies.
+ *
+ * <p>HTTP strategies share two pooled HTTP clients, one that follows redirects and one that does
+ * not. TCP and TLS strategies open a fresh socket per probe and close it as soon as the connection
+ * or handshake completes, so they never transfer any application data.
+ *
+ * <p>A probe that receives a response reports whether the response marks the application available.
+ * A probe that does not receive a response (DNS, connect, TLS or timeout failures) throws the
+ * underlying exception, so that the caller can tell host-level failures apart.
+ */
+final class AvailabilityProber {
+
+  private final boolean ignoreCertificates;
+  private final HttpClient followingClient;
+  private final HttpClient directClient;
+  private final SSLSocketFactory socketFactory;
+
+  /**
+   * Creates the HTTP clients and TLS socket factory used by the probes.
+   *
+   * @param ignoreCertificates whether to ignore SSL certificate validation
+   */
+  AvailabilityProber(boolean ignoreCertificates) {
+    this.ignoreCertificates = ignoreCertificates;
+
+    SSLContext sslContext = null;
+    SSLParameters sslParameters = null;
+    if (ignoreCertificates) {
+      Log.warn(
+          "SSL certificate validation and hostname verification "
+              + "are disabled for availability checks. "
+              + "This is insecure and should only be used in "
+              + "development environments.");
+      try {
+        // Create a trust manager that accepts all certificates
+        TrustManager[] trustAllCerts =
+            new TrustManager[] {
+              new X509TrustManager() {
+                public X509Certificate[] getAcceptedIssuers() {
+                  return new X509Certificate[0];
+                }
+
+                public void checkClientTrusted(X509Certificate[] certs, String authType) {}
+
+                public void checkServerTrusted(X509Certificate[] certs, String authType) {}
+              }
+            };
+
+        // Install the all-trusting trust manager
+        sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, trustAllCerts, new SecureRandom());
+
+        // Create SSL parameters that disable hostname verification
+        sslParameters = new SSLParameters();
+        sslParameters.setEndpointIdentificationAlgorithm(null);
+      } catch (NoSuchAlgorithmException | KeyManagementException e) {
+        Log.error("Failed to configure SSL context to ignore certificates", e);
+        sslContext = null;
+        sslParameters = null;
+      }
+    }
+
+    this.followingClient = buildClient(HttpClient.Redirect.NORMAL, sslContext, sslParameters);
+    this.directClient = buildClient(HttpClient.Redirect.NEVER, sslContext, sslParameters);
+    this.socketFactory =
+        sslContext != null
+            ? sslContext.getSocketFactory()
+            : (SSLSocketFactory) SSLSocketFactory.getDefault();
+  }
+
+  private static HttpClient buildClient(
+      HttpClient.Redirect redirect, SSLContext sslContext, SSLParameters sslParameters) {
+    HttpClient.Builder builder =
+        HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).followRedirects(redirect);
+    if (sslContext != null) {
+      builder.sslContext(sslContext).sslParameters(sslParameters);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Probes a URL.
+   *
+   * @param uri the URL to probe
+   * @param strategy the probe strategy
+   * @param spec the probe settings of the application, or null for defaults
+   * @param timeout hard deadline for the whole probe
+   * @return null if the application is available, otherwise a description of the response that
+   *     marked it unavailable
+   * @throws Exception if no response was received
+   */
+  String probe(URI uri, ProbeStrategy strategy, ProbeSpec spec, Duration timeout) throws Exception {
+    return switch (strategy) {
+      case TCP -> probeSocket(uri, false, timeout);
+      case TLS -> probeSocket(uri, "https".equalsIgnoreCase(uri.getScheme()), timeout);
+      case HEAD, HEAD_FOLLOW, GET -> probeHttp(uri, strategy, spec, timeout);
+    };
+  }
+
+  private String probeSocket(URI uri, boolean handshake, Duration timeout) throws Exception {
+    String host = uri.getHost();
+    int port = uri.getPort() != -1 ? uri.getPort() : getDefaultPort(uri.getScheme());
+    int timeoutMillis = (int) Math.max(1, timeout.toMillis());
+
+    try (Socket socket = new Socket()) {
+      socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+      if (!handshake) {
+        return null;
+      }
+      socket.setSoTimeout(timeoutMillis);
+      try (SSLSocket sslSocket =
+          (SSLSocket) socketFactory.createSocket(socket, host, port, false)) {
+        if (!ignoreCertificates) {
+          SSLParameters parameters = sslSocket.getSSLParameters();
+          parameters.setEndpointIdentificationAlgorithm("HTTPS");
+          sslSocket.setSSLParameters(parameters);
+        }
+        sslSocket.startHandshake();
+      }
+      return null;
+    }
+  }
+
+  private String probeHttp(URI uri, ProbeStrategy strategy, ProbeSpec spec, Duration timeout)
+      throws Exception {
+    Integer expectedStatus = spec != null ? spec.getExpectedStatus() : null;
+    String bodyPrefix = strategy == ProbeStrategy.GET && spec != null ? spec.getBodyPrefix() : null;
+    byte[] expectedPrefix =
+        bodyPrefix != null ? bodyPrefix.getBytes(StandardCharsets.UTF_8) : new byte[0];
+
+    HttpRequest request =
+        HttpRequest.newBuilder()
+            .uri(uri)
+            .timeout(timeout)
+            .method(
+                strategy == ProbeStrategy.GET ? "GET" : "HEAD", HttpRequest.BodyPublishers.noBody())
+            .build();
+    HttpClient client = strategy == ProbeStrategy.HEAD ? directClient : followingClient;
+
+    // Only the first bytes of a GET body are read; the rest of the response is abandoned
+    HttpResponse.BodyHandler<byte[]> bodyHandler =
+        strategy == ProbeStrategy.GET
+            ? info -> new PrefixSubscriber(expectedPrefix.length)
+            : info -> HttpResponse.BodySubscribers.replacing(new byte[0]);
+    CompletableFuture<HttpResponse<byte[]>> pending = client.sendAsync(request, bodyHandler);
+    HttpResponse<byte[]> response;
+    try {
+      response = pending.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (Exception e) {
+      pending.cancel(true);
+      throw e;
+    }
+
+    int statusCode = response.statusCode();
+    if (!isAvailableStatus(statusCode, expectedStatus)) {
+      return "returned status code " + statusCode;
+    }
+    if (!Arrays.equals(response.body(), expectedPrefix)) {
+      return "returned a body that does not start with '" + bodyPrefix + "'";
+    }
+    return null;
+  }
+
+  /**
+   * Decides whether an HTTP status code marks an application available.
+   *
+   * <p>Without an expected status, 2xx and 3xx responses count as available. 4xx responses other
+   * than 404 also count, since the server is responding but rejecting the probe (e.g., 401 or 403).
+   * 404 and 5xx responses mark the application unavailable.
+   *
+   * @param statusCode the received status code
+   * @param expectedStatus the status code required by the application, or null
+   * @return true if the status code marks the application available
+   */
+  static boolean isAvailableStatus(int statusCode, Integer expectedStatus) {
+    if (expectedStatus != null) {
+      return statusCode == expectedStatus;
+    }
+    return (statusCode >= 200 && statusCode < 400)
+        || (statusCode >= 400 && statusCode < 500 && statusCode != 404);
+  }
+
+  private static int getDefaultPort(String scheme) {
+    return "https".equalsIgnoreCase(scheme) ? 443 : 80;
+  }
+
+  /**
+   * Body subscriber that collects at most a fixed number of bytes and then cancels the rest of the
+   * response body.
+   */
+  private static final class PrefixSubscriber implements HttpResponse.BodySubscriber<byte[]> {
+    private final int limit;
+    private final ByteArrayOutputStream buffer;
+    private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+
+    PrefixSubscriber(int limit) {
+      this.limit = limit;
+      this.buffer = new ByteArrayOutputStream(limit);
+    }
+
+    @Override
+    public CompletionStage<byte[]> getBody() {
+      return body;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      if (limit == 0) {
+        body.complete(new byte[0]);
+        subscription.cancel();
+      } else {
+        subscription.request(1);
+      }
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> items) {
+      if (body.isDone()) {
+        return;
+      }
+      for (ByteBuffer item : items) {
+        int length = Math.min(item.remaining(), limit - buffer.size());
+        byte[] chunk = new byte[length];
+        item.get(chunk);
+        buffer.write(chunk, 0, length);
+      }
+      if (buffer.size() >= limit) {
+        body.complete(buffer.toByteArray());
+        subscription.cancel();
+      } else {
+        subscription.request(1);
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      body.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      body.complete(buffer.toByteArray());
+    }
+  }
+}
@@ -0,0 +1,653 @@
+package us.ullberg.startpunkt.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.extended.leaderelection.LeaderCallbacks;
+import io.fabric8.kubernetes.client.extended.leaderelection.LeaderElectionConfigBuilder;
+import io.fabric8.kubernetes.client.extended.leaderelection.resourcelock.LeaseLock;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import us.ullberg.startpunkt.crd.v1alpha4.Application;
+import us.ullberg.startpunkt.crd.v1alpha4.ApplicationStatus;
+
+/**
+ * Shares availability probe results between replicas so that every URL is probed once, regardless
+ * of the number of replicas.
+ *
+ * <p>Replicas elect a leader through a coordination.k8s.io Lease. Only the leader probes; the other
+ * replicas switch probing off in {@link AvailabilityCheckService} and apply the results the leader
+ * publishes:
+ *
+ * <ul>
+ *   <li>Results for Application custom resources are written to the {@code status} subresource of
+ *       the Application ({@code available}, {@code lastChecked} and {@code latencyMs}) and reach
+ *       the other replicas through their Application informers.
+ *   <li>Results for applications discovered from annotations (Ingresses, Routes, HTTPRoutes and
+ *       others) are written to a single ConfigMap, one entry per URL.
+ * </ul>
+ *
+ * <p>Writes are batched and rate-limited: a result is only published when the availability of a URL
+ * changed or its last published result is older than {@code
+ * startpunkt.availability.sharing.refreshInterval}. Pending results are written every {@code
+ * startpunkt.availability.sharing.flushInterval}, with at most {@code
+ * startpunkt.availability.sharing.maxWritesPerFlush} Application status patches and one ConfigMap
+ * update per flush.
+ *
+ * <p>Followers relay client demand to the leader by stamping an annotation on the ConfigMap, so
+ * that the idle throttling of the leader follows clients connected to any replica.
+ *
+ * <p>If the Lease cannot be used (e.g., missing RBAC permissions) or no leader shows up within two
+ * lease durations, the replica falls back to probing on its own.
+ */
+@ApplicationScoped
+public class AvailabilitySharingService implements AvailabilityCheckService.ProbeResultListener {
+
+  /** Annotation on the ConfigMap holding the time of the latest client demand on a follower. */
+  static final String DEMAND_ANNOTATION = "startpunkt.ullberg.us/last-demand";
+
+  /** Prefix of the ConfigMap keys that hold probe results. */
+  static final String ENTRY_PREFIX = "u-";
+
+  /** Minimum time between two demand annotations written by the same follower. */
+  private static final long DEMAND_RELAY_MS = 60_000;
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @ConfigProperty(name = "startpunkt.availability.sharing.enabled", defaultValue = "true")
+  boolean sharingEnabled;
+
+  @ConfigProperty(
+      name = "startpunkt.availability.sharing.leaseName",
+      defaultValue = "startpunkt-availability")
+  String leaseName;
+
+  @ConfigProperty(
+      name = "startpunkt.availability.sharing.configMapName",
+      defaultValue = "startpunkt-availability")
+  String configMapName;
+
+  @ConfigProperty(name = "startpunkt.availability.sharing.namespace")
+  Optional<String> configuredNamespace;
+
+  @ConfigProperty(name = "startpunkt.availability.sharing.leaseDuration", defaultValue = "15s")
+  Duration leaseDuration;
+
+  @ConfigProperty(name = "startpunkt.availability.sharing.renewDeadline", defaultValue = "10s")
+  Duration renewDeadline;
+
+  @ConfigProperty(name = "startpunkt.availability.sharing.retryPeriod", defaultValue = "2s")
+  Duration retryPeriod;
+
+  @ConfigProperty(name = "startpunkt.availability.sharing.flushInterval", defaultValue = "2s")
+  Duration flushInterval;
+
+  @ConfigProperty(name = "startpunkt.availability.sharing.maxWritesPerFlush", defaultValue = "20")
+  int maxWritesPerFlush;
+
+  @ConfigProperty(name = "startpunkt.availability.sharing.refreshInterval", defaultValue = "5m")
+  Duration refreshInterval;
+
+  /** A probe result as published by the leader. */
+  record SharedResult(String url, boolean available, long checkedAtMillis, Long latencyMs) {}
+
+  private final KubernetesClient kubernetesClient;
+  private final AvailabilityCheckService availabilityCheckService;
+  private final String identity;
+
+  // Application CRDs as "namespace/name" keys by URL, and their URLs by key
+  private final Map<String, String> applicationsByUrl = new ConcurrentHashMap<>();
+  private final Map<String, String> urlsByApplication = new ConcurrentHashMap<>();
+
+  // Leader: results waiting to be written and the last result written per URL
+  private final Map<String, SharedResult> pending = new ConcurrentHashMap<>();
+  private final Map<String, SharedResult> published = new ConcurrentHashMap<>();
+
+  // Follower: results read from Application statuses and the ConfigMap, re-applied on every flush
+  // so that results seen before a URL was registered or before probing was switched off apply
+  private final Map<String, SharedResult> received = new ConcurrentHashMap<>();
+
+  private volatile String namespace;
+  private volatile boolean leader;
+  private volatile String currentLeader;
+  private volatile boolean shuttingDown;
+  private volatile long electionStartedMillis;
+  private volatile long lastRelayedDemand;
+  private volatile long lastSeenDemand;
+  private volatile CompletableFuture<?> election;
+  private volatile SharedIndexInformer<ConfigMap> informer;
+  private volatile ScheduledThreadPoolExecutor executor;
+
+  /**
+   * Constructor.
+   *
+   * @param kubernetesClient the client for the local cluster
+   * @param availabilityCheckService the service that probes and tracks availability
+   */
+  public AvailabilitySharingService(
+      KubernetesClient kubernetesClient, AvailabilityCheckService availabilityCheckService) {
+    this.kubernetesClient = kubernetesClient;
+    this.availabilityCheckService = availabilityCheckService;
+    String hostname = System.getenv("HOSTNAME");
+    this.identity =
+        hostname != null && !hostname.isBlank() ? hostname : UUID.randomUUID().toString();
+  }
+
+  /**
+   * Joins the leader election on startup. Probing is held back until the election has either made
+   * this replica the leader or found another leader.
+   *
+   * @param event the startup event
+   */
+  void onStart(@Observes StartupEvent event) {
+    if (!sharingEnabled || !availabilityCheckService.isEnabled()) {
+      return;
+    }
+    namespace = configuredNamespace.orElseGet(kubernetesClient::getNamespace);
+    if (namespace == null || namespace.isBlank()) {
+      Log.info("No namespace known for availability sharing, probing on this replica");
+      return;
+    }
+
+    executor =
+        new ScheduledThreadPoolExecutor(
+            1,
+            r -> {
+              Thread thread = new Thread(r, "availability-sharing");
+              thread.setDaemon(true);
+              return thread;
+            });
+    availabilityCheckService.addProbeResultListener(this);
+    availabilityCheckService.setProbingEnabled(false);
+    startInformer();
+    startElection();
+    long flushMillis = Math.max(100, flushInterval.toMillis());
+    executor.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    Log.infof("Sharing availability results via Lease %s/%s as %s", namespace, leaseName, identity);
+  }
+
+  /** Releases the lease and stops the informer on shutdown. */
+  @PreDestroy
+  void shutdown() {
+    shuttingDown = true;
+    CompletableFuture<?> current = election;
+    if (current != null) {
+      current.cancel(true);
+    }
+    SharedIndexInformer<ConfigMap> currentInformer = informer;
+    if (currentInformer != null) {
+      currentInformer.stop();
+    }
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Checks whether this replica currently holds the availability lease.
+   *
+   * @return true if this replica is the leader
+   */
+  public boolean isLeader() {
+    return leader;
+  }
+
+  private void startElection() {
+    if (shuttingDown) {
+      return;
+    }
+    electionStartedMillis = System.currentTimeMillis();
+    currentLeader = null;
+    try {
+      CompletableFuture<?> started =
+          kubernetesClient
+              .leaderElector()
+              .withConfig(
+                  new LeaderElectionConfigBuilder()
+                      .withName("startpunkt-availability")
+                      .withLock(new LeaseLock(namespace, leaseName, identity))
+                      .withLeaseDuration(leaseDuration)
+                      .withRenewDeadline(renewDeadline)
+                      .withRetryPeriod(retryPeriod)
+                      .withReleaseOnCancel(true)
+                      .withLeaderCallbacks(
+                          new LeaderCallbacks(
+                              this::startLeading, this::stopLeading, this::newLeader))
+                      .build())
+              .build()
+              .start();
+      election = started;
+      started.whenComplete(
+          (ignored, error) -> {
+            if (shuttingDown) {
+              return;
+            }
+            if (error != null) {
+              Log.warnf(
+                  "Availability leader election failed, probing on this replica: %s",
+                  error.getMessage());
+              availabilityCheckService.setProbingEnabled(true);
+            }
+            // Rejoin the election after losing the lease or failing
+            executor.schedule(this::startElection, leaseDuration.toMillis(), TimeUnit.MILLISECONDS);
+          });
+    } catch (Exception e) {
+      Log.warnf(
+          "Could not start availability leader election, probing on this replica: %s",
+          e.getMessage());
+      availabilityCheckService.setProbingEnabled(true);
+    }
+  }
+
+  private void startLeading() {
+    Log.infof("Acquired availability lease %s/%s, probing on this replica", namespace, leaseName);
+    leader = true;
+    published.clear();
+    availabilityCheckService.setProbingEnabled(true);
+  }
+
+  private void stopLeading() {
+    Log.infof("Lost availability lease %s/%s", namespace, leaseName);
+    leader = false;
+    pending.clear();
+    if (!shuttingDown) {
+      availabilityCheckService.setProbingEnabled(false);
+    }
+  }
+
+  private void newLeader(String newIdentity) {
+    currentLeader = newIdentity;
+    if (!identity.equals(newIdentity)) {
+      Log.infof("Availability probing is done by %s", newIdentity);
+      availabilityCheckService.setProbingEnabled(false);
+    }
+  }
+
+  /**
+   * Tracks an Application custom resource and applies the probe result in its status. Called by the
+   * Application informer for every add and update, including status-only updates.
+   *
+   * @param application the Application
+   */
+  public void applicationChanged(Application application) {
+    if (application.getMetadata() == null || application.getSpec() == null) {
+      return;
+    }
+    String key =
+        application.getMetadata().getNamespace() + "/" + application.getMetadata().getName();
+    String url = application.getSpec().getUrl();
+    String previousUrl = url != null ? urlsByApplication.put(key, url) : urlsByApplication.get(key);
+    if (previousUrl != null && !previousUrl.equals(url)) {
+      applicationsByUrl.remove(previousUrl, key);
+    }
+    if (url == null || url.isEmpty()) {
+      return;
+    }
+    applicationsByUrl.put(url, key);
+
+    ApplicationStatus status = application.getStatus();
+    if (status != null && status.getAvailable() != null && status.getLastChecked() != null) {
+      Long checkedAt = parseTime(status.getLastChecked());
+      if (checkedAt != null) {
+        received.put(
+            url, new SharedResult(url, status.getAvailable(), checkedAt, status.getLatencyMs()));
+        availabilityCheckService.applySharedResult(
+            url, status.getAvailable(), status.getLatencyMs(), checkedAt);
+      }
+    }
+  }
+
+  /**
+   * Stops tracking a deleted Application custom resource.
+   *
+   * @param application the Application
+   */
+  public void applicationDeleted(Application application) {
+    if (application.getMetadata() == null) {
+      return;
+    }
+    String key =
+        application.getMetadata().getNamespace() + "/" + application.getMetadata().getName();
+    String url = urlsByApplication.remove(key);
+    if (url != null) {
+      applicationsByUrl.remove(url, key);
+      received.remove(url);
+    }
+  }
+
+  /**
+   * Queues the result of a probe for publishing if this replica is the leader and the result is
+   * worth sharing: the availability changed, or the last published result is getting old.
+   */
+  @Override
+  public void probeCompleted(
+      String url, boolean available, Long latencyMillis, long checkedAtMillis) {
+    if (!leader) {
+      return;
+    }
+    SharedResult previous = published.get(url);
+    if (previous == null
+        || previous.available() != available
+        || checkedAtMillis - previous.checkedAtMillis() >= refreshInterval.toMillis()) {
+      pending.put(url, new SharedResult(url, available, checkedAtMillis, latencyMillis));
+    }
+  }
+
+  private void flush() {
+    try {
+      if (leader) {
+        publishPending();
+      } else {
+        relayDemand(System.currentTimeMillis());
+        received
+            .values()
+            .forEach(
+                result ->
+                    availabilityCheckService.applySharedResult(
+                        result.url(),
+                        result.available(),
+                        result.latencyMs(),
+                        result.checkedAtMillis()));
+      }
+      if (currentLeader == null
+          && !availabilityCheckService.isProbingEnabled()
+          && System.currentTimeMillis() - electionStartedMillis > 2 * leaseDuration.toMillis()) {
+        Log.warn("No availability leader elected, probing on this replica");
+        availabilityCheckService.setProbingEnabled(true);
+      }
+    } catch (Exception e) {
+      Log.warnf("Error sharing availability results: %s", e.getMessage());
+    }
+  }
+
+  /**
+   * Writes pending results: up to {@code maxWritesPerFlush} Application status patches and all
+   * results of other applications in one ConfigMap update.
+   */
+  private void publishPending() {
+    int statusWrites = 0;
+    Map<String, String> entries = new HashMap<>();
+    Iterator<Map.Entry<String, SharedResult>> iterator = pending.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, SharedResult> entry = iterator.next();
+      String url = entry.getKey();
+      SharedResult result = entry.getValue();
+      String application = applicationsByUrl.get(url);
+      if (application != null) {
+        if (statusWrites >= maxWritesPerFlush) {
+          continue; // Left pending for the next flush
+        }
+        statusWrites++;
+        writeApplicationStatus(application, result);
+      } else {
+        entries.put(entryKey(url), encode(result));
+      }
+      pending.remove(url, result);
+      published.put(url, result);
+    }
+
+    if (entries.isEmpty()) {
+      return;
+    }
+    Set<String> trackedKeys = new HashSet<>();
+    for (String url : availabilityCheckService.getTrackedUrls()) {
+      trackedKeys.add(entryKey(url));
+    }
+    editConfigMap(
+        configMap -> {
+          Map<String, String> data =
+              configMap.getData() != null ? new HashMap<>(configMap.getData()) : new HashMap<>();
+          data.putAll(entries);
+          data.keySet().removeIf(key -> key.startsWith(ENTRY_PREFIX) && !trackedKeys.contains(key));
+          configMap.setData(data);
+          return configMap;
+        });
+    Log.debugf("Published %d availability results to ConfigMap %s", entries.size(), configMapName);
+  }
+
+  private void writeApplicationStatus(String application, SharedResult result) {
+    int slash = application.indexOf('/');
+    Application patch = new Application();
+    patch.setMetadata(
+        new ObjectMetaBuilder()
+            .withNamespace(application.substring(0, slash))
+            .withName(application.substring(slash + 1))
+            .build());
+    patch.setStatus(
+        new ApplicationStatus(
+            result.available(),
+            Instant.ofEpochMilli(result.checkedAtMillis()).toString(),
+            result.latencyMs()));
+    try {
+      kubernetesClient.resource(patch).patchStatus();
+    } catch (KubernetesClientException e) {
+      Log.debugf("Could not write availability status of %s: %s", application, e.getMessage());
+    }
+  }
+
+  /**
+   * Stamps the demand annotation on the ConfigMap while clients are connected to this replica, or
+   * after a query, at most once per {@link #DEMAND_RELAY_MS}.
+   *
+   * @param now the current wall-clock time in milliseconds
+   */
+  private void relayDemand(long now) {
+    long demand =
+        availabilityCheckService.getActiveViewers() > 0
+            ? now
+            : availabilityCheckService.getLastDemandMillis();
+    if (demand <= lastRelayedDemand || now - lastRelayedDemand < DEMAND_RELAY_MS) {
+      return;
+    }
+    lastRelayedDemand = now;
+    editConfigMap(
+        configMap -> {
+          Map<String, String> annotations =
+              configMap.getMetadata().getAnnotations() != null
+                  ? new HashMap<>(configMap.getMetadata().getAnnotations())
+                  : new HashMap<>();
+          annotations.put(DEMAND_ANNOTATION, Long.toString(demand));
+          configMap.getMetadata().setAnnotations(annotations);
+          return configMap;
+        });
+  }
+
+  /**
+   * Applies a change to the shared ConfigMap, creating it if it does not exist.
+   *
+   * @param change the change to apply
+   */
+  private void editConfigMap(UnaryOperator<ConfigMap> change) {
+    var resource = kubernetesClient.configMaps().inNamespace(namespace).withName(configMapName);
+    if (resource.get() == null) {
+      try {
+        resource.create(
+            change.apply(
+                new ConfigMapBuilder()
+                    .withNewMetadata()
+                    .withName(configMapName)
+                    .withNamespace(namespace)
+                    .endMetadata()
+                    .build()));
+        return;
+      } catch (KubernetesClientException e) {
+        if (e.getCode() != 409) {
+          throw e;
+        }
+        // Created concurrently by another replica, edit it instead
+      }
+    }
+    resource.edit(change);
+  }
+
+  private void startInformer() {
+    try {
+      SharedIndexInformer<ConfigMap> configMapInformer =
+          kubernetesClient
+              .configMaps()
+              .inNamespace(namespace)
+              .withName(configMapName)
+              .runnableInformer(0);
+      configMapInformer.addEventHandler(
+          new ResourceEventHandler<ConfigMap>() {
+            @Override
+            public void onAdd(ConfigMap configMap) {
+              configMapChanged(configMap);
+            }
+
+            @Override
+            public void onUpdate(ConfigMap oldConfigMap, ConfigMap newConfigMap) {
+              configMapChanged(newConfigMap);
+            }
+
+            @Override
+            public void onDelete(ConfigMap configMap, boolean deletedFinalStateUnknown) {
+              received.clear();
+            }
+          });
+      informer = configMapInformer;
+      configMapInformer.start();
+    } catch (Exception e) {
+      Log.warnf("Failed to start availability ConfigMap informer: %s", e.getMessage());
+    }
+  }
+
+  private void configMapChanged(ConfigMap configMap) {
+    if (leader) {
+      Map<String, String> annotations = configMap.getMetadata().getAnnotations();
+      String value = annotations != null ? annotations.get(DEMAND_ANNOTATION) : null;
+      if (value != null) {
+        try {
+          long demand = Long.parseLong(value);
+          if (demand > lastSeenDemand) {
+            lastSeenDemand = demand;
+            availabilityCheckService.recordDemand();
+          }
+        } catch (NumberFormatException e) {
+          Log.debugf("Ignoring invalid demand annotation: %s", value);
+        }
+      }
+      return;
+    }
+
+    if (configMap.getData() == null) {
+      return;
+    }
+    for (Map.Entry<String, String> entry : configMap.getData().entrySet()) {
+      if (!entry.getKey().startsWith(ENTRY_PREFIX)) {
+        continue;
+      }
+      SharedResult result = decode(entry.getValue());
+      if (result != null) {
+        received.put(result.url(), result);
+        availabilityCheckService.applySharedResult(
+            result.url(), result.available(), result.latencyMs(), result.checkedAtMillis());
+      }
+    }
+  }
+
+  /**
+   * Derives the ConfigMap key for a URL. URLs contain characters that are not valid in ConfigMap
+   * keys, so the key is a prefix of the SHA-256 hash of the URL.
+   *
+   * @param url the URL
+   * @return the ConfigMap key
+   */
+  static String entryKey(String url) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+      StringBuilder key = new StringBuilder(ENTRY_PREFIX);
+      for (int i = 0; i < 16; i++) {
+        key.append(String.format("%02x", hash[i]));
+      }
+      return key.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * Encodes a result as a ConfigMap value.
+   *
+   * @param result the result
+   * @return JSON with url, available, lastChecked and latencyMs
+   */
+  static String encode(SharedResult result) {
+    ObjectNode node = MAPPER.createObjectNode();
+    node.put("url", result.url());
+    node.put("available", result.available());
+    node.put("lastChecked", Instant.ofEpochMilli(result.checkedAtMillis()).toString());
+    if (result.latencyMs() != null) {
+      node.put("latencyMs", result.latencyMs());
+    }
+    return node.toString();
+  }
+
+  /**
+   * Decodes a ConfigMap value written by {@link #encode(SharedResult)}.
+   *
+   * @param value the ConfigMap value
+   * @return the result, or null if the value is not a valid result
+   */
+  static SharedResult decode(String value) {
+    try {
+      JsonNode node = MAPPER.readTree(value);
+      JsonNode url = node.get("url");
+      JsonNode available = node.get("available");
+      JsonNode lastChecked = node.get("lastChecked");
+      if (url == null || available == null || lastChecked == null) {
+        return null;
+      }
+      Long checkedAt = parseTime(lastChecked.asText());
+      if (checkedAt == null) {
+        return null;
+      }
+      JsonNode latency = node.get("latencyMs");
+      return new SharedResult(
+          url.asText(),
+          available.asBoolean(),
+          checkedAt,
+          latency != null && latency.canConvertToLong() ? latency.asLong() : null);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private static Long parseTime(String value) {
+    try {
+      return Instant.parse(value).toEpochMilli();
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+}
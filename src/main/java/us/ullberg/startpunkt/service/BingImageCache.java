@@ -0,0 +1,183 @@
+package us.ullberg.startpunkt.service;
+
+import io.quarkus.logging.Log;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Bounded on-disk cache of Bing image variants, so that browsers load the background from
+ * Startpunkt instead of from Bing.
+ *
+ * <p>Each variant is stored in a file named after a hash of its urlbase and its resolution. Bing
+ * never changes the image behind a urlbase, so files are immutable and their name doubles as a
+ * strong ETag. Variants are downloaded from the {@link BingImageSource} on first request, once
+ * even when several browsers ask at the same time, and the least recently served files are removed
+ * when the cache grows beyond its size limit.
+ */
+@ApplicationScoped
+public class BingImageCache {
+
+  private static final Pattern FILE_NAME = Pattern.compile("[0-9a-f]{32}_[0-9A-Za-z]+\\.jpg");
+  private static final int HASH_LENGTH = 32;
+
+  private final BingImageSource source;
+  private final BoundedFileCache files;
+  private final Map<String, Variant> variants = new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<Path>> downloads = new ConcurrentHashMap<>();
+
+  /**
+   * A cached image file.
+   *
+   * @param path the file
+   * @param etag strong entity tag of the file, including quotes
+   * @param size size of the file in bytes
+   */
+  public record CachedImage(Path path, String etag, long size) {}
+
+  private record Variant(String urlbase, String resolution) {}
+
+  /**
+   * Constructor with injected dependencies. Files already in the cache directory are kept, so
+   * images survive restarts.
+   *
+   * @param source where images are downloaded from
+   * @param directory cache directory, defaults to a directory below the temporary directory
+   * @param maxBytes maximum total size of the cached files
+   */
+  public BingImageCache(
+      BingImageSource source,
+      @ConfigProperty(name = "startpunkt.bingimage.proxy.directory") Optional<String> directory,
+      @ConfigProperty(name = "startpunkt.bingimage.proxy.maxBytes", defaultValue = "104857600")
+          long maxBytes) {
+    this.source = source;
+    Path cacheDirectory =
+        directory
+            .map(Path::of)
+            .orElseGet(() -> Path.of(System.getProperty("java.io.tmpdir"), "startpunkt-bingimage"));
+    this.files =
+        new BoundedFileCache(
+            "Bing image",
+            cacheDirectory,
+            () -> maxBytes,
+            cacheDirectory::resolve,
+            path -> FILE_NAME.matcher(path.toString()).matches() ? path.toString() : null);
+    files.load();
+    files.evict(null);
+  }
+
+  /**
+   * Returns the name under which a variant is served, and remembers the variant so that it can be
+   * downloaded when first requested.
+   *
+   * @param urlbase base URL path of the image
+   * @param resolution resolution of the variant
+   * @return the file name of the variant
+   */
+  public String register(String urlbase, String resolution) {
+    String name = fileName(urlbase, resolution);
+    variants.putIfAbsent(name, new Variant(urlbase, resolution));
+    return name;
+  }
+
+  /**
+   * Returns a cached variant, downloading it first if it has been registered but is not cached.
+   *
+   * @param name the file name returned by {@link #register(String, String)}
+   * @return the cached image, or empty if the name is unknown
+   * @throws IOException if the variant cannot be downloaded
+   */
+  public Optional<CachedImage> get(String name) throws IOException {
+    if (!FILE_NAME.matcher(name).matches()) {
+      return Optional.empty();
+    }
+    Long size = files.touch(name);
+    if (size != null) {
+      return Optional.of(new CachedImage(files.path(name), etag(name), size));
+    }
+    Variant variant = variants.get(name);
+    if (variant == null) {
+      return Optional.empty();
+    }
+    Path path = download(name, variant);
+    return Optional.of(new CachedImage(path, etag(name), Files.size(path)));
+  }
+
+  /**
+   * Returns the total size of the cached files.
+   *
+   * @return size in bytes
+   */
+  public long getTotalBytes() {
+    return files.getTotalBytes();
+  }
+
+  /**
+   * Returns the file name of a variant. Only the hash of the urlbase is used, as it contains
+   * characters that do not belong in file names.
+   *
+   * @param urlbase base URL path of the image
+   * @param resolution resolution of the variant
+   * @return the file name
+   */
+  static String fileName(String urlbase, String resolution) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(urlbase.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest).substring(0, HASH_LENGTH) + "_" + resolution + ".jpg";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static String etag(String name) {
+    return "\"" + name.substring(0, name.length() - ".jpg".length()) + "\"";
+  }
+
+  private Path download(String name, Variant variant) throws IOException {
+    CompletableFuture<Path> download = new CompletableFuture<>();
+    CompletableFuture<Path> running = downloads.putIfAbsent(name, download);
+    if (running != null) {
+      return await(running);
+    }
+    try {
+      Path target = files.path(name);
+      if (files.touch(name) == null) {
+        files.store(name, part -> source.download(variant.urlbase(), variant.resolution(), part));
+        Log.infof(
+            "Cached Bing image %s_%s as %s (%d bytes in cache)",
+            variant.urlbase(), variant.resolution(), name, getTotalBytes());
+      }
+      download.complete(target);
+      return target;
+    } catch (IOException | RuntimeException e) {
+      download.completeExceptionally(e);
+      throw e;
+    } finally {
+      downloads.remove(name, download);
+    }
+  }
+
+  private static Path await(CompletableFuture<Path> download) throws IOException {
+    try {
+      return download.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof IOException io) {
+        throw io;
+      }
+      throw e;
+    }
+  }
+}
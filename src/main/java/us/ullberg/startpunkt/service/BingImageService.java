@@ -5,15 +5,27 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.annotation.Timed;
 import io.quarkus.cache.CacheResult;
 import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
 import io.smallrye.faulttolerance.api.CircuitBreakerName;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
 import org.eclipse.microprofile.faulttolerance.Fallback;
@@ -22,17 +34,64 @@ import us.ullberg.startpunkt.objects.bingimage.BingImage;
 
 /**
  * Service for fetching and caching Bing's Image of the Day. The base URL from Bing API is cached
- * for 1 hour, and resolution selection is performed based on client aspect ratio.
+ * for 1 hour, and resolution selection is performed based on client aspect ratio. Unless the image
+ * proxy is disabled, the returned URLs point at Startpunkt itself, which serves the image from a
+ * {@link BingImageCache}.
+ *
+ * <p>The archive of the last days is prefetched at startup and again shortly after each daily
+ * rollover of Bing's image, retrying with backoff when Bing cannot be reached, so that clients do
+ * not wait for Bing and a recent real image is at hand when it is down. Each prefetch also
+ * downloads the resolutions that clients requested recently into the image cache.
  */
 @ApplicationScoped
 public class BingImageService {
 
-  private static final String BING_API_URL =
-      "https://www.bing.com/HPImageArchive.aspx?format=js&idx=0&n=1";
-  private static final String BING_IMAGE_BASE_URL = "https://www.bing.com";
+  /** Path below which proxied images are served, relative to the root of Startpunkt. */
+  public static final String PROXY_PATH = "api/bingimage/";
+
+  private static final DateTimeFormatter FULL_START_DATE =
+      DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+
+  // How long to wait before checking again when Bing has not rolled over when expected
+  private static final Duration LATE_ROLLOVER_RECHECK = Duration.ofMinutes(30);
 
   private final ObjectMapper objectMapper;
-  private final HttpClient httpClient;
+  private final BingImageSource source;
+  private final BingImageCache cache;
+
+  // Newest image first
+  private volatile List<BingImageData> archive = List.of();
+  // Resolution to the time it was last requested, in epoch milliseconds
+  private final Map<String, Long> requestedResolutions = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService prefetcher =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "bing-image-prefetch");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private long retryDelayMillis;
+
+  @ConfigProperty(name = "startpunkt.bingimage.proxy.enabled", defaultValue = "true")
+  boolean proxyEnabled;
+
+  @ConfigProperty(name = "startpunkt.bingimage.archive.days", defaultValue = "8")
+  int archiveDays;
+
+  @ConfigProperty(name = "startpunkt.bingimage.prefetch.enabled", defaultValue = "true")
+  boolean prefetchEnabled;
+
+  @ConfigProperty(name = "startpunkt.bingimage.prefetch.delay", defaultValue = "5m")
+  Duration prefetchDelay;
+
+  @ConfigProperty(name = "startpunkt.bingimage.prefetch.retryDelay", defaultValue = "30s")
+  Duration prefetchRetryDelay;
+
+  @ConfigProperty(name = "startpunkt.bingimage.prefetch.maxRetryDelay", defaultValue = "30m")
+  Duration prefetchMaxRetryDelay;
+
+  @ConfigProperty(name = "startpunkt.bingimage.prefetch.resolutionWindow", defaultValue = "7d")
+  Duration resolutionWindow;
 
   @ConfigProperty(
       name = "startpunkt.bingimage.fallback.urlbase",
@@ -46,13 +105,114 @@ public class BingImageService {
   String fallbackTitle;
 
   /**
-   * Constructor initializes HTTP client and injects ObjectMapper.
+   * Constructor with injected dependencies.
    *
    * @param objectMapper Jackson ObjectMapper for JSON parsing
+   * @param source where image metadata and images are fetched from
+   * @param cache on-disk cache proxied images are served from
    */
-  public BingImageService(ObjectMapper objectMapper) {
+  public BingImageService(ObjectMapper objectMapper, BingImageSource source, BingImageCache cache) {
     this.objectMapper = objectMapper;
-    this.httpClient = HttpClient.newHttpClient();
+    this.source = source;
+    this.cache = cache;
+  }
+
+  /**
+   * Returns whether images are served by Startpunkt rather than loaded from Bing by browsers.
+   *
+   * @return true if the image proxy is enabled
+   */
+  public boolean isProxyEnabled() {
+    return proxyEnabled;
+  }
+
+  /**
+   * Starts prefetching the image archive once the application has started.
+   *
+   * @param event the startup event
+   */
+  void onStart(@Observes StartupEvent event) {
+    if (!prefetchEnabled) {
+      Log.debug("Bing image prefetch is disabled");
+      return;
+    }
+    retryDelayMillis = prefetchRetryDelay.toMillis();
+    prefetcher.execute(this::prefetch);
+  }
+
+  /** Stops prefetching on shutdown. */
+  @PreDestroy
+  void shutdown() {
+    prefetcher.shutdownNow();
+  }
+
+  /**
+   * Returns the archived images, newest first. Empty until the archive has been fetched.
+   *
+   * @return the archived images
+   */
+  List<BingImageData> getArchive() {
+    return archive;
+  }
+
+  /**
+   * Fetches the archive, downloads recently requested resolutions of the newest image and schedules
+   * the next prefetch shortly after Bing's next rollover, or a retry if Bing cannot be reached.
+   */
+  void prefetch() {
+    long delayMillis;
+    try {
+      List<BingImageData> images = fetchArchive();
+      BingImageData newest = images.get(0);
+      Log.infof(
+          "Prefetched %d Bing images, newest from %s: %s",
+          images.size(), newest.date(), newest.title());
+      retryDelayMillis = prefetchRetryDelay.toMillis();
+      prewarm(newest);
+
+      Instant now = Instant.now();
+      Instant rollover = nextRollover(newest.start());
+      if (rollover == null || !rollover.isAfter(now)) {
+        delayMillis = LATE_ROLLOVER_RECHECK.toMillis();
+      } else {
+        delayMillis = Duration.between(now, rollover.plus(prefetchDelay)).toMillis();
+      }
+    } catch (Exception e) {
+      delayMillis = retryDelayMillis;
+      retryDelayMillis = Math.min(retryDelayMillis * 2, prefetchMaxRetryDelay.toMillis());
+      Log.warnf("Failed to prefetch Bing images, retrying in %d ms: %s", delayMillis, e.toString());
+    }
+
+    Log.debugf("Next Bing image prefetch in %d ms", delayMillis);
+    try {
+      prefetcher.schedule(this::prefetch, delayMillis, TimeUnit.MILLISECONDS);
+    } catch (Exception e) {
+      Log.debugf("Not scheduling the next Bing image prefetch: %s", e);
+    }
+  }
+
+  /**
+   * Downloads the resolutions of an image that clients requested within the resolution window into
+   * the image cache, and forgets resolutions requested before it.
+   */
+  private void prewarm(BingImageData image) {
+    if (!proxyEnabled) {
+      return;
+    }
+    long cutoff = System.currentTimeMillis() - resolutionWindow.toMillis();
+    Iterator<Map.Entry<String, Long>> iterator = requestedResolutions.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, Long> entry = iterator.next();
+      if (entry.getValue() < cutoff) {
+        iterator.remove();
+        continue;
+      }
+      try {
+        cache.get(cache.register(image.urlbase(), entry.getKey()));
+      } catch (IOException e) {
+        Log.warnf("Failed to pre-warm Bing image %s_%s: %s", image.urlbase(), entry.getKey(), e);
+      }
+    }
   }
 
   /**
@@ -70,14 +230,16 @@ public class BingImageService {
     Log.debugf("Getting Bing Image of the Day for resolution: %dx%d", width, height);
 
     try {
-      // Fetch cached base data from Bing API (cached for 1 hour)
-      BingImageData baseData = fetchBingImageData();
+      // Use the prefetched archive, or fetch cached base data from Bing API (cached for 1 hour)
+      List<BingImageData> images = archive;
+      BingImageData baseData = images.isEmpty() ? fetchBingImageData() : images.get(0);
 
       // Determine best resolution based on client screen dimensions
       String resolution = getBestResolutionForAspectRatio(width, height);
+      requestedResolutions.put(resolution, System.currentTimeMillis());
 
       // Build complete image URL with selected resolution
-      String imageUrl = BING_IMAGE_BASE_URL + baseData.urlbase() + "_" + resolution + ".jpg";
+      String imageUrl = imageUrl(baseData.urlbase(), resolution);
 
       Log.debugf(
           "Bing image URL constructed: %s for date: %s with resolution: %s",
@@ -111,57 +273,94 @@ public class BingImageService {
     Log.debug("Fetching base image data from Bing API (cache miss)");
 
     try {
-      HttpRequest request = HttpRequest.newBuilder().uri(URI.create(BING_API_URL)).GET().build();
+      return fetchArchive().get(0);
+    } catch (Exception e) {
+      Log.errorf(e, "Error fetching Bing Image of the Day base data");
+      throw new IOException("Failed to fetch Bing Image of the Day", e);
+    }
+  }
 
-      HttpResponse<String> response =
-          httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+  /**
+   * Fallback method for fetchBingImageData when the circuit breaker is open or the API call fails.
+   * Returns the newest archived image if there is one.
+   *
+   * @return BingImageData with fallback values
+   */
+  BingImageData fetchBingImageDataFallback() {
+    List<BingImageData> images = archive;
+    if (!images.isEmpty()) {
+      Log.warnf("Bing API unavailable, using archived image from %s", images.get(0).date());
+      return images.get(0);
+    }
+    Log.warn("Using fallback data for Bing Image (circuit breaker open or API unavailable)");
+    String today = LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
+    return new BingImageData(fallbackUrlBase, fallbackCopyright, fallbackTitle, today, null);
+  }
 
-      if (response.statusCode() != 200) {
-        throw new IOException(
-            "Bing API returned status code: "
-                + response.statusCode()
-                + ", body: "
-                + response.body());
-      }
+  /**
+   * Fetches the images of the last days from the Bing API and replaces the archive with them.
+   *
+   * @return the images, newest first
+   * @throws IOException if the API call fails or returns no images
+   */
+  private List<BingImageData> fetchArchive() throws IOException {
+    List<BingImageData> images = parseArchive(source.fetchArchive(0, archiveDays));
+    archive = images;
+    return images;
+  }
 
-      // Parse JSON response
-      JsonNode root = objectMapper.readTree(response.body());
-      JsonNode images = root.path("images");
+  /**
+   * Parses a Bing API response.
+   *
+   * @param json the response body
+   * @return the images, newest first
+   * @throws IOException if the response cannot be parsed or holds no usable image
+   */
+  List<BingImageData> parseArchive(String json) throws IOException {
+    JsonNode root = objectMapper.readTree(json);
+    JsonNode images = root.path("images");
 
-      if (!images.isArray() || images.isEmpty()) {
-        throw new IOException("No images found in Bing API response");
-      }
+    if (!images.isArray() || images.isEmpty()) {
+      throw new IOException("No images found in Bing API response");
+    }
 
-      JsonNode image = images.get(0);
+    List<BingImageData> result = new ArrayList<>();
+    for (JsonNode image : images) {
       String urlbase = image.path("urlbase").asText();
-      String copyright = image.path("copyright").asText();
-      String title = image.path("title").asText();
-      String startdate = image.path("startdate").asText();
-
       if (urlbase.isEmpty()) {
-        throw new IOException("Urlbase is empty in Bing API response");
+        continue;
       }
+      result.add(
+          new BingImageData(
+              urlbase,
+              image.path("copyright").asText(),
+              image.path("title").asText(),
+              image.path("startdate").asText(),
+              parseStart(image.path("fullstartdate").asText())));
+    }
 
-      return new BingImageData(urlbase, copyright, title, startdate);
+    if (result.isEmpty()) {
+      throw new IOException("Urlbase is empty in Bing API response");
+    }
+    return List.copyOf(result);
+  }
 
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-      throw new IOException("Request was interrupted", e);
-    } catch (Exception e) {
-      Log.errorf(e, "Error fetching Bing Image of the Day base data");
-      throw new IOException("Failed to fetch Bing Image of the Day", e);
+  private static Instant parseStart(String fullStartDate) {
+    try {
+      return LocalDateTime.parse(fullStartDate, FULL_START_DATE).toInstant(ZoneOffset.UTC);
+    } catch (DateTimeParseException e) {
+      return null;
     }
   }
 
   /**
-   * Fallback method for fetchBingImageData when the circuit breaker is open or the API call fails.
+   * Returns when Bing replaces an image of the day, one day after it started.
    *
-   * @return BingImageData with fallback values
+   * @param start when the image started, in UTC, or null if unknown
+   * @return when the next image is expected, or null if unknown
    */
-  BingImageData fetchBingImageDataFallback() {
-    Log.warn("Using fallback data for Bing Image (circuit breaker open or API unavailable)");
-    String today = LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
-    return new BingImageData(fallbackUrlBase, fallbackCopyright, fallbackTitle, today);
+  static Instant nextRollover(Instant start) {
+    return start == null ? null : start.plus(Duration.ofDays(1));
   }
 
   /**
@@ -173,7 +372,7 @@ public class BingImageService {
    */
   private BingImage getFallbackImage(int width, int height) {
     String resolution = getBestResolutionForAspectRatio(width, height);
-    String imageUrl = BING_IMAGE_BASE_URL + fallbackUrlBase + "_" + resolution + ".jpg";
+    String imageUrl = imageUrl(fallbackUrlBase, resolution);
     String today = LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
 
     Log.debugf("Using fallback image URL: %s", imageUrl);
@@ -181,6 +380,21 @@ public class BingImageService {
     return new BingImage(imageUrl, fallbackCopyright, fallbackTitle, today);
   }
 
+  /**
+   * Builds the URL browsers load an image variant from: a path on Startpunkt when the proxy is
+   * enabled, otherwise the image on Bing.
+   *
+   * @param urlbase base URL path of the image
+   * @param resolution resolution of the variant
+   * @return the image URL
+   */
+  private String imageUrl(String urlbase, String resolution) {
+    if (proxyEnabled) {
+      return "/" + PROXY_PATH + cache.register(urlbase, resolution);
+    }
+    return source.imageUrl(urlbase, resolution);
+  }
+
   /**
    * Determines the best Bing image resolution based on client screen aspect ratio and dimensions.
    * Prioritizes finding the closest aspect ratio match, then selects appropriate resolution.
@@ -292,6 +506,8 @@ public class BingImageService {
    * @param copyright copyright information
    * @param title image title
    * @param date image date in YYYYMMDD format
+   * @param start when the image became the image of the day, or null if unknown
    */
-  record BingImageData(String urlbase, String copyright, String title, String date) {}
+  record BingImageData(
+      String urlbase, String copyright, String title, String date, Instant start) {}
 }
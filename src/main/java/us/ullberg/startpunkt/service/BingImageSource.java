@@ -0,0 +1,41 @@
+package us.ullberg.startpunkt.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Where Bing image metadata and image files are fetched from. The default implementation talks to
+ * Bing over HTTP; tests can replace it with a local stub server by pointing {@code
+ * startpunkt.bingimage.source.url} at it, or provide another implementation.
+ */
+public interface BingImageSource {
+
+  /**
+   * Fetches the image archive, as returned by Bing's {@code HPImageArchive} API.
+   *
+   * @param index days back from today of the first image
+   * @param count number of images to return
+   * @return the JSON response body
+   * @throws IOException if the archive cannot be fetched
+   */
+  String fetchArchive(int index, int count) throws IOException;
+
+  /**
+   * Returns the public URL of an image variant.
+   *
+   * @param urlbase base URL path of the image
+   * @param resolution resolution of the variant, such as "1920x1080" or "UHD"
+   * @return the image URL
+   */
+  String imageUrl(String urlbase, String resolution);
+
+  /**
+   * Downloads an image variant to a file.
+   *
+   * @param urlbase base URL path of the image
+   * @param resolution resolution of the variant
+   * @param target file to write the image to
+   * @throws IOException if the image cannot be downloaded
+   */
+  void download(String urlbase, String resolution, Path target) throws IOException;
+}
@@ -3,9 +3,15 @@ package us.ullberg.startpunkt.service;
 import io.quarkus.logging.Log;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import us.ullberg.startpunkt.objects.BookmarkResponse;
 
 /**
@@ -17,6 +23,13 @@ import us.ullberg.startpunkt.objects.BookmarkResponse;
  *
  * <p>Thread-safe operations ensure multiple watch handlers can update the cache concurrently
  * without data corruption.
+ *
+ * <p>Entries are grouped into partitions by source (cluster and resource type). Each partition is
+ * replaced on its own when its source has been loaded, and keeps its last-known-good entries when
+ * loading fails, so a slow or failing source never empties the cache.
+ *
+ * <p>The cache is versioned: every change is recorded with a revision, so that remote Startpunkt
+ * instances can fetch only the bookmarks changed since the version they last saw.
  */
 @ApplicationScoped
 public class BookmarkCacheService {
@@ -25,6 +38,14 @@ public class BookmarkCacheService {
   // Key format: "cluster/namespace/resourceName"
   private final Map<String, BookmarkResponse> bookmarkCache = new ConcurrentHashMap<>();
 
+  // Revision of the last change of every entry, for incremental synchronization
+  private final CacheRevisions<BookmarkResponse> revisions = new CacheRevisions<>();
+
+  // Source partitions of the cache; replacing a partition holds the write lock so that readers
+  // see either its old or its new contents, never a mix
+  private final CachePartitions partitions = new CachePartitions();
+  private final ReadWriteLock partitionLock = new ReentrantReadWriteLock();
+
   /**
    * Generate a cache key for a bookmark.
    *
@@ -63,6 +84,9 @@ public class BookmarkCacheService {
 
     String key = getCacheKey(bookmark);
     BookmarkResponse existing = bookmarkCache.put(key, bookmark);
+    if (existing == null || !isSameContent(existing, bookmark)) {
+      revisions.changed(key);
+    }
 
     if (existing == null) {
       Log.debugf("Added bookmark to cache: %s", key);
@@ -71,6 +95,21 @@ public class BookmarkCacheService {
     }
   }
 
+  /**
+   * Add or update a bookmark that belongs to a source partition, for changes applied between two
+   * loads of the partition.
+   *
+   * @param partition the partition name, {@code cluster/source}
+   * @param bookmark the bookmark to add or update
+   */
+  public void put(String partition, BookmarkResponse bookmark) {
+    if (bookmark == null) {
+      return;
+    }
+    partitions.claim(partition, getCacheKey(bookmark));
+    put(bookmark);
+  }
+
   /**
    * Add or update multiple bookmarks in the cache.
    *
@@ -101,6 +140,7 @@ public class BookmarkCacheService {
     BookmarkResponse removed = bookmarkCache.remove(key);
 
     if (removed != null) {
+      revisions.removed(key, removed);
       Log.debugf("Removed bookmark from cache: %s", key);
     } else {
       Log.debugf("Bookmark not found in cache for removal: %s", key);
@@ -128,7 +168,12 @@ public class BookmarkCacheService {
    * @return a list of all cached bookmarks
    */
   public List<BookmarkResponse> getAll() {
-    return new ArrayList<>(bookmarkCache.values());
+    partitionLock.readLock().lock();
+    try {
+      return new ArrayList<>(bookmarkCache.values());
+    } finally {
+      partitionLock.readLock().unlock();
+    }
   }
 
   /**
@@ -147,7 +192,9 @@ public class BookmarkCacheService {
    */
   public void clear() {
     int size = bookmarkCache.size();
-    bookmarkCache.clear();
+    for (String key : new ArrayList<>(bookmarkCache.keySet())) {
+      removeKey(key);
+    }
     Log.infof("Cleared bookmark cache (%d bookmarks removed)", size);
   }
 
@@ -169,7 +216,7 @@ public class BookmarkCacheService {
     }
 
     for (String key : keysToRemove) {
-      bookmarkCache.remove(key);
+      removeKey(key);
     }
 
     if (!keysToRemove.isEmpty()) {
@@ -198,7 +245,7 @@ public class BookmarkCacheService {
     }
 
     for (String key : keysToRemove) {
-      bookmarkCache.remove(key);
+      removeKey(key);
     }
 
     if (!keysToRemove.isEmpty()) {
@@ -225,7 +272,7 @@ public class BookmarkCacheService {
     }
 
     for (String key : keysToRemove) {
-      bookmarkCache.remove(key);
+      removeKey(key);
     }
 
     if (!keysToRemove.isEmpty()) {
@@ -234,4 +281,148 @@ public class BookmarkCacheService {
 
     return keysToRemove.size();
   }
+
+  /**
+   * Replace the contents of the cache with a new set of bookmarks. Unlike {@link #clear()} followed
+   * by {@link #putAll(List)}, the cache never appears empty to readers, and bookmarks whose content
+   * did not change keep their revision, so they are not reported as changed to incremental
+   * synchronization clients.
+   *
+   * @param bookmarks the complete new set of bookmarks
+   */
+  public void replaceAll(List<BookmarkResponse> bookmarks) {
+    int removed = 0;
+    partitionLock.writeLock().lock();
+    try {
+      Set<String> keys = new HashSet<>();
+      for (BookmarkResponse bookmark : bookmarks) {
+        keys.add(getCacheKey(bookmark));
+        put(bookmark);
+      }
+
+      for (String key : new ArrayList<>(bookmarkCache.keySet())) {
+        if (!keys.contains(key) && removeKey(key)) {
+          removed++;
+        }
+      }
+    } finally {
+      partitionLock.writeLock().unlock();
+    }
+
+    Log.infof("Cached %d bookmarks (%d removed)", bookmarks.size(), removed);
+  }
+
+  /**
+   * Replace the contents of one source partition of the cache, such as the bookmarks of one
+   * resource type in one cluster. Other partitions are not affected, and readers see the partition
+   * change at once.
+   *
+   * @param partition the partition name, {@code cluster/source}
+   * @param bookmarks the complete new contents of the partition
+   * @return the number of bookmarks removed from the cache
+   */
+  public int replacePartition(String partition, List<BookmarkResponse> bookmarks) {
+    partitionLock.writeLock().lock();
+    try {
+      Set<String> keys = new HashSet<>();
+      for (BookmarkResponse bookmark : bookmarks) {
+        keys.add(getCacheKey(bookmark));
+        put(bookmark);
+      }
+
+      int removed = 0;
+      for (String key : partitions.replace(partition, keys)) {
+        if (removeKey(key)) {
+          removed++;
+        }
+      }
+      Log.debugf(
+          "Replaced partition %s with %d bookmarks (%d removed)",
+          partition, bookmarks.size(), removed);
+      return removed;
+    } finally {
+      partitionLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Record that loading a source partition failed. The bookmarks of the partition are kept as
+   * last-known-good data, and the partition is reported as stale until it loads again.
+   *
+   * @param partition the partition name, {@code cluster/source}
+   * @param error the reason of the failure
+   */
+  public void markPartitionFailed(String partition, String error) {
+    partitions.failed(partition, error);
+    Log.warnf("Keeping last-known-good bookmarks of partition %s: %s", partition, error);
+  }
+
+  /**
+   * Drop all source partitions that are not in the given set, e.g. sources that were disabled.
+   *
+   * @param active the partitions to keep
+   */
+  public void retainPartitions(Collection<String> active) {
+    partitionLock.writeLock().lock();
+    try {
+      for (String key : partitions.retain(active)) {
+        removeKey(key);
+      }
+    } finally {
+      partitionLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Get the load status of every source partition.
+   *
+   * @return the partition statuses, ordered by name
+   */
+  public List<PartitionStatus> getPartitionStatuses() {
+    return partitions.statuses();
+  }
+
+  /**
+   * Get the current version of the cache, which changes whenever a bookmark is added, updated or
+   * removed.
+   *
+   * @return the current version
+   */
+  public String getVersion() {
+    return revisions.version();
+  }
+
+  /**
+   * Get the bookmarks added, updated or removed since a version returned earlier by this cache.
+   *
+   * @param since the version the caller has, or null to get all bookmarks
+   * @return the changes, or all bookmarks if the version is unknown or too old
+   */
+  public CacheChanges<BookmarkResponse> getChangesSince(String since) {
+    // Take the partition lock before the revisions, in the same order as the writers
+    partitionLock.readLock().lock();
+    try {
+      return revisions.changesSince(
+          since, bookmarkCache::get, () -> new ArrayList<>(bookmarkCache.values()));
+    } finally {
+      partitionLock.readLock().unlock();
+    }
+  }
+
+  private boolean removeKey(String key) {
+    BookmarkResponse removed = bookmarkCache.remove(key);
+    if (removed == null) {
+      return false;
+    }
+    revisions.removed(key, removed);
+    return true;
+  }
+
+  private static boolean isSameContent(BookmarkResponse a, BookmarkResponse b) {
+    return a.equals(b)
+        && Objects.equals(a.getNamespace(), b.getNamespace())
+        && Objects.equals(a.getResourceName(), b.getResourceName())
+        && Objects.equals(a.getHasOwnerReferences(), b.getHasOwnerReferences())
+        && Objects.equals(a.getCluster(), b.getCluster());
+  }
 }
@@ -1,18 +1,20 @@
 package us.ullberg.startpunkt.service;
 
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
-import io.fabric8.kubernetes.api.model.GenericKubernetesResourceList;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.KubernetesClientBuilder;
 import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
 import io.micrometer.core.annotation.Timed;
 import io.quarkus.logging.Log;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import us.ullberg.startpunkt.crd.v1alpha4.Bookmark;
 import us.ullberg.startpunkt.crd.v1alpha4.BookmarkSpec;
 import us.ullberg.startpunkt.objects.BookmarkGroup;
 import us.ullberg.startpunkt.objects.BookmarkResponse;
@@ -20,10 +22,16 @@ import us.ullberg.startpunkt.objects.BookmarkResponse;
 /**
  * Service class for managing bookmarks retrieved from Kubernetes Custom Resources. Supports
  * retrieval from multiple namespaces and grouping bookmarks by their group property.
+ *
+ * <p>Bookmarks are listed with the shared Kubernetes client, and the same mapping is used for the
+ * resources delivered by the bookmark informers, so that bookmarks look the same whether they come
+ * from a full load or from a single change.
  */
 @ApplicationScoped
 public class BookmarkService {
 
+  private final KubernetesClient kubernetesClient;
+
   // Configuration properties for namespace selection
   @ConfigProperty(name = "startpunkt.namespaceSelector.any", defaultValue = "true")
   private boolean anyNamespace;
@@ -31,148 +39,209 @@ public class BookmarkService {
   @ConfigProperty(name = "startpunkt.namespaceSelector.matchNames")
   private Optional<List<String>> matchNames;
 
-  /** Default constructor. */
-  public BookmarkService() {
-    // No special initialization needed
+  /**
+   * Constructor with injected dependencies.
+   *
+   * @param kubernetesClient the shared Kubernetes client
+   */
+  public BookmarkService(KubernetesClient kubernetesClient) {
+    this.kubernetesClient = kubernetesClient;
   }
 
   /**
    * Retrieves a list of bookmarks from the Kubernetes cluster based on configured namespaces.
    *
    * @return list of {@link BookmarkResponse} representing the bookmarks
+   * @throws io.fabric8.kubernetes.client.KubernetesClientException if the bookmarks cannot be
+   *     listed
    */
   @Timed(value = "startpunkt.kubernetes.bookmarks", description = "Get a list of bookmarks")
   public List<BookmarkResponse> retrieveBookmarks() {
     Log.debug("Retrieving Startpunkt bookmarks from Kubernetes");
-    try (KubernetesClient client = new KubernetesClientBuilder().build()) {
-      ResourceDefinitionContext ctx =
-          new ResourceDefinitionContext.Builder()
-              .withGroup("startpunkt.ullberg.us")
-              .withVersion("v1alpha4")
-              .withPlural("bookmarks")
-              .withNamespaced(true)
-              .build();
-
-      GenericKubernetesResourceList list = getResourceList(client, ctx);
-      List<BookmarkResponse> bookmarks = mapResourcesToBookmarks(list);
-      Log.debugf("Retrieved %d Startpunkt bookmarks", bookmarks.size());
-      return bookmarks;
-    } catch (Exception e) {
-      Log.error("Error retrieving bookmarks", e);
-      return List.of();
-    }
+    ResourceDefinitionContext ctx =
+        new ResourceDefinitionContext.Builder()
+            .withGroup("startpunkt.ullberg.us")
+            .withVersion("v1alpha4")
+            .withPlural("bookmarks")
+            .withNamespaced(true)
+            .build();
+
+    List<BookmarkResponse> bookmarks = toBookmarkResponses(getResources(ctx));
+    Log.debugf("Retrieved %d Startpunkt bookmarks", bookmarks.size());
+    return bookmarks;
   }
 
-  // Method to get the list of resources from the Kubernetes cluster
-  private GenericKubernetesResourceList getResourceList(
-      final KubernetesClient client, ResourceDefinitionContext resourceDefinitionContext) {
+  // Method to get the resources from the Kubernetes cluster
+  private List<GenericKubernetesResource> getResources(
+      ResourceDefinitionContext resourceDefinitionContext) {
     if (anyNamespace) {
       Log.debug("Retrieving resources from all namespaces");
-      return client.genericKubernetesResources(resourceDefinitionContext).inAnyNamespace().list();
+      return kubernetesClient
+          .genericKubernetesResources(resourceDefinitionContext)
+          .inAnyNamespace()
+          .list()
+          .getItems();
     }
 
     // For each specified namespace, get the resource
     Log.debugf("Retrieving resources from specific namespaces: %s", matchNames.orElse(List.of()));
-    GenericKubernetesResourceList list = new GenericKubernetesResourceList();
+    List<GenericKubernetesResource> items = new ArrayList<>();
     for (String ns : matchNames.orElse(List.of())) {
       Log.debugf("Fetching resources from namespace: %s", ns);
-      list.getItems()
-          .addAll(
-              client
-                  .genericKubernetesResources(resourceDefinitionContext)
-                  .inNamespace(ns)
-                  .list()
-                  .getItems());
+      items.addAll(
+          kubernetesClient
+              .genericKubernetesResources(resourceDefinitionContext)
+              .inNamespace(ns)
+              .list()
+              .getItems());
     }
 
-    return list;
+    return items;
   }
 
   /**
-   * Maps a list of generic Kubernetes resources to a list of {@link BookmarkResponse} objects.
+   * Checks whether bookmarks in a namespace are shown, according to the namespace selector.
+   * Informers watch all namespaces, so their resources are filtered with this.
    *
-   * @param list Kubernetes resource list to map
+   * @param namespace the namespace of a bookmark resource
+   * @return true if bookmarks of the namespace are shown
+   */
+  public boolean isWatchedNamespace(String namespace) {
+    return anyNamespace || matchNames.orElse(List.of()).contains(namespace);
+  }
+
+  /**
+   * Maps generic Kubernetes bookmark resources, such as the contents of an informer store, to
+   * {@link BookmarkResponse} objects. Resources outside the selected namespaces are skipped.
+   *
+   * @param items Kubernetes resources to map
    * @return list of {@link BookmarkResponse}
    */
-  private List<BookmarkResponse> mapResourcesToBookmarks(GenericKubernetesResourceList list) {
-    return list.getItems().stream()
-        .map(
-            item -> {
-              Map<String, Object> spec = getSpec(item);
-              String name = spec.getOrDefault("name", item.getMetadata().getName()).toString();
-              String url = (String) spec.get("url");
-              String icon = (String) spec.get("icon");
-              String info = (String) spec.get("info");
-              String group =
-                  (spec.containsKey("group")
-                          ? spec.get("group").toString()
-                          : item.getMetadata().getNamespace())
-                      .toLowerCase();
-              Boolean targetBlank =
-                  spec.containsKey("targetBlank")
-                      ? Boolean.parseBoolean(spec.get("targetBlank").toString())
-                      : null;
-              int location =
-                  spec.containsKey("location")
-                      ? Integer.parseInt(spec.get("location").toString())
-                      : 1000;
-              if (location == 0) {
-                location = 1000;
-              }
-
-              BookmarkSpec baseSpec =
-                  new BookmarkSpec(name, group, icon, url, info, targetBlank, location);
-              BookmarkResponse withMetadata = new BookmarkResponse(baseSpec);
-
-              // Populate metadata fields (default to "local" cluster for now)
-              withMetadata.setCluster("local");
-              withMetadata.setNamespace(item.getMetadata().getNamespace());
-              withMetadata.setResourceName(item.getMetadata().getName());
-
-              // Check if resource has owner references or is managed by ArgoCD
-              boolean hasOwnerRefs =
-                  item.getMetadata().getOwnerReferences() != null
-                      && !item.getMetadata().getOwnerReferences().isEmpty();
-              boolean managedByArgocd =
-                  item.getMetadata().getManagedFields() != null
-                      && item.getMetadata().getManagedFields().stream()
-                          .anyMatch(
-                              field -> {
-                                var manager = field.getManager();
-                                return manager != null && manager.contains("argocd");
-                              });
-              withMetadata.setHasOwnerReferences(hasOwnerRefs || managedByArgocd);
-
-              return withMetadata;
-            })
+  public List<BookmarkResponse> toBookmarkResponses(Collection<GenericKubernetesResource> items) {
+    return items.stream()
+        .filter(item -> isWatchedNamespace(item.getMetadata().getNamespace()))
+        .map(this::toBookmarkResponse)
         .toList();
   }
 
+  /**
+   * Maps Startpunkt bookmark resources, such as the contents of an informer store, to {@link
+   * BookmarkResponse} objects. Resources outside the selected namespaces are skipped.
+   *
+   * @param bookmarks Bookmark resources to map
+   * @return list of {@link BookmarkResponse}
+   */
+  public List<BookmarkResponse> toBookmarkResponsesFromBookmarks(Collection<Bookmark> bookmarks) {
+    return bookmarks.stream()
+        .filter(bookmark -> bookmark.getSpec() != null)
+        .filter(bookmark -> isWatchedNamespace(bookmark.getMetadata().getNamespace()))
+        .map(this::toBookmarkResponse)
+        .toList();
+  }
+
+  /**
+   * Maps a generic Kubernetes bookmark resource, e.g. a Hajimari bookmark, to a {@link
+   * BookmarkResponse}.
+   *
+   * @param item Kubernetes resource to map
+   * @return the bookmark
+   */
+  public BookmarkResponse toBookmarkResponse(GenericKubernetesResource item) {
+    Map<String, Object> spec = getSpec(item);
+    return toBookmarkResponse(
+        item.getMetadata(),
+        spec.getOrDefault("name", item.getMetadata().getName()).toString(),
+        spec.containsKey("group") ? spec.get("group").toString() : null,
+        (String) spec.get("icon"),
+        (String) spec.get("url"),
+        (String) spec.get("info"),
+        spec.containsKey("targetBlank")
+            ? Boolean.parseBoolean(spec.get("targetBlank").toString())
+            : null,
+        spec.containsKey("location") ? Integer.parseInt(spec.get("location").toString()) : 1000);
+  }
+
+  /**
+   * Maps a Startpunkt bookmark resource to a {@link BookmarkResponse}.
+   *
+   * @param bookmark Bookmark resource to map, with a spec
+   * @return the bookmark
+   */
+  public BookmarkResponse toBookmarkResponse(Bookmark bookmark) {
+    BookmarkSpec spec = bookmark.getSpec();
+    return toBookmarkResponse(
+        bookmark.getMetadata(),
+        spec.getName() != null ? spec.getName() : bookmark.getMetadata().getName(),
+        spec.getGroup(),
+        spec.getIcon(),
+        spec.getUrl(),
+        spec.getInfo(),
+        spec.getTargetBlank(),
+        spec.getLocation());
+  }
+
+  private BookmarkResponse toBookmarkResponse(
+      ObjectMeta metadata,
+      String name,
+      String group,
+      String icon,
+      String url,
+      String info,
+      Boolean targetBlank,
+      int location) {
+    String groupName = (group != null ? group : metadata.getNamespace()).toLowerCase();
+    if (location == 0) {
+      location = 1000;
+    }
+
+    BookmarkSpec baseSpec =
+        new BookmarkSpec(name, groupName, icon, url, info, targetBlank, location);
+    BookmarkResponse withMetadata = new BookmarkResponse(baseSpec);
+
+    // Populate metadata fields (default to "local" cluster for now)
+    withMetadata.setCluster("local");
+    withMetadata.setNamespace(metadata.getNamespace());
+    withMetadata.setResourceName(metadata.getName());
+
+    // Check if resource has owner references or is managed by ArgoCD
+    boolean hasOwnerRefs =
+        metadata.getOwnerReferences() != null && !metadata.getOwnerReferences().isEmpty();
+    boolean managedByArgocd =
+        metadata.getManagedFields() != null
+            && metadata.getManagedFields().stream()
+                .anyMatch(
+                    field -> {
+                      var manager = field.getManager();
+                      return manager != null && manager.contains("argocd");
+                    });
+    withMetadata.setHasOwnerReferences(hasOwnerRefs || managedByArgocd);
+
+    return withMetadata;
+  }
+
   /**
    * Retrieves bookmarks from the "hajimari.io" group namespace.
    *
    * @return list of {@link BookmarkResponse} representing Hajimari bookmarks
+   * @throws io.fabric8.kubernetes.client.KubernetesClientException if the bookmarks cannot be
+   *     listed
    */
+  @Timed(
+      value = "startpunkt.kubernetes.bookmarks.hajimari",
+      description = "Get a list of Hajimari bookmarks")
   public List<BookmarkResponse> retrieveHajimariBookmarks() {
     Log.debug("Retrieving Hajimari bookmarks");
-    try (KubernetesClient client = new KubernetesClientBuilder().build()) {
-      ResourceDefinitionContext resourceDefinitionContext =
-          new ResourceDefinitionContext.Builder()
-              .withGroup("hajimari.io")
-              .withVersion("v1alpha1")
-              .withPlural("bookmarks")
-              .withNamespaced(true)
-              .build();
-
-      GenericKubernetesResourceList list = getResourceList(client, resourceDefinitionContext);
-      List<BookmarkResponse> bookmarks = mapResourcesToBookmarks(list);
-      Log.debugf("Retrieved %d Hajimari bookmarks", bookmarks.size());
-
-      return bookmarks;
-    } catch (Exception e) {
-      Log.error("Error retrieving hajimari bookmarks", e);
-      return List.of();
-    }
+    ResourceDefinitionContext resourceDefinitionContext =
+        new ResourceDefinitionContext.Builder()
+            .withGroup("hajimari.io")
+            .withVersion("v1alpha1")
+            .withPlural("bookmarks")
+            .withNamespaced(true)
+            .build();
+
+    List<BookmarkResponse> bookmarks = toBookmarkResponses(getResources(resourceDefinitionContext));
+    Log.debugf("Retrieved %d Hajimari bookmarks", bookmarks.size());
+    return bookmarks;
   }
 
   /**
@@ -0,0 +1,182 @@
+package us.ullberg.startpunkt.service;
+
+import io.quarkus.logging.Log;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Files in a directory, bounded by their total size, used by {@link BingImageCache} and {@link
+ * IconService}.
+ *
+ * <p>Files are identified by keys, mapped to paths below the directory by the owner of the cache.
+ * A file is written to a temporary {@code .part} file and atomically moved in place, so that
+ * readers never see a partial file; leftovers of interrupted writes are removed on load. When the
+ * files grow beyond the size limit, the least recently used files are removed, never the one just
+ * written. Files already in the directory are kept, so the cache survives restarts.
+ */
+final class BoundedFileCache {
+
+  // Deep enough for the collection directories of icons
+  private static final int MAX_DEPTH = 2;
+
+  /** Writes the content of a file. */
+  @FunctionalInterface
+  interface Writer {
+    void write(Path file) throws IOException;
+  }
+
+  private final String kind;
+  private final Path directory;
+  private final LongSupplier maxBytes;
+  private final Function<String, Path> pathOf;
+  private final Function<Path, String> keyOf;
+
+  // Access-ordered, so iteration starts at the least recently used file
+  private final LinkedHashMap<String, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalBytes;
+
+  /**
+   * Creates a cache on a directory, without reading it yet.
+   *
+   * @param kind what the files are, for log messages, such as "icon"
+   * @param directory the cache directory, created when the first file is written
+   * @param maxBytes maximum total size of the files, read whenever a file is written
+   * @param pathOf maps a key to the path of its file, below the directory
+   * @param keyOf maps the path of a file, relative to the directory, to its key, or to null if the
+   *     file does not belong to the cache
+   */
+  BoundedFileCache(
+      String kind,
+      Path directory,
+      LongSupplier maxBytes,
+      Function<String, Path> pathOf,
+      Function<Path, String> keyOf) {
+    this.kind = kind;
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+    this.pathOf = pathOf;
+    this.keyOf = keyOf;
+  }
+
+  /**
+   * Returns the path of a file.
+   *
+   * @param key the key of the file
+   * @return the path, whether the file is cached or not
+   */
+  Path path(String key) {
+    return pathOf.apply(key);
+  }
+
+  /**
+   * Returns the size of a cached file, marking it as recently used.
+   *
+   * @param key the key of the file
+   * @return size in bytes, or null if the file is not cached
+   */
+  synchronized Long touch(String key) {
+    return files.get(key);
+  }
+
+  /**
+   * Writes a file and adds it to the cache, removing the least recently used files if the cache
+   * grows beyond its size limit.
+   *
+   * @param key the key of the file
+   * @param writer writes the content of the file
+   * @return the path of the file
+   * @throws IOException if the file cannot be written
+   */
+  Path store(String key, Writer writer) throws IOException {
+    Path file = path(key);
+    Files.createDirectories(file.getParent());
+    Path part = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".part");
+    try {
+      writer.write(part);
+      Files.move(part, file, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(part);
+    }
+    long size = Files.size(file);
+    synchronized (this) {
+      Long previous = files.put(key, size);
+      totalBytes += size - (previous == null ? 0 : previous);
+      evict(key);
+    }
+    return file;
+  }
+
+  /**
+   * Returns the total size of the cached files.
+   *
+   * @return size in bytes
+   */
+  synchronized long getTotalBytes() {
+    return totalBytes;
+  }
+
+  /**
+   * Removes the least recently used files until the cache fits, keeping the given one.
+   *
+   * @param keep the key of the file to keep, or null
+   */
+  synchronized void evict(String keep) {
+    Iterator<Map.Entry<String, Long>> iterator = files.entrySet().iterator();
+    while (totalBytes > maxBytes.getAsLong() && iterator.hasNext()) {
+      Map.Entry<String, Long> entry = iterator.next();
+      if (entry.getKey().equals(keep)) {
+        continue;
+      }
+      try {
+        Files.deleteIfExists(path(entry.getKey()));
+      } catch (IOException e) {
+        Log.warnf(e, "Failed to remove cached %s %s", kind, entry.getKey());
+        continue;
+      }
+      Log.debugf("Evicted cached %s %s", kind, entry.getKey());
+      totalBytes -= entry.getValue();
+      iterator.remove();
+    }
+  }
+
+  /** Adds the files already in the directory, and removes leftovers of interrupted writes. */
+  synchronized void load() {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    List<Map.Entry<String, BasicFileAttributes>> found = new ArrayList<>();
+    try (Stream<Path> paths = Files.walk(directory, MAX_DEPTH)) {
+      for (Path path : paths.filter(Files::isRegularFile).toList()) {
+        String key = keyOf.apply(directory.relativize(path));
+        if (key != null) {
+          found.add(Map.entry(key, Files.readAttributes(path, BasicFileAttributes.class)));
+        } else if (path.getFileName().toString().endsWith(".part")) {
+          Files.deleteIfExists(path);
+        }
+      }
+    } catch (IOException e) {
+      Log.warnf(e, "Failed to read %s cache directory %s", kind, directory);
+      return;
+    }
+    // Oldest first, so that the least recently written files are evicted first
+    found.sort(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()));
+    for (Map.Entry<String, BasicFileAttributes> entry : found) {
+      files.put(entry.getKey(), entry.getValue().size());
+      totalBytes += entry.getValue().size();
+    }
+    Log.debugf(
+        "Loaded %d cached %ss (%d bytes) from %s", files.size(), kind, totalBytes, directory);
+  }
+}
@@ -0,0 +1,15 @@
+package us.ullberg.startpunkt.service;
+
+import java.util.List;
+
+/**
+ * Changes of a cache since a version previously handed out to a client.
+ *
+ * @param version the version of the cache the changes bring the client up to
+ * @param full true if the client's version was unknown or too old, in which case {@code changed}
+ *     holds the complete contents of the cache and the client must drop everything it had
+ * @param changed entries added or updated since the client's version
+ * @param removed entries removed since the client's version, as they were before removal
+ * @param <T> the cached type
+ */
+public record CacheChanges<T>(String version, boolean full, List<T> changed, List<T> removed) {}
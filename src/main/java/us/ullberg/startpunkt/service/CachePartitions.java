@@ -0,0 +1,119 @@
+package us.ullberg.startpunkt.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tracks which cache keys belong to which partition of a cache, and the load status of every
+ * partition.
+ *
+ * <p>Partitions are replaced independently, so a source that fails or is slow never affects the
+ * entries of other sources. A key that is claimed by several partitions (e.g., an Ingress and a
+ * Route with the same name) is only dropped once no partition claims it anymore.
+ */
+final class CachePartitions {
+
+  private final Map<String, Set<String>> keys = new HashMap<>();
+  private final Map<String, PartitionStatus> statuses = new HashMap<>();
+
+  /**
+   * Records the new contents of a partition after a successful load.
+   *
+   * @param partition the partition name
+   * @param newKeys the keys now in the partition
+   * @return the keys that were in the partition before and are no longer claimed by any partition
+   */
+  synchronized Set<String> replace(String partition, Set<String> newKeys) {
+    Set<String> previous = keys.put(partition, new HashSet<>(newKeys));
+    PartitionStatus status = statuses.get(partition);
+    statuses.put(
+        partition,
+        new PartitionStatus(
+            partition,
+            newKeys.size(),
+            Instant.now(),
+            status != null ? status.lastFailed() : null,
+            null));
+    return unclaimed(previous, newKeys);
+  }
+
+  /**
+   * Adds a single key to a partition, for entries that are updated individually between loads.
+   *
+   * @param partition the partition name
+   * @param key the cache key
+   */
+  synchronized void claim(String partition, String key) {
+    keys.computeIfAbsent(partition, p -> new HashSet<>()).add(key);
+  }
+
+  /**
+   * Records that loading a partition failed. Its entries are kept as last-known-good data.
+   *
+   * @param partition the partition name
+   * @param error the reason of the failure
+   */
+  synchronized void failed(String partition, String error) {
+    PartitionStatus status = statuses.get(partition);
+    statuses.put(
+        partition,
+        new PartitionStatus(
+            partition,
+            status != null ? status.size() : 0,
+            status != null ? status.lastUpdated() : null,
+            Instant.now(),
+            error));
+  }
+
+  /**
+   * Drops all partitions that are not in the given set, e.g. sources that have been disabled.
+   *
+   * @param active the partitions to keep
+   * @return the keys of the dropped partitions that are not claimed by any remaining partition
+   */
+  synchronized Set<String> retain(Collection<String> active) {
+    Set<String> dropped = new HashSet<>();
+    Iterator<Map.Entry<String, Set<String>>> it = keys.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<String, Set<String>> entry = it.next();
+      if (!active.contains(entry.getKey())) {
+        dropped.addAll(entry.getValue());
+        it.remove();
+        statuses.remove(entry.getKey());
+      }
+    }
+    return unclaimed(dropped, Set.of());
+  }
+
+  /**
+   * Gets the status of every partition.
+   *
+   * @return the statuses, ordered by partition name
+   */
+  synchronized List<PartitionStatus> statuses() {
+    List<PartitionStatus> result = new ArrayList<>(statuses.values());
+    result.sort(Comparator.comparing(PartitionStatus::partition));
+    return result;
+  }
+
+  private Set<String> unclaimed(Set<String> candidates, Set<String> kept) {
+    Set<String> result = new HashSet<>();
+    if (candidates == null) {
+      return result;
+    }
+    for (String key : candidates) {
+      if (!kept.contains(key) && keys.values().stream().noneMatch(set -> set.contains(key))) {
+        result.add(key);
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,121 @@
+package us.ullberg.startpunkt.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Tracks the revision at which each entry of a cache last changed, so that clients can ask for the
+ * changes since a version instead of downloading the whole cache.
+ *
+ * <p>A version is the epoch of this process followed by a revision number that grows with every
+ * change. Removed entries are remembered up to a fixed number; clients whose version is older than
+ * the oldest forgotten removal, or whose version comes from another epoch (e.g., before a restart),
+ * receive the complete contents instead.
+ *
+ * <p>Changes are recorded after the cache itself has been updated, so a version handed out never
+ * claims a change that is not yet visible in the cache.
+ *
+ * @param <T> the cached type
+ */
+final class CacheRevisions<T> {
+
+  private static final int MAX_REMOVALS = 1000;
+
+  private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+  private final Map<String, Long> changedAt = new HashMap<>();
+  private final LinkedHashMap<String, Removal<T>> removals = new LinkedHashMap<>();
+  private long revision;
+  private long forgottenRevision;
+
+  private record Removal<T>(long revision, T value) {}
+
+  /**
+   * Records that an entry was added or updated.
+   *
+   * @param key the cache key of the entry
+   */
+  synchronized void changed(String key) {
+    changedAt.put(key, ++revision);
+    removals.remove(key);
+  }
+
+  /**
+   * Records that an entry was removed.
+   *
+   * @param key the cache key of the entry
+   * @param value the removed value
+   */
+  synchronized void removed(String key, T value) {
+    changedAt.remove(key);
+    removals.remove(key);
+    removals.put(key, new Removal<>(++revision, value));
+    if (removals.size() > MAX_REMOVALS) {
+      Iterator<Removal<T>> oldest = removals.values().iterator();
+      forgottenRevision = oldest.next().revision();
+      oldest.remove();
+    }
+  }
+
+  /**
+   * Gets the current version.
+   *
+   * @return the current version
+   */
+  synchronized String version() {
+    return epoch + "-" + revision;
+  }
+
+  /**
+   * Collects the changes since a version.
+   *
+   * @param since the version the client has, or null if it has none
+   * @param lookup returns the current value of a cache key, or null if it is no longer cached
+   * @param all returns the complete contents of the cache; it is called while holding the monitor
+   *     of this object, so it must not take locks that writers hold while recording changes
+   * @return the changes, or the complete contents if the version cannot be served incrementally
+   */
+  synchronized CacheChanges<T> changesSince(
+      String since, Function<String, T> lookup, Supplier<List<T>> all) {
+    long sinceRevision = parseRevision(since);
+    if (sinceRevision < 0 || sinceRevision < forgottenRevision || sinceRevision > revision) {
+      return new CacheChanges<>(version(), true, all.get(), List.of());
+    }
+
+    List<T> changed = new ArrayList<>();
+    if (sinceRevision < revision) {
+      for (Map.Entry<String, Long> entry : changedAt.entrySet()) {
+        if (entry.getValue() > sinceRevision) {
+          T value = lookup.apply(entry.getKey());
+          if (value != null) {
+            changed.add(value);
+          }
+        }
+      }
+    }
+    List<T> removed = new ArrayList<>();
+    for (Removal<T> removal : removals.values()) {
+      if (removal.revision() > sinceRevision) {
+        removed.add(removal.value());
+      }
+    }
+    return new CacheChanges<>(version(), false, changed, removed);
+  }
+
+  private long parseRevision(String version) {
+    if (version == null || !version.startsWith(epoch + "-")) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(version.substring(epoch.length() + 1));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,238 @@
+package us.ullberg.startpunkt.service;
+
+import io.fabric8.kubernetes.api.model.discovery.v1.Endpoint;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointSlice;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.quarkus.logging.Log;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Derives service readiness from Kubernetes EndpointSlices. A single shared informer watches all
+ * EndpointSlices in the local cluster, indexed by the Service they belong to, so that the
+ * availability of in-cluster applications can be determined without sending any probe traffic.
+ *
+ * <p>A Service is considered ready when at least one of its endpoints is ready. Readiness changes
+ * are pushed to registered {@link ReadinessListener}s as soon as the informer observes them.
+ *
+ * <p>The informer is started lazily the first time it is needed, so clusters that only use HTTP
+ * probing never watch EndpointSlices.
+ */
+@ApplicationScoped
+public class EndpointAvailabilityService {
+
+  /** Label that links an EndpointSlice to its Service. */
+  static final String SERVICE_NAME_LABEL = "kubernetes.io/service-name";
+
+  private static final String SERVICE_INDEX = "service";
+
+  /** Listener for service readiness changes. */
+  public interface ReadinessListener {
+    /**
+     * Called when the readiness of a service changes.
+     *
+     * @param serviceKey the service as a "namespace/name" key
+     */
+    void readinessChanged(String serviceKey);
+
+    /** Called once the informer has completed its initial sync. */
+    void synced();
+
+    /** Called when the EndpointSlice informer could not be started. */
+    void informerFailed();
+  }
+
+  private final KubernetesClient kubernetesClient;
+  private final Map<String, Boolean> serviceReadiness = new ConcurrentHashMap<>();
+  private final List<ReadinessListener> listeners = new CopyOnWriteArrayList<>();
+  private volatile SharedIndexInformer<EndpointSlice> informer;
+  private volatile boolean failed = false;
+
+  /**
+   * Constructor.
+   *
+   * @param kubernetesClient the client for the local cluster
+   */
+  public EndpointAvailabilityService(KubernetesClient kubernetesClient) {
+    this.kubernetesClient = kubernetesClient;
+  }
+
+  /**
+   * Registers a listener for readiness changes.
+   *
+   * @param listener the listener to add
+   */
+  public void addListener(ReadinessListener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Starts the EndpointSlice informer if it is not running yet.
+   *
+   * @return true if the informer is running or starting, false if it failed to start
+   */
+  public synchronized boolean ensureStarted() {
+    if (failed) {
+      return false;
+    }
+    if (informer != null) {
+      return true;
+    }
+
+    try {
+      SharedIndexInformer<EndpointSlice> sliceInformer =
+          kubernetesClient.discovery().v1().endpointSlices().inAnyNamespace().runnableInformer(0);
+      sliceInformer.addIndexers(
+          Map.of(
+              SERVICE_INDEX,
+              slice -> {
+                String key = getServiceKey(slice);
+                return key != null ? List.of(key) : List.of();
+              }));
+      sliceInformer.addEventHandler(
+          new ResourceEventHandler<EndpointSlice>() {
+            @Override
+            public void onAdd(EndpointSlice slice) {
+              refresh(getServiceKey(slice));
+            }
+
+            @Override
+            public void onUpdate(EndpointSlice oldSlice, EndpointSlice newSlice) {
+              refresh(getServiceKey(newSlice));
+            }
+
+            @Override
+            public void onDelete(EndpointSlice slice, boolean deletedFinalStateUnknown) {
+              refresh(getServiceKey(slice));
+            }
+          });
+      informer = sliceInformer;
+      sliceInformer
+          .start()
+          .whenComplete(
+              (ignored, error) -> {
+                if (error != null) {
+                  Log.warnf(
+                      "EndpointSlice informer failed, falling back to HTTP probing: %s",
+                      error.getMessage());
+                  markFailed();
+                } else {
+                  Log.info("EndpointSlice informer synced");
+                  listeners.forEach(ReadinessListener::synced);
+                }
+              });
+      Log.info("Started EndpointSlice informer for availability checks");
+      return true;
+    } catch (Exception e) {
+      Log.warnf("Failed to start EndpointSlice informer: %s", e.getMessage());
+      failed = true;
+      return false;
+    }
+  }
+
+  /**
+   * Gets the readiness of a set of services.
+   *
+   * @param serviceKeys services as "namespace/name" keys
+   * @return true if at least one of the services has a ready endpoint, false if none has, null if
+   *     readiness is not known yet because the informer has not synced
+   */
+  public Boolean isAnyReady(Collection<String> serviceKeys) {
+    SharedIndexInformer<EndpointSlice> current = informer;
+    if (current == null || failed || !current.hasSynced()) {
+      return null;
+    }
+    for (String serviceKey : serviceKeys) {
+      if (serviceReadiness.computeIfAbsent(serviceKey, this::computeReadiness)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Stops the informer on shutdown. */
+  @PreDestroy
+  void shutdown() {
+    SharedIndexInformer<EndpointSlice> current = informer;
+    if (current != null) {
+      current.stop();
+    }
+  }
+
+  private void markFailed() {
+    failed = true;
+    SharedIndexInformer<EndpointSlice> current = informer;
+    if (current != null) {
+      current.stop();
+    }
+    listeners.forEach(ReadinessListener::informerFailed);
+  }
+
+  private void refresh(String serviceKey) {
+    if (serviceKey == null) {
+      return;
+    }
+    boolean ready = computeReadiness(serviceKey);
+    Boolean previous = serviceReadiness.put(serviceKey, ready);
+    if (previous == null || previous != ready) {
+      Log.debugf("Service %s readiness changed: %s -> %s", serviceKey, previous, ready);
+      for (ReadinessListener listener : listeners) {
+        listener.readinessChanged(serviceKey);
+      }
+    }
+  }
+
+  private boolean computeReadiness(String serviceKey) {
+    SharedIndexInformer<EndpointSlice> current = informer;
+    if (current == null) {
+      return false;
+    }
+    return current.getIndexer().byIndex(SERVICE_INDEX, serviceKey).stream()
+        .anyMatch(EndpointAvailabilityService::hasReadyEndpoint);
+  }
+
+  /**
+   * Gets the service an EndpointSlice belongs to.
+   *
+   * @param slice the EndpointSlice
+   * @return the service as a "namespace/name" key, or null if the slice is not owned by a service
+   */
+  static String getServiceKey(EndpointSlice slice) {
+    if (slice == null || slice.getMetadata() == null || slice.getMetadata().getLabels() == null) {
+      return null;
+    }
+    String serviceName = slice.getMetadata().getLabels().get(SERVICE_NAME_LABEL);
+    if (serviceName == null) {
+      return null;
+    }
+    return slice.getMetadata().getNamespace() + "/" + serviceName;
+  }
+
+  /**
+   * Checks whether an EndpointSlice contains at least one ready endpoint. Following the Kubernetes
+   * API, an endpoint without a ready condition is treated as ready.
+   *
+   * @param slice the EndpointSlice
+   * @return true if a ready endpoint exists
+   */
+  static boolean hasReadyEndpoint(EndpointSlice slice) {
+    if (slice == null || slice.getEndpoints() == null) {
+      return false;
+    }
+    for (Endpoint endpoint : slice.getEndpoints()) {
+      if (endpoint.getConditions() == null
+          || endpoint.getConditions().getReady() == null
+          || endpoint.getConditions().getReady()) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
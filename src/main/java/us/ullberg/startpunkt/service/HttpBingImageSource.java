@@ -0,0 +1,77 @@
+package us.ullberg.startpunkt.service;
+
+import io.quarkus.logging.Log;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/** Fetches Bing image metadata and image files from Bing, or whatever server mirrors it. */
+@ApplicationScoped
+public class HttpBingImageSource implements BingImageSource {
+
+  private static final Duration DOWNLOAD_TIMEOUT = Duration.ofSeconds(60);
+
+  private final String baseUrl;
+  private final HttpClient httpClient;
+
+  /**
+   * Constructor with injected configuration.
+   *
+   * @param baseUrl base URL of the Bing server, without a trailing slash
+   */
+  public HttpBingImageSource(
+      @ConfigProperty(
+              name = "startpunkt.bingimage.source.url",
+              defaultValue = "https://www.bing.com")
+          String baseUrl) {
+    this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    this.httpClient = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL).build();
+  }
+
+  @Override
+  public String fetchArchive(int index, int count) throws IOException {
+    URI uri = URI.create(baseUrl + "/HPImageArchive.aspx?format=js&idx=" + index + "&n=" + count);
+    HttpRequest request = HttpRequest.newBuilder().uri(uri).GET().build();
+    HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IOException(
+          "Bing API returned status code: " + response.statusCode() + ", body: " + response.body());
+    }
+    return response.body();
+  }
+
+  @Override
+  public String imageUrl(String urlbase, String resolution) {
+    return baseUrl + urlbase + "_" + resolution + ".jpg";
+  }
+
+  @Override
+  public void download(String urlbase, String resolution, Path target) throws IOException {
+    String url = imageUrl(urlbase, resolution);
+    Log.debugf("Downloading Bing image %s", url);
+    HttpRequest request =
+        HttpRequest.newBuilder().uri(URI.create(url)).timeout(DOWNLOAD_TIMEOUT).GET().build();
+    HttpResponse<Path> response = send(request, HttpResponse.BodyHandlers.ofFile(target));
+    if (response.statusCode() != 200) {
+      Files.deleteIfExists(target);
+      throw new IOException("Bing returned status code " + response.statusCode() + " for " + url);
+    }
+  }
+
+  private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+      throws IOException {
+    try {
+      return httpClient.send(request, handler);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Request was interrupted", e);
+    }
+  }
+}
@@ -1,27 +1,113 @@
 package us.ullberg.startpunkt.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.micrometer.core.annotation.Timed;
 import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import us.ullberg.startpunkt.web.EncodedResponse;
 
 /**
  * Service for internationalization (i18n) handling. Provides translation JSON content for requested
  * languages.
+ *
+ * <p>All translations in the {@code i8n} directory of the classpath are read and validated once at
+ * startup, merged key by key over the default language so that keys missing from a translation fall
+ * back individually, and kept encoded and gzipped together with an entity tag. Serving a
+ * translation does no I/O or encoding, and requests for other languages use the default language.
  */
 @ApplicationScoped
 public class I8nService {
 
+  private static final Pattern LANGUAGE = Pattern.compile("^[a-z]{2}(-[A-Z]{2})?$");
+  private static final String FALLBACK_LANGUAGE = "en-US";
+  private static final String DIRECTORY = "i8n";
+
+  /**
+   * A translation ready to be served.
+   *
+   * @param language the language of the translation
+   * @param json the translation as JSON
+   * @param body the translation as UTF-8 encoded JSON
+   * @param gzip the body compressed with gzip
+   * @param etag strong entity tag of the body, including quotes
+   */
+  public record Translation(String language, String json, byte[] body, byte[] gzip, String etag) {}
+
+  private final ObjectMapper objectMapper;
+
+  // Translations by language, loaded at startup
+  private volatile Map<String, Translation> translations = Map.of();
+
   /** Default language to use when no valid or matching translation is found. */
   @ConfigProperty(name = "startpunkt.defaultLanguage", defaultValue = "en-US")
   private String defaultLanguage;
 
-  /** Default constructor. */
-  public I8nService() {
-    // No special initialization needed
+  /**
+   * Constructor with injected dependencies.
+   *
+   * @param objectMapper the object mapper used to parse and encode translations
+   */
+  public I8nService(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Loads all translations, so that broken translations are reported at startup.
+   *
+   * @param event the startup event
+   */
+  void onStart(@Observes StartupEvent event) {
+    Set<String> languages = findLanguages();
+    languages.add(defaultLanguage);
+    Map<String, Translation> loaded = new HashMap<>();
+    for (String language : languages) {
+      try {
+        Translation translation = read(language);
+        if (translation == null) {
+          Log.warnf("No translation found for language: %s", language);
+        } else {
+          loaded.put(language, translation);
+        }
+      } catch (IOException e) {
+        Log.errorf(e, "Failed to load translation for language: %s", language);
+      }
+    }
+    translations = Map.copyOf(loaded);
+    Log.infof("Loaded translations for languages: %s", new TreeSet<>(loaded.keySet()));
+  }
+
+  /**
+   * Gets the languages with a translation.
+   *
+   * @return the languages loaded at startup
+   */
+  public Set<String> getLanguages() {
+    return translations.keySet();
   }
 
   /**
@@ -34,28 +120,159 @@ public class I8nService {
    */
   @Timed(value = "startpunkt.i8n", description = "Get a translation for a given language")
   public String getTranslation(String language) throws IOException {
+    return getBundle(language).json();
+  }
+
+  /**
+   * Retrieves the encoded translation for the given language, with the same fallbacks as {@link
+   * #getTranslation(String)}.
+   *
+   * @param language language code in the format "xx" or "xx-YY" (e.g., "en", "en-US")
+   * @return the translation
+   * @throws IOException if neither the requested nor the fallback translation file is found
+   */
+  public Translation getBundle(String language) throws IOException {
     Log.debugf("Getting translation for language: %s", language);
-    InputStream translation;
+    String requested = language;
 
     // Check language format
-    if (language.matches("^[a-z]{2}(-[A-Z]{2})?$")) {
-      Log.debugf("Language format valid: %s", language);
-      translation = getClass().getResourceAsStream("/i8n/" + language + ".json");
-    } else {
+    if (!LANGUAGE.matcher(language).matches()) {
       Log.warnf("Invalid language format: %s, falling back to US English", language);
-      translation = getClass().getResourceAsStream("/i8n/en-US.json");
+      requested = FALLBACK_LANGUAGE;
     }
 
     // Fallback to configured default language if translation is not found
+    Translation translation = load(requested);
     if (translation == null) {
-      Log.infof(
+      Log.debugf(
           "No translation found for language: %s, falling back to default language: %s",
-          language, defaultLanguage);
-      translation = getClass().getResourceAsStream("/i8n/" + defaultLanguage + ".json");
-    } else {
-      Log.debugf("Translation file found for language: %s", language);
+          requested, defaultLanguage);
+      translation = load(defaultLanguage);
+    }
+    if (translation == null) {
+      throw new IOException("No translation found for default language: " + defaultLanguage);
     }
+    return translation;
+  }
+
+  private Translation load(String language) {
+    return translations.get(language);
+  }
+
+  /** Lists the languages of the translations in the i8n directories of the classpath. */
+  private Set<String> findLanguages() {
+    Set<String> languages = new TreeSet<>();
+    try {
+      Enumeration<URL> directories = getClass().getClassLoader().getResources(DIRECTORY);
+      while (directories.hasMoreElements()) {
+        languages.addAll(listLanguages(directories.nextElement().toURI()));
+      }
+    } catch (IOException | URISyntaxException | RuntimeException e) {
+      Log.warnf(e, "Failed to list translations, only %s is available", defaultLanguage);
+    }
+    return languages;
+  }
 
-    return new String(translation.readAllBytes(), StandardCharsets.UTF_8);
+  private static Set<String> listLanguages(URI directory) throws IOException {
+    try {
+      return listLanguages(Path.of(directory));
+    } catch (FileSystemNotFoundException e) {
+      // The directory is inside a jar, which needs a file system of its own
+      try (FileSystem jar = FileSystems.newFileSystem(directory, Map.of())) {
+        return listLanguages(jar.provider().getPath(directory));
+      }
+    }
+  }
+
+  private static Set<String> listLanguages(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .map(file -> file.getFileName().toString())
+          .filter(name -> name.endsWith(".json"))
+          .map(name -> name.substring(0, name.length() - ".json".length()))
+          .filter(language -> LANGUAGE.matcher(language).matches())
+          .collect(Collectors.toSet());
+    }
+  }
+
+  private Translation read(String language) throws IOException {
+    ObjectNode translation = readTree(language);
+    if (translation == null) {
+      return null;
+    }
+    if (!language.equals(defaultLanguage)) {
+      ObjectNode defaults = readTree(defaultLanguage);
+      if (defaults != null) {
+        int missing = merge(defaults, translation);
+        if (missing > 0) {
+          Log.infof(
+              "Translation %s is missing %d keys, using those of %s",
+              language, missing, defaultLanguage);
+        }
+        translation = defaults;
+      }
+    }
+
+    byte[] body = objectMapper.writeValueAsBytes(translation);
+    Log.debugf("Loaded translation for language: %s (%d bytes)", language, body.length);
+    return new Translation(
+        language,
+        new String(body, StandardCharsets.UTF_8),
+        body,
+        EncodedResponse.gzip(body),
+        EncodedResponse.etag(body));
+  }
+
+  private ObjectNode readTree(String language) throws IOException {
+    try (InputStream stream =
+        getClass().getResourceAsStream("/" + DIRECTORY + "/" + language + ".json")) {
+      if (stream == null) {
+        return null;
+      }
+      JsonNode tree = objectMapper.readTree(stream);
+      if (!(tree instanceof ObjectNode object)) {
+        throw new IOException("Translation for language " + language + " is not a JSON object");
+      }
+      return object;
+    }
+  }
+
+  /**
+   * Merges a translation into the translation of the default language, key by key.
+   *
+   * @param target the default translation, updated in place
+   * @param source the translation to merge
+   * @return number of keys of the target that the source does not translate
+   */
+  static int merge(ObjectNode target, ObjectNode source) {
+    int missing = 0;
+    for (Iterator<Map.Entry<String, JsonNode>> it = target.fields(); it.hasNext(); ) {
+      Map.Entry<String, JsonNode> entry = it.next();
+      JsonNode value = source.get(entry.getKey());
+      if (value == null) {
+        missing += entry.getValue() instanceof ObjectNode object ? countLeaves(object) : 1;
+      } else if (entry.getValue() instanceof ObjectNode object
+          && value instanceof ObjectNode nested) {
+        missing += merge(object, nested);
+      } else {
+        entry.setValue(value);
+      }
+    }
+    // Keys only present in the translation are kept as well
+    for (Iterator<Map.Entry<String, JsonNode>> it = source.fields(); it.hasNext(); ) {
+      Map.Entry<String, JsonNode> entry = it.next();
+      if (!target.has(entry.getKey())) {
+        target.set(entry.getKey(), entry.getValue());
+      }
+    }
+    return missing;
+  }
+
+  private static int countLeaves(ObjectNode node) {
+    int count = 0;
+    for (JsonNode value : node) {
+      count += value instanceof ObjectNode object ? countLeaves(object) : 1;
+    }
+    return count;
   }
 }
@@ -0,0 +1,512 @@
+package us.ullberg.startpunkt.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * In-memory catalog of Iconify icon names, so that the icon picker can be answered without calling
+ * the Iconify API.
+ *
+ * <p>Collections are read from Iconify JSON files, either from a mounted directory such as a copy
+ * of the {@code @iconify/json} package, or from classpath resources bundled with Startpunkt. Only
+ * icon names are kept. They are indexed by trigram, for terms of three characters or more, and by
+ * the first one or two characters of each word, for shorter terms. Results are ranked by how well
+ * the name matches, then by the popularity of the collection, then by name length. Icon bodies are
+ * read from the collection files again when {@link IconService} needs them.
+ */
+@ApplicationScoped
+public class IconCatalog {
+
+  private static final Set<String> NON_COLLECTION_FILES =
+      Set.of("collections.json", "package.json", "info.json", "metadata.json", "chars.json");
+  private static final int MAX_DEPTH = 3;
+  private static final JsonFactory JSON = new JsonFactory();
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final String CLASSPATH = "classpath:";
+
+  private final Optional<String> path;
+  private final List<String> resources;
+  private final List<String> popularPrefixes;
+  private volatile Index index = Index.EMPTY;
+  // Collection prefix to the file or classpath resource it was read from
+  private volatile Map<String, String> sources = Map.of();
+
+  /**
+   * Icons matching a search.
+   *
+   * @param icons the best matching icon identifiers, such as "mdi:home"
+   * @param total the number of matching icons
+   */
+  public record SearchResult(List<String> icons, int total) {}
+
+  /**
+   * An icon collection.
+   *
+   * @param prefix the collection prefix, such as "mdi"
+   * @param total the number of icons in the collection
+   * @param names the names of the visible icons and aliases in the collection
+   */
+  record IconCollection(String prefix, int total, List<String> names) {}
+
+  /**
+   * Constructor with injected configuration.
+   *
+   * @param path directory searched for Iconify JSON collection files
+   * @param resources classpath resources holding Iconify JSON collections
+   * @param popularPrefixes collection prefixes ranked first, most popular first
+   */
+  public IconCatalog(
+      @ConfigProperty(name = "startpunkt.icons.catalog.path") Optional<String> path,
+      @ConfigProperty(name = "startpunkt.icons.catalog.resources") Optional<List<String>> resources,
+      @ConfigProperty(
+              name = "startpunkt.icons.catalog.popular",
+              defaultValue =
+                  "mdi,simple-icons,logos,devicon,material-symbols,fa6-solid,fa6-brands,tabler,"
+                      + "lucide,carbon")
+          List<String> popularPrefixes) {
+    this.path = path;
+    this.resources = resources.orElse(List.of());
+    this.popularPrefixes = popularPrefixes;
+  }
+
+  /**
+   * Loads the catalog in the background once the application has started. Searches made before it
+   * has loaded find nothing.
+   *
+   * @param event the startup event
+   */
+  void onStart(@Observes StartupEvent event) {
+    if (path.isEmpty() && resources.isEmpty()) {
+      Log.info("No icon catalog configured, icon search uses the Iconify API");
+      return;
+    }
+    Thread thread = new Thread(this::load, "icon-catalog");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /** Reads the configured collections and replaces the index with them. */
+  void load() {
+    long started = System.nanoTime();
+    Map<String, IconCollection> collections = new LinkedHashMap<>();
+    Map<String, String> sources = new HashMap<>();
+    if (path.isPresent()) {
+      try (Stream<Path> files = Files.walk(Path.of(path.get()), MAX_DEPTH)) {
+        for (Path file : files.filter(IconCatalog::isCollectionFile).sorted().toList()) {
+          try (InputStream in = Files.newInputStream(file)) {
+            add(collections, sources, readCollection(in), file.toString());
+          } catch (IOException e) {
+            Log.warnf("Failed to read icon collection %s: %s", file, e.getMessage());
+          }
+        }
+      } catch (IOException e) {
+        Log.warnf(e, "Failed to read icon catalog directory %s", path.get());
+      }
+    }
+    for (String resource : resources) {
+      ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+      try (InputStream in = classLoader.getResourceAsStream(resource)) {
+        if (in == null) {
+          Log.warnf("Icon collection resource %s not found", resource);
+          continue;
+        }
+        add(collections, sources, readCollection(in), CLASSPATH + resource);
+      } catch (IOException e) {
+        Log.warnf("Failed to read icon collection resource %s: %s", resource, e.getMessage());
+      }
+    }
+
+    Index loaded = Index.build(collections.values(), popularPrefixes);
+    index = loaded;
+    this.sources = Map.copyOf(sources);
+    Log.infof(
+        "Loaded icon catalog with %d icons from %d collections in %d ms",
+        loaded.size(), collections.size(), (System.nanoTime() - started) / 1_000_000);
+  }
+
+  private static void add(
+      Map<String, IconCollection> collections,
+      Map<String, String> sources,
+      IconCollection collection,
+      String from) {
+    if (collection == null) {
+      Log.debugf("Skipping %s, it is not an icon collection", from);
+    } else if (collections.putIfAbsent(collection.prefix(), collection) != null) {
+      Log.debugf("Skipping icon collection %s from %s, already loaded", collection.prefix(), from);
+    } else {
+      sources.put(collection.prefix(), from);
+    }
+  }
+
+  private static boolean isCollectionFile(Path file) {
+    String name = file.getFileName().toString();
+    return name.endsWith(".json")
+        && !NON_COLLECTION_FILES.contains(name)
+        && Files.isRegularFile(file);
+  }
+
+  /**
+   * Returns the number of icons in the catalog.
+   *
+   * @return number of icons, 0 until the catalog has loaded
+   */
+  public int size() {
+    return index.size();
+  }
+
+  /**
+   * Searches the catalog. Words of the query must all appear in the icon name; a query of the form
+   * "prefix:words" only searches one collection.
+   *
+   * @param query the search query
+   * @param limit maximum number of icons to return
+   * @return the matching icons, best match first
+   */
+  public SearchResult search(String query, int limit) {
+    return index.search(query, limit);
+  }
+
+  /**
+   * Reads a whole collection of the catalog, including icon bodies.
+   *
+   * @param prefix the collection prefix
+   * @return the Iconify JSON collection, or null if the catalog does not have it
+   * @throws IOException if the collection cannot be read
+   */
+  public JsonNode readCollectionData(String prefix) throws IOException {
+    String source = sources.get(prefix);
+    if (source == null) {
+      return null;
+    }
+    if (!source.startsWith(CLASSPATH)) {
+      try (InputStream in = Files.newInputStream(Path.of(source))) {
+        return MAPPER.readTree(in);
+      }
+    }
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    try (InputStream in = classLoader.getResourceAsStream(source.substring(CLASSPATH.length()))) {
+      if (in == null) {
+        throw new IOException("Icon collection resource " + source + " not found");
+      }
+      return MAPPER.readTree(in);
+    }
+  }
+
+  /**
+   * Reads the names of an Iconify JSON collection without building a tree, skipping icon bodies.
+   *
+   * @param in the collection file
+   * @return the collection, or null if the file is not an icon collection
+   * @throws IOException if the file cannot be parsed
+   */
+  static IconCollection readCollection(InputStream in) throws IOException {
+    String prefix = null;
+    int total = -1;
+    List<String> names = new ArrayList<>();
+    try (JsonParser parser = JSON.createParser(in)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return null;
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        JsonToken value = parser.nextToken();
+        if ("prefix".equals(field) && value == JsonToken.VALUE_STRING) {
+          prefix = parser.getText();
+        } else if (("icons".equals(field) || "aliases".equals(field))
+            && value == JsonToken.START_OBJECT) {
+          readNames(parser, names);
+        } else if ("info".equals(field) && value == JsonToken.START_OBJECT) {
+          total = readTotal(parser);
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+    if (prefix == null || names.isEmpty()) {
+      return null;
+    }
+    return new IconCollection(prefix, total < 0 ? names.size() : total, names);
+  }
+
+  /** Reads the names of an icons or aliases object, leaving out hidden icons. */
+  private static void readNames(JsonParser parser, List<String> names) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.currentName();
+      boolean hidden = false;
+      if (parser.nextToken() == JsonToken.START_OBJECT) {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String field = parser.currentName();
+          JsonToken value = parser.nextToken();
+          if ("hidden".equals(field) && value == JsonToken.VALUE_TRUE) {
+            hidden = true;
+          } else {
+            parser.skipChildren();
+          }
+        }
+      } else {
+        parser.skipChildren();
+      }
+      if (!hidden) {
+        names.add(name.toLowerCase(Locale.ROOT));
+      }
+    }
+  }
+
+  private static int readTotal(JsonParser parser) throws IOException {
+    int total = -1;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if ("total".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+        total = parser.getIntValue();
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return total;
+  }
+
+  /** Immutable search index over the icons of all collections. */
+  private static final class Index {
+    static final Index EMPTY = new Index(new String[0], new int[0], Map.of(), Map.of());
+
+    // Icon identifiers by rank: collection popularity, then name length, then name
+    private final String[] icons;
+    // Offset of the name in each identifier, after the prefix and colon
+    private final int[] nameStart;
+    // Ascending icon ids by trigram of the name, and by the first one or two characters of a word
+    private final Map<Long, int[]> trigrams;
+    private final Map<String, int[]> wordPrefixes;
+
+    private Index(
+        String[] icons,
+        int[] nameStart,
+        Map<Long, int[]> trigrams,
+        Map<String, int[]> wordPrefixes) {
+      this.icons = icons;
+      this.nameStart = nameStart;
+      this.trigrams = trigrams;
+      this.wordPrefixes = wordPrefixes;
+    }
+
+    static Index build(Collection<IconCollection> collections, List<String> popular) {
+      List<IconCollection> ordered = new ArrayList<>(collections);
+      ordered.sort(
+          Comparator.comparingInt((IconCollection collection) -> popularity(popular, collection))
+              .thenComparing(Comparator.comparingInt(IconCollection::total).reversed())
+              .thenComparing(IconCollection::prefix));
+
+      List<String> icons = new ArrayList<>();
+      List<Integer> starts = new ArrayList<>();
+      for (IconCollection collection : ordered) {
+        List<String> names = new ArrayList<>(collection.names());
+        names.sort(
+            Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+        String previous = null;
+        for (String name : names) {
+          if (!name.equals(previous)) {
+            icons.add(collection.prefix() + ":" + name);
+            starts.add(collection.prefix().length() + 1);
+          }
+          previous = name;
+        }
+      }
+
+      Map<Long, IntList> trigramLists = new HashMap<>();
+      Map<String, IntList> prefixLists = new HashMap<>();
+      for (int id = 0; id < icons.size(); id++) {
+        String name = icons.get(id).substring(starts.get(id));
+        for (int i = 0; i + 3 <= name.length(); i++) {
+          trigramLists.computeIfAbsent(trigram(name, i), key -> new IntList()).addOnce(id);
+        }
+        for (String word : name.split("-")) {
+          if (!word.isEmpty()) {
+            prefixLists.computeIfAbsent(word.substring(0, 1), key -> new IntList()).addOnce(id);
+          }
+          if (word.length() >= 2) {
+            prefixLists.computeIfAbsent(word.substring(0, 2), key -> new IntList()).addOnce(id);
+          }
+        }
+      }
+
+      Map<Long, int[]> trigrams = new HashMap<>(trigramLists.size() * 2);
+      trigramLists.forEach((key, list) -> trigrams.put(key, list.toArray()));
+      Map<String, int[]> wordPrefixes = new HashMap<>(prefixLists.size() * 2);
+      prefixLists.forEach((key, list) -> wordPrefixes.put(key, list.toArray()));
+      return new Index(
+          icons.toArray(String[]::new),
+          starts.stream().mapToInt(Integer::intValue).toArray(),
+          trigrams,
+          wordPrefixes);
+    }
+
+    private static int popularity(List<String> popular, IconCollection collection) {
+      int position = popular.indexOf(collection.prefix());
+      return position < 0 ? popular.size() : position;
+    }
+
+    int size() {
+      return icons.length;
+    }
+
+    SearchResult search(String query, int limit) {
+      String text = query.trim().toLowerCase(Locale.ROOT);
+      String prefix = null;
+      int colon = text.indexOf(':');
+      if (colon >= 0) {
+        prefix = text.substring(0, colon).trim();
+        text = text.substring(colon + 1);
+      }
+      String[] terms =
+          Arrays.stream(text.split("[\\s\\-_]+"))
+              .filter(term -> !term.isEmpty())
+              .toArray(String[]::new);
+      if (terms.length == 0 && (prefix == null || prefix.isEmpty())) {
+        return new SearchResult(List.of(), 0);
+      }
+
+      int[] candidates = null;
+      for (String term : terms) {
+        int[] postings = postings(term);
+        candidates = candidates == null ? postings : intersect(candidates, postings);
+        if (candidates.length == 0) {
+          return new SearchResult(List.of(), 0);
+        }
+      }
+
+      String joined = String.join("-", terms);
+      String[] wordTerms = Arrays.stream(terms).map(term -> "-" + term).toArray(String[]::new);
+      String prefixColon = prefix == null ? null : prefix + ":";
+      long[] matches = new long[candidates == null ? icons.length : candidates.length];
+      int count = 0;
+      for (int i = 0; i < matches.length; i++) {
+        int id = candidates == null ? i : candidates[i];
+        if (prefixColon != null && !icons[id].startsWith(prefixColon)) {
+          continue;
+        }
+        int score = score(icons[id], nameStart[id], terms, wordTerms, joined);
+        if (score >= 0) {
+          matches[count++] = ((long) score << 32) | id;
+        }
+      }
+
+      Arrays.sort(matches, 0, count);
+      List<String> result = new ArrayList<>(Math.min(limit, count));
+      for (int i = 0; i < count && i < limit; i++) {
+        result.add(icons[(int) matches[i]]);
+      }
+      return new SearchResult(result, count);
+    }
+
+    /** Returns candidate icons for a term, a superset of the icons containing it. */
+    private int[] postings(String term) {
+      if (term.length() < 3) {
+        return wordPrefixes.getOrDefault(term, new int[0]);
+      }
+      int[] result = null;
+      for (int i = 0; i + 3 <= term.length(); i++) {
+        int[] postings = trigrams.get(trigram(term, i));
+        if (postings == null) {
+          return new int[0];
+        }
+        result = result == null ? postings : intersect(result, postings);
+      }
+      return result;
+    }
+
+    /**
+     * Scores how well the name of an icon, starting at the given offset of its identifier,
+     * matches: 0 for an exact match, 1 if it starts with the query, 2 if every term starts a word,
+     * 3 if every term appears in it, -1 if a term is missing.
+     */
+    private static int score(
+        String icon, int start, String[] terms, String[] wordTerms, String joined) {
+      if (terms.length == 0) {
+        return 3;
+      }
+      boolean wordStarts = true;
+      for (int i = 0; i < terms.length; i++) {
+        int at = icon.indexOf(terms[i], start);
+        if (at < 0) {
+          return -1;
+        }
+        if (at != start && icon.charAt(at - 1) != '-' && icon.indexOf(wordTerms[i], start) < 0) {
+          wordStarts = false;
+        }
+      }
+      if (icon.startsWith(joined, start)) {
+        return icon.length() - start == joined.length() ? 0 : 1;
+      }
+      return wordStarts ? 2 : 3;
+    }
+
+    private static long trigram(String text, int start) {
+      return ((long) text.charAt(start) << 32)
+          | ((long) text.charAt(start + 1) << 16)
+          | text.charAt(start + 2);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+      int[] result = new int[Math.min(a.length, b.length)];
+      int count = 0;
+      int i = 0;
+      int j = 0;
+      while (i < a.length && j < b.length) {
+        if (a[i] < b[j]) {
+          i++;
+        } else if (a[i] > b[j]) {
+          j++;
+        } else {
+          result[count++] = a[i];
+          i++;
+          j++;
+        }
+      }
+      return Arrays.copyOf(result, count);
+    }
+  }
+
+  /** Growable list of ascending ints. */
+  private static final class IntList {
+    private int[] values = new int[4];
+    private int size;
+
+    void addOnce(int value) {
+      if (size > 0 && values[size - 1] == value) {
+        return;
+      }
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
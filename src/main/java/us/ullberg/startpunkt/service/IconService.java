@@ -0,0 +1,669 @@
+package us.ullberg.startpunkt.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.logging.Log;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import us.ullberg.startpunkt.objects.ApplicationResponse;
+import us.ullberg.startpunkt.objects.BookmarkResponse;
+import us.ullberg.startpunkt.web.EncodedResponse;
+
+/**
+ * Resolves Iconify icons on the server, so that browsers load icons from Startpunkt instead of
+ * fetching each one from the Iconify CDN.
+ *
+ * <p>Icons are looked up in a bounded in-memory cache, then in a bounded disk cache, then in the
+ * local {@link IconCatalog}, and finally, if enabled, in the Iconify API, one request per
+ * collection for all missing icons. The icons referenced by the cached applications and bookmarks
+ * are also served as one bundle, rebuilt when the application or bookmark cache version changes,
+ * so that the first paint of a dashboard needs a single request for all of its icons. The bundle
+ * is built without holding a lock, as missing icons are fetched from the Iconify API, and a bundle
+ * in which a lookup failed is never reused, so that the failed icons are looked up again.
+ */
+@ApplicationScoped
+public class IconService {
+
+  /** Path below which icons are served, relative to the root of Startpunkt. */
+  public static final String PATH = "api/icons/";
+
+  private static final Pattern ICON =
+      Pattern.compile("([a-z0-9]+(?:-[a-z0-9]+)*):([a-z0-9]+(?:-[a-z0-9]+)*)");
+  private static final double DEFAULT_SIZE = 16;
+  private static final int MAX_ALIAS_DEPTH = 8;
+  private static final int MAX_ICONS_PER_REQUEST = 100;
+  private static final Duration NOT_FOUND_TTL = Duration.ofHours(1);
+  private static final int MAX_NOT_FOUND = 10_000;
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+  private final IconCatalog iconCatalog;
+  private final ApplicationCacheService applicationCacheService;
+  private final BookmarkCacheService bookmarkCacheService;
+  private final ObjectMapper objectMapper;
+  private final HttpClient httpClient;
+  private final Path directory;
+
+  // Access-ordered, so iteration starts at the least recently used icon
+  private final LinkedHashMap<String, IconData> memory = new LinkedHashMap<>(16, 0.75f, true);
+  private final BoundedFileCache disk;
+  private long memoryBytes;
+  // Icons known not to exist, to the time they may be looked up again; all entries share one TTL,
+  // so insertion order is expiry order
+  private final LinkedHashMap<String, Long> notFound = new LinkedHashMap<>();
+  private volatile Bundle bundle;
+
+  @ConfigProperty(name = "startpunkt.icons.remote.enabled", defaultValue = "true")
+  boolean remoteEnabled;
+
+  @ConfigProperty(name = "startpunkt.icons.remote.url", defaultValue = "https://api.iconify.design")
+  String remoteUrl;
+
+  @ConfigProperty(name = "startpunkt.icons.cache.maxMemoryBytes", defaultValue = "4194304")
+  long maxMemoryBytes;
+
+  @ConfigProperty(name = "startpunkt.icons.cache.maxDiskBytes", defaultValue = "52428800")
+  long maxDiskBytes;
+
+  @ConfigProperty(
+      name = "startpunkt.icons.bundle.include",
+      defaultValue =
+          "mdi:star,mdi:star-outline,mdi:server-network,mdi:plus,mdi:magnify,"
+              + "mdi:bookmark-outline,mdi:application")
+  List<String> bundleIncludes;
+
+  /**
+   * Data of a single icon, with the transformations of its aliases applied.
+   *
+   * @param body SVG content of the icon
+   * @param left left of the view box
+   * @param top top of the view box
+   * @param width width of the view box
+   * @param height height of the view box
+   */
+  public record IconData(String body, double left, double top, double width, double height) {}
+
+  /**
+   * Icons of the cached applications and bookmarks, as a JSON array of Iconify JSON collections.
+   *
+   * @param version cache versions the bundle was built for
+   * @param icons icons requested for the bundle
+   * @param resolved icons that were found and are in the body
+   * @param complete whether every requested icon was either found or is known not to exist, i.e.
+   *     no lookup failed
+   * @param body encoded bundle
+   * @param etag strong entity tag of the body, including quotes
+   */
+  public record Bundle(
+      String version,
+      Set<String> icons,
+      Set<String> resolved,
+      boolean complete,
+      byte[] body,
+      String etag) {}
+
+  /**
+   * Constructor with injected dependencies.
+   *
+   * @param iconCatalog the local icon catalog
+   * @param applicationCacheService the application cache, for the icons of the bundle
+   * @param bookmarkCacheService the bookmark cache, for the icons of the bundle
+   * @param objectMapper Jackson ObjectMapper for JSON parsing
+   * @param directory disk cache directory, defaults to a directory below the temporary directory
+   */
+  public IconService(
+      IconCatalog iconCatalog,
+      ApplicationCacheService applicationCacheService,
+      BookmarkCacheService bookmarkCacheService,
+      ObjectMapper objectMapper,
+      @ConfigProperty(name = "startpunkt.icons.cache.directory") Optional<String> directory) {
+    this.iconCatalog = iconCatalog;
+    this.applicationCacheService = applicationCacheService;
+    this.bookmarkCacheService = bookmarkCacheService;
+    this.objectMapper = objectMapper;
+    this.httpClient =
+        HttpClient.newBuilder()
+            .connectTimeout(REQUEST_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    this.directory =
+        directory
+            .map(Path::of)
+            .orElseGet(() -> Path.of(System.getProperty("java.io.tmpdir"), "startpunkt-icons"));
+    // The size limit is read when icons are stored, as it is injected after construction
+    this.disk =
+        new BoundedFileCache("icon", this.directory, () -> maxDiskBytes, this::file, this::icon);
+    disk.load();
+  }
+
+  /**
+   * Checks whether a string is an Iconify icon identifier such as "mdi:home".
+   *
+   * @param icon the string to check
+   * @return true if it is an icon identifier
+   */
+  public static boolean isIconName(String icon) {
+    return icon != null && ICON.matcher(icon).matches();
+  }
+
+  /**
+   * Resolves icons, skipping those that do not exist.
+   *
+   * @param icons icon identifiers such as "mdi:home"
+   * @return the data of the icons that were found, by identifier
+   */
+  public Map<String, IconData> resolve(Collection<String> icons) {
+    return resolveIcons(icons).found();
+  }
+
+  /**
+   * Resolves icons, skipping those that do not exist, and tells whether any lookup failed.
+   *
+   * @param icons icon identifiers such as "mdi:home"
+   * @return the icons that were found, and whether all others are known not to exist
+   */
+  private Resolution resolveIcons(Collection<String> icons) {
+    Map<String, IconData> result = new LinkedHashMap<>();
+    boolean complete = true;
+    Map<String, Set<String>> missing = new TreeMap<>();
+    long now = System.currentTimeMillis();
+    for (String icon : icons) {
+      Matcher matcher = ICON.matcher(icon);
+      if (!matcher.matches() || result.containsKey(icon)) {
+        continue;
+      }
+      IconData data = cached(icon);
+      if (data != null) {
+        result.put(icon, data);
+      } else if (!isNotFound(icon, now)) {
+        missing.computeIfAbsent(matcher.group(1), prefix -> new TreeSet<>()).add(matcher.group(2));
+      }
+    }
+
+    for (Map.Entry<String, Set<String>> entry : missing.entrySet()) {
+      String prefix = entry.getKey();
+      Lookup lookup = fetch(prefix, entry.getValue());
+      for (Map.Entry<String, IconData> found : lookup.found().entrySet()) {
+        String icon = prefix + ":" + found.getKey();
+        store(icon, found.getValue());
+        result.put(icon, found.getValue());
+      }
+      markNotFound(prefix, lookup.absent(), now);
+      complete &= lookup.found().size() + lookup.absent().size() == entry.getValue().size();
+    }
+    return new Resolution(result, complete);
+  }
+
+  /**
+   * Checks whether an icon is known not to exist, dropping entries that have expired.
+   *
+   * @param icon the icon identifier
+   * @param now the current time in milliseconds
+   * @return true if the icon should not be looked up again yet
+   */
+  private boolean isNotFound(String icon, long now) {
+    synchronized (notFound) {
+      Iterator<Long> expiries = notFound.values().iterator();
+      while (expiries.hasNext() && expiries.next() <= now) {
+        expiries.remove();
+      }
+      return notFound.containsKey(icon);
+    }
+  }
+
+  /**
+   * Remembers icons that do not exist, dropping the oldest entries beyond {@link #MAX_NOT_FOUND}.
+   *
+   * @param prefix the collection of the icons
+   * @param names the names of the icons
+   * @param now the current time in milliseconds
+   */
+  private void markNotFound(String prefix, Set<String> names, long now) {
+    if (names.isEmpty()) {
+      return;
+    }
+    synchronized (notFound) {
+      for (String name : names) {
+        String icon = prefix + ":" + name;
+        notFound.remove(icon);
+        notFound.put(icon, now + NOT_FOUND_TTL.toMillis());
+      }
+      Iterator<String> eldest = notFound.keySet().iterator();
+      while (notFound.size() > MAX_NOT_FOUND) {
+        eldest.next();
+        eldest.remove();
+      }
+    }
+  }
+
+  /**
+   * Returns an icon as an SVG document.
+   *
+   * @param icon the icon identifier
+   * @return the SVG document, or empty if the icon does not exist
+   */
+  public Optional<String> getSvg(String icon) {
+    return Optional.ofNullable(resolve(List.of(icon)).get(icon)).map(IconService::toSvg);
+  }
+
+  /**
+   * Returns icons of one collection as Iconify JSON, as the Iconify API does, so that Startpunkt
+   * can act as the icon API of the web UI.
+   *
+   * @param prefix the collection prefix
+   * @param names names of the icons
+   * @return the encoded collection, listing missing icons under {@code not_found}
+   * @throws IOException if encoding fails
+   */
+  public byte[] getCollection(String prefix, List<String> names) throws IOException {
+    List<String> icons =
+        names.stream().limit(MAX_ICONS_PER_REQUEST).map(name -> prefix + ":" + name).toList();
+    Map<String, IconData> found = resolve(icons);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      writeCollection(generator, prefix, found, icons);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Returns the bundle of the icons used by the cached applications and bookmarks, rebuilding it if
+   * either cache has changed since it was built.
+   *
+   * @return the current bundle
+   * @throws IOException if encoding fails
+   */
+  public Bundle getBundle() throws IOException {
+    String version = applicationCacheService.getVersion() + "/" + bookmarkCacheService.getVersion();
+    Bundle current = bundle;
+    if (current != null && current.version().equals(version)) {
+      return current;
+    }
+    Set<String> icons = new TreeSet<>(bundleIncludes);
+    for (ApplicationResponse application : applicationCacheService.getAll()) {
+      addIcon(icons, application.getIcon());
+    }
+    for (BookmarkResponse bookmark : bookmarkCacheService.getAll()) {
+      addIcon(icons, bookmark.getIcon());
+    }
+    // Most changes, such as availability updates, leave the icons alone
+    if (current != null && current.complete() && current.icons().equals(icons)) {
+      Bundle reused =
+          new Bundle(version, icons, current.resolved(), true, current.body(), current.etag());
+      bundle = reused;
+      return reused;
+    }
+
+    // Concurrent rebuilds are harmless: resolved icons are cached, and the next call rebuilds a
+    // bundle published for a version that is no longer current
+    long started = System.nanoTime();
+    Resolution resolution = resolveIcons(icons);
+    Map<String, Map<String, IconData>> byPrefix = new TreeMap<>();
+    resolution
+        .found()
+        .forEach(
+            (icon, data) ->
+                byPrefix.computeIfAbsent(prefix(icon), key -> new TreeMap<>()).put(icon, data));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      generator.writeStartArray();
+      for (Map.Entry<String, Map<String, IconData>> entry : byPrefix.entrySet()) {
+        writeCollection(generator, entry.getKey(), entry.getValue(), List.of());
+      }
+      generator.writeEndArray();
+    }
+    byte[] body = out.toByteArray();
+    Bundle built =
+        new Bundle(
+            version,
+            icons,
+            new TreeSet<>(resolution.found().keySet()),
+            resolution.complete(),
+            body,
+            EncodedResponse.etag(body));
+    bundle = built;
+    Log.debugf(
+        "Built icon bundle of %d icons (%d bytes, complete: %s) in %d ms",
+        built.resolved().size(),
+        body.length,
+        built.complete(),
+        (System.nanoTime() - started) / 1_000_000);
+    return built;
+  }
+
+  /**
+   * Renders icon data as an SVG document, sized like text as the Iconify components do.
+   *
+   * @param data the icon data
+   * @return the SVG document
+   */
+  static String toSvg(IconData data) {
+    return "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"1em\" height=\"1em\" viewBox=\""
+        + number(data.left())
+        + " "
+        + number(data.top())
+        + " "
+        + number(data.width())
+        + " "
+        + number(data.height())
+        + "\">"
+        + data.body()
+        + "</svg>";
+  }
+
+  /**
+   * Extracts icons from an Iconify JSON collection, following aliases and applying their
+   * rotations and flips to the body, as the Iconify components do when rendering.
+   *
+   * @param collection the Iconify JSON collection
+   * @param names names of the icons to extract
+   * @return the data of the icons found, by name
+   */
+  static Map<String, IconData> extract(JsonNode collection, Collection<String> names) {
+    Map<String, IconData> result = new LinkedHashMap<>();
+    for (String name : names) {
+      IconData data = extract(collection, name);
+      if (data != null) {
+        result.put(name, data);
+      }
+    }
+    return result;
+  }
+
+  private static IconData extract(JsonNode collection, String name) {
+    JsonNode icons = collection.path("icons");
+    JsonNode aliases = collection.path("aliases");
+    // Aliases from the requested name up to the icon they point at, which comes last
+    List<JsonNode> chain = new ArrayList<>();
+    String current = name;
+    for (int depth = 0; depth <= MAX_ALIAS_DEPTH; depth++) {
+      JsonNode icon = icons.get(current);
+      if (icon != null && icon.hasNonNull("body")) {
+        chain.add(icon);
+        return build(collection, chain);
+      }
+      JsonNode alias = aliases.get(current);
+      if (alias == null || !alias.hasNonNull("parent")) {
+        return null;
+      }
+      chain.add(alias);
+      current = alias.get("parent").asText();
+    }
+    return null;
+  }
+
+  private static IconData build(JsonNode collection, List<JsonNode> chain) {
+    double left = collection.path("left").asDouble(0);
+    double top = collection.path("top").asDouble(0);
+    double width = collection.path("width").asDouble(DEFAULT_SIZE);
+    double height = collection.path("height").asDouble(DEFAULT_SIZE);
+    int rotate = 0;
+    boolean hFlip = false;
+    boolean vFlip = false;
+    // Aliases override the view box of their parent, and add to its transformations
+    for (int i = chain.size() - 1; i >= 0; i--) {
+      JsonNode node = chain.get(i);
+      left = node.path("left").asDouble(left);
+      top = node.path("top").asDouble(top);
+      width = node.path("width").asDouble(width);
+      height = node.path("height").asDouble(height);
+      rotate += node.path("rotate").asInt(0);
+      hFlip ^= node.path("hFlip").asBoolean(false);
+      vFlip ^= node.path("vFlip").asBoolean(false);
+    }
+    String body = chain.get(chain.size() - 1).get("body").asText();
+
+    List<String> transforms = new ArrayList<>();
+    if (hFlip && vFlip) {
+      rotate += 2;
+    } else if (hFlip) {
+      transforms.add("translate(" + number(width + left) + " " + number(-top) + ")");
+      transforms.add("scale(-1 1)");
+      left = 0;
+      top = 0;
+    } else if (vFlip) {
+      transforms.add("translate(" + number(-left) + " " + number(height + top) + ")");
+      transforms.add("scale(1 -1)");
+      left = 0;
+      top = 0;
+    }
+    rotate = Math.floorMod(rotate, 4);
+    if (rotate == 1) {
+      String center = number(height / 2 + top);
+      transforms.add(0, "rotate(90 " + center + " " + center + ")");
+    } else if (rotate == 2) {
+      transforms.add(
+          0, "rotate(180 " + number(width / 2 + left) + " " + number(height / 2 + top) + ")");
+    } else if (rotate == 3) {
+      String center = number(width / 2 + left);
+      transforms.add(0, "rotate(-90 " + center + " " + center + ")");
+    }
+    if (rotate % 2 == 1) {
+      double swap = left;
+      left = top;
+      top = swap;
+      swap = width;
+      width = height;
+      height = swap;
+    }
+    if (!transforms.isEmpty()) {
+      body = "<g transform=\"" + String.join(" ", transforms) + "\">" + body + "</g>";
+    }
+    return new IconData(body, left, top, width, height);
+  }
+
+  private static String number(double value) {
+    return value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value);
+  }
+
+  private static String prefix(String icon) {
+    return icon.substring(0, icon.indexOf(':'));
+  }
+
+  private static void addIcon(Set<String> icons, String icon) {
+    if (isIconName(icon)) {
+      icons.add(icon);
+    }
+  }
+
+  private static void writeCollection(
+      JsonGenerator generator, String prefix, Map<String, IconData> found, List<String> requested)
+      throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("prefix", prefix);
+    generator.writeObjectFieldStart("icons");
+    for (Map.Entry<String, IconData> entry : found.entrySet()) {
+      IconData data = entry.getValue();
+      generator.writeObjectFieldStart(entry.getKey().substring(prefix.length() + 1));
+      generator.writeStringField("body", data.body());
+      writeNumber(generator, "left", data.left());
+      writeNumber(generator, "top", data.top());
+      writeNumber(generator, "width", data.width());
+      writeNumber(generator, "height", data.height());
+      generator.writeEndObject();
+    }
+    generator.writeEndObject();
+    List<String> notFoundNames =
+        requested.stream()
+            .filter(icon -> !found.containsKey(icon))
+            .map(icon -> icon.substring(prefix.length() + 1))
+            .toList();
+    if (!notFoundNames.isEmpty()) {
+      generator.writeArrayFieldStart("not_found");
+      for (String name : notFoundNames) {
+        generator.writeString(name);
+      }
+      generator.writeEndArray();
+    }
+    generator.writeEndObject();
+  }
+
+  private static void writeNumber(JsonGenerator generator, String field, double value)
+      throws IOException {
+    if (value == Math.rint(value)) {
+      generator.writeNumberField(field, (long) value);
+    } else {
+      generator.writeNumberField(field, value);
+    }
+  }
+
+  /**
+   * Result of looking up the icons of one collection.
+   *
+   * @param found data of the icons that were found, by name
+   * @param absent names of the icons that definitely do not exist, i.e. the last source asked
+   *     answered without them; icons whose lookup failed are in neither
+   */
+  private record Lookup(Map<String, IconData> found, Set<String> absent) {}
+
+  /**
+   * Result of resolving icons.
+   *
+   * @param found data of the icons that were found, by identifier
+   * @param complete whether every icon that was not found is known not to exist
+   */
+  private record Resolution(Map<String, IconData> found, boolean complete) {}
+
+  /** Fetches missing icons of one collection from the catalog, then from the Iconify API. */
+  private Lookup fetch(String prefix, Set<String> names) {
+    Map<String, IconData> found = new LinkedHashMap<>();
+    Set<String> absent = new TreeSet<>();
+    boolean catalogRead = true;
+    try {
+      JsonNode collection = iconCatalog.readCollectionData(prefix);
+      if (collection != null) {
+        found.putAll(extract(collection, names));
+      }
+    } catch (IOException e) {
+      catalogRead = false;
+      Log.warnf("Failed to read icon collection %s from the catalog: %s", prefix, e.getMessage());
+    }
+    if (!remoteEnabled || found.size() == names.size()) {
+      if (catalogRead) {
+        names.stream().filter(name -> !found.containsKey(name)).forEach(absent::add);
+      }
+      return new Lookup(found, absent);
+    }
+
+    List<String> remaining = names.stream().filter(name -> !found.containsKey(name)).toList();
+    for (int from = 0; from < remaining.size(); from += MAX_ICONS_PER_REQUEST) {
+      List<String> chunk =
+          remaining.subList(from, Math.min(from + MAX_ICONS_PER_REQUEST, remaining.size()));
+      try {
+        Map<String, IconData> fetched = extract(fetchRemote(prefix, chunk), chunk);
+        found.putAll(fetched);
+        chunk.stream().filter(name -> !fetched.containsKey(name)).forEach(absent::add);
+      } catch (IOException e) {
+        // Timeouts, server errors and network failures say nothing about the icons
+        Log.warnf("Failed to fetch icons %s:%s from Iconify: %s", prefix, chunk, e.getMessage());
+      }
+    }
+    return new Lookup(found, absent);
+  }
+
+  private JsonNode fetchRemote(String prefix, List<String> names) throws IOException {
+    // Prefix and names are validated icon names, safe to use in the URL as they are
+    String url = remoteUrl + "/" + prefix + ".json?icons=" + String.join(",", names);
+    Log.debugf("Fetching icons from %s", url);
+    HttpRequest request =
+        HttpRequest.newBuilder().uri(URI.create(url)).timeout(REQUEST_TIMEOUT).GET().build();
+    HttpResponse<byte[]> response;
+    try {
+      response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Request was interrupted", e);
+    }
+    if (response.statusCode() == 404) {
+      return objectMapper.createObjectNode();
+    }
+    if (response.statusCode() != 200) {
+      throw new IOException("Iconify API returned status code " + response.statusCode());
+    }
+    JsonNode collection = objectMapper.readTree(response.body());
+    return collection.isObject() ? collection : objectMapper.createObjectNode();
+  }
+
+  private IconData cached(String icon) {
+    synchronized (memory) {
+      IconData data = memory.get(icon);
+      if (data != null) {
+        return data;
+      }
+    }
+    if (disk.touch(icon) == null) {
+      return null;
+    }
+    try {
+      IconData data = objectMapper.readValue(disk.path(icon).toFile(), IconData.class);
+      remember(icon, data);
+      return data;
+    } catch (IOException e) {
+      Log.debugf("Failed to read cached icon %s: %s", icon, e.getMessage());
+      return null;
+    }
+  }
+
+  private void store(String icon, IconData data) {
+    remember(icon, data);
+    try {
+      disk.store(icon, part -> objectMapper.writeValue(part.toFile(), data));
+    } catch (IOException e) {
+      Log.warnf("Failed to cache icon %s on disk: %s", icon, e.getMessage());
+    }
+  }
+
+  private void remember(String icon, IconData data) {
+    synchronized (memory) {
+      IconData previous = memory.put(icon, data);
+      memoryBytes += size(data) - (previous == null ? 0 : size(previous));
+      Iterator<Map.Entry<String, IconData>> iterator = memory.entrySet().iterator();
+      while (memoryBytes > maxMemoryBytes && iterator.hasNext()) {
+        Map.Entry<String, IconData> entry = iterator.next();
+        if (!entry.getKey().equals(icon)) {
+          memoryBytes -= size(entry.getValue());
+          iterator.remove();
+        }
+      }
+    }
+  }
+
+  private static long size(IconData data) {
+    // Rough footprint of the entry, dominated by the body
+    return 2L * data.body().length() + 96;
+  }
+
+  private Path file(String icon) {
+    int colon = icon.indexOf(':');
+    return directory.resolve(icon.substring(0, colon)).resolve(icon.substring(colon + 1) + ".json");
+  }
+
+  private String icon(Path file) {
+    String name = file.getFileName().toString();
+    if (file.getNameCount() != 2 || !name.endsWith(".json")) {
+      return null;
+    }
+    String icon = file.getParent() + ":" + name.substring(0, name.length() - ".json".length());
+    return isIconName(icon) ? icon : null;
+  }
+}
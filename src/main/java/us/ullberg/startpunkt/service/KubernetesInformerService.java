@@ -1,10 +1,14 @@
 package us.ullberg.startpunkt.service;
 
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
 import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
 import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.logging.Log;
 import io.quarkus.runtime.ShutdownEvent;
 import io.quarkus.runtime.StartupEvent;
@@ -13,16 +17,22 @@ import jakarta.enterprise.event.Observes;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import us.ullberg.startpunkt.config.ClusterConfig;
 import us.ullberg.startpunkt.crd.v1alpha4.Application;
 import us.ullberg.startpunkt.crd.v1alpha4.Bookmark;
+import us.ullberg.startpunkt.jfr.InformerEvent;
+import us.ullberg.startpunkt.jfr.SourceLoadEvent;
 import us.ullberg.startpunkt.messaging.EventBroadcaster;
 import us.ullberg.startpunkt.objects.ApplicationResponse;
 import us.ullberg.startpunkt.objects.BookmarkResponse;
@@ -45,6 +55,15 @@ import us.ullberg.startpunkt.objects.kubernetes.StartpunktApplicationWrapper;
  * (startpunkt.ullberg.us and hajimari.io) - Ingress resources (if enabled) - Route resources
  * (OpenShift, if enabled) - VirtualService resources (Istio, if enabled) - HTTPRoute resources
  * (Gateway API, if enabled)
+ *
+ * <p>Bookmarks of the local cluster are loaded from the stores of the bookmark informers once they
+ * have synced, and every bookmark event updates the single affected cache entry. The time taken to
+ * load every source of the application and bookmark caches is recorded as {@code
+ * startpunkt.cache.load}, tagged with the cache type, the source and the outcome. Complete reloads
+ * are recorded as {@code startpunkt.cache.reload}, the number of entries of every source as {@code
+ * startpunkt.cache.size}, and informer events per resource type and action as {@code
+ * startpunkt.informer.events} and {@code startpunkt.informer.handler}. Source loads and the
+ * handling of every object are recorded as Flight Recorder events as well.
  */
 @ApplicationScoped
 public class KubernetesInformerService {
@@ -55,15 +74,29 @@ public class KubernetesInformerService {
   private final BookmarkCacheService bookmarkCacheService;
   private final EventBroadcaster eventBroadcaster;
   private final AvailabilityCheckService availabilityCheckService;
+  private final AvailabilitySharingService availabilitySharingService;
   private final BookmarkService bookmarkService;
   private final RemoteStartpunktClient remoteStartpunktClient;
+  private final RemoteSubscriptionService remoteSubscriptionService;
+  private final MeterRegistry meterRegistry;
+
+  // Cache partitions of the bookmarks of the local cluster
+  private static final String STARTPUNKT_BOOKMARK_PARTITION = "local/startpunkt";
+  private static final String HAJIMARI_BOOKMARK_PARTITION = "local/hajimari";
+
+  // Bookmark informers, whose stores hold the current bookmarks of the local cluster
+  private volatile SharedIndexInformer<Bookmark> bookmarkInformer;
+  private volatile SharedIndexInformer<GenericKubernetesResource> hajimariBookmarkInformer;
 
-  // List to hold all active informers for cleanup on shutdown
-  private final List<SharedIndexInformer<?>> informers = new CopyOnWriteArrayList<>();
+  // Active informers by resource type, for readiness and cleanup on shutdown
+  private final Map<String, SharedIndexInformer<?>> informers = new ConcurrentHashMap<>();
 
   // Flag to suppress cache reload during initial sync
   private volatile boolean initialSyncComplete = false;
 
+  // Set if the informers could not be started, in which case the initial sync never completes
+  private volatile String initializationError;
+
   // Flags to track which resource types are available in the cluster
   private volatile boolean hajimariResourcesAvailable = false;
   private volatile boolean ingressResourcesAvailable = false;
@@ -131,16 +164,22 @@ public class KubernetesInformerService {
       BookmarkCacheService bookmarkCacheService,
       EventBroadcaster eventBroadcaster,
       AvailabilityCheckService availabilityCheckService,
+      AvailabilitySharingService availabilitySharingService,
       BookmarkService bookmarkService,
-      RemoteStartpunktClient remoteStartpunktClient) {
+      RemoteStartpunktClient remoteStartpunktClient,
+      RemoteSubscriptionService remoteSubscriptionService,
+      MeterRegistry meterRegistry) {
     this.kubernetesClient = kubernetesClient;
     this.multiClusterService = multiClusterService;
     this.applicationCacheService = applicationCacheService;
     this.bookmarkCacheService = bookmarkCacheService;
     this.eventBroadcaster = eventBroadcaster;
     this.availabilityCheckService = availabilityCheckService;
+    this.availabilitySharingService = availabilitySharingService;
     this.bookmarkService = bookmarkService;
     this.remoteStartpunktClient = remoteStartpunktClient;
+    this.remoteSubscriptionService = remoteSubscriptionService;
+    this.meterRegistry = meterRegistry;
   }
 
   /**
@@ -235,11 +274,17 @@ public class KubernetesInformerService {
 
                 // Perform initial cache load from all Informers, then mark sync complete
                 Log.info("Performing initial cache load...");
+                CompletableFuture<Void> bookmarksLoaded =
+                    CompletableFuture.runAsync(this::reloadBookmarkCache);
                 reloadApplicationCache();
-                reloadBookmarkCache();
+                bookmarksLoaded.join();
                 initialSyncComplete = true;
                 Log.info("Initial sync complete - Informers now active for real-time updates");
+
+                // Follow remote Startpunkt instances through their subscriptions from now on
+                remoteSubscriptionService.start();
               } catch (Exception e) {
+                initializationError = e.toString();
                 Log.error("Failed to initialize Kubernetes Informer service", e);
                 Log.warn("Application will continue without Kubernetes resource watching");
               }
@@ -250,6 +295,59 @@ public class KubernetesInformerService {
     Log.info("Kubernetes Informer service initialization started in background");
   }
 
+  /**
+   * State of one informer, for readiness checks.
+   *
+   * @param name the resource type the informer watches
+   * @param running whether the informer is running; stopped informers never recover
+   * @param synced whether the store of the informer has been filled by an initial list
+   * @param watching whether the informer currently has an open watch on the API server
+   */
+  public record InformerStatus(String name, boolean running, boolean synced, boolean watching) {}
+
+  /**
+   * Checks whether informers are enabled by configuration.
+   *
+   * @return true if resources are watched through informers
+   */
+  public boolean isWatchEnabled() {
+    return watchEnabled;
+  }
+
+  /**
+   * Checks whether the informers have been started and the caches loaded from them.
+   *
+   * @return true once the initial sync is complete
+   */
+  public boolean isInitialSyncComplete() {
+    return initialSyncComplete;
+  }
+
+  /**
+   * Gets the reason the informers could not be started.
+   *
+   * @return the error, or null if they were started or are still starting
+   */
+  public String getInitializationError() {
+    return initializationError;
+  }
+
+  /**
+   * Gets the state of the active informers, without contacting the API server.
+   *
+   * @return the informer states, ordered by name
+   */
+  public List<InformerStatus> getInformerStatuses() {
+    List<InformerStatus> statuses = new ArrayList<>();
+    for (Map.Entry<String, SharedIndexInformer<?>> entry : new TreeMap<>(informers).entrySet()) {
+      SharedIndexInformer<?> informer = entry.getValue();
+      statuses.add(
+          new InformerStatus(
+              entry.getKey(), informer.isRunning(), informer.hasSynced(), informer.isWatching()));
+    }
+    return statuses;
+  }
+
   /** Stops all informers on application shutdown. */
   void onStop(@Observes ShutdownEvent event) {
     Log.info("Stopping Kubernetes Informer service");
@@ -264,26 +362,28 @@ public class KubernetesInformerService {
               .resources(Application.class)
               .inAnyNamespace()
               .inform(
-                  new ResourceEventHandler<Application>() {
-                    @Override
-                    public void onAdd(Application application) {
-                      handleApplicationAdded(application);
-                    }
-
-                    @Override
-                    public void onUpdate(Application oldApp, Application newApp) {
-                      handleApplicationUpdated(oldApp, newApp);
-                    }
-
-                    @Override
-                    public void onDelete(
-                        Application application, boolean deletedFinalStateUnknown) {
-                      handleApplicationDeleted(application);
-                    }
-                  },
+                  instrument(
+                      "startpunkt.ullberg.us/v1alpha4/Application",
+                      new ResourceEventHandler<Application>() {
+                        @Override
+                        public void onAdd(Application application) {
+                          handleApplicationAdded(application);
+                        }
+
+                        @Override
+                        public void onUpdate(Application oldApp, Application newApp) {
+                          handleApplicationUpdated(oldApp, newApp);
+                        }
+
+                        @Override
+                        public void onDelete(
+                            Application application, boolean deletedFinalStateUnknown) {
+                          handleApplicationDeleted(application);
+                        }
+                      }),
                   resyncPeriodSeconds * 1000);
 
-      informers.add(informer);
+      informers.put("Application", informer);
       Log.info("Started Application CRD informer");
     } catch (Exception e) {
       Log.error("Failed to start Application informer", e);
@@ -298,25 +398,28 @@ public class KubernetesInformerService {
               .resources(Bookmark.class)
               .inAnyNamespace()
               .inform(
-                  new ResourceEventHandler<Bookmark>() {
-                    @Override
-                    public void onAdd(Bookmark bookmark) {
-                      handleBookmarkAdded(bookmark);
-                    }
-
-                    @Override
-                    public void onUpdate(Bookmark oldBookmark, Bookmark newBookmark) {
-                      handleBookmarkUpdated(oldBookmark, newBookmark);
-                    }
-
-                    @Override
-                    public void onDelete(Bookmark bookmark, boolean deletedFinalStateUnknown) {
-                      handleBookmarkDeleted(bookmark);
-                    }
-                  },
+                  instrument(
+                      "startpunkt.ullberg.us/v1alpha4/Bookmark",
+                      new ResourceEventHandler<Bookmark>() {
+                        @Override
+                        public void onAdd(Bookmark bookmark) {
+                          handleBookmarkAdded(bookmark);
+                        }
+
+                        @Override
+                        public void onUpdate(Bookmark oldBookmark, Bookmark newBookmark) {
+                          handleBookmarkUpdated(oldBookmark, newBookmark);
+                        }
+
+                        @Override
+                        public void onDelete(Bookmark bookmark, boolean deletedFinalStateUnknown) {
+                          handleBookmarkDeleted(bookmark);
+                        }
+                      }),
                   resyncPeriodSeconds * 1000);
 
-      informers.add(informer);
+      informers.put("Bookmark", informer);
+      bookmarkInformer = informer;
       Log.info("Started Bookmark CRD informer");
     } catch (Exception e) {
       Log.error("Failed to start Bookmark informer", e);
@@ -339,34 +442,31 @@ public class KubernetesInformerService {
               .genericKubernetesResources(ctx)
               .inAnyNamespace()
               .inform(
-                  new ResourceEventHandler<GenericKubernetesResource>() {
-                    @Override
-                    public void onAdd(GenericKubernetesResource resource) {
-                      if (initialSyncComplete) {
-                        handleGenericBookmarkEvent("hajimari");
-                      }
-                    }
-
-                    @Override
-                    public void onUpdate(
-                        GenericKubernetesResource oldResource,
-                        GenericKubernetesResource newResource) {
-                      if (initialSyncComplete) {
-                        handleGenericBookmarkEvent("hajimari");
-                      }
-                    }
-
-                    @Override
-                    public void onDelete(
-                        GenericKubernetesResource resource, boolean deletedFinalStateUnknown) {
-                      if (initialSyncComplete) {
-                        handleGenericBookmarkEvent("hajimari");
-                      }
-                    }
-                  },
+                  instrument(
+                      "hajimari.io/v1alpha1/Bookmark",
+                      new ResourceEventHandler<GenericKubernetesResource>() {
+                        @Override
+                        public void onAdd(GenericKubernetesResource resource) {
+                          handleHajimariBookmarkAdded(resource);
+                        }
+
+                        @Override
+                        public void onUpdate(
+                            GenericKubernetesResource oldResource,
+                            GenericKubernetesResource newResource) {
+                          handleHajimariBookmarkUpdated(oldResource, newResource);
+                        }
+
+                        @Override
+                        public void onDelete(
+                            GenericKubernetesResource resource, boolean deletedFinalStateUnknown) {
+                          handleHajimariBookmarkDeleted(resource);
+                        }
+                      }),
                   resyncPeriodSeconds * 1000);
 
-      informers.add(informer);
+      informers.put("Hajimari Bookmark", informer);
+      hajimariBookmarkInformer = informer;
       Log.info("Started Hajimari Bookmark informer");
     } catch (Exception e) {
       Log.error("Failed to start Hajimari Bookmark informer", e);
@@ -389,34 +489,36 @@ public class KubernetesInformerService {
               .genericKubernetesResources(ctx)
               .inAnyNamespace()
               .inform(
-                  new ResourceEventHandler<GenericKubernetesResource>() {
-                    @Override
-                    public void onAdd(GenericKubernetesResource resource) {
-                      if (initialSyncComplete) {
-                        handleGenericApplicationEvent("ingress");
-                      }
-                    }
-
-                    @Override
-                    public void onUpdate(
-                        GenericKubernetesResource oldResource,
-                        GenericKubernetesResource newResource) {
-                      if (initialSyncComplete) {
-                        handleGenericApplicationEvent("ingress");
-                      }
-                    }
-
-                    @Override
-                    public void onDelete(
-                        GenericKubernetesResource resource, boolean deletedFinalStateUnknown) {
-                      if (initialSyncComplete) {
-                        handleGenericApplicationEvent("ingress");
-                      }
-                    }
-                  },
+                  instrument(
+                      "networking.k8s.io/v1/Ingress",
+                      new ResourceEventHandler<GenericKubernetesResource>() {
+                        @Override
+                        public void onAdd(GenericKubernetesResource resource) {
+                          if (initialSyncComplete) {
+                            handleGenericApplicationEvent("ingress");
+                          }
+                        }
+
+                        @Override
+                        public void onUpdate(
+                            GenericKubernetesResource oldResource,
+                            GenericKubernetesResource newResource) {
+                          if (initialSyncComplete) {
+                            handleGenericApplicationEvent("ingress");
+                          }
+                        }
+
+                        @Override
+                        public void onDelete(
+                            GenericKubernetesResource resource, boolean deletedFinalStateUnknown) {
+                          if (initialSyncComplete) {
+                            handleGenericApplicationEvent("ingress");
+                          }
+                        }
+                      }),
                   resyncPeriodSeconds * 1000);
 
-      informers.add(informer);
+      informers.put("Ingress", informer);
       Log.info("Started Ingress informer");
     } catch (Exception e) {
       Log.error("Failed to start Ingress informer", e);
@@ -439,34 +541,36 @@ public class KubernetesInformerService {
               .genericKubernetesResources(ctx)
               .inAnyNamespace()
               .inform(
-                  new ResourceEventHandler<GenericKubernetesResource>() {
-                    @Override
-                    public void onAdd(GenericKubernetesResource resource) {
-                      if (initialSyncComplete) {
-                        handleGenericApplicationEvent("route");
-                      }
-                    }
-
-                    @Override
-                    public void onUpdate(
-                        GenericKubernetesResource oldResource,
-                        GenericKubernetesResource newResource) {
-                      if (initialSyncComplete) {
-                        handleGenericApplicationEvent("route");
-                      }
-                    }
-
-                    @Override
-                    public void onDelete(
-                        GenericKubernetesResource resource, boolean deletedFinalStateUnknown) {
-                      if (initialSyncComplete) {
-                        handleGenericApplicationEvent("route");
-                      }
-                    }
-                  },
+                  instrument(
+                      "route.openshift.io/v1/Route",
+                      new ResourceEventHandler<GenericKubernetesResource>() {
+                        @Override
+                        public void onAdd(GenericKubernetesResource resource) {
+                          if (initialSyncComplete) {
+                            handleGenericApplicationEvent("route");
+                          }
+                        }
+
+                        @Override
+                        public void onUpdate(
+                            GenericKubernetesResource oldResource,
+                            GenericKubernetesResource newResource) {
+                          if (initialSyncComplete) {
+                            handleGenericApplicationEvent("route");
+                          }
+                        }
+
+                        @Override
+                        public void onDelete(
+                            GenericKubernetesResource resource, boolean deletedFinalStateUnknown) {
+                          if (initialSyncComplete) {
+                            handleGenericApplicationEvent("route");
+                          }
+                        }
+                      }),
                   resyncPeriodSeconds * 1000);
 
-      informers.add(informer);
+      informers.put("Route", informer);
       Log.info("Started Route informer");
     } catch (Exception e) {
       Log.error("Failed to start Route informer", e);
@@ -489,34 +593,36 @@ public class KubernetesInformerService {
               .genericKubernetesResources(ctx)
               .inAnyNamespace()
               .inform(
-                  new ResourceEventHandler<GenericKubernetesResource>() {
-                    @Override
-                    public void onAdd(GenericKubernetesResource resource) {
-                      if (initialSyncComplete) {
-                        handleGenericApplicationEvent("virtualservice");
-                      }
-                    }
-
-                    @Override
-                    public void onUpdate(
-                        GenericKubernetesResource oldResource,
-                        GenericKubernetesResource newResource) {
-                      if (initialSyncComplete) {
-                        handleGenericApplicationEvent("virtualservice");
-                      }
-                    }
-
-                    @Override
-                    public void onDelete(
-                        GenericKubernetesResource resource, boolean deletedFinalStateUnknown) {
-                      if (initialSyncComplete) {
-                        handleGenericApplicationEvent("virtualservice");
-                      }
-                    }
-                  },
+                  instrument(
+                      "networking.istio.io/v1/VirtualService",
+                      new ResourceEventHandler<GenericKubernetesResource>() {
+                        @Override
+                        public void onAdd(GenericKubernetesResource resource) {
+                          if (initialSyncComplete) {
+                            handleGenericApplicationEvent("virtualservice");
+                          }
+                        }
+
+                        @Override
+                        public void onUpdate(
+                            GenericKubernetesResource oldResource,
+                            GenericKubernetesResource newResource) {
+                          if (initialSyncComplete) {
+                            handleGenericApplicationEvent("virtualservice");
+                          }
+                        }
+
+                        @Override
+                        public void onDelete(
+                            GenericKubernetesResource resource, boolean deletedFinalStateUnknown) {
+                          if (initialSyncComplete) {
+                            handleGenericApplicationEvent("virtualservice");
+                          }
+                        }
+                      }),
                   resyncPeriodSeconds * 1000);
 
-      informers.add(informer);
+      informers.put("VirtualService", informer);
       Log.info("Started VirtualService informer");
     } catch (Exception e) {
       Log.error("Failed to start VirtualService informer", e);
@@ -539,34 +645,36 @@ public class KubernetesInformerService {
               .genericKubernetesResources(ctx)
               .inAnyNamespace()
               .inform(
-                  new ResourceEventHandler<GenericKubernetesResource>() {
-                    @Override
-                    public void onAdd(GenericKubernetesResource resource) {
-                      if (initialSyncComplete) {
-                        handleGenericApplicationEvent("httproute");
-                      }
-                    }
-
-                    @Override
-                    public void onUpdate(
-                        GenericKubernetesResource oldResource,
-                        GenericKubernetesResource newResource) {
-                      if (initialSyncComplete) {
-                        handleGenericApplicationEvent("httproute");
-                      }
-                    }
-
-                    @Override
-                    public void onDelete(
-                        GenericKubernetesResource resource, boolean deletedFinalStateUnknown) {
-                      if (initialSyncComplete) {
-                        handleGenericApplicationEvent("httproute");
-                      }
-                    }
-                  },
+                  instrument(
+                      "gateway.networking.k8s.io/v1/HTTPRoute",
+                      new ResourceEventHandler<GenericKubernetesResource>() {
+                        @Override
+                        public void onAdd(GenericKubernetesResource resource) {
+                          if (initialSyncComplete) {
+                            handleGenericApplicationEvent("httproute");
+                          }
+                        }
+
+                        @Override
+                        public void onUpdate(
+                            GenericKubernetesResource oldResource,
+                            GenericKubernetesResource newResource) {
+                          if (initialSyncComplete) {
+                            handleGenericApplicationEvent("httproute");
+                          }
+                        }
+
+                        @Override
+                        public void onDelete(
+                            GenericKubernetesResource resource, boolean deletedFinalStateUnknown) {
+                          if (initialSyncComplete) {
+                            handleGenericApplicationEvent("httproute");
+                          }
+                        }
+                      }),
                   resyncPeriodSeconds * 1000);
 
-      informers.add(informer);
+      informers.put("HTTPRoute", informer);
       Log.info("Started HTTPRoute informer");
     } catch (Exception e) {
       Log.error("Failed to start HTTPRoute informer", e);
@@ -603,9 +711,12 @@ public class KubernetesInformerService {
 
       // Register URL for availability checking
       if (appResponse.getUrl() != null && !appResponse.getUrl().isEmpty()) {
-        availabilityCheckService.registerUrl(appResponse.getUrl());
+        availabilityCheckService.registerApplication(appResponse);
       }
 
+      // Apply the availability shared by the probing replica, if any
+      availabilitySharingService.applicationChanged(application);
+
       // Store in cache
       applicationCacheService.put(appResponse);
 
@@ -622,6 +733,9 @@ public class KubernetesInformerService {
       return;
     }
 
+    // Status changes carry the availability shared by the probing replica
+    availabilitySharingService.applicationChanged(newApp);
+
     // Skip updates that don't affect spec or relevant annotations (e.g., status changes)
     if (!isApplicationUpdateMeaningful(oldApp, newApp)) {
       String namespace = newApp.getMetadata().getNamespace();
@@ -654,7 +768,7 @@ public class KubernetesInformerService {
 
       // Register URL for availability checking
       if (appResponse.getUrl() != null && !appResponse.getUrl().isEmpty()) {
-        availabilityCheckService.registerUrl(appResponse.getUrl());
+        availabilityCheckService.registerApplication(appResponse);
       }
 
       // Update in cache
@@ -678,6 +792,7 @@ public class KubernetesInformerService {
       String name = application.getMetadata().getName();
 
       Log.debugf("Application deleted: %s/%s", namespace, name);
+      availabilitySharingService.applicationDeleted(application);
 
       // Remove from cache (assuming local cluster for now)
       ApplicationResponse removed = applicationCacheService.remove("local", namespace, name);
@@ -702,22 +817,19 @@ public class KubernetesInformerService {
       return;
     }
 
+    if (!bookmarkService.isWatchedNamespace(bookmark.getMetadata().getNamespace())) {
+      return;
+    }
+
     try {
       String namespace = bookmark.getMetadata().getNamespace();
       String name = bookmark.getMetadata().getName();
 
       Log.debugf("Bookmark added: %s/%s", namespace, name);
 
-      // Create BookmarkResponse from spec
-      BookmarkResponse bookmarkResponse = new BookmarkResponse(bookmark.getSpec());
-      bookmarkResponse.setNamespace(namespace);
-      bookmarkResponse.setResourceName(name);
-      bookmarkResponse.setHasOwnerReferences(
-          bookmark.getMetadata().getOwnerReferences() != null
-              && !bookmark.getMetadata().getOwnerReferences().isEmpty());
-
       // Store in cache
-      bookmarkCacheService.put(bookmarkResponse);
+      bookmarkCacheService.put(
+          STARTPUNKT_BOOKMARK_PARTITION, bookmarkService.toBookmarkResponse(bookmark));
 
       // Broadcast event
       eventBroadcaster.broadcastBookmarkAdded(bookmark);
@@ -740,22 +852,19 @@ public class KubernetesInformerService {
       return;
     }
 
+    if (!bookmarkService.isWatchedNamespace(newBookmark.getMetadata().getNamespace())) {
+      return;
+    }
+
     try {
       String namespace = newBookmark.getMetadata().getNamespace();
       String name = newBookmark.getMetadata().getName();
 
       Log.debugf("Bookmark updated: %s/%s", namespace, name);
 
-      // Create BookmarkResponse from spec
-      BookmarkResponse bookmarkResponse = new BookmarkResponse(newBookmark.getSpec());
-      bookmarkResponse.setNamespace(namespace);
-      bookmarkResponse.setResourceName(name);
-      bookmarkResponse.setHasOwnerReferences(
-          newBookmark.getMetadata().getOwnerReferences() != null
-              && !newBookmark.getMetadata().getOwnerReferences().isEmpty());
-
       // Update in cache
-      bookmarkCacheService.put(bookmarkResponse);
+      bookmarkCacheService.put(
+          STARTPUNKT_BOOKMARK_PARTITION, bookmarkService.toBookmarkResponse(newBookmark));
 
       // Broadcast event
       eventBroadcaster.broadcastBookmarkUpdated(newBookmark);
@@ -788,6 +897,81 @@ public class KubernetesInformerService {
     }
   }
 
+  /** Handles Hajimari bookmark addition events. */
+  private void handleHajimariBookmarkAdded(GenericKubernetesResource resource) {
+    if (resource == null
+        || resource.getMetadata() == null
+        || !bookmarkService.isWatchedNamespace(resource.getMetadata().getNamespace())) {
+      return;
+    }
+
+    try {
+      Log.debugf(
+          "Hajimari bookmark added: %s/%s",
+          resource.getMetadata().getNamespace(), resource.getMetadata().getName());
+
+      BookmarkResponse bookmark = bookmarkService.toBookmarkResponse(resource);
+      bookmarkCacheService.put(HAJIMARI_BOOKMARK_PARTITION, bookmark);
+      eventBroadcaster.broadcastBookmarkAdded(bookmark);
+    } catch (Exception e) {
+      Log.errorf(e, "Error handling Hajimari bookmark addition");
+    }
+  }
+
+  /** Handles Hajimari bookmark update events. */
+  private void handleHajimariBookmarkUpdated(
+      GenericKubernetesResource oldResource, GenericKubernetesResource newResource) {
+    if (newResource == null
+        || newResource.getMetadata() == null
+        || !bookmarkService.isWatchedNamespace(newResource.getMetadata().getNamespace())) {
+      return;
+    }
+
+    // Skip updates that don't affect spec or relevant annotations (e.g., status changes)
+    if (oldResource != null
+        && java.util.Objects.equals(
+            oldResource.getAdditionalProperties().get("spec"),
+            newResource.getAdditionalProperties().get("spec"))
+        && !hasRelevantAnnotationChanges(
+            oldResource.getMetadata().getAnnotations(),
+            newResource.getMetadata().getAnnotations())) {
+      return;
+    }
+
+    try {
+      Log.debugf(
+          "Hajimari bookmark updated: %s/%s",
+          newResource.getMetadata().getNamespace(), newResource.getMetadata().getName());
+
+      BookmarkResponse bookmark = bookmarkService.toBookmarkResponse(newResource);
+      bookmarkCacheService.put(HAJIMARI_BOOKMARK_PARTITION, bookmark);
+      eventBroadcaster.broadcastBookmarkUpdated(bookmark);
+    } catch (Exception e) {
+      Log.errorf(e, "Error handling Hajimari bookmark update");
+    }
+  }
+
+  /** Handles Hajimari bookmark deletion events. */
+  private void handleHajimariBookmarkDeleted(GenericKubernetesResource resource) {
+    if (resource == null || resource.getMetadata() == null) {
+      return;
+    }
+
+    try {
+      String namespace = resource.getMetadata().getNamespace();
+      String name = resource.getMetadata().getName();
+
+      Log.debugf("Hajimari bookmark deleted: %s/%s", namespace, name);
+
+      BookmarkResponse removed = bookmarkCacheService.remove("local", namespace, name);
+      if (removed != null) {
+        eventBroadcaster.broadcastBookmarkRemoved(removed);
+      }
+    } catch (Exception e) {
+      Log.errorf(e, "Error handling Hajimari bookmark deletion");
+    }
+  }
+
   /**
    * Checks if a reload should be debounced to prevent reload storms.
    *
@@ -926,26 +1110,20 @@ public class KubernetesInformerService {
   }
 
   /**
-   * Handles generic bookmark resource events (Hajimari). For generic resources, we reload all
-   * bookmarks.
+   * Reloads the application cache from Kubernetes and remote Startpunkt instances.
+   *
+   * <p>Every source (a resource type in a cluster, or a remote) is a partition of the cache that is
+   * replaced as soon as that source has been loaded, so the local cluster is visible before slow
+   * remotes answer. A source that fails to load keeps its last-known-good applications.
    */
-  private void handleGenericBookmarkEvent(String resourceType) {
-    String eventKey = "GENERIC_BOOKMARK_" + resourceType;
-    if (shouldDebounceReload(eventKey)) {
-      Log.debugf("Debouncing generic bookmark event: %s", resourceType);
-      return;
-    }
-
-    Log.debugf("Generic bookmark resource changed: %s, reloading bookmarks", resourceType);
-    reloadBookmarkCache();
-  }
-
-  /** Reloads the entire application cache from Kubernetes. */
   private void reloadApplicationCache() {
+    Timer.Sample reloadTimer = Timer.start(meterRegistry);
     try {
       Log.debug("Reloading application cache");
 
-      var apps = new ArrayList<ApplicationResponse>();
+      Set<String> partitions = new HashSet<>();
+      List<CompletableFuture<Void>> remoteLoads = new ArrayList<>();
+      int localCount = 0;
 
       // Iterate through all active clusters
       for (String clusterName : multiClusterService.getActiveClusterNames()) {
@@ -954,21 +1132,28 @@ public class KubernetesInformerService {
 
         // Check if this is a remote GraphQL cluster (not local)
         if (configOpt.isPresent() && !"local".equalsIgnoreCase(clusterName)) {
-          Log.infof("Loading applications from remote Startpunkt '%s' via GraphQL", clusterName);
-          try {
-            List<ApplicationResponse> remoteApps =
-                remoteStartpunktClient.fetchApplications(configOpt.get(), clusterName);
-            apps.addAll(remoteApps);
-            Log.infof(
-                "Loaded %d applications from remote Startpunkt '%s'",
-                remoteApps.size(), clusterName);
-          } catch (Exception e) {
-            Log.warnf(
-                e,
-                "Error loading applications from remote Startpunkt '%s': %s",
-                clusterName,
-                e.getMessage());
+          String partition = RemoteStartpunktClient.partition(clusterName);
+          partitions.add(partition);
+          if (remoteSubscriptionService.isApplicationsLive(clusterName)) {
+            // Kept current by its subscription
+            continue;
           }
+          Log.infof("Loading applications from remote Startpunkt '%s' via GraphQL", clusterName);
+          SourceLoad remoteLoad = startLoad();
+          remoteLoads.add(
+              remoteStartpunktClient
+                  .fetchApplicationSnapshot(configOpt.get(), clusterName)
+                  .handle(
+                      (remoteApps, error) -> {
+                        recordLoad(remoteLoad, "applications", partition, error == null);
+                        if (error != null) {
+                          applicationCacheService.markPartitionFailed(
+                              partition, rootCause(error).toString());
+                        } else {
+                          loadApplicationPartition(partition, remoteApps);
+                        }
+                        return null;
+                      }));
           continue; // Skip Kubernetes client logic for GraphQL connections
         }
 
@@ -1027,58 +1212,100 @@ public class KubernetesInformerService {
         }
 
         for (BaseKubernetesObject applicationWrapper : applicationWrappers) {
-          try {
-            var wrapperApps =
-                applicationWrapper.getApplicationSpecsWithMetadata(
-                    client, anyNamespace, matchNames.orElse(List.of()), clusterName);
-            Log.infof(
-                "Wrapper %s loaded %d apps from cluster %s",
-                applicationWrapper.getClass().getSimpleName(), wrapperApps.size(), clusterName);
-            apps.addAll(wrapperApps);
-          } catch (Exception e) {
-            Log.warnf(
-                e,
-                "Error loading applications from cluster '%s' using wrapper '%s': %s",
-                clusterName,
-                applicationWrapper.getClass().getSimpleName(),
-                e.getMessage());
-          }
+          partitions.add(clusterName + "/" + applicationWrapper.getClass().getSimpleName());
+          localCount +=
+              loadApplicationWrapper(
+                  applicationWrapper,
+                  client,
+                  anyNamespace,
+                  matchNames.orElse(List.of()),
+                  clusterName);
         }
-        Log.infof("Total apps after processing cluster %s: %d", clusterName, apps.size());
 
-        Log.debugf("Loaded %d applications from cluster '%s'", apps.size(), clusterName);
+        Log.debugf("Loaded %d applications from cluster '%s'", localCount, clusterName);
       }
 
-      // Register URLs for availability checking
-      for (ApplicationResponse app : apps) {
-        if (app.getUrl() != null && !app.getUrl().isEmpty()) {
-          availabilityCheckService.registerUrl(app.getUrl());
-        }
-      }
+      // Wait for the remotes, whose partitions are replaced as they answer
+      CompletableFuture.allOf(remoteLoads.toArray(CompletableFuture[]::new)).join();
 
-      // Sort and cache
-      Collections.sort(apps);
-
-      // Clear and repopulate cache
-      applicationCacheService.clear();
-      applicationCacheService.putAll(apps);
+      // Drop the partitions of sources that are no longer enabled
+      applicationCacheService.retainPartitions(partitions);
 
       // Note: We don't broadcast STATUS_CHANGED here to avoid feedback loops.
       // Individual add/update/delete handlers already broadcast specific events.
       // The AvailabilityCheckService will broadcast STATUS_CHANGED when availability changes.
 
-      Log.debugf("Reloaded %d applications into cache from all clusters", apps.size());
+      Log.debugf(
+          "Reloaded application cache from %d sources (%d applications)",
+          partitions.size(), applicationCacheService.size());
     } catch (Exception e) {
       Log.error("Error reloading application cache", e);
+    } finally {
+      reloadTimer.stop(meterRegistry.timer("startpunkt.cache.reload", "type", "applications"));
     }
   }
 
-  /** Reloads the entire bookmark cache from Kubernetes and remote Startpunkt instances. */
+  /**
+   * Loads the applications of one wrapper into its partition of the cache. If the resources cannot
+   * be listed, the partition is marked as failed and keeps its last-known-good applications.
+   *
+   * @param applicationWrapper the wrapper listing one kind of resource
+   * @param client the client of the cluster
+   * @param anyNamespace whether to list resources in all namespaces
+   * @param namespaces the namespaces to list resources in otherwise
+   * @param clusterName the name of the cluster
+   * @return the number of applications loaded, or 0 if loading failed
+   */
+  int loadApplicationWrapper(
+      BaseKubernetesObject applicationWrapper,
+      KubernetesClient client,
+      boolean anyNamespace,
+      List<String> namespaces,
+      String clusterName) {
+    String partition = clusterName + "/" + applicationWrapper.getClass().getSimpleName();
+    SourceLoad wrapperLoad = startLoad();
+    try {
+      var wrapperApps =
+          applicationWrapper.getApplicationSpecsWithMetadata(
+              client, anyNamespace, namespaces, clusterName);
+      recordLoad(wrapperLoad, "applications", partition, true);
+      Log.infof(
+          "Wrapper %s loaded %d apps from cluster %s",
+          applicationWrapper.getClass().getSimpleName(), wrapperApps.size(), clusterName);
+      loadApplicationPartition(partition, wrapperApps);
+      return wrapperApps.size();
+    } catch (Exception e) {
+      Log.warnf(
+          e,
+          "Error loading applications from cluster '%s' using wrapper '%s': %s",
+          clusterName,
+          applicationWrapper.getClass().getSimpleName(),
+          e.getMessage());
+      recordLoad(wrapperLoad, "applications", partition, false);
+      applicationCacheService.markPartitionFailed(partition, e.toString());
+      return 0;
+    }
+  }
+
+  private void loadApplicationPartition(String partition, List<ApplicationResponse> apps) {
+    // Register URLs for availability checking
+    for (ApplicationResponse app : apps) {
+      availabilityCheckService.registerApplication(app);
+    }
+    applicationCacheService.replacePartition(partition, apps);
+  }
+
+  /**
+   * Reloads the bookmark cache from Kubernetes and remote Startpunkt instances. Like applications,
+   * every source is a partition of the cache that is replaced as soon as it has been loaded.
+   */
   private void reloadBookmarkCache() {
+    Timer.Sample reloadTimer = Timer.start(meterRegistry);
     try {
       Log.debug("Reloading bookmark cache");
 
-      List<BookmarkResponse> bookmarks = new ArrayList<>();
+      Set<String> partitions = new HashSet<>();
+      List<CompletableFuture<Void>> remoteLoads = new ArrayList<>();
 
       // Iterate through all active clusters
       for (String clusterName : multiClusterService.getActiveClusterNames()) {
@@ -1087,21 +1314,28 @@ public class KubernetesInformerService {
 
         // Check if this is a remote GraphQL cluster (not local)
         if (configOpt.isPresent() && !"local".equalsIgnoreCase(clusterName)) {
-          Log.debugf("Loading bookmarks from remote Startpunkt '%s' via GraphQL", clusterName);
-          try {
-            List<BookmarkResponse> remoteBookmarks =
-                remoteStartpunktClient.fetchBookmarks(configOpt.get(), clusterName);
-            bookmarks.addAll(remoteBookmarks);
-            Log.debugf(
-                "Loaded %d bookmarks from remote Startpunkt '%s'",
-                remoteBookmarks.size(), clusterName);
-          } catch (Exception e) {
-            Log.warnf(
-                e,
-                "Error loading bookmarks from remote Startpunkt '%s': %s",
-                clusterName,
-                e.getMessage());
+          String partition = RemoteStartpunktClient.partition(clusterName);
+          partitions.add(partition);
+          if (remoteSubscriptionService.isBookmarksLive(clusterName)) {
+            // Kept current by its subscription
+            continue;
           }
+          Log.debugf("Loading bookmarks from remote Startpunkt '%s' via GraphQL", clusterName);
+          SourceLoad remoteLoad = startLoad();
+          remoteLoads.add(
+              remoteStartpunktClient
+                  .fetchBookmarkSnapshot(configOpt.get(), clusterName)
+                  .handle(
+                      (remoteBookmarks, error) -> {
+                        recordLoad(remoteLoad, "bookmarks", partition, error == null);
+                        if (error != null) {
+                          bookmarkCacheService.markPartitionFailed(
+                              partition, rootCause(error).toString());
+                        } else {
+                          bookmarkCacheService.replacePartition(partition, remoteBookmarks);
+                        }
+                        return null;
+                      }));
           continue; // Skip local cluster logic for GraphQL remote clusters
         }
 
@@ -1109,31 +1343,182 @@ public class KubernetesInformerService {
         if ("local".equalsIgnoreCase(clusterName)) {
           Log.debugf("Loading bookmarks from local cluster");
           // Load Startpunkt bookmarks
-          bookmarks.addAll(bookmarkService.retrieveBookmarks());
+          partitions.add(STARTPUNKT_BOOKMARK_PARTITION);
+          loadBookmarkPartition(STARTPUNKT_BOOKMARK_PARTITION, this::loadStartpunktBookmarks);
 
           // Load Hajimari bookmarks if enabled and available
           if (hajimariEnabled && hajimariResourcesAvailable) {
-            bookmarks.addAll(bookmarkService.retrieveHajimariBookmarks());
+            partitions.add(HAJIMARI_BOOKMARK_PARTITION);
+            loadBookmarkPartition(HAJIMARI_BOOKMARK_PARTITION, this::loadHajimariBookmarks);
           }
         }
       }
 
-      // Clear and repopulate cache
-      bookmarkCacheService.clear();
-      bookmarkCacheService.putAll(bookmarks);
+      // Wait for the remotes, whose partitions are replaced as they answer
+      CompletableFuture.allOf(remoteLoads.toArray(CompletableFuture[]::new)).join();
+
+      // Drop the partitions of sources that are no longer enabled
+      bookmarkCacheService.retainPartitions(partitions);
 
       // Note: We don't broadcast STATUS_CHANGED here to avoid feedback loops.
       // Individual add/update/delete handlers already broadcast specific events.
 
-      Log.debugf("Reloaded %d bookmarks into cache from all clusters", bookmarks.size());
+      Log.debugf(
+          "Reloaded bookmark cache from %d sources (%d bookmarks)",
+          partitions.size(), bookmarkCacheService.size());
     } catch (Exception e) {
       Log.error("Error reloading bookmark cache", e);
+    } finally {
+      reloadTimer.stop(meterRegistry.timer("startpunkt.cache.reload", "type", "bookmarks"));
+    }
+  }
+
+  private void loadBookmarkPartition(String partition, Supplier<List<BookmarkResponse>> loader) {
+    SourceLoad load = startLoad();
+    try {
+      List<BookmarkResponse> bookmarks = loader.get();
+      recordLoad(load, "bookmarks", partition, true);
+      bookmarkCacheService.replacePartition(partition, bookmarks);
+    } catch (Exception e) {
+      Log.warnf(e, "Failed to load bookmarks of %s: %s", partition, e.getMessage());
+      recordLoad(load, "bookmarks", partition, false);
+      bookmarkCacheService.markPartitionFailed(partition, e.toString());
+    }
+  }
+
+  /** Gets the Startpunkt bookmarks from the informer store, or lists them until it has synced. */
+  private List<BookmarkResponse> loadStartpunktBookmarks() {
+    SharedIndexInformer<Bookmark> informer = bookmarkInformer;
+    if (informer != null && informer.hasSynced()) {
+      return bookmarkService.toBookmarkResponsesFromBookmarks(informer.getStore().list());
+    }
+    return bookmarkService.retrieveBookmarks();
+  }
+
+  /** Gets the Hajimari bookmarks from the informer store, or lists them until it has synced. */
+  private List<BookmarkResponse> loadHajimariBookmarks() {
+    SharedIndexInformer<GenericKubernetesResource> informer = hajimariBookmarkInformer;
+    if (informer != null && informer.hasSynced()) {
+      return bookmarkService.toBookmarkResponses(informer.getStore().list());
     }
+    return bookmarkService.retrieveHajimariBookmarks();
+  }
+
+  /** Measurements of loading one source of a cache, started before loading it. */
+  private record SourceLoad(Timer.Sample timer, SourceLoadEvent event) {}
+
+  private SourceLoad startLoad() {
+    SourceLoadEvent event = new SourceLoadEvent();
+    event.begin();
+    return new SourceLoad(Timer.start(meterRegistry), event);
+  }
+
+  /**
+   * Records the time taken to load one source of a cache as metric and Flight Recorder event, and
+   * makes sure the size of the source is reported in {@code startpunkt.cache.size}.
+   */
+  private void recordLoad(SourceLoad load, String type, String partition, boolean success) {
+    SourceLoadEvent event = load.event();
+    event.end();
+    if (event.shouldCommit()) {
+      event.type = type;
+      event.source = partition;
+      event.success = success;
+      event.commit();
+    }
+
+    load.timer().stop(
+        meterRegistry.timer(
+            "startpunkt.cache.load",
+            "type",
+            type,
+            "source",
+            partition,
+            "outcome",
+            success ? "success" : "failure"));
+
+    // Registering is idempotent, so the gauge is only created for the first load of a source
+    Supplier<List<PartitionStatus>> statuses =
+        "applications".equals(type)
+            ? applicationCacheService::getPartitionStatuses
+            : bookmarkCacheService::getPartitionStatuses;
+    Gauge.builder("startpunkt.cache.size", statuses, s -> partitionSize(s.get(), partition))
+        .description("Number of entries in the cache loaded from a source")
+        .tags("type", type, "source", partition)
+        .strongReference(true)
+        .register(meterRegistry);
+  }
+
+  private static double partitionSize(List<PartitionStatus> statuses, String partition) {
+    for (PartitionStatus status : statuses) {
+      if (status.partition().equals(partition)) {
+        return status.size();
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Wraps an informer event handler to count the events of a resource type in {@code
+   * startpunkt.informer.events} and time their handling in {@code startpunkt.informer.handler}.
+   * Every event is also recorded as a Flight Recorder {@link InformerEvent} naming the object.
+   *
+   * @param gvk group, version and kind of the resource, used as tag
+   * @param handler the handler to wrap
+   * @return the instrumented handler
+   */
+  private <T> ResourceEventHandler<T> instrument(String gvk, ResourceEventHandler<T> handler) {
+    return new ResourceEventHandler<T>() {
+      @Override
+      public void onAdd(T resource) {
+        handleEvent(gvk, "add", resource, () -> handler.onAdd(resource));
+      }
+
+      @Override
+      public void onUpdate(T oldResource, T newResource) {
+        handleEvent(gvk, "update", newResource, () -> handler.onUpdate(oldResource, newResource));
+      }
+
+      @Override
+      public void onDelete(T resource, boolean deletedFinalStateUnknown) {
+        handleEvent(
+            gvk, "delete", resource, () -> handler.onDelete(resource, deletedFinalStateUnknown));
+      }
+    };
+  }
+
+  private void handleEvent(String gvk, String action, Object resource, Runnable callback) {
+    meterRegistry.counter("startpunkt.informer.events", "gvk", gvk, "action", action).increment();
+    InformerEvent event = new InformerEvent();
+    event.begin();
+    Timer.Sample timer = Timer.start(meterRegistry);
+    try {
+      callback.run();
+    } finally {
+      timer.stop(meterRegistry.timer("startpunkt.informer.handler", "gvk", gvk, "action", action));
+      event.end();
+      if (event.shouldCommit()) {
+        event.gvk = gvk;
+        event.action = action;
+        if (resource instanceof HasMetadata object && object.getMetadata() != null) {
+          event.namespace = object.getMetadata().getNamespace();
+          event.name = object.getMetadata().getName();
+          event.resourceVersion = object.getMetadata().getResourceVersion();
+        }
+        event.commit();
+      }
+    }
+  }
+
+  private static Throwable rootCause(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
   }
 
   /** Stops all informers. */
   private void stopInformers() {
-    for (SharedIndexInformer<?> informer : informers) {
+    for (SharedIndexInformer<?> informer : informers.values()) {
       try {
         informer.stop();
       } catch (Exception e) {
@@ -0,0 +1,26 @@
+package us.ullberg.startpunkt.service;
+
+import java.time.Instant;
+
+/**
+ * State of one partition of a cache. A partition holds the entries of a single source, such as the
+ * Ingress resources of a cluster or a remote Startpunkt instance.
+ *
+ * @param partition the partition name, {@code cluster/source}
+ * @param size the number of entries last loaded into the partition
+ * @param lastUpdated when the partition was last loaded successfully, or null if never
+ * @param lastFailed when loading the partition last failed, or null if never
+ * @param error the reason of the last failure, or null
+ */
+public record PartitionStatus(
+    String partition, int size, Instant lastUpdated, Instant lastFailed, String error) {
+
+  /**
+   * Checks whether the partition holds last-known-good data because its latest load failed.
+   *
+   * @return true if the latest load of the partition failed
+   */
+  public boolean stale() {
+    return lastFailed != null && (lastUpdated == null || lastFailed.isAfter(lastUpdated));
+  }
+}
@@ -0,0 +1,180 @@
+package us.ullberg.startpunkt.service;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size response time and uptime statistics for a single probed URL.
+ *
+ * <p>Response times are recorded into a log-linear histogram in the style of HdrHistogram: values
+ * below 16 ms get their own bucket, larger values are split into 8 sub-buckets per power of two
+ * (about 12% relative precision) up to about four minutes. Two histograms are kept and rotated
+ * every hour, so percentiles cover the last one to two hours of probes.
+ *
+ * <p>Uptime is tracked in 24 hourly slots of up/total probe counts, giving a rolling 24 hour
+ * window. The memory used per URL is constant (about 1.4 KB) regardless of the probe rate.
+ *
+ * <p>All methods take the current wall-clock time so that the rolling windows can be tested
+ * deterministically.
+ */
+final class ProbeStatistics {
+
+  /** Values below this limit are recorded with 1 ms precision. */
+  static final int LINEAR_LIMIT = 16;
+
+  /** Number of sub-buckets per power of two above the linear range. */
+  static final int SUB_BUCKETS = 8;
+
+  /** Largest tracked power of two; larger values are clamped into the last bucket. */
+  static final int MAX_EXPONENT = 17;
+
+  /** Total number of histogram buckets. */
+  static final int BUCKETS = LINEAR_LIMIT + (MAX_EXPONENT - 4 + 1) * SUB_BUCKETS;
+
+  /** Interval at which the current latency histogram becomes the previous one. */
+  static final long HISTOGRAM_ROTATION_MS = 3_600_000L;
+
+  /** Number of slots in the rolling uptime window. */
+  static final int UPTIME_SLOTS = 24;
+
+  /** Length of a single uptime slot. */
+  static final long UPTIME_SLOT_MS = 3_600_000L;
+
+  private final int[] currentHistogram = new int[BUCKETS];
+  private final int[] previousHistogram = new int[BUCKETS];
+  private long currentHistogramStart = -1;
+
+  private final long[] slotIndex = new long[UPTIME_SLOTS];
+  private final int[] slotUp = new int[UPTIME_SLOTS];
+  private final int[] slotTotal = new int[UPTIME_SLOTS];
+
+  /**
+   * Records the response time of a probe that received a response.
+   *
+   * @param latencyMillis the response time in milliseconds
+   * @param nowMillis the current wall-clock time in milliseconds
+   */
+  synchronized void recordLatency(long latencyMillis, long nowMillis) {
+    rotateHistograms(nowMillis);
+    currentHistogram[bucketIndex(latencyMillis)]++;
+  }
+
+  /**
+   * Records the outcome of a probe in the rolling uptime window.
+   *
+   * @param up whether the probe found the URL available
+   * @param nowMillis the current wall-clock time in milliseconds
+   */
+  synchronized void recordOutcome(boolean up, long nowMillis) {
+    long slot = nowMillis / UPTIME_SLOT_MS;
+    int index = (int) (slot % UPTIME_SLOTS);
+    if (slotIndex[index] != slot) {
+      slotIndex[index] = slot;
+      slotUp[index] = 0;
+      slotTotal[index] = 0;
+    }
+    slotTotal[index]++;
+    if (up) {
+      slotUp[index]++;
+    }
+  }
+
+  /**
+   * Gets a response time percentile over the recent probes.
+   *
+   * @param percentile the percentile, between 0 and 100
+   * @param nowMillis the current wall-clock time in milliseconds
+   * @return the upper bound of the bucket containing the percentile in milliseconds, or null if no
+   *     response times have been recorded recently
+   */
+  synchronized Long getPercentile(double percentile, long nowMillis) {
+    rotateHistograms(nowMillis);
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      count += currentHistogram[i] + previousHistogram[i];
+    }
+    if (count == 0) {
+      return null;
+    }
+
+    long target = Math.max(1, (long) Math.ceil(count * Math.min(100.0, percentile) / 100.0));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += currentHistogram[i] + previousHistogram[i];
+      if (seen >= target) {
+        return bucketUpperBound(i);
+      }
+    }
+    return bucketUpperBound(BUCKETS - 1);
+  }
+
+  /**
+   * Gets the share of successful probes over the last 24 hours.
+   *
+   * @param nowMillis the current wall-clock time in milliseconds
+   * @return uptime as a percentage between 0 and 100, or null if there were no probes
+   */
+  synchronized Double getUptime(long nowMillis) {
+    long currentSlot = nowMillis / UPTIME_SLOT_MS;
+    long up = 0;
+    long total = 0;
+    for (int i = 0; i < UPTIME_SLOTS; i++) {
+      if (slotTotal[i] > 0 && currentSlot - slotIndex[i] < UPTIME_SLOTS) {
+        up += slotUp[i];
+        total += slotTotal[i];
+      }
+    }
+    return total == 0 ? null : 100.0 * up / total;
+  }
+
+  private void rotateHistograms(long nowMillis) {
+    if (currentHistogramStart < 0) {
+      currentHistogramStart = nowMillis;
+      return;
+    }
+    long elapsed = nowMillis - currentHistogramStart;
+    if (elapsed < HISTOGRAM_ROTATION_MS) {
+      return;
+    }
+    if (elapsed < 2 * HISTOGRAM_ROTATION_MS) {
+      System.arraycopy(currentHistogram, 0, previousHistogram, 0, BUCKETS);
+    } else {
+      Arrays.fill(previousHistogram, 0);
+    }
+    Arrays.fill(currentHistogram, 0);
+    currentHistogramStart = nowMillis;
+  }
+
+  /**
+   * Maps a value to its histogram bucket.
+   *
+   * @param value the value in milliseconds
+   * @return the bucket index
+   */
+  static int bucketIndex(long value) {
+    if (value < LINEAR_LIMIT) {
+      return (int) Math.max(0, value);
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    if (exponent > MAX_EXPONENT) {
+      return BUCKETS - 1;
+    }
+    int subBucket = (int) ((value >> (exponent - 3)) & (SUB_BUCKETS - 1));
+    return LINEAR_LIMIT + (exponent - 4) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * Gets the largest value that maps to a histogram bucket.
+   *
+   * @param index the bucket index
+   * @return the upper bound of the bucket in milliseconds
+   */
+  static long bucketUpperBound(int index) {
+    if (index < LINEAR_LIMIT) {
+      return index;
+    }
+    int exponent = 4 + (index - LINEAR_LIMIT) / SUB_BUCKETS;
+    int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+    long width = 1L << (exponent - 3);
+    return (SUB_BUCKETS + subBucket) * width + width - 1;
+  }
+}
@@ -0,0 +1,56 @@
+package us.ullberg.startpunkt.service;
+
+/**
+ * Strategies for probing the availability of an application URL, ordered roughly from cheapest to
+ * most thorough.
+ */
+enum ProbeStrategy {
+  /** Opens a TCP connection to the host and port of the URL. */
+  TCP("tcp"),
+
+  /** Opens a TCP connection and completes a TLS handshake (TCP only for plain HTTP URLs). */
+  TLS("tls"),
+
+  /** Sends a HEAD request without following redirects; a redirect counts as available. */
+  HEAD("head"),
+
+  /** Sends a HEAD request and follows redirects to the final response. */
+  HEAD_FOLLOW("head-follow"),
+
+  /** Sends a GET request, optionally checking the start of the response body. */
+  GET("get");
+
+  private final String value;
+
+  ProbeStrategy(String value) {
+    this.value = value;
+  }
+
+  /**
+   * Gets the configuration value of the strategy.
+   *
+   * @return the value used in configuration, annotations and the Application CRD
+   */
+  String getValue() {
+    return value;
+  }
+
+  /**
+   * Parses a strategy from its configuration value.
+   *
+   * @param value the configuration value, case-insensitive
+   * @return the matching strategy, or null if the value is empty or unknown
+   */
+  static ProbeStrategy fromValue(String value) {
+    if (value == null) {
+      return null;
+    }
+    String trimmed = value.trim();
+    for (ProbeStrategy strategy : values()) {
+      if (strategy.value.equalsIgnoreCase(trimmed)) {
+        return strategy;
+      }
+    }
+    return null;
+  }
+}
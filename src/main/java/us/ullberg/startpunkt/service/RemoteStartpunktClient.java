@@ -1,25 +1,78 @@
 package us.ullberg.startpunkt.service;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.logging.Log;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import us.ullberg.startpunkt.config.ClusterConfig;
+import us.ullberg.startpunkt.jfr.RemoteRequestEvent;
 import us.ullberg.startpunkt.objects.ApplicationResponse;
 import us.ullberg.startpunkt.objects.BookmarkResponse;
+import us.ullberg.startpunkt.sync.SyncFormat;
 
 /**
  * Client for connecting to remote Startpunkt instances via GraphQL.
  *
  * <p>This client allows fetching applications and bookmarks from a remote Startpunkt instance
  * instead of directly connecting to Kubernetes.
+ *
+ * <p>All remotes share one HTTP client, so connections are pooled and reused (over HTTP/2 where the
+ * remote supports it) and responses are requested gzip-compressed. Fetches are asynchronous, so
+ * applications and bookmarks of all remotes can be fetched concurrently. Every fetch is bounded by
+ * {@code startpunkt.remote.timeout}. Every request is recorded as a Flight Recorder {@link
+ * RemoteRequestEvent} with the size of the response and the time taken to parse it.
+ *
+ * <p>Each remote has a circuit breaker: after {@code
+ * startpunkt.remote.circuitBreaker.failureThreshold} consecutive failures, fetches from the remote
+ * fail fast for {@code startpunkt.remote.circuitBreaker.openDuration}, after which a single trial
+ * fetch decides whether the breaker closes again.
+ *
+ * <p>The client remembers the items and version last received from every remote and only asks for
+ * the changes since that version ({@code applicationChanges} and {@code bookmarkChanges}), so an
+ * unchanged remote costs one small request. Responses are parsed as a stream, binding items
+ * directly to {@link ApplicationResponse} and {@link BookmarkResponse}. Remotes that predate the
+ * incremental queries are fetched in full.
+ *
+ * <p>When {@code startpunkt.remote.binarySync} is enabled, the changes are fetched from the binary
+ * sync endpoint of the remote ({@code api/sync/...} next to its GraphQL endpoint, see {@link
+ * SyncFormat}) instead of the GraphQL API, which saves parsing and validating a query on the remote
+ * and shrinks the response. Remotes that do not offer the endpoint are synchronized over GraphQL.
+ *
+ * <p>Besides fetching, the client can subscribe to the {@code applicationUpdates} and {@code
+ * bookmarkUpdates} subscriptions of a remote over a WebSocket, so that changes are pushed instead
+ * of polled.
  */
 @ApplicationScoped
 public class RemoteStartpunktClient {
@@ -68,159 +121,1096 @@ public class RemoteStartpunktClient {
       }
       """;
 
+  private static final String APPLICATION_CHANGES_QUERY =
+      """
+      query ($since: String) {
+        applicationChanges(since: $since) {
+          version
+          full
+          changed {
+            name
+            group
+            icon
+            url
+            targetBlank
+            location
+            info
+            tags
+            rootPath
+            namespace
+            resourceName
+            hasOwnerReferences
+            cluster
+          }
+          removed {
+            cluster
+            namespace
+            resourceName
+          }
+        }
+      }
+      """;
+
+  private static final String BOOKMARK_CHANGES_QUERY =
+      """
+      query ($since: String) {
+        bookmarkChanges(since: $since) {
+          version
+          full
+          changed {
+            name
+            group
+            icon
+            url
+            info
+            targetBlank
+            location
+            namespace
+            resourceName
+            hasOwnerReferences
+            cluster
+          }
+          removed {
+            cluster
+            namespace
+            resourceName
+          }
+        }
+      }
+      """;
+
+  private static final String APPLICATION_UPDATES_SUBSCRIPTION =
+      """
+      subscription {
+        applicationUpdates {
+          type
+          application {
+            name
+            group
+            icon
+            url
+            targetBlank
+            location
+            info
+            tags
+            rootPath
+            namespace
+            resourceName
+            hasOwnerReferences
+          }
+        }
+      }
+      """;
+
+  private static final String BOOKMARK_UPDATES_SUBSCRIPTION =
+      """
+      subscription {
+        bookmarkUpdates {
+          type
+          bookmark {
+            name
+            group
+            icon
+            url
+            info
+            targetBlank
+            location
+            namespace
+            resourceName
+            hasOwnerReferences
+          }
+        }
+      }
+      """;
+
+  /** Subprotocol of the GraphQL over WebSocket protocol spoken by the remote endpoint. */
+  static final String GRAPHQL_WS_SUBPROTOCOL = "graphql-transport-ws";
+
+  private static final String APPLICATIONS_SUBSCRIPTION_ID = "applications";
+  private static final String BOOKMARKS_SUBSCRIPTION_ID = "bookmarks";
+
   private final ObjectMapper objectMapper = new ObjectMapper();
+  private final HttpClient httpClient;
+  private final Duration timeout;
+  private final int failureThreshold;
+  private final Duration openDuration;
+  private final boolean binarySync;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+  private final Map<String, SyncState<ApplicationResponse>> applicationStates =
+      new ConcurrentHashMap<>();
+  private final Map<String, SyncState<BookmarkResponse>> bookmarkStates = new ConcurrentHashMap<>();
+
+  private static final ItemKind<ApplicationResponse> APPLICATIONS =
+      new ItemKind<>(
+          "applications",
+          ApplicationResponse.class,
+          APPLICATION_CHANGES_QUERY,
+          "applicationChanges",
+          APPLICATION_GROUPS_QUERY,
+          "applicationGroups",
+          SyncFormat.APPLICATIONS_PATH,
+          app -> app.getCluster() + "/" + app.getNamespace() + "/" + app.getResourceName(),
+          ApplicationResponse::setCluster);
+
+  private static final ItemKind<BookmarkResponse> BOOKMARKS =
+      new ItemKind<>(
+          "bookmarks",
+          BookmarkResponse.class,
+          BOOKMARK_CHANGES_QUERY,
+          "bookmarkChanges",
+          BOOKMARK_GROUPS_QUERY,
+          "bookmarkGroups",
+          SyncFormat.BOOKMARKS_PATH,
+          bookmark ->
+              bookmark.getCluster()
+                  + "/"
+                  + bookmark.getNamespace()
+                  + "/"
+                  + bookmark.getResourceName(),
+          BookmarkResponse::setCluster);
+
+  /**
+   * Describes how one kind of item is synchronized: the incremental query with its response field,
+   * the full query used as fallback with its response field, the path of the binary sync endpoint,
+   * the key of an item as sent by the remote, and how the local cluster name is assigned.
+   */
+  private record ItemKind<T>(
+      String name,
+      Class<T> type,
+      String changesQuery,
+      String changesField,
+      String groupsQuery,
+      String groupsField,
+      String syncPath,
+      Function<T, String> key,
+      BiConsumer<T, String> setCluster) {}
+
+  /** Items removed on a remote, identified as the remote reported them. */
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  private record ResourceKey(String cluster, String namespace, String resourceName) {
+    String key() {
+      return cluster + "/" + namespace + "/" + resourceName;
+    }
+  }
+
+  /** Changes received from a remote; a full response replaces everything received before. */
+  private record Delta<T>(
+      String version, boolean full, List<T> changed, List<ResourceKey> removed) {}
+
+  /** The items of one kind last received from a single remote, and the version they are at. */
+  private static final class SyncState<T> {
+    private final Map<String, T> items = new LinkedHashMap<>();
+    private String version;
+    private volatile boolean incrementalUnsupported;
+    private volatile boolean binaryUnsupported;
+  }
+
+  /** Consecutive failure tracking for a single remote. */
+  private static final class CircuitBreaker {
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean trialInFlight;
+
+    /**
+     * Decides whether a request may be sent. While the breaker is open, requests are rejected; once
+     * the open period has passed, one trial request is let through.
+     */
+    synchronized boolean allowRequest(long nowMillis) {
+      if (openUntil == 0) {
+        return true;
+      }
+      if (nowMillis < openUntil || trialInFlight) {
+        return false;
+      }
+      trialInFlight = true;
+      return true;
+    }
+
+    synchronized void recordSuccess() {
+      consecutiveFailures = 0;
+      openUntil = 0;
+      trialInFlight = false;
+    }
+
+    /** Records a failure and returns true if the breaker has just opened. */
+    synchronized boolean recordFailure(long nowMillis, int threshold, long openMillis) {
+      consecutiveFailures++;
+      boolean wasOpen = openUntil != 0;
+      trialInFlight = false;
+      if (wasOpen || consecutiveFailures >= threshold) {
+        openUntil = nowMillis + openMillis;
+        return !wasOpen;
+      }
+      return false;
+    }
+
+    synchronized boolean isOpen(long nowMillis) {
+      return openUntil != 0 && (nowMillis < openUntil || trialInFlight);
+    }
+  }
 
   /**
-   * Fetch applications from a remote Startpunkt instance.
+   * Receives the events of the GraphQL subscriptions to a remote Startpunkt instance. Callbacks are
+   * invoked one at a time, in the order the remote sent them.
+   */
+  public interface SubscriptionListener {
+
+    /**
+     * Called once the subscriptions have been sent to the remote. Changes made on the remote before
+     * this point were not delivered, so the listener should resynchronize its state.
+     */
+    void subscribed();
+
+    /**
+     * Called for every application event of the remote.
+     *
+     * @param type the event type, ADDED, UPDATED or REMOVED
+     * @param application the application, with the cluster name set
+     */
+    void applicationEvent(String type, ApplicationResponse application);
+
+    /**
+     * Called for every bookmark event of the remote.
+     *
+     * @param type the event type, ADDED, UPDATED or REMOVED
+     * @param bookmark the bookmark, with the cluster name set
+     */
+    void bookmarkEvent(String type, BookmarkResponse bookmark);
+
+    /**
+     * Called once when the connection is closed or fails. No further callbacks follow.
+     *
+     * @param reason description of why the connection ended
+     */
+    void disconnected(String reason);
+  }
+
+  /**
+   * Constructor that creates the shared HTTP client.
+   *
+   * @param timeout deadline for a single fetch, including connect and reading the response
+   * @param failureThreshold consecutive failures after which the circuit breaker of a remote opens
+   * @param openDuration time a remote is skipped once its circuit breaker is open
+   * @param binarySync whether changes are fetched from the binary sync endpoint of remotes
+   * @param meterRegistry the meter registry used to time synchronizations with remotes
+   */
+  public RemoteStartpunktClient(
+      @ConfigProperty(name = "startpunkt.remote.timeout", defaultValue = "10s") Duration timeout,
+      @ConfigProperty(
+              name = "startpunkt.remote.circuitBreaker.failureThreshold",
+              defaultValue = "3")
+          int failureThreshold,
+      @ConfigProperty(name = "startpunkt.remote.circuitBreaker.openDuration", defaultValue = "30s")
+          Duration openDuration,
+      @ConfigProperty(name = "startpunkt.remote.binarySync", defaultValue = "true")
+          boolean binarySync,
+      MeterRegistry meterRegistry) {
+    this.timeout = timeout;
+    this.failureThreshold = Math.max(1, failureThreshold);
+    this.openDuration = openDuration;
+    this.binarySync = binarySync;
+    this.meterRegistry = meterRegistry;
+    this.httpClient =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(timeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+  }
+
+  /**
+   * Fetch all applications from a remote Startpunkt instance, failing if they cannot be fetched.
+   * Used to resynchronize the complete set of applications of a remote.
    *
    * @param config the cluster configuration containing GraphQL URL and token
    * @param clusterName the name to assign to fetched applications
-   * @return list of applications with cluster name set
+   * @return a future with the applications, completed exceptionally if the fetch failed
    */
-  public List<ApplicationResponse> fetchApplications(ClusterConfig config, String clusterName) {
-    try {
-      String graphqlUrl = config.getGraphqlUrl();
-      if (graphqlUrl == null || graphqlUrl.trim().isEmpty()) {
-        throw new IllegalArgumentException(
-            "GraphQL URL is required for cluster '" + clusterName + "'");
-      }
+  public CompletableFuture<List<ApplicationResponse>> fetchApplicationSnapshot(
+      ClusterConfig config, String clusterName) {
+    return synchronize(
+        config,
+        clusterName,
+        APPLICATIONS,
+        applicationStates.computeIfAbsent(clusterName, k -> new SyncState<>()));
+  }
 
-      Log.debugf("Fetching applications from remote Startpunkt at %s", graphqlUrl);
+  /**
+   * Fetch all bookmarks from a remote Startpunkt instance, failing if they cannot be fetched. Used
+   * to resynchronize the complete set of bookmarks of a remote.
+   *
+   * @param config the cluster configuration containing GraphQL URL and token
+   * @param clusterName the name to assign to fetched bookmarks
+   * @return a future with the bookmarks, completed exceptionally if the fetch failed
+   */
+  public CompletableFuture<List<BookmarkResponse>> fetchBookmarkSnapshot(
+      ClusterConfig config, String clusterName) {
+    return synchronize(
+        config,
+        clusterName,
+        BOOKMARKS,
+        bookmarkStates.computeIfAbsent(clusterName, k -> new SyncState<>()));
+  }
 
-      String responseBody =
-          executeGraphQLQuery(graphqlUrl, config.getGraphqlToken(), APPLICATION_GROUPS_QUERY);
+  /**
+   * Gets the name of the cache partition that holds the applications or bookmarks of a remote.
+   *
+   * @param clusterName the name of the remote
+   * @return the partition name
+   */
+  public static String partition(String clusterName) {
+    return clusterName + "/remote";
+  }
 
-      Log.infof("GraphQL response from '%s': %s", clusterName, responseBody);
+  /**
+   * Checks whether the circuit breaker of a remote is currently open.
+   *
+   * @param clusterName the name of the remote
+   * @return true if fetches from the remote currently fail fast
+   */
+  public boolean isCircuitOpen(String clusterName) {
+    CircuitBreaker breaker = circuitBreakers.get(clusterName);
+    return breaker != null && breaker.isOpen(System.currentTimeMillis());
+  }
 
-      // Parse response
-      JsonNode root = objectMapper.readTree(responseBody);
-      JsonNode data = root.path("data");
-      JsonNode applicationGroups = data.path("applicationGroups");
+  /**
+   * Brings the items of one kind received from a remote up to date. Only the changes since the
+   * version received last are requested; an unchanged remote answers with an empty change set.
+   * The binary sync endpoint is preferred over the GraphQL API; remotes that do not offer
+   * incremental queries are fetched in full every time. The time taken is recorded as {@code
+   * startpunkt.remote.sync}, tagged with the remote, the kind of items and the outcome.
+   */
+  private <T> CompletableFuture<List<T>> synchronize(
+      ClusterConfig config, String clusterName, ItemKind<T> kind, SyncState<T> state) {
+    long started = System.nanoTime();
+    Timer.Sample timer = Timer.start(meterRegistry);
+    String since;
+    synchronized (state) {
+      since = state.version;
+    }
+    CompletableFuture<Delta<T>> delta;
+    if (binarySync && !state.binaryUnsupported) {
+      delta =
+          fetchBinary(config, clusterName, kind, since)
+              .thenCompose(
+                  changes -> {
+                    if (changes != null) {
+                      return CompletableFuture.completedFuture(changes);
+                    }
+                    Log.infof(
+                        "Remote Startpunkt '%s' does not offer binary sync, synchronizing %s over"
+                            + " GraphQL from now on",
+                        clusterName, kind.name());
+                    state.binaryUnsupported = true;
+                    return fetchChanges(config, clusterName, kind, state, since);
+                  });
+    } else {
+      delta = fetchChanges(config, clusterName, kind, state, since);
+    }
 
-      List<ApplicationResponse> applications = new ArrayList<>();
+    return delta
+        .whenComplete(
+            (changes, error) ->
+                timer.stop(
+                    meterRegistry.timer(
+                        "startpunkt.remote.sync",
+                        "cluster",
+                        clusterName,
+                        "kind",
+                        kind.name(),
+                        "outcome",
+                        error == null ? "success" : "failure")))
+        .thenApply(
+            changes -> {
+              List<T> items = apply(state, changes, clusterName, kind);
+              long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+              if (changes.full()) {
+                Log.infof(
+                    "Fetched %d %s from remote Startpunkt '%s' in %d ms",
+                    items.size(), kind.name(), clusterName, elapsedMillis);
+              } else {
+                Log.debugf(
+                    "Synchronized %s of remote Startpunkt '%s' in %d ms: %d changed, %d removed",
+                    kind.name(),
+                    clusterName,
+                    elapsedMillis,
+                    changes.changed().size(),
+                    changes.removed().size());
+              }
+              return items;
+            });
+  }
 
-      if (applicationGroups.isArray()) {
-        for (JsonNode group : applicationGroups) {
-          JsonNode apps = group.path("applications");
-          if (apps.isArray()) {
-            for (JsonNode app : apps) {
-              ApplicationResponse appResponse =
-                  objectMapper.treeToValue(app, ApplicationResponse.class);
-              // Override cluster name with our remote cluster name
-              appResponse.setCluster(clusterName);
-              applications.add(appResponse);
-            }
-          }
+  private <T> CompletableFuture<Delta<T>> fetchChanges(
+      ClusterConfig config,
+      String clusterName,
+      ItemKind<T> kind,
+      SyncState<T> state,
+      String since) {
+    if (state.incrementalUnsupported) {
+      return fetchAll(config, clusterName, kind);
+    }
+    Map<String, Object> variables = new HashMap<>();
+    variables.put("since", since);
+    return fetch(
+            config,
+            clusterName,
+            kind.name(),
+            kind.changesQuery(),
+            variables,
+            body -> readResponse(body, kind.changesField(), p -> readChanges(p, kind)))
+        .thenCompose(
+            changes -> {
+              if (changes != null) {
+                return CompletableFuture.completedFuture(changes);
+              }
+              Log.infof(
+                  "Remote Startpunkt '%s' does not support incremental synchronization,"
+                      + " fetching all %s from now on",
+                  clusterName, kind.name());
+              state.incrementalUnsupported = true;
+              return fetchAll(config, clusterName, kind);
+            });
+  }
+
+  /**
+   * Fetches the changes since a version from the binary sync endpoint of a remote.
+   *
+   * @return a future with the changes, or with null if the remote does not offer the endpoint
+   */
+  private <T> CompletableFuture<Delta<T>> fetchBinary(
+      ClusterConfig config, String clusterName, ItemKind<T> kind, String since) {
+    return call(
+        config,
+        clusterName,
+        kind.name(),
+        graphqlUrl -> {
+          URI uri = toSyncUri(graphqlUrl, kind.syncPath(), since);
+          HttpRequest.Builder requestBuilder =
+              HttpRequest.newBuilder()
+                  .uri(uri)
+                  .header("Accept", SyncFormat.MEDIA_TYPE)
+                  .header("Accept-Encoding", "gzip")
+                  .GET()
+                  .timeout(timeout);
+          authorize(requestBuilder, config.getGraphqlToken());
+          RemoteRequestEvent event = new RemoteRequestEvent();
+          event.begin();
+          return httpClient
+              .sendAsync(requestBuilder.build(), HttpResponse.BodyHandlers.ofByteArray())
+              .thenApply(
+                  response -> {
+                    boolean binary =
+                        response
+                            .headers()
+                            .firstValue("Content-Type")
+                            .map(type -> type.startsWith(SyncFormat.MEDIA_TYPE))
+                            .orElse(false);
+                    if (response.statusCode() == 404
+                        || (response.statusCode() == 200 && !binary)) {
+                      // Remotes without the endpoint answer 404, or serve their web UI for it
+                      event.status = response.statusCode();
+                      return null;
+                    }
+                    return readBody(response, "Sync", body -> readSync(body, kind), event);
+                  })
+              .whenComplete((changes, error) -> recordRequest(event, "Sync", uri, error));
+        });
+  }
+
+  /**
+   * Derives the URI of a binary sync endpoint from the GraphQL endpoint URL of a remote. The sync
+   * endpoints are served next to the GraphQL endpoint.
+   *
+   * @param graphqlUrl the GraphQL endpoint URL, e.g. {@code https://startpunkt.example.com/graphql}
+   * @param path the path of the sync endpoint
+   * @param since the version to get the changes since, or null to get everything
+   * @return the sync endpoint URI, e.g. {@code https://startpunkt.example.com/api/sync/...}
+   */
+  static URI toSyncUri(String graphqlUrl, String path, String since) {
+    URI uri = URI.create(graphqlUrl.trim()).resolve(path);
+    if (since == null) {
+      return uri;
+    }
+    return URI.create(uri + "?since=" + URLEncoder.encode(since, StandardCharsets.UTF_8));
+  }
+
+  private <T> CompletableFuture<Delta<T>> fetchAll(
+      ClusterConfig config, String clusterName, ItemKind<T> kind) {
+    return fetch(
+            config,
+            clusterName,
+            kind.name(),
+            kind.groupsQuery(),
+            Map.of(),
+            body -> readResponse(body, kind.groupsField(), p -> readGroups(p, kind)))
+        .thenApply(
+            items -> {
+              if (items == null) {
+                throw new CompletionException(
+                    new IOException(
+                        "Remote does not support the " + kind.groupsField() + " query"));
+              }
+              return new Delta<>(null, true, items, List.of());
+            });
+  }
+
+  /**
+   * Applies changes received from a remote to its items. Responses that are older than the items
+   * already received, which can happen when synchronizations overlap, are not applied.
+   */
+  private <T> List<T> apply(
+      SyncState<T> state, Delta<T> changes, String clusterName, ItemKind<T> kind) {
+    synchronized (state) {
+      if (changes.full()) {
+        state.items.clear();
+      } else if (!isNewer(changes.version(), state.version)) {
+        return new ArrayList<>(state.items.values());
+      }
+      for (ResourceKey removed : changes.removed()) {
+        state.items.remove(removed.key());
+      }
+      for (T item : changes.changed()) {
+        String key = kind.key().apply(item);
+        if (changes.full() && state.items.containsKey(key)) {
+          // Full responses of older remotes may carry items without Kubernetes metadata
+          key = key + "#" + state.items.size();
         }
+        // Override cluster name with our remote cluster name
+        kind.setCluster().accept(item, clusterName);
+        state.items.put(key, item);
       }
+      state.version = changes.version();
+      return new ArrayList<>(state.items.values());
+    }
+  }
 
-      Log.infof(
-          "Fetched %d applications from remote Startpunkt '%s'", applications.size(), clusterName);
-      return applications;
+  /**
+   * Checks whether a version returned by a remote is newer than another one of the same remote.
+   *
+   * @param version the version of a response
+   * @param current the version already received, or null
+   * @return true if the response should be applied
+   */
+  static boolean isNewer(String version, String current) {
+    if (current == null || version == null) {
+      return true;
+    }
+    int separator = version.lastIndexOf('-');
+    int currentSeparator = current.lastIndexOf('-');
+    if (separator < 0
+        || currentSeparator < 0
+        || !version.substring(0, separator).equals(current.substring(0, currentSeparator))) {
+      // Versions of different epochs (e.g., across a restart of the remote) are not comparable
+      return true;
+    }
+    try {
+      return Long.parseLong(version.substring(separator + 1))
+          > Long.parseLong(current.substring(currentSeparator + 1));
+    } catch (NumberFormatException e) {
+      return true;
+    }
+  }
 
-    } catch (Exception e) {
+  private <R> CompletableFuture<R> fetch(
+      ClusterConfig config,
+      String clusterName,
+      String kind,
+      String query,
+      Map<String, Object> variables,
+      BodyReader<R> reader) {
+    return call(
+        config,
+        clusterName,
+        kind,
+        graphqlUrl ->
+            executeGraphQLQuery(graphqlUrl, config.getGraphqlToken(), query, variables, reader));
+  }
+
+  /** Sends a request to a remote, bounded by the timeout and guarded by its circuit breaker. */
+  private <R> CompletableFuture<R> call(
+      ClusterConfig config, String clusterName, String kind, RemoteCall<R> request) {
+    String graphqlUrl = config.getGraphqlUrl();
+    if (graphqlUrl == null || graphqlUrl.trim().isEmpty()) {
       Log.errorf(
-          e,
-          "Failed to fetch applications from remote Startpunkt '%s': %s",
-          clusterName,
-          e.getMessage());
-      return List.of();
+          "Failed to fetch %s from remote Startpunkt '%s': GraphQL URL is required",
+          kind, clusterName);
+      return CompletableFuture.failedFuture(
+          new IllegalArgumentException(
+              "GraphQL URL is required for cluster '" + clusterName + "'"));
+    }
+
+    CircuitBreaker breaker =
+        circuitBreakers.computeIfAbsent(clusterName, k -> new CircuitBreaker());
+    if (!breaker.allowRequest(System.currentTimeMillis())) {
+      Log.debugf(
+          "Circuit breaker for remote Startpunkt '%s' is open, skipping %s", clusterName, kind);
+      return CompletableFuture.failedFuture(
+          new IOException("Circuit breaker for remote Startpunkt '" + clusterName + "' is open"));
     }
+
+    Log.debugf("Fetching %s from remote Startpunkt at %s", kind, graphqlUrl);
+    CompletableFuture<R> result;
+    try {
+      result = request.execute(graphqlUrl).orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (Exception e) {
+      result = CompletableFuture.failedFuture(e);
+    }
+    return result.handle(
+        (response, error) -> {
+          if (error == null) {
+            breaker.recordSuccess();
+            return response;
+          }
+          Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+          String reason =
+              cause instanceof TimeoutException
+                  ? "timed out after " + timeout.toMillis() + " ms"
+                  : cause.toString();
+          Log.errorf(
+              "Failed to fetch %s from remote Startpunkt '%s': %s", kind, clusterName, reason);
+          if (breaker.recordFailure(
+              System.currentTimeMillis(), failureThreshold, openDuration.toMillis())) {
+            Log.warnf(
+                "Opened circuit breaker for remote Startpunkt '%s' for %d s",
+                clusterName, openDuration.toSeconds());
+          }
+          throw new CompletionException(cause);
+        });
   }
 
   /**
-   * Fetch bookmarks from a remote Startpunkt instance.
+   * Opens a WebSocket to a remote Startpunkt instance and subscribes to its application and
+   * bookmark updates using the graphql-transport-ws protocol.
    *
    * @param config the cluster configuration containing GraphQL URL and token
-   * @param clusterName the name to assign to fetched bookmarks
-   * @return list of bookmarks with cluster name set
+   * @param clusterName the name to assign to received applications and bookmarks
+   * @param listener receives the events of the subscriptions
+   * @return a future with the open WebSocket, completed exceptionally if it cannot be opened; once
+   *     opened, failures are reported to the listener
    */
-  public List<BookmarkResponse> fetchBookmarks(ClusterConfig config, String clusterName) {
-    try {
-      String graphqlUrl = config.getGraphqlUrl();
-      if (graphqlUrl == null || graphqlUrl.trim().isEmpty()) {
-        throw new IllegalArgumentException(
-            "GraphQL URL is required for cluster '" + clusterName + "'");
+  public CompletableFuture<WebSocket> subscribe(
+      ClusterConfig config, String clusterName, SubscriptionListener listener) {
+    String graphqlUrl = config.getGraphqlUrl();
+    if (graphqlUrl == null || graphqlUrl.trim().isEmpty()) {
+      return CompletableFuture.failedFuture(
+          new IllegalArgumentException(
+              "GraphQL URL is required for cluster '" + clusterName + "'"));
+    }
+
+    WebSocket.Builder builder =
+        httpClient
+            .newWebSocketBuilder()
+            .subprotocols(GRAPHQL_WS_SUBPROTOCOL)
+            .connectTimeout(timeout);
+    String token = config.getGraphqlToken();
+    if (token != null && !token.trim().isEmpty()) {
+      builder.header("Authorization", "Bearer " + token);
+    }
+
+    Log.debugf("Subscribing to updates of remote Startpunkt at %s", graphqlUrl);
+    return builder.buildAsync(
+        toWebSocketUri(graphqlUrl), new SubscriptionSocketListener(clusterName, listener));
+  }
+
+  /**
+   * Derives the WebSocket URI of a GraphQL endpoint from its HTTP URL.
+   *
+   * @param graphqlUrl the HTTP or HTTPS URL of the GraphQL endpoint
+   * @return the corresponding WS or WSS URI
+   */
+  static URI toWebSocketUri(String graphqlUrl) {
+    URI uri = URI.create(graphqlUrl.trim());
+    String scheme = uri.getScheme();
+    if ("https".equalsIgnoreCase(scheme)) {
+      return URI.create("wss" + uri.toString().substring(scheme.length()));
+    }
+    if ("http".equalsIgnoreCase(scheme)) {
+      return URI.create("ws" + uri.toString().substring(scheme.length()));
+    }
+    return uri;
+  }
+
+  /** Speaks the client side of the graphql-transport-ws protocol on a single WebSocket. */
+  private final class SubscriptionSocketListener implements WebSocket.Listener {
+    private final String clusterName;
+    private final SubscriptionListener listener;
+    private final StringBuilder buffer = new StringBuilder();
+    private CompletableFuture<?> pendingSend = CompletableFuture.completedFuture(null);
+    private boolean ended;
+
+    SubscriptionSocketListener(String clusterName, SubscriptionListener listener) {
+      this.clusterName = clusterName;
+      this.listener = listener;
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket) {
+      send(webSocket, Map.of("type", "connection_init", "payload", Map.of()));
+      webSocket.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+      buffer.append(data);
+      if (last) {
+        String text = buffer.toString();
+        buffer.setLength(0);
+        try {
+          handleMessage(webSocket, objectMapper.readTree(text));
+        } catch (Exception e) {
+          Log.warnf("Ignoring unreadable message from remote Startpunkt '%s': %s", clusterName, e);
+        }
+      }
+      webSocket.request(1);
+      return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+      end("closed with status " + statusCode + (reason.isEmpty() ? "" : " (" + reason + ")"));
+      return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+      end(error.toString());
+    }
+
+    private void handleMessage(WebSocket webSocket, JsonNode message) throws IOException {
+      String type = message.path("type").asText();
+      switch (type) {
+        case "connection_ack" -> {
+          send(
+              webSocket,
+              subscribeMessage(APPLICATIONS_SUBSCRIPTION_ID, APPLICATION_UPDATES_SUBSCRIPTION));
+          send(
+              webSocket,
+              subscribeMessage(BOOKMARKS_SUBSCRIPTION_ID, BOOKMARK_UPDATES_SUBSCRIPTION));
+          Log.infof("Subscribed to updates of remote Startpunkt '%s'", clusterName);
+          listener.subscribed();
+        }
+        case "next" -> handleNext(message.path("id").asText(), message.path("payload"));
+        case "ping" -> send(webSocket, Map.of("type", "pong"));
+        case "error" ->
+            Log.warnf(
+                "Subscription '%s' to remote Startpunkt '%s' failed: %s",
+                message.path("id").asText(), clusterName, message.path("payload"));
+        case "complete" ->
+            Log.debugf(
+                "Subscription '%s' to remote Startpunkt '%s' completed",
+                message.path("id").asText(), clusterName);
+        default ->
+            Log.tracef("Ignoring '%s' message from remote Startpunkt '%s'", type, clusterName);
       }
+    }
 
-      Log.debugf("Fetching bookmarks from remote Startpunkt at %s", graphqlUrl);
+    private void handleNext(String id, JsonNode payload) throws IOException {
+      if (APPLICATIONS_SUBSCRIPTION_ID.equals(id)) {
+        JsonNode event = payload.path("data").path("applicationUpdates");
+        JsonNode application = event.path("application");
+        if (application.isObject()) {
+          ApplicationResponse response =
+              objectMapper.treeToValue(application, ApplicationResponse.class);
+          response.setCluster(clusterName);
+          listener.applicationEvent(event.path("type").asText(), response);
+        }
+      } else if (BOOKMARKS_SUBSCRIPTION_ID.equals(id)) {
+        JsonNode event = payload.path("data").path("bookmarkUpdates");
+        JsonNode bookmark = event.path("bookmark");
+        if (bookmark.isObject()) {
+          BookmarkResponse response = objectMapper.treeToValue(bookmark, BookmarkResponse.class);
+          response.setCluster(clusterName);
+          listener.bookmarkEvent(event.path("type").asText(), response);
+        }
+      }
+    }
 
-      String responseBody =
-          executeGraphQLQuery(graphqlUrl, config.getGraphqlToken(), BOOKMARK_GROUPS_QUERY);
+    private Map<String, Object> subscribeMessage(String id, String query) {
+      return Map.of("id", id, "type", "subscribe", "payload", Map.of("query", query));
+    }
 
-      Log.infof("GraphQL bookmark response from '%s': %s", clusterName, responseBody);
+    /** Sends a message once the previous one has been sent, as WebSocket sends must not overlap. */
+    private synchronized void send(WebSocket webSocket, Map<String, Object> message) {
+      String text;
+      try {
+        text = objectMapper.writeValueAsString(message);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      pendingSend =
+          pendingSend
+              .exceptionally(error -> null)
+              .thenCompose(ignored -> webSocket.sendText(text, true))
+              .whenComplete(
+                  (ignored, error) -> {
+                    if (error != null) {
+                      webSocket.abort();
+                    }
+                  });
+    }
 
-      // Parse response
-      JsonNode root = objectMapper.readTree(responseBody);
-      JsonNode data = root.path("data");
-      JsonNode bookmarkGroups = data.path("bookmarkGroups");
+    private synchronized void end(String reason) {
+      if (!ended) {
+        ended = true;
+        listener.disconnected(reason);
+      }
+    }
+  }
 
-      List<BookmarkResponse> bookmarks = new ArrayList<>();
+  /** Sends a request to the remote with the given GraphQL endpoint URL. */
+  @FunctionalInterface
+  private interface RemoteCall<R> {
+    CompletableFuture<R> execute(String graphqlUrl) throws Exception;
+  }
 
-      if (bookmarkGroups.isArray()) {
-        for (JsonNode group : bookmarkGroups) {
-          JsonNode bks = group.path("bookmarks");
-          if (bks.isArray()) {
-            for (JsonNode bk : bks) {
-              BookmarkResponse bookmarkResponse =
-                  objectMapper.treeToValue(bk, BookmarkResponse.class);
-              // Override cluster name with our remote cluster name
-              bookmarkResponse.setCluster(clusterName);
-              bookmarks.add(bookmarkResponse);
+  /** Reads a response body. */
+  @FunctionalInterface
+  private interface BodyReader<R> {
+    R read(InputStream body) throws IOException;
+  }
+
+  /** Reads a value from a parser positioned at its first token. */
+  @FunctionalInterface
+  private interface ValueReader<R> {
+    R read(JsonParser parser) throws IOException;
+  }
+
+  /**
+   * Streams a GraphQL response and reads one field of its {@code data} object, without building a
+   * tree of the response.
+   *
+   * @param body the response body
+   * @param field the field of the data object to read
+   * @param reader reads the value of the field
+   * @return the value, or null if the remote reported the field as unknown
+   * @throws IOException if the response cannot be read or reports an error
+   */
+  private <R> R readResponse(InputStream body, String field, ValueReader<R> reader)
+      throws IOException {
+    try (JsonParser parser = objectMapper.createParser(body)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IOException("GraphQL response is not a JSON object");
+      }
+      R value = null;
+      String error = null;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.currentName();
+        JsonToken token = parser.nextToken();
+        if ("data".equals(name) && token == JsonToken.START_OBJECT) {
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String dataField = parser.currentName();
+            JsonToken dataToken = parser.nextToken();
+            if (field.equals(dataField) && dataToken != JsonToken.VALUE_NULL) {
+              value = reader.read(parser);
+            } else {
+              parser.skipChildren();
             }
           }
+        } else if ("errors".equals(name) && token == JsonToken.START_ARRAY) {
+          JsonNode errors = parser.readValueAsTree();
+          error = errors.path(0).path("message").asText();
+        } else {
+          parser.skipChildren();
         }
       }
 
-      Log.infof("Fetched %d bookmarks from remote Startpunkt '%s'", bookmarks.size(), clusterName);
-      return bookmarks;
+      if (value != null) {
+        return value;
+      }
+      if (error != null && error.contains(field)) {
+        return null;
+      }
+      throw new IOException(
+          error != null
+              ? "GraphQL request failed: " + abbreviate(error)
+              : "GraphQL response contains no " + field);
+    }
+  }
 
-    } catch (Exception e) {
-      Log.errorf(
-          e,
-          "Failed to fetch bookmarks from remote Startpunkt '%s': %s",
-          clusterName,
-          e.getMessage());
-      return List.of();
+  private <T> Delta<T> readChanges(JsonParser parser, ItemKind<T> kind) throws IOException {
+    String version = null;
+    boolean full = false;
+    List<T> changed = new ArrayList<>();
+    List<ResourceKey> removed = new ArrayList<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.currentName();
+      parser.nextToken();
+      switch (name) {
+        case "version" -> version = parser.getValueAsString();
+        case "full" -> full = parser.getValueAsBoolean();
+        case "changed" -> readArray(parser, kind.type(), changed);
+        case "removed" -> readArray(parser, ResourceKey.class, removed);
+        default -> parser.skipChildren();
+      }
     }
+    return new Delta<>(version, full, changed, removed);
+  }
+
+  /** Streams a binary sync response, binding items directly to the item type. */
+  private <T> Delta<T> readSync(InputStream body, ItemKind<T> kind) throws IOException {
+    try (JsonParser parser = SyncFormat.createParser(body)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new IOException("Sync response has no header");
+      }
+      SyncFormat.Header header = parser.readValueAs(SyncFormat.Header.class);
+      List<T> changed = new ArrayList<>(header.changed());
+      for (int i = 0; i < header.changed(); i++) {
+        changed.add(readRecord(parser, kind.type()));
+      }
+      List<ResourceKey> removed = new ArrayList<>(header.removed());
+      for (int i = 0; i < header.removed(); i++) {
+        removed.add(readRecord(parser, ResourceKey.class));
+      }
+      return new Delta<>(header.version(), header.full(), changed, removed);
+    }
+  }
+
+  private static <T> T readRecord(JsonParser parser, Class<T> type) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new IOException("Sync response ended early");
+    }
+    return parser.readValueAs(type);
+  }
+
+  private <T> List<T> readGroups(JsonParser parser, ItemKind<T> kind) throws IOException {
+    List<T> items = new ArrayList<>();
+    if (parser.currentToken() != JsonToken.START_ARRAY) {
+      parser.skipChildren();
+      return items;
+    }
+    while (parser.nextToken() == JsonToken.START_OBJECT) {
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.currentName();
+        parser.nextToken();
+        if (kind.name().equals(name)) {
+          readArray(parser, kind.type(), items);
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+    return items;
+  }
+
+  /** Binds every object of the array at the current token directly to the given type. */
+  private static <T> void readArray(JsonParser parser, Class<T> type, List<T> target)
+      throws IOException {
+    if (parser.currentToken() != JsonToken.START_ARRAY) {
+      parser.skipChildren();
+      return;
+    }
+    while (parser.nextToken() == JsonToken.START_OBJECT) {
+      target.add(parser.readValueAs(type));
+    }
+  }
+
+  private static String abbreviate(String message) {
+    return message.length() > 200 ? message.substring(0, 200) + "..." : message;
   }
 
   /**
-   * Execute a GraphQL query against a remote endpoint.
+   * Execute a GraphQL query against a remote endpoint. The response is requested gzip-compressed,
+   * is parsed as a stream and is never logged.
    *
    * @param graphqlUrl the GraphQL endpoint URL
    * @param token optional authentication token
    * @param query the GraphQL query string
-   * @return the response body as a string
-   * @throws Exception if the request fails
+   * @param variables the query variables
+   * @param reader reads the response body
+   * @return a future with the value read from the response
+   * @throws Exception if the request cannot be built
    */
-  private String executeGraphQLQuery(String graphqlUrl, String token, String query)
+  private <R> CompletableFuture<R> executeGraphQLQuery(
+      String graphqlUrl,
+      String token,
+      String query,
+      Map<String, Object> variables,
+      BodyReader<R> reader)
       throws Exception {
-    HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
-
     // Create GraphQL request body
-    String requestBody = String.format("{\"query\":%s}", objectMapper.writeValueAsString(query));
+    Map<String, Object> request = new HashMap<>();
+    request.put("query", query);
+    if (!variables.isEmpty()) {
+      request.put("variables", variables);
+    }
+    byte[] requestBody = objectMapper.writeValueAsBytes(request);
 
     HttpRequest.Builder requestBuilder =
         HttpRequest.newBuilder()
             .uri(URI.create(graphqlUrl))
             .header("Content-Type", "application/json")
-            .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-            .timeout(Duration.ofSeconds(30));
+            .header("Accept-Encoding", "gzip")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(requestBody))
+            .timeout(timeout);
 
-    // Add authentication if token is provided
+    authorize(requestBuilder, token);
+
+    RemoteRequestEvent event = new RemoteRequestEvent();
+    event.begin();
+    return httpClient
+        .sendAsync(requestBuilder.build(), HttpResponse.BodyHandlers.ofByteArray())
+        .thenApply(response -> readBody(response, "GraphQL", reader, event))
+        .whenComplete(
+            (result, error) -> recordRequest(event, "GraphQL", URI.create(graphqlUrl), error));
+  }
+
+  /**
+   * Commits the Flight Recorder event of a request once its response has been read or the request
+   * has failed.
+   */
+  private static void recordRequest(
+      RemoteRequestEvent event, String kind, URI uri, Throwable error) {
+    event.end();
+    if (event.shouldCommit()) {
+      Throwable cause =
+          error instanceof CompletionException && error.getCause() != null
+              ? error.getCause()
+              : error;
+      event.kind = kind;
+      event.uri = uri.toString();
+      event.error = cause != null ? cause.toString() : null;
+      event.commit();
+    }
+  }
+
+  /** Adds authentication if a token is provided. */
+  private static void authorize(HttpRequest.Builder requestBuilder, String token) {
     if (token != null && !token.trim().isEmpty()) {
       requestBuilder.header("Authorization", "Bearer " + token);
     }
+  }
 
-    HttpRequest request = requestBuilder.build();
-    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
+  /**
+   * Checks the status of a response and reads its body, decompressing it if needed. The size of
+   * the response and the time taken to read it are added to the Flight Recorder event.
+   */
+  private static <R> R readBody(
+      HttpResponse<byte[]> response, String kind, BodyReader<R> reader, RemoteRequestEvent event) {
+    event.status = response.statusCode();
+    event.bytes = response.body() != null ? response.body().length : 0;
     if (response.statusCode() != 200) {
-      throw new RuntimeException(
-          "GraphQL request failed with status " + response.statusCode() + ": " + response.body());
+      throw new CompletionException(
+          new IOException(kind + " request failed with status " + response.statusCode()));
+    }
+    boolean gzip =
+        response
+            .headers()
+            .firstValue("Content-Encoding")
+            .map("gzip"::equalsIgnoreCase)
+            .orElse(false);
+    event.gzip = gzip;
+    long started = System.nanoTime();
+    try (InputStream body =
+        gzip
+            ? new GZIPInputStream(new ByteArrayInputStream(response.body()))
+            : new ByteArrayInputStream(response.body())) {
+      return reader.read(body);
+    } catch (IOException e) {
+      throw new CompletionException(e);
+    } finally {
+      event.parseTime = System.nanoTime() - started;
     }
-
-    return response.body();
   }
 }
@@ -0,0 +1,364 @@
+package us.ullberg.startpunkt.service;
+
+import io.quarkus.logging.Log;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import us.ullberg.startpunkt.config.ClusterConfig;
+import us.ullberg.startpunkt.messaging.EventBroadcaster;
+import us.ullberg.startpunkt.objects.ApplicationResponse;
+import us.ullberg.startpunkt.objects.BookmarkResponse;
+
+/**
+ * Keeps the applications and bookmarks of remote Startpunkt instances up to date by following their
+ * GraphQL subscriptions instead of refetching them on every cache reload.
+ *
+ * <p>One WebSocket is kept open per remote. Every time it (re)connects, the complete set of
+ * applications and bookmarks of the remote is fetched once and replaces that remote's entries in
+ * the caches; afterwards only the pushed changes are applied and re-broadcast to local subscribers.
+ * Changes pushed while that resynchronization is running are held back and applied once it has
+ * completed, so a snapshot never overwrites a newer change.
+ *
+ * <p>A remote whose subscription is live is skipped by the cache reloads of {@link
+ * KubernetesInformerService}, which leave its cache partition alone. When the connection is lost,
+ * the remote falls back to being fetched on reload, and reconnection is retried with exponential
+ * backoff starting at one second and capped at {@code
+ * startpunkt.remote.subscriptions.maxReconnectDelay}.
+ */
+@ApplicationScoped
+public class RemoteSubscriptionService {
+
+  private static final long INITIAL_RECONNECT_DELAY_MILLIS = 1000;
+
+  // Name of the placeholder application carried by STATUS_CHANGED events
+  private static final String STATUS_CHECK_NAME = "_status_check_";
+
+  private final RemoteStartpunktClient remoteStartpunktClient;
+  private final MultiClusterService multiClusterService;
+  private final ApplicationCacheService applicationCacheService;
+  private final BookmarkCacheService bookmarkCacheService;
+  private final AvailabilityCheckService availabilityCheckService;
+  private final EventBroadcaster eventBroadcaster;
+
+  private final Map<String, RemoteConnection> connections = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService reconnectScheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "remote-subscriptions");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private volatile boolean stopped;
+
+  @ConfigProperty(name = "startpunkt.remote.subscriptions.enabled", defaultValue = "true")
+  boolean enabled;
+
+  @ConfigProperty(name = "startpunkt.remote.subscriptions.maxReconnectDelay", defaultValue = "60s")
+  Duration maxReconnectDelay;
+
+  /** Constructor with injected dependencies. */
+  public RemoteSubscriptionService(
+      RemoteStartpunktClient remoteStartpunktClient,
+      MultiClusterService multiClusterService,
+      ApplicationCacheService applicationCacheService,
+      BookmarkCacheService bookmarkCacheService,
+      AvailabilityCheckService availabilityCheckService,
+      EventBroadcaster eventBroadcaster) {
+    this.remoteStartpunktClient = remoteStartpunktClient;
+    this.multiClusterService = multiClusterService;
+    this.applicationCacheService = applicationCacheService;
+    this.bookmarkCacheService = bookmarkCacheService;
+    this.availabilityCheckService = availabilityCheckService;
+    this.eventBroadcaster = eventBroadcaster;
+  }
+
+  /**
+   * Subscribes to all configured remote Startpunkt instances. Called once the initial cache load
+   * has completed; remotes that are already subscribed are left alone.
+   */
+  public void start() {
+    if (!enabled) {
+      Log.info("Subscriptions to remote Startpunkt instances disabled by configuration");
+      return;
+    }
+
+    for (String clusterName : multiClusterService.getActiveClusterNames()) {
+      Optional<ClusterConfig> configOpt = multiClusterService.getClusterConfig(clusterName);
+      if (configOpt.isEmpty() || "local".equalsIgnoreCase(clusterName)) {
+        continue;
+      }
+      connections.computeIfAbsent(
+          clusterName,
+          name -> {
+            RemoteConnection connection = new RemoteConnection(name, configOpt.get());
+            connection.connect();
+            return connection;
+          });
+    }
+  }
+
+  /**
+   * Checks whether the applications of a remote are kept up to date by its subscription.
+   *
+   * @param clusterName the name of the remote
+   * @return true if the cached applications of the remote are current
+   */
+  public boolean isApplicationsLive(String clusterName) {
+    RemoteConnection connection = connections.get(clusterName);
+    return connection != null && connection.applicationsLive;
+  }
+
+  /**
+   * Checks whether the bookmarks of a remote are kept up to date by its subscription.
+   *
+   * @param clusterName the name of the remote
+   * @return true if the cached bookmarks of the remote are current
+   */
+  public boolean isBookmarksLive(String clusterName) {
+    RemoteConnection connection = connections.get(clusterName);
+    return connection != null && connection.bookmarksLive;
+  }
+
+  /** Closes all subscriptions on shutdown. */
+  @PreDestroy
+  void shutdown() {
+    stopped = true;
+    reconnectScheduler.shutdownNow();
+    connections.values().forEach(RemoteConnection::close);
+  }
+
+  /** Subscription state of a single remote. */
+  private final class RemoteConnection implements RemoteStartpunktClient.SubscriptionListener {
+    private final String clusterName;
+    private final String partition;
+    private final ClusterConfig config;
+    private final List<Runnable> deferredEvents = new ArrayList<>();
+    private boolean resyncing;
+    private long reconnectDelayMillis = INITIAL_RECONNECT_DELAY_MILLIS;
+    private volatile WebSocket webSocket;
+    private volatile boolean applicationsLive;
+    private volatile boolean bookmarksLive;
+
+    RemoteConnection(String clusterName, ClusterConfig config) {
+      this.clusterName = clusterName;
+      this.partition = RemoteStartpunktClient.partition(clusterName);
+      this.config = config;
+    }
+
+    void connect() {
+      if (stopped) {
+        return;
+      }
+      remoteStartpunktClient
+          .subscribe(config, clusterName, this)
+          .whenComplete(
+              (socket, error) -> {
+                if (error != null) {
+                  scheduleReconnect("could not connect: " + error);
+                } else if (stopped) {
+                  socket.abort();
+                } else {
+                  webSocket = socket;
+                }
+              });
+    }
+
+    void close() {
+      WebSocket socket = webSocket;
+      if (socket != null) {
+        socket.sendClose(WebSocket.NORMAL_CLOSURE, "shutdown").exceptionally(error -> null);
+      }
+    }
+
+    @Override
+    public void subscribed() {
+      synchronized (this) {
+        reconnectDelayMillis = INITIAL_RECONNECT_DELAY_MILLIS;
+        resyncing = true;
+      }
+
+      CompletableFuture<Void> applications =
+          remoteStartpunktClient
+              .fetchApplicationSnapshot(config, clusterName)
+              .thenAccept(this::replaceApplications)
+              .handle(
+                  (ignored, error) -> {
+                    if (error != null) {
+                      applicationCacheService.markPartitionFailed(partition, error.toString());
+                    }
+                    applicationsLive = error == null;
+                    return null;
+                  });
+      CompletableFuture<Void> bookmarks =
+          remoteStartpunktClient
+              .fetchBookmarkSnapshot(config, clusterName)
+              .thenAccept(this::replaceBookmarks)
+              .handle(
+                  (ignored, error) -> {
+                    if (error != null) {
+                      bookmarkCacheService.markPartitionFailed(partition, error.toString());
+                    }
+                    bookmarksLive = error == null;
+                    return null;
+                  });
+      CompletableFuture.allOf(applications, bookmarks).thenRun(this::finishResync);
+    }
+
+    @Override
+    public void applicationEvent(String type, ApplicationResponse application) {
+      if (STATUS_CHECK_NAME.equals(application.getName())) {
+        return;
+      }
+      submit(() -> applyApplicationEvent(type, application));
+    }
+
+    @Override
+    public void bookmarkEvent(String type, BookmarkResponse bookmark) {
+      submit(() -> applyBookmarkEvent(type, bookmark));
+    }
+
+    @Override
+    public void disconnected(String reason) {
+      applicationsLive = false;
+      bookmarksLive = false;
+      webSocket = null;
+      scheduleReconnect(reason);
+    }
+
+    private synchronized void submit(Runnable event) {
+      if (resyncing) {
+        deferredEvents.add(event);
+      } else {
+        event.run();
+      }
+    }
+
+    private synchronized void finishResync() {
+      resyncing = false;
+      List<Runnable> events = new ArrayList<>(deferredEvents);
+      deferredEvents.clear();
+      events.forEach(Runnable::run);
+      Log.infof(
+          "Resynchronized remote Startpunkt '%s' (%d changes received meanwhile)",
+          clusterName, events.size());
+    }
+
+    private void scheduleReconnect(String reason) {
+      if (stopped) {
+        return;
+      }
+      long delay;
+      synchronized (this) {
+        delay = reconnectDelayMillis;
+        reconnectDelayMillis = Math.min(delay * 2, maxReconnectDelay.toMillis());
+      }
+      Log.warnf(
+          "Subscription to remote Startpunkt '%s' ended (%s), reconnecting in %d ms",
+          clusterName, reason, delay);
+      try {
+        reconnectScheduler.schedule(this::connect, delay, TimeUnit.MILLISECONDS);
+      } catch (Exception e) {
+        Log.debugf("Not reconnecting to remote Startpunkt '%s': %s", clusterName, e);
+      }
+    }
+
+    private void replaceApplications(List<ApplicationResponse> applications) {
+      for (ApplicationResponse application : applications) {
+        availabilityCheckService.registerApplication(application);
+      }
+      applicationCacheService.replacePartition(partition, applications);
+      broadcastResync();
+    }
+
+    private void replaceBookmarks(List<BookmarkResponse> bookmarks) {
+      bookmarkCacheService.replacePartition(partition, bookmarks);
+      broadcastResync();
+    }
+
+    private void broadcastResync() {
+      eventBroadcaster.broadcastStatusChanged(
+          Map.of(
+              "timestamp",
+              Instant.now().toString(),
+              "reason",
+              "remote_resync",
+              "cluster",
+              clusterName));
+    }
+
+    private void applyApplicationEvent(String type, ApplicationResponse application) {
+      switch (type) {
+        case "ADDED", "UPDATED" -> {
+          List<ApplicationResponse> enriched =
+              availabilityCheckService.enrichWithAvailability(List.of(application));
+          ApplicationResponse response = enriched.isEmpty() ? application : enriched.get(0);
+          if (response.getUrl() != null && !response.getUrl().isEmpty()) {
+            availabilityCheckService.registerApplication(response);
+          }
+          ApplicationResponse previous =
+              applicationCacheService.get(
+                  clusterName, response.getNamespace(), response.getResourceName());
+          applicationCacheService.put(partition, response);
+          if (previous == null) {
+            eventBroadcaster.broadcastApplicationAdded(response);
+          } else {
+            eventBroadcaster.broadcastApplicationUpdated(response);
+          }
+        }
+        case "REMOVED" -> {
+          ApplicationResponse removed =
+              applicationCacheService.remove(
+                  clusterName, application.getNamespace(), application.getResourceName());
+          if (removed != null) {
+            if (removed.getUrl() != null && !removed.getUrl().isEmpty()) {
+              availabilityCheckService.unregisterUrl(removed.getUrl());
+            }
+            eventBroadcaster.broadcastApplicationRemoved(removed);
+          }
+        }
+        default ->
+            Log.debugf(
+                "Ignoring '%s' application event from remote Startpunkt '%s'", type, clusterName);
+      }
+    }
+
+    private void applyBookmarkEvent(String type, BookmarkResponse bookmark) {
+      switch (type) {
+        case "ADDED", "UPDATED" -> {
+          BookmarkResponse previous =
+              bookmarkCacheService.get(
+                  clusterName, bookmark.getNamespace(), bookmark.getResourceName());
+          bookmarkCacheService.put(partition, bookmark);
+          if (previous == null) {
+            eventBroadcaster.broadcastBookmarkAdded(bookmark);
+          } else {
+            eventBroadcaster.broadcastBookmarkUpdated(bookmark);
+          }
+        }
+        case "REMOVED" -> {
+          BookmarkResponse removed =
+              bookmarkCacheService.remove(
+                  clusterName, bookmark.getNamespace(), bookmark.getResourceName());
+          if (removed != null) {
+            eventBroadcaster.broadcastBookmarkRemoved(removed);
+          }
+        }
+        default ->
+            Log.debugf(
+                "Ignoring '%s' bookmark event from remote Startpunkt '%s'", type, clusterName);
+      }
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package us.ullberg.startpunkt.sync;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import us.ullberg.startpunkt.objects.ApplicationResponse;
+import us.ullberg.startpunkt.objects.BookmarkResponse;
+import us.ullberg.startpunkt.service.CacheChanges;
+
+/**
+ * Binary format of the sync endpoint used between Startpunkt instances.
+ *
+ * <p>A sync response is a sequence of Smile (binary JSON) values: a {@link Header} giving the
+ * version, whether the response is complete and how many records follow, then one object per
+ * changed item with the same fields as the GraphQL API, then one object per removed item with its
+ * {@code cluster}, {@code namespace} and {@code resourceName}. Smile back-references repeated
+ * property names and short strings, so the field names of thousands of items cost a few bytes
+ * each, and the response can be decoded item by item without building a tree.
+ */
+public final class SyncFormat {
+
+  /** Media type of sync responses. */
+  public static final String MEDIA_TYPE = "application/x-jackson-smile";
+
+  /** Path of the application sync endpoint, relative to the root of a Startpunkt instance. */
+  public static final String APPLICATIONS_PATH = "api/sync/applications";
+
+  /** Path of the bookmark sync endpoint, relative to the root of a Startpunkt instance. */
+  public static final String BOOKMARKS_PATH = "api/sync/bookmarks";
+
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper(new SmileFactory())
+          .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  /**
+   * First value of a sync response.
+   *
+   * @param version the version the response brings the client up to
+   * @param full true if the response holds everything and replaces what the client had
+   * @param changed the number of changed items that follow
+   * @param removed the number of removed items that follow the changed ones
+   */
+  public record Header(String version, boolean full, int changed, int removed) {}
+
+  private SyncFormat() {}
+
+  /**
+   * Creates a parser for a sync response. Items can be bound with {@link
+   * JsonParser#readValueAs(Class)}.
+   *
+   * @param body the response body
+   * @return a parser positioned before the header
+   * @throws IOException if the body cannot be read
+   */
+  public static JsonParser createParser(InputStream body) throws IOException {
+    return MAPPER.createParser(body);
+  }
+
+  /**
+   * Encodes application changes. Applications with tags are left out, as they are by the {@code
+   * applicationChanges} query, and reported as removed unless the response is complete.
+   *
+   * @param changes the changes to encode
+   * @return the encoded response
+   * @throws IOException if encoding fails
+   */
+  public static byte[] encodeApplications(CacheChanges<ApplicationResponse> changes)
+      throws IOException {
+    List<ApplicationResponse> changed = new ArrayList<>();
+    List<ApplicationResponse> removed = new ArrayList<>();
+    for (ApplicationResponse app : changes.changed()) {
+      if (app.getTags() == null || app.getTags().trim().isEmpty()) {
+        changed.add(app);
+      } else if (!changes.full()) {
+        removed.add(app);
+      }
+    }
+    removed.addAll(changes.removed());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (JsonGenerator generator = createGenerator(out)) {
+      writeHeader(generator, changes, changed.size(), removed.size());
+      for (ApplicationResponse app : changed) {
+        generator.writeStartObject();
+        writeString(generator, "name", app.getName());
+        writeString(generator, "group", app.getGroup());
+        writeString(generator, "icon", app.getIcon());
+        writeString(generator, "url", app.getUrl());
+        writeBoolean(generator, "targetBlank", app.getTargetBlank());
+        generator.writeNumberField("location", app.getLocation());
+        writeString(generator, "info", app.getInfo());
+        writeString(generator, "rootPath", app.getRootPath());
+        writeString(generator, "namespace", app.getNamespace());
+        writeString(generator, "resourceName", app.getResourceName());
+        writeBoolean(generator, "hasOwnerReferences", app.getHasOwnerReferences());
+        writeString(generator, "cluster", app.getCluster());
+        generator.writeEndObject();
+      }
+      for (ApplicationResponse app : removed) {
+        writeKey(generator, app.getCluster(), app.getNamespace(), app.getResourceName());
+      }
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Encodes bookmark changes.
+   *
+   * @param changes the changes to encode
+   * @return the encoded response
+   * @throws IOException if encoding fails
+   */
+  public static byte[] encodeBookmarks(CacheChanges<BookmarkResponse> changes) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (JsonGenerator generator = createGenerator(out)) {
+      writeHeader(generator, changes, changes.changed().size(), changes.removed().size());
+      for (BookmarkResponse bookmark : changes.changed()) {
+        generator.writeStartObject();
+        writeString(generator, "name", bookmark.getName());
+        writeString(generator, "group", bookmark.getGroup());
+        writeString(generator, "icon", bookmark.getIcon());
+        writeString(generator, "url", bookmark.getUrl());
+        writeString(generator, "info", bookmark.getInfo());
+        writeBoolean(generator, "targetBlank", bookmark.getTargetBlank());
+        generator.writeNumberField("location", bookmark.getLocation());
+        writeString(generator, "namespace", bookmark.getNamespace());
+        writeString(generator, "resourceName", bookmark.getResourceName());
+        writeBoolean(generator, "hasOwnerReferences", bookmark.getHasOwnerReferences());
+        writeString(generator, "cluster", bookmark.getCluster());
+        generator.writeEndObject();
+      }
+      for (BookmarkResponse bookmark : changes.removed()) {
+        writeKey(
+            generator, bookmark.getCluster(), bookmark.getNamespace(), bookmark.getResourceName());
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private static JsonGenerator createGenerator(OutputStream out) throws IOException {
+    return MAPPER.getFactory().createGenerator(out);
+  }
+
+  private static void writeHeader(
+      JsonGenerator generator, CacheChanges<?> changes, int changed, int removed)
+      throws IOException {
+    generator.writeObject(new Header(changes.version(), changes.full(), changed, removed));
+  }
+
+  private static void writeKey(
+      JsonGenerator generator, String cluster, String namespace, String resourceName)
+      throws IOException {
+    generator.writeStartObject();
+    writeString(generator, "cluster", cluster);
+    writeString(generator, "namespace", namespace);
+    writeString(generator, "resourceName", resourceName);
+    generator.writeEndObject();
+  }
+
+  private static void writeString(JsonGenerator generator, String field, String value)
+      throws IOException {
+    if (value != null) {
+      generator.writeStringField(field, value);
+    }
+  }
+
+  private static void writeBoolean(JsonGenerator generator, String field, Boolean value)
+      throws IOException {
+    if (value != null) {
+      generator.writeBooleanField(field, value);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package us.ullberg.startpunkt.sync;
+
+import io.quarkus.logging.Log;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.io.IOException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import us.ullberg.startpunkt.service.ApplicationCacheService;
+import us.ullberg.startpunkt.service.BookmarkCacheService;
+
+/**
+ * Serves the binary sync endpoints that remote Startpunkt instances use to replicate the
+ * application and bookmark caches, in place of the GraphQL API.
+ *
+ * <p>{@code GET /api/sync/applications?since=<version>} and {@code GET
+ * /api/sync/bookmarks?since=<version>} answer with the changes since the given version, or with
+ * everything when the version is omitted or unknown, encoded as described in {@link SyncFormat}.
+ */
+@ApplicationScoped
+public class SyncRoutes {
+
+  private final ApplicationCacheService applicationCacheService;
+  private final BookmarkCacheService bookmarkCacheService;
+  private final boolean enabled;
+
+  /**
+   * Constructor with injected dependencies.
+   *
+   * @param applicationCacheService the application cache to replicate
+   * @param bookmarkCacheService the bookmark cache to replicate
+   * @param enabled whether the sync endpoints are served
+   */
+  public SyncRoutes(
+      ApplicationCacheService applicationCacheService,
+      BookmarkCacheService bookmarkCacheService,
+      @ConfigProperty(name = "startpunkt.sync.enabled", defaultValue = "true") boolean enabled) {
+    this.applicationCacheService = applicationCacheService;
+    this.bookmarkCacheService = bookmarkCacheService;
+    this.enabled = enabled;
+  }
+
+  /**
+   * Registers the sync endpoints on the HTTP router.
+   *
+   * @param router the HTTP router
+   */
+  void registerRoutes(@Observes Router router) {
+    if (!enabled) {
+      Log.debug("Sync endpoints are disabled");
+      return;
+    }
+    // Encoding waits for cache replacements in progress, so keep it off the event loop
+    router
+        .get("/" + SyncFormat.APPLICATIONS_PATH)
+        .blockingHandler(
+            context ->
+                respond(
+                    context,
+                    "applications",
+                    () ->
+                        SyncFormat.encodeApplications(
+                            applicationCacheService.getChangesSince(since(context)))),
+            false);
+    router
+        .get("/" + SyncFormat.BOOKMARKS_PATH)
+        .blockingHandler(
+            context ->
+                respond(
+                    context,
+                    "bookmarks",
+                    () ->
+                        SyncFormat.encodeBookmarks(
+                            bookmarkCacheService.getChangesSince(since(context)))),
+            false);
+  }
+
+  private static String since(RoutingContext context) {
+    String since = context.queryParams().get("since");
+    return since == null || since.isEmpty() ? null : since;
+  }
+
+  private static void respond(RoutingContext context, String kind, Encoder encoder) {
+    byte[] body;
+    try {
+      body = encoder.encode();
+    } catch (IOException e) {
+      Log.errorf(e, "Failed to encode %s for sync", kind);
+      context.response().setStatusCode(500).end();
+      return;
+    }
+    Log.debugf("Serving %d bytes of %s for sync", body.length, kind);
+    context
+        .response()
+        .putHeader("Content-Type", SyncFormat.MEDIA_TYPE)
+        .putHeader("Cache-Control", "no-store")
+        .end(Buffer.buffer(body));
+  }
+
+  /** Encodes a sync response. */
+  @FunctionalInterface
+  private interface Encoder {
+    byte[] encode() throws IOException;
+  }
+}
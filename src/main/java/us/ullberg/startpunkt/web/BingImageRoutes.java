@@ -0,0 +1,83 @@
+package us.ullberg.startpunkt.web;
+
+import io.quarkus.logging.Log;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.io.IOException;
+import java.util.Optional;
+import us.ullberg.startpunkt.service.BingImageCache;
+import us.ullberg.startpunkt.service.BingImageService;
+
+/**
+ * Serves cached Bing images at {@code GET /api/bingimage/<name>}, the URLs returned by the {@code
+ * bingImageOfDay} query when the image proxy is enabled.
+ *
+ * <p>Files are sent with {@code sendfile}, so the image is copied from the page cache to the socket
+ * without passing through the JVM, and are marked immutable so that browsers never revalidate them.
+ */
+@ApplicationScoped
+public class BingImageRoutes {
+
+  private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+  private final BingImageService bingImageService;
+  private final BingImageCache bingImageCache;
+
+  /**
+   * Constructor with injected dependencies.
+   *
+   * @param bingImageService the Bing image service, which decides whether the proxy is enabled
+   * @param bingImageCache the cache images are served from
+   */
+  public BingImageRoutes(BingImageService bingImageService, BingImageCache bingImageCache) {
+    this.bingImageService = bingImageService;
+    this.bingImageCache = bingImageCache;
+  }
+
+  /**
+   * Registers the image route on the HTTP router.
+   *
+   * @param router the HTTP router
+   */
+  void registerRoutes(@Observes Router router) {
+    if (!bingImageService.isProxyEnabled()) {
+      Log.debug("Bing image proxy is disabled");
+      return;
+    }
+    // A cache miss downloads the image, so keep it off the event loop
+    router.get("/" + BingImageService.PROXY_PATH + ":name").blockingHandler(this::serve, false);
+  }
+
+  private void serve(RoutingContext context) {
+    String name = context.pathParam("name");
+    Optional<BingImageCache.CachedImage> image;
+    try {
+      image = bingImageCache.get(name);
+    } catch (IOException e) {
+      Log.warnf(e, "Failed to fetch Bing image %s", name);
+      context.response().setStatusCode(502).end();
+      return;
+    }
+    if (image.isEmpty()) {
+      context.response().setStatusCode(404).end();
+      return;
+    }
+
+    String etag = image.get().etag();
+    context
+        .response()
+        .putHeader("ETag", etag)
+        .putHeader("Cache-Control", CACHE_CONTROL)
+        .putHeader("Content-Type", "image/jpeg");
+    if (etag.equals(context.request().getHeader("If-None-Match"))) {
+      context.response().setStatusCode(304).end();
+      return;
+    }
+    context
+        .response()
+        .sendFile(image.get().path().toString())
+        .onFailure(e -> Log.debugf(e, "Failed to send Bing image %s", name));
+  }
+}
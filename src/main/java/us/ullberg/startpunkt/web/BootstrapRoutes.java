@@ -0,0 +1,234 @@
+package us.ullberg.startpunkt.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.logging.Log;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import us.ullberg.startpunkt.graphql.ApplicationGraphQLResource;
+import us.ullberg.startpunkt.graphql.BookmarkGraphQLResource;
+import us.ullberg.startpunkt.graphql.ConfigGraphQLResource;
+import us.ullberg.startpunkt.graphql.ThemeGraphQLResource;
+import us.ullberg.startpunkt.graphql.types.ApplicationGroupType;
+import us.ullberg.startpunkt.graphql.types.ApplicationType;
+import us.ullberg.startpunkt.service.ApplicationCacheService;
+import us.ullberg.startpunkt.service.AvailabilityCheckService;
+import us.ullberg.startpunkt.service.BookmarkCacheService;
+import us.ullberg.startpunkt.service.I8nService;
+
+/**
+ * Serves everything the web UI needs for its first paint in one response, at {@code GET
+ * /api/bootstrap?language=<language>&tags=<tags>}: configuration, theme, translations, active
+ * clusters, application groups and bookmark groups, in the shape of the {@code InitApp} and {@code
+ * ActiveClusters} queries.
+ *
+ * <p>Documents are rendered once per language and tag filter and kept until the application
+ * cache, the bookmark cache or the availability of an application changes. Between changes a
+ * request costs a map lookup, and a revalidation with the entity tag an empty {@code 304}. The
+ * time taken to render a document is recorded as {@code startpunkt.snapshot.render}.
+ */
+@ApplicationScoped
+public class BootstrapRoutes {
+
+  static final String PATH = "/api/bootstrap";
+
+  // Tag filters come from URLs, so bound the number of rendered documents
+  private static final int MAX_DOCUMENTS = 32;
+
+  /**
+   * A rendered bootstrap document.
+   *
+   * @param version versions of the data the document was rendered from
+   * @param body the document as UTF-8 encoded JSON
+   * @param gzip the body compressed with gzip
+   * @param etag strong entity tag of the body, including quotes
+   */
+  record Document(String version, byte[] body, byte[] gzip, String etag) {}
+
+  private final ConfigGraphQLResource configResource;
+  private final ThemeGraphQLResource themeResource;
+  private final ApplicationGraphQLResource applicationResource;
+  private final BookmarkGraphQLResource bookmarkResource;
+  private final I8nService i8nService;
+  private final ApplicationCacheService applicationCacheService;
+  private final BookmarkCacheService bookmarkCacheService;
+  private final AvailabilityCheckService availabilityCheckService;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Document> documents = new ConcurrentHashMap<>();
+
+  @ConfigProperty(name = "startpunkt.web.bootstrap.enabled", defaultValue = "true")
+  boolean enabled;
+
+  /**
+   * Constructor with injected dependencies.
+   *
+   * @param configResource the configuration resource
+   * @param themeResource the theme resource
+   * @param applicationResource the application resource
+   * @param bookmarkResource the bookmark resource
+   * @param i8nService the i18n service
+   * @param applicationCacheService the application cache, whose version invalidates documents
+   * @param bookmarkCacheService the bookmark cache, whose version invalidates documents
+   * @param availabilityCheckService the availability service, whose version invalidates documents
+   * @param objectMapper the object mapper used to encode documents
+   * @param meterRegistry the meter registry used to time rendering
+   */
+  public BootstrapRoutes(
+      ConfigGraphQLResource configResource,
+      ThemeGraphQLResource themeResource,
+      ApplicationGraphQLResource applicationResource,
+      BookmarkGraphQLResource bookmarkResource,
+      I8nService i8nService,
+      ApplicationCacheService applicationCacheService,
+      BookmarkCacheService bookmarkCacheService,
+      AvailabilityCheckService availabilityCheckService,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this.configResource = configResource;
+    this.themeResource = themeResource;
+    this.applicationResource = applicationResource;
+    this.bookmarkResource = bookmarkResource;
+    this.i8nService = i8nService;
+    this.applicationCacheService = applicationCacheService;
+    this.bookmarkCacheService = bookmarkCacheService;
+    this.availabilityCheckService = availabilityCheckService;
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Registers the bootstrap route on the HTTP router.
+   *
+   * @param router the HTTP router
+   */
+  void registerRoutes(@Observes Router router) {
+    if (!enabled) {
+      Log.debug("Bootstrap route is disabled");
+      return;
+    }
+    // Rendering reads the caches and the Kubernetes informers, so keep it off the event loop
+    router.get(PATH).blockingHandler(this::serve, false);
+  }
+
+  private void serve(RoutingContext context) {
+    String language = context.queryParams().get("language");
+    List<String> tags = parseTags(context.queryParams().get("tags"));
+    // Loading the dashboard counts as demand for availability, even when the document is cached
+    availabilityCheckService.recordDemand();
+
+    Document document;
+    try {
+      document = get(language == null ? "" : language, tags);
+    } catch (IOException e) {
+      Log.errorf(e, "Failed to render the bootstrap document");
+      context.response().setStatusCode(500).end();
+      return;
+    }
+
+    EncodedResponse.send(
+        context,
+        "application/json; charset=utf-8",
+        "no-cache",
+        document.etag(),
+        document.body(),
+        document.gzip());
+  }
+
+  /**
+   * Returns the bootstrap document for a language and tag filter, rendering it if the data it was
+   * rendered from has changed.
+   *
+   * @param language the requested language, with the fallbacks of the {@code translations} query
+   * @param tags normalized tags to filter applications by, empty for applications without tags
+   * @return the document
+   * @throws IOException if the translation cannot be loaded or the document cannot be encoded
+   */
+  Document get(String language, List<String> tags) throws IOException {
+    I8nService.Translation translation = i8nService.getBundle(language);
+    String key = translation.language() + "|" + String.join(",", tags);
+    // Read before rendering, so that a change during rendering leads to another render
+    String version =
+        applicationCacheService.getVersion()
+            + "/"
+            + bookmarkCacheService.getVersion()
+            + "/"
+            + availabilityCheckService.getAvailabilityVersion();
+
+    Document document = documents.get(key);
+    if (document != null && document.version().equals(version)) {
+      return document;
+    }
+
+    Timer.Sample timer = Timer.start(meterRegistry);
+    try {
+      document = render(translation, tags, version);
+    } finally {
+      timer.stop(meterRegistry.timer("startpunkt.snapshot.render", "snapshot", "bootstrap"));
+    }
+    if (documents.size() >= MAX_DOCUMENTS) {
+      documents.clear();
+    }
+    documents.put(key, document);
+    Log.debugf(
+        "Rendered bootstrap document for %s (%d bytes, version %s)",
+        key, document.body().length, version);
+    return document;
+  }
+
+  private Document render(I8nService.Translation translation, List<String> tags, String version)
+      throws IOException {
+    List<ApplicationGroupType> applicationGroups =
+        applicationResource.getApplicationGroups(tags.isEmpty() ? null : tags);
+    // Statistics change with every probe; the web UI reads them from its own queries
+    for (ApplicationGroupType group : applicationGroups) {
+      for (ApplicationType application : group.applications) {
+        application.responseTimeP50 = null;
+        application.responseTimeP95 = null;
+        application.uptime24h = null;
+      }
+    }
+
+    Map<String, Object> data = new LinkedHashMap<>();
+    data.put("config", configResource.getConfig());
+    data.put("theme", themeResource.getTheme());
+    data.put("translations", new RawValue(translation.json()));
+    data.put("activeClusters", configResource.getActiveClusters());
+    data.put("localClusterName", configResource.getLocalClusterName());
+    data.put("applicationGroups", applicationGroups);
+    data.put("bookmarkGroups", bookmarkResource.getBookmarkGroups());
+
+    byte[] body = objectMapper.writeValueAsBytes(data);
+    return new Document(version, body, EncodedResponse.gzip(body), EncodedResponse.etag(body));
+  }
+
+  /**
+   * Normalizes a comma-separated tag filter, as tags are matched case-insensitively.
+   *
+   * @param tags the tag filter, may be null
+   * @return sorted, distinct, lowercase tags
+   */
+  static List<String> parseTags(String tags) {
+    if (tags == null) {
+      return List.of();
+    }
+    return Arrays.stream(tags.split(","))
+        .map(tag -> tag.trim().toLowerCase(Locale.ROOT))
+        .filter(tag -> !tag.isEmpty())
+        .distinct()
+        .sorted()
+        .toList();
+  }
+}
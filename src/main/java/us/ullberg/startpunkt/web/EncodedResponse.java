@@ -0,0 +1,94 @@
+package us.ullberg.startpunkt.web;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.RoutingContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves response bodies that were encoded, and optionally gzipped, ahead of time, and revalidated
+ * with their entity tag, so that serving them does no encoding and a repeat request with a matching
+ * {@code If-None-Match} gets an empty {@code 304}.
+ */
+public final class EncodedResponse {
+
+  private EncodedResponse() {}
+
+  /**
+   * Compresses a response body with gzip.
+   *
+   * @param body the response body
+   * @return the compressed body
+   * @throws IOException if compression fails
+   */
+  public static byte[] gzip(byte[] body) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(body);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Computes a strong entity tag for a response body.
+   *
+   * @param body the response body
+   * @return the entity tag, including quotes
+   */
+  public static String etag(byte[] body) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+      return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * Sends a response body, gzipped when a compressed body is given and the client accepts it.
+   *
+   * @param context the routing context
+   * @param contentType the content type of the body
+   * @param cacheControl the {@code Cache-Control} header
+   * @param etag the entity tag of the body, including quotes
+   * @param body the response body
+   * @param gzip the body compressed with gzip, or null to always send it uncompressed
+   */
+  static void send(
+      RoutingContext context,
+      String contentType,
+      String cacheControl,
+      String etag,
+      byte[] body,
+      byte[] gzip) {
+    boolean compressed = false;
+    if (gzip != null) {
+      String acceptEncoding = context.request().getHeader("Accept-Encoding");
+      compressed = acceptEncoding != null && acceptEncoding.contains("gzip");
+      // Each encoding is a different representation, so it gets its own entity tag
+      if (compressed) {
+        etag = etag.replaceFirst("\"$", "-gzip\"");
+      }
+      context.response().putHeader("Vary", "Accept-Encoding");
+    }
+    context
+        .response()
+        .putHeader("ETag", etag)
+        .putHeader("Cache-Control", cacheControl)
+        .putHeader("Content-Type", contentType);
+    if (etag.equals(context.request().getHeader("If-None-Match"))) {
+      context.response().setStatusCode(304).end();
+      return;
+    }
+    if (compressed) {
+      context.response().putHeader("Content-Encoding", "gzip");
+      context.response().end(Buffer.buffer(gzip));
+    } else {
+      context.response().end(Buffer.buffer(body));
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package us.ullberg.startpunkt.web;
+
+import io.quarkus.logging.Log;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import us.ullberg.startpunkt.service.IconService;
+
+/**
+ * Serves icons resolved by {@link IconService}:
+ *
+ * <ul>
+ *   <li>{@code GET /api/icons/bundle.json}: the icons of all cached applications and bookmarks, as
+ *       an array of Iconify JSON collections, revalidated with its ETag
+ *   <li>{@code GET /api/icons/<prefix>.json?icons=<names>}: icons of one collection, in the format
+ *       of the Iconify API, so that the web UI can use Startpunkt as its icon API
+ *   <li>{@code GET /api/icons/<prefix>/<name>.svg}: a single icon as an SVG document
+ * </ul>
+ */
+@ApplicationScoped
+public class IconRoutes {
+
+  private static final String JSON = "application/json";
+  private static final String SVG = "image/svg+xml";
+  // Icons rarely change, but may when a collection is updated
+  private static final String ICON_CACHE_CONTROL = "public, max-age=604800";
+
+  private final IconService iconService;
+  private final boolean enabled;
+
+  /**
+   * Constructor with injected dependencies.
+   *
+   * @param iconService the icon service
+   * @param enabled whether icons are served
+   */
+  public IconRoutes(
+      IconService iconService,
+      @ConfigProperty(name = "startpunkt.icons.proxy.enabled", defaultValue = "true")
+          boolean enabled) {
+    this.iconService = iconService;
+    this.enabled = enabled;
+  }
+
+  /**
+   * Registers the icon routes on the HTTP router.
+   *
+   * @param router the HTTP router
+   */
+  void registerRoutes(@Observes Router router) {
+    if (!enabled) {
+      Log.debug("Icon routes are disabled");
+      return;
+    }
+    // Cache misses read collections and call the Iconify API, so keep them off the event loop
+    router.get("/" + IconService.PATH + "bundle.json").blockingHandler(this::serveBundle, false);
+    router.get("/" + IconService.PATH + ":file").blockingHandler(this::serveCollection, false);
+    router.get("/" + IconService.PATH + ":prefix/:file").blockingHandler(this::serveSvg, false);
+  }
+
+  private void serveBundle(RoutingContext context) {
+    IconService.Bundle bundle;
+    try {
+      bundle = iconService.getBundle();
+    } catch (IOException e) {
+      Log.errorf(e, "Failed to build the icon bundle");
+      context.response().setStatusCode(500).end();
+      return;
+    }
+    // Revalidated on every load, as the bundle changes with the applications and bookmarks
+    EncodedResponse.send(context, JSON, "no-cache", bundle.etag(), bundle.body(), null);
+  }
+
+  private void serveCollection(RoutingContext context) {
+    String file = context.pathParam("file");
+    String icons = context.queryParams().get("icons");
+    if (!file.endsWith(".json") || icons == null || icons.isEmpty()) {
+      context.response().setStatusCode(404).end();
+      return;
+    }
+    String prefix = file.substring(0, file.length() - ".json".length());
+    List<String> names = Arrays.stream(icons.split(",")).filter(name -> !name.isEmpty()).toList();
+    byte[] body;
+    try {
+      body = iconService.getCollection(prefix, names);
+    } catch (IOException e) {
+      Log.errorf(e, "Failed to encode icons of %s", prefix);
+      context.response().setStatusCode(500).end();
+      return;
+    }
+    EncodedResponse.send(context, JSON, ICON_CACHE_CONTROL, EncodedResponse.etag(body), body, null);
+  }
+
+  private void serveSvg(RoutingContext context) {
+    String file = context.pathParam("file");
+    Optional<String> svg =
+        file.endsWith(".svg")
+            ? iconService.getSvg(
+                context.pathParam("prefix") + ":" + file.substring(0, file.length() - 4))
+            : Optional.empty();
+    if (svg.isEmpty()) {
+      context.response().setStatusCode(404).end();
+      return;
+    }
+    byte[] body = svg.get().getBytes(StandardCharsets.UTF_8);
+    EncodedResponse.send(context, SVG, ICON_CACHE_CONTROL, EncodedResponse.etag(body), body, null);
+  }
+}
@@ -0,0 +1,63 @@
+package us.ullberg.startpunkt.web;
+
+import io.quarkus.logging.Log;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.io.IOException;
+import us.ullberg.startpunkt.service.I8nService;
+
+/**
+ * Serves translations at {@code GET /api/i8n/<language>}, with the same fallbacks as the {@code
+ * translations} query.
+ *
+ * <p>Translations are sent from the bytes kept by {@link I8nService}, gzipped when the client
+ * accepts it, and revalidated with their entity tag so that repeat visits get an empty {@code 304}.
+ */
+@ApplicationScoped
+public class TranslationRoutes {
+
+  static final String PATH = "/api/i8n/";
+
+  private final I8nService i8nService;
+
+  /**
+   * Constructor with injected dependencies.
+   *
+   * @param i8nService the i18n service
+   */
+  public TranslationRoutes(I8nService i8nService) {
+    this.i8nService = i8nService;
+  }
+
+  /**
+   * Registers the translation route on the HTTP router.
+   *
+   * @param router the HTTP router
+   */
+  void registerRoutes(@Observes Router router) {
+    // Translations are loaded at startup, so they are served on the event loop
+    router.get(PATH + ":language").handler(this::serve);
+  }
+
+  private void serve(RoutingContext context) {
+    String language = context.pathParam("language");
+    I8nService.Translation translation;
+    try {
+      translation = i8nService.getBundle(language);
+    } catch (IOException e) {
+      Log.errorf("Failed to get translation for language %s: %s", language, e.getMessage());
+      context.response().setStatusCode(500).end();
+      return;
+    }
+
+    EncodedResponse.send(
+        context,
+        "application/json; charset=utf-8",
+        "no-cache",
+        translation.etag(),
+        translation.body(),
+        translation.gzip());
+  }
+}
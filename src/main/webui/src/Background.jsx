@@ -45,7 +45,8 @@ export function Background() {
           });
 
           if (result.data && result.data.bingImageOfDay) {
-            setBingImageUrl(result.data.bingImageOfDay.imageUrl);
+            // Proxied images are served by Startpunkt under a relative URL
+            setBingImageUrl(new URL(result.data.bingImageOfDay.imageUrl, window.location.href).href);
           } else if (result.error) {
             console.error('GraphQL error fetching Bing image:', result.error);
           }
@@ -16,6 +16,7 @@ import { ApplicationEditor } from './ApplicationEditor';
 import { BookmarkEditor } from './BookmarkEditor';
 import { WhatsNewModal, useWhatsNew } from './components/WhatsNewModal';
 import { getLatestRelease } from './services/changelogService';
+import { loadBootstrap } from './services/bootstrapService';
 import { client, setOnPingCallback } from './graphql/client';
 import { INIT_QUERY, APPLICATION_GROUPS_QUERY, BOOKMARK_GROUPS_QUERY, ACTIVE_CLUSTERS_QUERY } from './graphql/queries';
 import { DELETE_APPLICATION_MUTATION, DELETE_BOOKMARK_MUTATION, CREATE_APPLICATION_MUTATION, UPDATE_APPLICATION_MUTATION, CREATE_BOOKMARK_MUTATION, UPDATE_BOOKMARK_MUTATION } from './graphql/mutations';
@@ -225,99 +226,124 @@ export function App() {
     const tags = getTagsFromUrl();
     const tagsArray = tags ? tags.split(',').map(t => t.trim()) : null;
 
-    console.log('[INIT] Fetching all data with language:', lang, 'tags:', tagsArray);
+    // Apply config, theme, translations, applications, and bookmarks
+    const applyInitData = (data) => {
+      // Set translations (parse JSON string)
+      if (data.translations) {
+        try {
+          const translations = typeof data.translations === 'string'
+            ? JSON.parse(data.translations)
+            : data.translations;
+          setDefinition(translations);
+        } catch (e) {
+          console.error('[INIT] Failed to parse translations:', e);
+          setDefinition({});
+        }
+      }
 
-    // Single query to fetch config, theme, translations, applications, and bookmarks
-    client.query({
-      query: INIT_QUERY,
-      variables: { language: lang, tags: tagsArray }
-    }).then((result) => {
-        if (result.data) {
-          console.log('[INIT] Received data:', result.data);
-
-          // Set translations (parse JSON string)
-          if (result.data.translations) {
-            try {
-              const translations = typeof result.data.translations === 'string'
-                ? JSON.parse(result.data.translations)
-                : result.data.translations;
-              setDefinition(translations);
-            } catch (e) {
-              console.error('[INIT] Failed to parse translations:', e);
-              setDefinition({});
-            }
-          }
+      // Set config
+      if (data.config) {
+        const config = data.config;
+        setShowGitHubLink(config.web.showGithubLink);
+        setTitle(config.web.title);
+        setVersion(config.version);
+        setCheckForUpdates(config.web.checkForUpdates);
+        setRefreshInterval(config.web.refreshInterval || 0);
+        setSearchEngine(config.web.searchEngine || "https://www.google.com/search?q=");
+        const subEnabled = config.graphql?.subscription?.enabled !== false;
+        console.log('[INIT] GraphQL Subscriptions enabled:', subEnabled);
+        setSubscriptionsEnabled(subEnabled);
+
+        // Set cluster default behavior
+        if (config.web) {
+          const defaultShowAll = config.web.defaultShowAllClusters ?? false;
+          console.log('[INIT] Clusters defaultShowAllClusters:', defaultShowAll);
+          setClustersDefaultShowAll(defaultShowAll);
+        }
+      }
 
-          // Set config
-          if (result.data.config) {
-            const config = result.data.config;
-            setShowGitHubLink(config.web.showGithubLink);
-            setTitle(config.web.title);
-            setVersion(config.version);
-            setCheckForUpdates(config.web.checkForUpdates);
-            setRefreshInterval(config.web.refreshInterval || 0);
-            setSearchEngine(config.web.searchEngine || "https://www.google.com/search?q=");
-            const subEnabled = config.graphql?.subscription?.enabled !== false;
-            console.log('[INIT] GraphQL Subscriptions enabled:', subEnabled);
-            setSubscriptionsEnabled(subEnabled);
-
-            // Set cluster default behavior
-            if (config.web) {
-              const defaultShowAll = config.web.defaultShowAllClusters ?? false;
-              console.log('[INIT] Clusters defaultShowAllClusters:', defaultShowAll);
-              setClustersDefaultShowAll(defaultShowAll);
-            }
-          }
+      // Set theme
+      if (data.theme) {
+        setThemes(data.theme);
+      }
 
-          // Set theme
-          if (result.data.theme) {
-            setThemes(result.data.theme);
-          }
+      // Set applications
+      if (data.applicationGroups) {
+        const groups = data.applicationGroups.map(group => ({
+          name: group.name,
+          applications: group.applications
+        }));
+        setApplicationGroups(groups);
+      }
 
-          // Set applications
-          if (result.data.applicationGroups) {
-            const groups = result.data.applicationGroups.map(group => ({
-              name: group.name,
-              applications: group.applications
-            }));
-            setApplicationGroups(groups);
-          }
+      // Set bookmarks
+      if (data.bookmarkGroups) {
+        const groups = data.bookmarkGroups.map(group => ({
+          name: group.name,
+          bookmarks: group.bookmarks
+        }));
+        setBookmarkGroups(groups);
+      }
+    };
 
-          // Set bookmarks
-          if (result.data.bookmarkGroups) {
-            const groups = result.data.bookmarkGroups.map(group => ({
-              name: group.name,
-              bookmarks: group.bookmarks
-            }));
-            setBookmarkGroups(groups);
-          }
+    // Apply available clusters
+    const applyClusters = (data) => {
+      if (data.activeClusters) {
+        console.log('[INIT] Received clusters:', data.activeClusters);
+        setAvailableClusters(data.activeClusters);
+        if (data.localClusterName) {
+          console.log('[INIT] Local cluster display name:', data.localClusterName);
+          setLocalClusterDisplayName(data.localClusterName);
         }
-      })
-      .catch((err) => {
-        console.error('[INIT] Error fetching data:', err);
-        // Set empty arrays to prevent loading state
-        setApplicationGroups([]);
-        setBookmarkGroups([]);
-      });
+      }
+    };
 
-    // Fetch available clusters
-    console.log('[INIT] Fetching available clusters');
-    client.query({
-      query: ACTIVE_CLUSTERS_QUERY
-    }).then((result) => {
-        if (result.data && result.data.activeClusters) {
-          console.log('[INIT] Received clusters:', result.data.activeClusters);
-          setAvailableClusters(result.data.activeClusters);
-          if (result.data.localClusterName) {
-            console.log('[INIT] Local cluster display name:', result.data.localClusterName);
-            setLocalClusterDisplayName(result.data.localClusterName);
+    // Fall back to GraphQL queries if the bootstrap document is not available
+    const queryInitData = () => {
+      // Single query to fetch config, theme, translations, applications, and bookmarks
+      client.query({
+        query: INIT_QUERY,
+        variables: { language: lang, tags: tagsArray }
+      }).then((result) => {
+          if (result.data) {
+            console.log('[INIT] Received data:', result.data);
+            applyInitData(result.data);
           }
-        }
-      })
-      .catch((err) => {
-        console.error('[INIT] Error fetching clusters:', err);
-        setAvailableClusters([]);
-      });
+        })
+        .catch((err) => {
+          console.error('[INIT] Error fetching data:', err);
+          // Set empty arrays to prevent loading state
+          setApplicationGroups([]);
+          setBookmarkGroups([]);
+        });
+
+      // Fetch available clusters
+      console.log('[INIT] Fetching available clusters');
+      client.query({
+        query: ACTIVE_CLUSTERS_QUERY
+      }).then((result) => {
+          if (result.data) {
+            applyClusters(result.data);
+          }
+        })
+        .catch((err) => {
+          console.error('[INIT] Error fetching clusters:', err);
+          setAvailableClusters([]);
+        });
+    };
+
+    console.log('[INIT] Fetching all data with language:', lang, 'tags:', tagsArray);
+
+    // One request, rendered and cached by the server, for everything needed on first paint
+    loadBootstrap(lang, tagsArray).then((data) => {
+      if (data) {
+        console.log('[INIT] Received bootstrap document:', data);
+        applyInitData(data);
+        applyClusters(data);
+      } else {
+        queryInitData();
+      }
+    });
   }, []);
 
   // Function to fetch applications using GraphQL (for refreshes)
@@ -1,5 +1,6 @@
 import { render } from 'preact'
 import { App } from './app.jsx'
+import { loadIconBundle } from './services/iconService.js'
 import './index.scss'
 
 // Ensure body has the same class as html for consistency
@@ -8,4 +9,7 @@ if (htmlClass) {
   document.body.className = htmlClass;
 }
 
+// Register the dashboard's icons before the application cards ask for them
+loadIconBundle();
+
 render(<App />, document.getElementById('app'))
@@ -0,0 +1,32 @@
+/**
+ * Bootstrap Service
+ * Loads everything needed for the first paint - configuration, theme, translations,
+ * clusters, applications and bookmarks - in a single request, rendered and cached by
+ * the server.
+ */
+
+const BOOTSTRAP_PATH = '/api/bootstrap';
+
+/**
+ * Fetch the bootstrap document.
+ * @param {string} language - Language of the translations
+ * @param {string[]|null} tags - Tags to filter applications by
+ * @returns {Promise<Object|null>} Data in the shape of the InitApp and ActiveClusters
+ *   queries, or null if the server does not serve it
+ */
+export async function loadBootstrap(language, tags) {
+  try {
+    const params = new URLSearchParams({ language });
+    if (tags && tags.length > 0) {
+      params.set('tags', tags.join(','));
+    }
+    const response = await fetch(`${BOOTSTRAP_PATH}?${params}`);
+    if (!response.ok) {
+      return null;
+    }
+    return await response.json();
+  } catch (error) {
+    console.error('Error loading bootstrap document:', error);
+    return null;
+  }
+}
@@ -0,0 +1,27 @@
+/**
+ * Icon Service
+ * Loads the icons used by the dashboard from Startpunkt in a single request, and makes
+ * Startpunkt the icon API for any other icon, so that browsers never fetch icons from the
+ * Iconify CDN one by one.
+ */
+import { addAPIProvider, addCollection } from '@iconify/react';
+
+const ICONS_PATH = '/api/icons';
+
+/**
+ * Fetch the icon bundle and register its collections with Iconify.
+ * Falls back to the public Iconify API if the server does not serve icons.
+ */
+export async function loadIconBundle() {
+  try {
+    const response = await fetch(`${ICONS_PATH}/bundle.json`);
+    if (!response.ok) {
+      return;
+    }
+    addAPIProvider('', { resources: [`${window.location.origin}${ICONS_PATH}`] });
+    const collections = await response.json();
+    collections.forEach((collection) => addCollection(collection));
+  } catch (error) {
+    console.error('Error loading icon bundle:', error);
+  }
+}
@@ -40,6 +40,35 @@ class CompleteGraphQLApiTest {
         .body("data.bookmarkGroups", notNullValue());
   }
 
+  @Test
+  void testApplicationChangesQuery() {
+    String query =
+        """
+        {
+          applicationChanges {
+            version
+            full
+            changed {
+              name
+            }
+            removed {
+              resourceName
+            }
+          }
+        }
+        """;
+
+    given()
+        .contentType("application/json")
+        .body(formatGraphQLQuery(query))
+        .when()
+        .post("/graphql")
+        .then()
+        .statusCode(200)
+        .body("data.applicationChanges.version", notNullValue())
+        .body("data.applicationChanges.full", equalTo(true));
+  }
+
   @Test
   void testConfigQuery() {
     String query =
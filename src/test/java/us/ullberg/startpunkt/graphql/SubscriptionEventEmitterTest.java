@@ -0,0 +1,82 @@
+package us.ullberg.startpunkt.graphql;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import us.ullberg.startpunkt.graphql.types.ApplicationType;
+import us.ullberg.startpunkt.graphql.types.ApplicationUpdateEvent;
+import us.ullberg.startpunkt.graphql.types.ApplicationUpdateType;
+
+/** Test class for the metrics SubscriptionEventEmitter reports about its subscribers. */
+class SubscriptionEventEmitterTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private SubscriptionEventEmitter emitter;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    emitter = new SubscriptionEventEmitter(meterRegistry);
+  }
+
+  private ApplicationUpdateEvent event() {
+    ApplicationType app = new ApplicationType();
+    app.name = "app";
+    return new ApplicationUpdateEvent(ApplicationUpdateType.ADDED, app, Instant.now());
+  }
+
+  private double active() {
+    return meterRegistry
+        .get("startpunkt.subscriptions.active")
+        .tag("stream", "applications")
+        .gauge()
+        .value();
+  }
+
+  @Test
+  void testSubscriptionsAreCountedAndDeliveriesTimed() {
+    // Given
+    AssertSubscriber<ApplicationUpdateEvent> subscriber =
+        emitter.getApplicationStream().subscribe().withSubscriber(AssertSubscriber.create(10));
+
+    // When
+    emitter.emitApplicationUpdate(event());
+
+    // Then
+    assertEquals(1, subscriber.getItems().size(), "The event should be delivered");
+    assertEquals(1, active(), "The subscription should be counted");
+    assertEquals(
+        1,
+        meterRegistry.get("startpunkt.events.fanout").tag("stream", "applications").timer().count(),
+        "The delivery should be timed");
+
+    subscriber.cancel();
+    assertEquals(0, active(), "The cancelled subscription should no longer be counted");
+  }
+
+  @Test
+  void testSlowSubscriberDropsEvents() {
+    // Given - a subscriber that requested a single event
+    AssertSubscriber<ApplicationUpdateEvent> slow =
+        emitter.getApplicationStream().subscribe().withSubscriber(AssertSubscriber.create(1));
+
+    // When
+    emitter.emitApplicationUpdate(event());
+    emitter.emitApplicationUpdate(event());
+
+    // Then - the second event is dropped instead of failing the subscription
+    assertEquals(1, slow.getItems().size());
+    slow.assertNotTerminated();
+    assertEquals(
+        1,
+        meterRegistry
+            .get("startpunkt.subscriptions.dropped")
+            .tag("stream", "applications")
+            .counter()
+            .count());
+  }
+}
@@ -0,0 +1,211 @@
+package us.ullberg.startpunkt.health;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import us.ullberg.startpunkt.config.ClusterConfig;
+import us.ullberg.startpunkt.service.ApplicationCacheService;
+import us.ullberg.startpunkt.service.BookmarkCacheService;
+import us.ullberg.startpunkt.service.KubernetesInformerService;
+import us.ullberg.startpunkt.service.KubernetesInformerService.InformerStatus;
+import us.ullberg.startpunkt.service.MultiClusterService;
+import us.ullberg.startpunkt.service.RemoteStartpunktClient;
+
+/**
+ * Unit tests for InformerReadinessCheck. The informer service, the remotes and their circuit
+ * breakers are stubbed, so that each state the check reports on can be set up directly.
+ */
+class InformerReadinessCheckTest {
+
+  private StubInformerService informerService;
+  private StubMultiClusterService multiClusterService;
+  private StubRemoteClient remoteClient;
+  private ApplicationCacheService applicationCacheService;
+  private InformerReadinessCheck readinessCheck;
+
+  @BeforeEach
+  void setUp() {
+    informerService = new StubInformerService();
+    multiClusterService = new StubMultiClusterService();
+    remoteClient = new StubRemoteClient();
+    applicationCacheService = new ApplicationCacheService();
+    readinessCheck =
+        new InformerReadinessCheck(
+            informerService,
+            multiClusterService,
+            remoteClient,
+            applicationCacheService,
+            new BookmarkCacheService());
+  }
+
+  @Test
+  void testReadyWhenInformersAreDisabled() {
+    // Given
+    informerService.watchEnabled = false;
+
+    // When
+    HealthCheckResponse response = readinessCheck.call();
+
+    // Then
+    assertEquals("Kubernetes informer readiness check", response.getName());
+    assertEquals(HealthCheckResponse.Status.UP, response.getStatus());
+    assertEquals("disabled", data(response).get("Informers"));
+  }
+
+  @Test
+  void testNotReadyWhileInitialSyncIsPending() {
+    // When
+    HealthCheckResponse response = readinessCheck.call();
+
+    // Then
+    assertEquals(HealthCheckResponse.Status.DOWN, response.getStatus());
+    assertEquals("pending", data(response).get("Initial sync"));
+  }
+
+  @Test
+  void testNotReadyWhenInitialSyncFailed() {
+    // Given
+    informerService.initializationError = "Forbidden";
+
+    // When
+    HealthCheckResponse response = readinessCheck.call();
+
+    // Then
+    assertEquals(HealthCheckResponse.Status.DOWN, response.getStatus());
+    assertEquals("failed", data(response).get("Initial sync"));
+    assertEquals("Forbidden", data(response).get("error"));
+  }
+
+  @Test
+  void testReadyWhileInformersReconnect() {
+    // Given
+    informerService.initialSyncComplete = true;
+    informerService.statuses.add(new InformerStatus("Application", true, true, true));
+    informerService.statuses.add(new InformerStatus("Ingress", true, true, false));
+    informerService.statuses.add(new InformerStatus("Route", true, false, false));
+
+    // When
+    HealthCheckResponse response = readinessCheck.call();
+
+    // Then - a watch being re-established does not make the replica unready
+    assertEquals(HealthCheckResponse.Status.UP, response.getStatus());
+    Map<String, Object> data = data(response);
+    assertEquals("complete", data.get("Initial sync"));
+    assertEquals("watching", data.get("Application informer"));
+    assertEquals("reconnecting", data.get("Ingress informer"));
+    assertEquals("syncing", data.get("Route informer"));
+  }
+
+  @Test
+  void testNotReadyWhenAnInformerStopped() {
+    // Given
+    informerService.initialSyncComplete = true;
+    informerService.statuses.add(new InformerStatus("Application", true, true, true));
+    informerService.statuses.add(new InformerStatus("Ingress", false, true, false));
+
+    // When
+    HealthCheckResponse response = readinessCheck.call();
+
+    // Then
+    assertEquals(HealthCheckResponse.Status.DOWN, response.getStatus());
+    assertEquals("stopped", data(response).get("Ingress informer"));
+  }
+
+  @Test
+  void testFailingRemotesAreReportedWithoutAffectingReadiness() {
+    // Given
+    informerService.initialSyncComplete = true;
+    multiClusterService.remotes.addAll(List.of("healthy", "broken", "stale"));
+    remoteClient.openCircuits.add("broken");
+    applicationCacheService.markPartitionFailed(
+        RemoteStartpunktClient.partition("stale"), "Connection refused");
+
+    // When
+    HealthCheckResponse response = readinessCheck.call();
+
+    // Then
+    assertEquals(HealthCheckResponse.Status.UP, response.getStatus());
+    Map<String, Object> data = data(response);
+    assertEquals("ok", data.get("healthy remote"));
+    assertEquals("circuit open", data.get("broken remote"));
+    assertEquals("stale: Connection refused", data.get("stale remote"));
+  }
+
+  private static Map<String, Object> data(HealthCheckResponse response) {
+    return response.getData().orElseThrow();
+  }
+
+  /** Informer service whose state is set by the tests instead of by running informers. */
+  private static class StubInformerService extends KubernetesInformerService {
+    boolean watchEnabled = true;
+    boolean initialSyncComplete;
+    String initializationError;
+    final List<InformerStatus> statuses = new ArrayList<>();
+
+    StubInformerService() {
+      super(null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    @Override
+    public boolean isWatchEnabled() {
+      return watchEnabled;
+    }
+
+    @Override
+    public boolean isInitialSyncComplete() {
+      return initialSyncComplete;
+    }
+
+    @Override
+    public String getInitializationError() {
+      return initializationError;
+    }
+
+    @Override
+    public List<InformerStatus> getInformerStatuses() {
+      return statuses;
+    }
+  }
+
+  /** Multi-cluster service listing the remotes added by the tests. */
+  private static class StubMultiClusterService extends MultiClusterService {
+    final List<String> remotes = new ArrayList<>();
+
+    StubMultiClusterService() {
+      super(null, null);
+    }
+
+    @Override
+    public Map<String, ClusterConfig> getAllClusterConfigs() {
+      Map<String, ClusterConfig> configs = new LinkedHashMap<>();
+      for (String remote : remotes) {
+        configs.put(remote, new ClusterConfig(remote, "https://" + remote + "/graphql", true));
+      }
+      return configs;
+    }
+  }
+
+  /** Remote client whose circuit breakers are opened by the tests. */
+  private static class StubRemoteClient extends RemoteStartpunktClient {
+    final Set<String> openCircuits = new HashSet<>();
+
+    StubRemoteClient() {
+      super(Duration.ofSeconds(1), 3, Duration.ofMinutes(1), true, new SimpleMeterRegistry());
+    }
+
+    @Override
+    public boolean isCircuitOpen(String clusterName) {
+      return openCircuits.contains(clusterName);
+    }
+  }
+}
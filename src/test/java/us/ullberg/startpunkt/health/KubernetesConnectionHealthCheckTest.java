@@ -2,6 +2,7 @@ package us.ullberg.startpunkt.health;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.fabric8.kubernetes.api.model.*;
@@ -319,4 +320,29 @@ class KubernetesConnectionHealthCheckTest {
     // Then
     assertNotNull(check, "Health check should be created");
   }
+
+  @Test
+  void testCallServesCachedInventory() {
+    // Given
+    server
+        .expect()
+        .get()
+        .withPath("/api/v1/nodes")
+        .andReturn(HttpURLConnection.HTTP_OK, new NodeListBuilder().build())
+        .always();
+
+    server
+        .expect()
+        .get()
+        .withPath("/api/v1/namespaces")
+        .andReturn(HttpURLConnection.HTTP_OK, new NamespaceListBuilder().build())
+        .always();
+
+    // When
+    HealthCheckResponse first = healthCheck.call();
+    HealthCheckResponse second = healthCheck.call();
+
+    // Then - the inventory is only queried again by the scheduled refresh
+    assertSame(first, second, "Inventory should be served from memory");
+  }
 }
@@ -0,0 +1,207 @@
+package us.ullberg.startpunkt.messaging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import us.ullberg.startpunkt.crd.v1alpha4.Application;
+import us.ullberg.startpunkt.crd.v1alpha4.ApplicationSpec;
+import us.ullberg.startpunkt.graphql.types.ApplicationType;
+import us.ullberg.startpunkt.graphql.types.ApplicationUpdateEvent;
+import us.ullberg.startpunkt.graphql.types.ApplicationUpdateType;
+import us.ullberg.startpunkt.jfr.BroadcastEvent;
+
+/**
+ * Test class for EventBroadcaster. Tests deduplication of events emitted by both the mutation path
+ * and the informer path, and field-level diffs for update events.
+ */
+class EventBroadcasterTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private EventBroadcaster broadcaster;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    broadcaster = new EventBroadcaster(meterRegistry);
+    broadcaster.dedupWindowMs = 5000;
+  }
+
+  private Application application(String uid, String resourceVersion) {
+    Application app = new Application();
+    app.setMetadata(
+        new ObjectMetaBuilder()
+            .withNamespace("default")
+            .withName("test-app")
+            .withUid(uid)
+            .withResourceVersion(resourceVersion)
+            .build());
+    app.setSpec(new ApplicationSpec());
+    return app;
+  }
+
+  private double suppressedCount(String eventKey) {
+    var counter =
+        meterRegistry.find("startpunkt.events.duplicates.suppressed").tag("event", eventKey);
+    return counter.counter() != null ? counter.counter().count() : 0;
+  }
+
+  @Test
+  void testDedupKeyUsesUidAndResourceVersion() {
+    assertEquals(
+        "APPLICATION:uid-1@42",
+        EventBroadcaster.getDedupKey("APPLICATION", false, application("uid-1", "42")));
+  }
+
+  @Test
+  void testDedupKeyForRemovalIgnoresResourceVersion() {
+    assertEquals(
+        EventBroadcaster.getDedupKey("APPLICATION", true, application("uid-1", "42")),
+        EventBroadcaster.getDedupKey("APPLICATION", true, application("uid-1", "43")),
+        "Removal key should not depend on resource version");
+  }
+
+  @Test
+  void testDedupKeyIsNullForNonKubernetesData() {
+    assertNull(EventBroadcaster.getDedupKey("APPLICATION", false, "not-a-resource"));
+    assertNull(EventBroadcaster.getDedupKey("APPLICATION", false, null));
+  }
+
+  @Test
+  void testSameResourceVersionIsSuppressed() {
+    String key = EventBroadcaster.getDedupKey("APPLICATION", false, application("uid-1", "42"));
+
+    assertFalse(broadcaster.isDuplicate(key, "APPLICATION_ADDED"), "First event should pass");
+    assertTrue(broadcaster.isDuplicate(key, "APPLICATION_ADDED"), "Second event is a duplicate");
+    assertEquals(1.0, suppressedCount("APPLICATION_ADDED"));
+  }
+
+  @Test
+  void testSuppressedDuplicateIsRecordedInFlightRecorder() throws Exception {
+    String key = EventBroadcaster.getDedupKey("APPLICATION", false, application("uid-1", "42"));
+    Path file = Files.createTempFile("broadcast", ".jfr");
+
+    try (Recording recording = new Recording()) {
+      // Given
+      recording.enable(BroadcastEvent.class);
+      recording.start();
+
+      // When
+      broadcaster.isDuplicate(key, "APPLICATION_ADDED");
+      broadcaster.isDuplicate(key, "APPLICATION_ADDED");
+      recording.stop();
+      recording.dump(file);
+    }
+
+    // Then
+    List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+    Files.delete(file);
+    assertEquals(1, events.size(), "Only the suppressed duplicate should be recorded");
+    assertEquals("APPLICATION_ADDED", events.get(0).getString("event"));
+    assertEquals(BroadcastEvent.DUPLICATE, events.get(0).getString("outcome"));
+    assertEquals(key, events.get(0).getString("dedupKey"));
+  }
+
+  @Test
+  void testNewResourceVersionIsNotSuppressed() {
+    String first = EventBroadcaster.getDedupKey("APPLICATION", false, application("uid-1", "42"));
+    String second = EventBroadcaster.getDedupKey("APPLICATION", false, application("uid-1", "43"));
+
+    assertFalse(broadcaster.isDuplicate(first, "APPLICATION_UPDATED"));
+    assertFalse(broadcaster.isDuplicate(second, "APPLICATION_UPDATED"));
+    assertEquals(0.0, suppressedCount("APPLICATION_UPDATED"));
+  }
+
+  @Test
+  void testExpiredKeysAreNoLongerDuplicates() throws InterruptedException {
+    // Given - a key claimed before the window has passed
+    broadcaster.dedupWindowMs = 20;
+    String key = EventBroadcaster.getDedupKey("APPLICATION", false, application("uid-1", "42"));
+    assertFalse(broadcaster.isDuplicate(key, "APPLICATION_ADDED"));
+
+    // When
+    Thread.sleep(50);
+
+    // Then
+    assertFalse(broadcaster.isDuplicate(key, "APPLICATION_ADDED"), "Expired key should pass");
+    assertTrue(broadcaster.isDuplicate(key, "APPLICATION_ADDED"), "Key should be claimed again");
+  }
+
+  @Test
+  void testDeduplicationDisabledWithZeroWindow() {
+    broadcaster.dedupWindowMs = 0;
+    String key = EventBroadcaster.getDedupKey("APPLICATION", false, application("uid-1", "42"));
+
+    assertFalse(broadcaster.isDuplicate(key, "APPLICATION_ADDED"));
+    assertFalse(broadcaster.isDuplicate(key, "APPLICATION_ADDED"));
+  }
+
+  @Test
+  void testNullKeyIsNeverDuplicate() {
+    assertFalse(broadcaster.isDuplicate(null, "APPLICATION_ADDED"));
+    assertFalse(broadcaster.isDuplicate(null, "APPLICATION_ADDED"));
+  }
+
+  private ApplicationType projection(String iconColor) {
+    ApplicationType app = new ApplicationType();
+    app.name = "Test App";
+    app.namespace = "default";
+    app.resourceName = "test-app";
+    app.iconColor = iconColor;
+    return app;
+  }
+
+  @Test
+  void testUpdateEventCarriesPatchAgainstPreviousProjection() {
+    broadcaster.createApplicationEvent(ApplicationUpdateType.ADDED, projection("blue"));
+
+    ApplicationUpdateEvent event =
+        broadcaster.createApplicationEvent(ApplicationUpdateType.UPDATED, projection("red"));
+
+    assertEquals("local/default/test-app", event.getId());
+    assertEquals(java.util.List.of("iconColor"), event.getChangedFields());
+    assertEquals("{\"iconColor\":\"red\"}", event.getPatch());
+    assertNotNull(event.getApplication(), "Full event should still carry the application");
+  }
+
+  @Test
+  void testUpdateEventWithoutPreviousProjectionHasNoPatch() {
+    ApplicationUpdateEvent event =
+        broadcaster.createApplicationEvent(ApplicationUpdateType.UPDATED, projection("red"));
+
+    assertNull(event.getPatch(), "No patch without a previous projection");
+    assertSame(event, event.toDiffOnly(), "Diff-only falls back to the full event");
+  }
+
+  @Test
+  void testDiffOnlyEventOmitsApplication() {
+    broadcaster.createApplicationEvent(ApplicationUpdateType.ADDED, projection("blue"));
+    ApplicationUpdateEvent event =
+        broadcaster.createApplicationEvent(ApplicationUpdateType.UPDATED, projection("red"));
+
+    ApplicationUpdateEvent diff = event.toDiffOnly();
+
+    assertNull(diff.getApplication(), "Diff-only event should omit the full application");
+    assertEquals(event.getId(), diff.getId());
+    assertEquals(event.getPatch(), diff.getPatch());
+  }
+
+  @Test
+  void testRemovedEventForgetsProjection() {
+    broadcaster.createApplicationEvent(ApplicationUpdateType.ADDED, projection("blue"));
+    broadcaster.createApplicationEvent(ApplicationUpdateType.REMOVED, projection("blue"));
+
+    ApplicationUpdateEvent event =
+        broadcaster.createApplicationEvent(ApplicationUpdateType.UPDATED, projection("red"));
+
+    assertNull(event.getPatch(), "Projection should be forgotten after removal");
+  }
+}
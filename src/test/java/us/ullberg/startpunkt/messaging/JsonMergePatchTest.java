@@ -0,0 +1,62 @@
+package us.ullberg.startpunkt.messaging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import us.ullberg.startpunkt.graphql.types.ApplicationType;
+
+/** Test class for JsonMergePatch. Tests field-level diffs between two projections. */
+class JsonMergePatchTest {
+
+  private ApplicationType application() {
+    ApplicationType app = new ApplicationType();
+    app.name = "Test App";
+    app.group = "Test";
+    app.url = "https://test.example.com";
+    app.iconColor = "blue";
+    app.location = 10;
+    return app;
+  }
+
+  @Test
+  void testEqualProjectionsProduceEmptyPatch() {
+    ObjectNode patch = JsonMergePatch.diff(application(), application());
+
+    assertTrue(patch.isEmpty(), "Equal projections should produce an empty patch");
+  }
+
+  @Test
+  void testChangedFieldsAreIncluded() {
+    ApplicationType updated = application();
+    updated.location = 20;
+    updated.iconColor = "red";
+
+    ObjectNode patch = JsonMergePatch.diff(application(), updated);
+
+    assertEquals(2, patch.size(), "Only the changed fields should be included");
+    assertEquals(20, patch.get("location").asInt());
+    assertEquals("red", patch.get("iconColor").asText());
+  }
+
+  @Test
+  void testRemovedFieldsAreNull() {
+    ApplicationType updated = application();
+    updated.iconColor = null;
+
+    ObjectNode patch = JsonMergePatch.diff(application(), updated);
+
+    assertEquals(1, patch.size());
+    assertTrue(patch.get("iconColor").isNull(), "Removed field should be set to null");
+  }
+
+  @Test
+  void testAddedFieldsAreIncluded() {
+    ApplicationType updated = application();
+    updated.info = "New description";
+
+    ObjectNode patch = JsonMergePatch.diff(application(), updated);
+
+    assertEquals("{\"info\":\"New description\"}", JsonMergePatch.toJson(patch));
+  }
+}
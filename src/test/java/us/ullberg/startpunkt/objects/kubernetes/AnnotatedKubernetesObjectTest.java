@@ -7,6 +7,7 @@ import io.fabric8.kubernetes.api.model.ObjectMeta;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
+import us.ullberg.startpunkt.crd.v1alpha4.ProbeSpec;
 
 class AnnotatedKubernetesObjectTest {
 
@@ -28,6 +29,10 @@ class AnnotatedKubernetesObjectTest {
     public String testBuildUrlWithPort(String protocol, String host, Integer port, String path) {
       return buildUrlWithPort(protocol, host, port, path);
     }
+
+    public ProbeSpec testGetAppProbe(GenericKubernetesResource item) {
+      return getAppProbe(item);
+    }
   }
 
   @Test
@@ -484,4 +489,48 @@ class AnnotatedKubernetesObjectTest {
     String result = testObj.testBuildUrlWithPort("https", "example.com", 8443, "");
     assertEquals("https://example.com:8443", result);
   }
+
+  @Test
+  void testGetAppProbeFromAnnotations() {
+    GenericKubernetesResource resource = new GenericKubernetesResource();
+    ObjectMeta metadata = new ObjectMeta();
+    Map<String, String> annotations = new HashMap<>();
+    annotations.put("startpunkt.ullberg.us/probe", "get");
+    annotations.put("startpunkt.ullberg.us/probeExpectedStatus", "200");
+    annotations.put("startpunkt.ullberg.us/probeBodyPrefix", "OK");
+    metadata.setAnnotations(annotations);
+    resource.setMetadata(metadata);
+
+    TestAnnotatedKubernetesObject testObj = new TestAnnotatedKubernetesObject();
+    ProbeSpec probe = testObj.testGetAppProbe(resource);
+
+    assertEquals(new ProbeSpec("get", 200, "OK"), probe);
+  }
+
+  @Test
+  void testGetAppProbeWithoutAnnotations() {
+    GenericKubernetesResource resource = new GenericKubernetesResource();
+    resource.setMetadata(new ObjectMeta());
+
+    TestAnnotatedKubernetesObject testObj = new TestAnnotatedKubernetesObject();
+
+    assertNull(testObj.testGetAppProbe(resource));
+  }
+
+  @Test
+  void testGetAppProbeIgnoresInvalidExpectedStatus() {
+    GenericKubernetesResource resource = new GenericKubernetesResource();
+    ObjectMeta metadata = new ObjectMeta();
+    Map<String, String> annotations = new HashMap<>();
+    annotations.put("startpunkt.ullberg.us/probe", "head");
+    annotations.put("startpunkt.ullberg.us/probeExpectedStatus", "ok");
+    metadata.setAnnotations(annotations);
+    resource.setMetadata(metadata);
+
+    TestAnnotatedKubernetesObject testObj = new TestAnnotatedKubernetesObject();
+    ProbeSpec probe = testObj.testGetAppProbe(resource);
+
+    assertEquals("head", probe.getType());
+    assertNull(probe.getExpectedStatus());
+  }
 }
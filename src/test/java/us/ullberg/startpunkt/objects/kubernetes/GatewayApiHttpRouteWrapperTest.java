@@ -257,4 +257,40 @@ class GatewayApiHttpRouteWrapperTest {
 
     return route;
   }
+
+  @Test
+  void testGetBackendServicesFromBackendRefs() {
+    // Given
+    Map<String, Object> spec =
+        Map.of(
+            "hostnames",
+            List.of("app.example.com"),
+            "rules",
+            List.of(
+                Map.of(
+                    "backendRefs",
+                    List.of(
+                        Map.of("name", "web", "port", 80),
+                        Map.of("name", "shared", "namespace", "infra", "kind", "Service"),
+                        Map.of(
+                            "name", "bucket", "group", "storage.example.com", "kind", "Bucket")))));
+
+    // When
+    List<String> services =
+        new GatewayApiHttpRouteWrapper(false, "http")
+            .getBackendServices(resourceWithSpec("apps", spec));
+
+    // Then
+    assertEquals(
+        List.of("apps/web", "infra/shared"),
+        services,
+        "Should resolve Service backendRefs, honoring explicit namespaces");
+  }
+
+  private GenericKubernetesResource resourceWithSpec(String namespace, Map<String, Object> spec) {
+    GenericKubernetesResource resource = new GenericKubernetesResource();
+    resource.setMetadata(new ObjectMetaBuilder().withName("app").withNamespace(namespace).build());
+    resource.setAdditionalProperty("spec", spec);
+    return resource;
+  }
 }
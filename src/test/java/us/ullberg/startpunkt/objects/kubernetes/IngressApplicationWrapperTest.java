@@ -219,4 +219,51 @@ class IngressApplicationWrapperTest {
 
     return ingress;
   }
+
+  @Test
+  void testGetBackendServicesFromRulesAndDefaultBackend() {
+    // Given
+    Map<String, Object> spec =
+        Map.of(
+            "defaultBackend",
+            Map.of("service", Map.of("name", "fallback")),
+            "rules",
+            List.of(
+                Map.of(
+                    "host",
+                    "app.example.com",
+                    "http",
+                    Map.of(
+                        "paths",
+                        List.of(
+                            Map.of(
+                                "path", "/", "backend", Map.of("service", Map.of("name", "web"))),
+                            Map.of(
+                                "path",
+                                "/api",
+                                "backend",
+                                Map.of("service", Map.of("name", "web"))),
+                            Map.of(
+                                "path",
+                                "/static",
+                                "backend",
+                                Map.of("resource", Map.of("kind", "StorageBucket"))))))));
+
+    // When
+    List<String> services =
+        new IngressApplicationWrapper(false).getBackendServices(resourceWithSpec("apps", spec));
+
+    // Then
+    assertEquals(
+        List.of("apps/fallback", "apps/web"),
+        services,
+        "Should resolve distinct Service backends and skip resource backends");
+  }
+
+  private GenericKubernetesResource resourceWithSpec(String namespace, Map<String, Object> spec) {
+    GenericKubernetesResource resource = new GenericKubernetesResource();
+    resource.setMetadata(new ObjectMetaBuilder().withName("app").withNamespace(namespace).build());
+    resource.setAdditionalProperty("spec", spec);
+    return resource;
+  }
 }
@@ -424,4 +424,32 @@ class RouteApplicationWrapperTest {
     ApplicationSpec appSpec = specs.get(0);
     assertEquals("http://app.example.com:8081/api", appSpec.getUrl()); // Custom port with path
   }
+
+  @Test
+  void testGetBackendServicesIncludesAlternateBackends() {
+    // Given
+    Map<String, Object> spec =
+        Map.of(
+            "host",
+            "app.apps.example.com",
+            "to",
+            Map.of("kind", "Service", "name", "primary"),
+            "alternateBackends",
+            List.of(Map.of("kind", "Service", "name", "canary")));
+
+    // When
+    List<String> services =
+        new RouteApplicationWrapper(false).getBackendServices(resourceWithSpec("apps", spec));
+
+    // Then
+    assertEquals(
+        List.of("apps/primary", "apps/canary"), services, "Should resolve all Route backends");
+  }
+
+  private GenericKubernetesResource resourceWithSpec(String namespace, Map<String, Object> spec) {
+    GenericKubernetesResource resource = new GenericKubernetesResource();
+    resource.setMetadata(new ObjectMetaBuilder().withName("app").withNamespace(namespace).build());
+    resource.setAdditionalProperty("spec", spec);
+    return resource;
+  }
 }
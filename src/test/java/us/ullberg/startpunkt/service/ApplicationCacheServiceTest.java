@@ -0,0 +1,169 @@
+package us.ullberg.startpunkt.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import us.ullberg.startpunkt.objects.ApplicationResponse;
+
+/** Unit tests for the revision tracking and partitions of ApplicationCacheService. */
+class ApplicationCacheServiceTest {
+
+  private static ApplicationResponse app(String name, String url) {
+    ApplicationResponse app = new ApplicationResponse();
+    app.setName(name);
+    app.setGroup("group");
+    app.setUrl(url);
+    app.setNamespace("default");
+    app.setResourceName(name);
+    app.setCluster("local");
+    return app;
+  }
+
+  @Test
+  void testChangesSinceVersion() {
+    // Given
+    ApplicationCacheService cache = new ApplicationCacheService();
+    cache.replaceAll(List.of(app("one", "https://one"), app("two", "https://two")));
+    String version = cache.getVersion();
+
+    // When - one application changes, one is removed and one stays the same
+    cache.replaceAll(List.of(app("one", "https://one.example"), app("three", "https://three")));
+    cache.put(app("three", "https://three"));
+    CacheChanges<ApplicationResponse> changes = cache.getChangesSince(version);
+
+    // Then
+    assertFalse(changes.full(), "A known version should be served incrementally");
+    assertEquals(
+        List.of("one", "three"),
+        changes.changed().stream().map(ApplicationResponse::getName).sorted().toList());
+    assertEquals(
+        List.of("two"), changes.removed().stream().map(ApplicationResponse::getName).toList());
+  }
+
+  @Test
+  void testUnchangedCacheReportsNoChanges() {
+    // Given
+    ApplicationCacheService cache = new ApplicationCacheService();
+    cache.replaceAll(List.of(app("one", "https://one")));
+    String version = cache.getVersion();
+
+    // When - a reload with identical content
+    cache.replaceAll(List.of(app("one", "https://one")));
+    CacheChanges<ApplicationResponse> changes = cache.getChangesSince(version);
+
+    // Then
+    assertEquals(version, changes.version(), "Identical content should not change the version");
+    assertTrue(changes.changed().isEmpty());
+    assertTrue(changes.removed().isEmpty());
+  }
+
+  @Test
+  void testUnknownVersionReturnsEverything() {
+    // Given
+    ApplicationCacheService cache = new ApplicationCacheService();
+    cache.replaceAll(List.of(app("one", "https://one"), app("two", "https://two")));
+
+    // When
+    CacheChanges<ApplicationResponse> changes = cache.getChangesSince("other-epoch-3");
+
+    // Then
+    assertTrue(changes.full(), "A version of another epoch should get everything");
+    assertEquals(2, changes.changed().size());
+  }
+
+  @Test
+  void testReplacingPartitionLeavesOtherPartitionsAlone() {
+    // Given
+    ApplicationCacheService cache = new ApplicationCacheService();
+    cache.replacePartition("local/Ingress", List.of(app("one", "https://one")));
+    cache.replacePartition("local/Route", List.of(app("two", "https://two")));
+
+    // When
+    int removed = cache.replacePartition("local/Ingress", List.of(app("three", "https://three")));
+
+    // Then
+    assertEquals(1, removed, "Only the previous content of the partition should be removed");
+    assertEquals(
+        List.of("three", "two"),
+        cache.getAll().stream().map(ApplicationResponse::getName).sorted().toList());
+  }
+
+  @Test
+  void testFailedPartitionKeepsLastKnownGoodData() {
+    // Given
+    ApplicationCacheService cache = new ApplicationCacheService();
+    cache.replacePartition("remote/remote", List.of(app("one", "https://one")));
+
+    // When
+    cache.markPartitionFailed("remote/remote", "timeout");
+
+    // Then
+    assertEquals(1, cache.size(), "A failed source should keep its applications");
+    PartitionStatus status = cache.getPartitionStatuses().get(0);
+    assertTrue(status.stale(), "A failed source should be reported as stale");
+    assertEquals("timeout", status.error());
+
+    // When - the source recovers
+    cache.replacePartition("remote/remote", List.of(app("one", "https://one")));
+
+    // Then
+    assertFalse(cache.getPartitionStatuses().get(0).stale(), "A reloaded source is not stale");
+  }
+
+  @Test
+  void testRetainPartitionsDropsDisabledSources() {
+    // Given
+    ApplicationCacheService cache = new ApplicationCacheService();
+    cache.replacePartition("local/Ingress", List.of(app("one", "https://one")));
+    cache.replacePartition("local/Route", List.of(app("two", "https://two")));
+
+    // When
+    cache.retainPartitions(List.of("local/Route"));
+
+    // Then
+    assertEquals(
+        List.of("two"), cache.getAll().stream().map(ApplicationResponse::getName).toList());
+    assertEquals(1, cache.getPartitionStatuses().size());
+  }
+
+  @Test
+  void testFullSyncDuringPartitionReplaceDoesNotDeadlock() throws Exception {
+    // Given
+    ApplicationCacheService cache = new ApplicationCacheService();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      // When - full syncs run while a partition is replaced over and over
+      Future<?> reloads =
+          executor.submit(
+              () -> {
+                for (int i = 0; i < 2000; i++) {
+                  cache.replacePartition(
+                      "local/Ingress",
+                      i % 2 == 0
+                          ? List.of(app("one", "https://one"), app("two", "https://two"))
+                          : List.of(app("three", "https://three")));
+                }
+              });
+      Future<?> syncs =
+          executor.submit(
+              () -> {
+                for (int i = 0; i < 2000; i++) {
+                  cache.getChangesSince(null);
+                }
+              });
+
+      // Then - both finish instead of waiting on each other's lock
+      reloads.get(30, TimeUnit.SECONDS);
+      syncs.get(30, TimeUnit.SECONDS);
+      assertTrue(cache.getChangesSince(null).full());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -2,19 +2,34 @@ package us.ullberg.startpunkt.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
 import jakarta.inject.Inject;
+import java.net.ConnectException;
+import java.nio.channels.UnresolvedAddressException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import javax.net.ssl.SSLHandshakeException;
 import org.junit.jupiter.api.Test;
 import us.ullberg.startpunkt.crd.v1alpha4.ApplicationSpec;
 import us.ullberg.startpunkt.objects.ApplicationResponse;
 
 @QuarkusTest
+@TestProfile(AvailabilityCheckServiceTest.DeferredFirstProbeProfile.class)
 class AvailabilityCheckServiceTest {
 
+  private static final long FIRST_PROBE_SPREAD_MS = 600000;
+
   @Inject AvailabilityCheckService service;
 
+  @Inject MeterRegistry meterRegistry;
+
   @Test
   void testIsEnabledReturnsTrue() {
     assertTrue(service.isEnabled(), "Service should be enabled by default");
@@ -740,4 +755,250 @@ class AvailabilityCheckServiceTest {
     assertFalse(firstCheck, "Malformed URL first check should fail");
     assertFalse(secondCheck, "Malformed URL second check should use backoff");
   }
+
+  @Test
+  void testGetHostKeyGroupsBySchemeHostAndPort() {
+    // When / Then
+    assertEquals(
+        AvailabilityCheckService.getHostKey("https://example.com/a"),
+        AvailabilityCheckService.getHostKey("https://example.com/b?x=1"),
+        "URLs on the same host should share a concurrency key");
+    assertNotEquals(
+        AvailabilityCheckService.getHostKey("https://example.com/"),
+        AvailabilityCheckService.getHostKey("http://example.com/"),
+        "Different schemes should not share a concurrency key");
+    assertNotEquals(
+        AvailabilityCheckService.getHostKey("http://example.com:8080/"),
+        AvailabilityCheckService.getHostKey("http://example.com:8081/"),
+        "Different ports should not share a concurrency key");
+    assertEquals(
+        "not-a-url",
+        AvailabilityCheckService.getHostKey("not-a-url"),
+        "Unparseable URLs should fall back to the URL itself");
+  }
+
+  @Test
+  void testRefreshAvailabilityProbesUrlsConcurrently() {
+    // Given - Several unreachable URLs on distinct hosts
+    List<String> urls = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      String url = "http://concurrent-refresh-" + i + ".invalid:12345";
+      urls.add(url);
+      service.registerUrl(url);
+    }
+
+    // When
+    long start = System.currentTimeMillis();
+    service.refreshAvailability();
+    long duration = System.currentTimeMillis() - start;
+
+    // Then - All probes ran and the cycle was not the sum of the individual probes
+    for (String url : urls) {
+      assertEquals(
+          Boolean.FALSE,
+          service.getCachedAvailability(url),
+          "Unreachable URL should be marked unavailable after refresh: " + url);
+      service.unregisterUrl(url);
+    }
+    assertTrue(duration < 30000, "Concurrent refresh should complete quickly, took " + duration);
+  }
+
+  @Test
+  void testRegisterUrlSchedulesFirstProbe() {
+    // Given
+    String url = "http://first-probe-schedule.invalid:12345";
+    long before = System.currentTimeMillis();
+
+    // When
+    service.registerUrl(url);
+
+    // Then - The first probe is due within the configured spread, not a full interval later
+    Long nextDue = service.getNextDueTime(url);
+    assertNotNull(nextDue, "Registered URL should have a next-due time");
+    assertTrue(nextDue >= before, "First probe should not be scheduled in the past");
+    assertTrue(
+        nextDue <= System.currentTimeMillis() + FIRST_PROBE_SPREAD_MS,
+        "First probe should be scheduled within the first-probe spread");
+
+    service.unregisterUrl(url);
+    assertNull(service.getNextDueTime(url), "Unregistered URL should have no next-due time");
+  }
+
+  @Test
+  void testFailedCheckReschedulesWithBackoff() {
+    // Given
+    String url = "http://reschedule-backoff.invalid:12345";
+    service.registerUrl(url);
+
+    // When
+    long before = System.currentTimeMillis();
+    service.checkAvailability(url);
+
+    // Then - The next probe is pushed out by the backoff delay
+    Long nextDue = service.getNextDueTime(url);
+    assertNotNull(nextDue, "URL should still be scheduled after a failed check");
+    assertTrue(nextDue > before, "Failed check should reschedule the URL into the future");
+    assertFalse(
+        service.checkAvailability(url, true),
+        "Check respecting backoff should return the cached result");
+
+    service.unregisterUrl(url);
+  }
+
+  @Test
+  void testIsHostLevelFailureClassifiesConnectionErrors() {
+    // When / Then
+    assertTrue(
+        AvailabilityCheckService.isHostLevelFailure(
+            new ExecutionException(new ConnectException("refused"))),
+        "Connection refused should be a host-level failure");
+    assertTrue(
+        AvailabilityCheckService.isHostLevelFailure(
+            new ConnectException("dns").initCause(new UnresolvedAddressException())),
+        "DNS failure should be a host-level failure");
+    assertTrue(
+        AvailabilityCheckService.isHostLevelFailure(new SSLHandshakeException("handshake")),
+        "TLS handshake failure should be a host-level failure");
+    assertFalse(
+        AvailabilityCheckService.isHostLevelFailure(new TimeoutException("slow")),
+        "A slow response is specific to the URL");
+    assertFalse(
+        AvailabilityCheckService.isHostLevelFailure(new IllegalArgumentException("bad url")),
+        "A malformed URL is specific to the URL");
+  }
+
+  @Test
+  void testRefreshAvailabilitySharesHostFailure() {
+    // Given - Several URLs behind the same unreachable host
+    List<String> urls = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      String url = "http://127.0.0.1:1/shared-host-" + i;
+      urls.add(url);
+      service.registerUrl(url);
+    }
+
+    // When
+    service.refreshAvailability();
+
+    // Then - All URLs on the host are marked unavailable
+    for (String url : urls) {
+      assertEquals(
+          Boolean.FALSE,
+          service.getCachedAvailability(url),
+          "URL on an unreachable host should be unavailable: " + url);
+      service.unregisterUrl(url);
+    }
+  }
+
+  @Test
+  void testEnrichWithAvailabilityAddsUptimeStatistics() {
+    // Given - A registered URL that has failed once
+    String url = "http://127.0.0.1:1/uptime-stats";
+    service.registerUrl(url);
+    service.checkAvailability(url);
+
+    ApplicationSpec spec =
+        new ApplicationSpec("Stats", "group", "mdi:test", "blue", url, "info", false, 1, true);
+    ApplicationResponse app = new ApplicationResponse(spec);
+    app.setNamespace("default");
+    app.setResourceName("stats");
+
+    // When
+    service.enrichWithAvailability(List.of(app));
+
+    // Then
+    assertFalse(app.getAvailable(), "Failed URL should be unavailable");
+    assertEquals(0.0, app.getUptime24h(), 0.001, "A single failed probe should give 0% uptime");
+    assertNull(app.getResponseTimeP50(), "No response means no response time");
+
+    service.unregisterUrl(url);
+  }
+
+  @Test
+  void testApplicationMetersFollowUrlChange() {
+    // Given - An application with meters bound to its URL
+    String oldUrl = "https://meters-old.example.com";
+    String newUrl = "http://127.0.0.1:1/meters-new";
+    service.registerUrl(oldUrl);
+    service.registerUrl(newUrl);
+    service.checkAvailability(newUrl);
+
+    ApplicationSpec spec =
+        new ApplicationSpec("Moved", "group", "mdi:test", "blue", oldUrl, "info", false, 1, true);
+    ApplicationResponse app = new ApplicationResponse(spec);
+    app.setNamespace("default");
+    app.setResourceName("moved");
+    service.enrichWithAvailability(List.of(app));
+    assertNotNull(upGauge(), "Gauge should be registered for the application");
+
+    // When - The application moves to a URL that is down and the old URL is unregistered
+    app.setUrl(newUrl);
+    service.enrichWithAvailability(List.of(app));
+    service.unregisterUrl(oldUrl);
+
+    // Then - The meters survive the removal of the old URL and report on the new one
+    assertNotNull(upGauge(), "Gauge should still be registered");
+    assertEquals(0.0, upGauge().value(), "Gauge should report the unavailable new URL");
+
+    service.unregisterUrl(newUrl);
+    assertNull(upGauge(), "Gauge should be removed with the URL the application uses");
+  }
+
+  private Gauge upGauge() {
+    return meterRegistry
+        .find("startpunkt.availability.up")
+        .tags("cluster", "local", "namespace", "default", "app", "moved")
+        .gauge();
+  }
+
+  @Test
+  void testIdleFollowsViewerDemand() {
+    // Given - A query was just made
+    service.recordDemand();
+    long now = System.currentTimeMillis();
+    long anHourLater = now + 3_600_000L;
+
+    // Then
+    assertFalse(service.isIdle(now), "Service should not be idle right after a query");
+    assertTrue(service.isIdle(anHourLater), "Service should be idle an hour without demand");
+
+    // When - A client subscribes
+    service.viewerConnected();
+    try {
+      assertFalse(
+          service.isIdle(anHourLater), "Service should not be idle while a client is subscribed");
+    } finally {
+      service.viewerDisconnected();
+    }
+
+    // Then - Idle again once the client is gone
+    assertTrue(service.isIdle(anHourLater), "Service should be idle after the client unsubscribed");
+  }
+
+  @Test
+  void testSharedResultsIgnoredWhileProbing() {
+    // Given - This replica probes on its own
+    String url = "https://shared-result-test.example.com";
+    service.registerUrl(url);
+
+    // When
+    boolean applied = service.applySharedResult(url, false, 10L, System.currentTimeMillis());
+
+    // Then
+    assertTrue(service.isProbingEnabled(), "Probing should be enabled without a leader");
+    assertFalse(applied, "Shared results should be ignored while probing");
+    assertTrue(service.getCachedAvailability(url), "Own availability should be kept");
+  }
+
+  /**
+   * Spreads first probes far out, so that newly registered URLs keep their default availability
+   * until a test checks them explicitly.
+   */
+  public static class DeferredFirstProbeProfile implements QuarkusTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "startpunkt.availability.firstProbeSpreadMs", String.valueOf(FIRST_PROBE_SPREAD_MS));
+    }
+  }
 }
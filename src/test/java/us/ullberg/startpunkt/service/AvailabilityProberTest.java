@@ -0,0 +1,153 @@
+package us.ullberg.startpunkt.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.net.httpserver.HttpServer;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import us.ullberg.startpunkt.crd.v1alpha4.ProbeSpec;
+
+/**
+ * Unit tests for AvailabilityProber. Runs every probe strategy against a local HTTP server and
+ * checks status code, redirect and body prefix handling.
+ */
+class AvailabilityProberTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  private HttpServer server;
+  private AvailabilityProber prober;
+  private String baseUrl;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(
+        "/ok",
+        exchange -> {
+          byte[] body = "{\"status\":\"UP\"}".getBytes(StandardCharsets.UTF_8);
+          boolean head = "HEAD".equals(exchange.getRequestMethod());
+          exchange.sendResponseHeaders(200, head ? -1 : body.length);
+          if (!head) {
+            exchange.getResponseBody().write(body);
+          }
+          exchange.close();
+        });
+    server.createContext(
+        "/redirect",
+        exchange -> {
+          exchange.getResponseHeaders().add("Location", "/missing");
+          exchange.sendResponseHeaders(302, -1);
+          exchange.close();
+        });
+    server.createContext(
+        "/missing",
+        exchange -> {
+          exchange.sendResponseHeaders(404, -1);
+          exchange.close();
+        });
+    server.start();
+    baseUrl = "http://localhost:" + server.getAddress().getPort();
+    prober = new AvailabilityProber(false);
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  void testStrategyValues() {
+    assertEquals(ProbeStrategy.TCP, ProbeStrategy.fromValue("tcp"));
+    assertEquals(ProbeStrategy.HEAD_FOLLOW, ProbeStrategy.fromValue(" Head-Follow "));
+    assertNull(ProbeStrategy.fromValue("ping"), "Unknown strategies should not parse");
+    assertNull(ProbeStrategy.fromValue(null), "Missing strategies should not parse");
+  }
+
+  @Test
+  void testDefaultStatusRules() {
+    assertTrue(AvailabilityProber.isAvailableStatus(200, null));
+    assertTrue(AvailabilityProber.isAvailableStatus(302, null));
+    assertTrue(AvailabilityProber.isAvailableStatus(401, null));
+    assertFalse(AvailabilityProber.isAvailableStatus(404, null));
+    assertFalse(AvailabilityProber.isAvailableStatus(503, null));
+    assertFalse(
+        AvailabilityProber.isAvailableStatus(302, 200), "Expected status should be exact match");
+  }
+
+  @Test
+  void testTcpProbe() throws Exception {
+    // Given
+    URI uri = URI.create(baseUrl + "/missing");
+
+    // When/Then - a TCP probe only needs the port to accept connections
+    assertNull(prober.probe(uri, ProbeStrategy.TCP, null, TIMEOUT));
+    assertNull(prober.probe(uri, ProbeStrategy.TLS, null, TIMEOUT), "Plain HTTP falls back to TCP");
+  }
+
+  @Test
+  void testTcpProbeConnectionRefused() throws Exception {
+    // Given - a port that nothing listens on
+    int port;
+    try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      port = socket.getLocalPort();
+    }
+    URI uri = URI.create("http://localhost:" + port + "/");
+
+    // When/Then
+    Exception error =
+        assertThrows(Exception.class, () -> prober.probe(uri, ProbeStrategy.TCP, null, TIMEOUT));
+    assertInstanceOf(ConnectException.class, error);
+    assertTrue(AvailabilityCheckService.isHostLevelFailure(error));
+  }
+
+  @Test
+  void testHeadWithoutRedirectsAcceptsRedirect() throws Exception {
+    // Given
+    URI uri = URI.create(baseUrl + "/redirect");
+
+    // When
+    String direct = prober.probe(uri, ProbeStrategy.HEAD, null, TIMEOUT);
+    String followed = prober.probe(uri, ProbeStrategy.HEAD_FOLLOW, null, TIMEOUT);
+
+    // Then
+    assertNull(direct, "A redirect should count as available without following it");
+    assertEquals("returned status code 404", followed, "Following should reach the 404");
+  }
+
+  @Test
+  void testGetWithExpectedStatusAndBodyPrefix() throws Exception {
+    // Given
+    URI uri = URI.create(baseUrl + "/ok");
+
+    // When/Then
+    assertNull(
+        prober.probe(
+            uri, ProbeStrategy.GET, new ProbeSpec("get", 200, "{\"status\":\"UP"), TIMEOUT));
+    assertNotNull(
+        prober.probe(
+            uri, ProbeStrategy.GET, new ProbeSpec("get", 200, "{\"status\":\"DOWN"), TIMEOUT),
+        "A body that does not match the prefix should be unavailable");
+    assertEquals(
+        "returned status code 200",
+        prober.probe(uri, ProbeStrategy.GET, new ProbeSpec("get", 204, null), TIMEOUT));
+  }
+
+  @Test
+  void testGetWithPrefixLongerThanBody() throws Exception {
+    // Given
+    URI uri = URI.create(baseUrl + "/ok");
+    ProbeSpec spec = new ProbeSpec("get", null, "{\"status\":\"UP\"} and more");
+
+    // When/Then
+    assertNotNull(prober.probe(uri, ProbeStrategy.GET, spec, TIMEOUT));
+  }
+}
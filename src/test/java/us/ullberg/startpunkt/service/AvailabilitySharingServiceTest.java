@@ -0,0 +1,62 @@
+package us.ullberg.startpunkt.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the ConfigMap encoding used by AvailabilitySharingService to share probe results
+ * of annotation-based applications between replicas.
+ */
+class AvailabilitySharingServiceTest {
+
+  @Test
+  void testEntryKeyIsStableAndValid() {
+    // When
+    String key = AvailabilitySharingService.entryKey("https://app.example.com/path?x=1");
+
+    // Then
+    assertEquals(key, AvailabilitySharingService.entryKey("https://app.example.com/path?x=1"));
+    assertNotEquals(key, AvailabilitySharingService.entryKey("https://app.example.com/other"));
+    assertTrue(key.startsWith(AvailabilitySharingService.ENTRY_PREFIX));
+    assertTrue(key.matches("[-._a-zA-Z0-9]+"), "Key should be a valid ConfigMap key: " + key);
+  }
+
+  @Test
+  void testEncodeDecodeRoundTrip() {
+    // Given
+    AvailabilitySharingService.SharedResult result =
+        new AvailabilitySharingService.SharedResult(
+            "https://app.example.com", false, 1_700_000_000_123L, 42L);
+
+    // When
+    String encoded = AvailabilitySharingService.encode(result);
+
+    // Then
+    assertTrue(encoded.contains("\"lastChecked\":\"2023-11-14T22:13:20.123Z\""), encoded);
+    assertEquals(result, AvailabilitySharingService.decode(encoded));
+  }
+
+  @Test
+  void testDecodeWithoutLatency() {
+    // When
+    AvailabilitySharingService.SharedResult result =
+        AvailabilitySharingService.decode(
+            "{\"url\":\"https://a\",\"available\":true,\"lastChecked\":\"2024-01-01T00:00:00Z\"}");
+
+    // Then
+    assertNotNull(result);
+    assertTrue(result.available());
+    assertNull(result.latencyMs(), "Missing latency should decode as null");
+  }
+
+  @Test
+  void testDecodeRejectsInvalidValues() {
+    assertNull(AvailabilitySharingService.decode("not json"));
+    assertNull(AvailabilitySharingService.decode("{\"url\":\"https://a\"}"));
+    assertNull(
+        AvailabilitySharingService.decode(
+            "{\"url\":\"https://a\",\"available\":true,\"lastChecked\":\"yesterday\"}"),
+        "Invalid timestamps should be rejected");
+  }
+}
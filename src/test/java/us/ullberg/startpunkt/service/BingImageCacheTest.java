@@ -0,0 +1,141 @@
+package us.ullberg.startpunkt.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for BingImageCache. Downloads from a local server standing in for Bing and checks
+ * deduplication, eviction by size and reuse of files across restarts.
+ */
+class BingImageCacheTest {
+
+  private static final int IMAGE_SIZE = 1000;
+
+  @TempDir Path directory;
+
+  private HttpServer server;
+  private HttpBingImageSource source;
+  private final List<String> requests = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(
+        "/th",
+        exchange -> {
+          String query = exchange.getRequestURI().getQuery();
+          requests.add(query);
+          if (query.contains("missing")) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+          }
+          byte[] body = new byte[IMAGE_SIZE];
+          exchange.sendResponseHeaders(200, body.length);
+          exchange.getResponseBody().write(body);
+          exchange.close();
+        });
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+    source = new HttpBingImageSource("http://localhost:" + server.getAddress().getPort());
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  void testImageDownloadedOnceAndServedFromDisk() throws Exception {
+    // Given
+    BingImageCache cache = new BingImageCache(source, Optional.of(directory.toString()), 10_000);
+    String name = cache.register("/th?id=OHR.Test_EN-US1", "1920x1080");
+
+    // When - several clients request the image at the same time, then once more
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<Optional<BingImageCache.CachedImage>>> results = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      results.add(executor.submit(() -> cache.get(name)));
+    }
+    for (Future<Optional<BingImageCache.CachedImage>> result : results) {
+      assertEquals(IMAGE_SIZE, result.get().orElseThrow().size());
+    }
+    executor.shutdown();
+    BingImageCache.CachedImage image = cache.get(name).orElseThrow();
+
+    // Then
+    assertEquals(List.of("id=OHR.Test_EN-US1_1920x1080.jpg"), requests);
+    assertEquals(IMAGE_SIZE, Files.size(image.path()));
+    assertEquals("\"" + name.replace(".jpg", "") + "\"", image.etag());
+    assertTrue(name.endsWith("_1920x1080.jpg"));
+  }
+
+  @Test
+  void testLeastRecentlyServedImageEvicted() throws IOException {
+    // Given - room for two images
+    BingImageCache cache = new BingImageCache(source, Optional.of(directory.toString()), 2500);
+    String first = cache.register("/th?id=OHR.First_EN-US1", "UHD");
+    String second = cache.register("/th?id=OHR.Second_EN-US1", "UHD");
+    String third = cache.register("/th?id=OHR.Third_EN-US1", "UHD");
+    cache.get(first);
+    cache.get(second);
+
+    // When - the first image is served again, then a third one is downloaded
+    cache.get(first);
+    cache.get(third);
+
+    // Then
+    assertEquals(2 * IMAGE_SIZE, cache.getTotalBytes());
+    assertTrue(Files.exists(directory.resolve(first)));
+    assertFalse(Files.exists(directory.resolve(second)), "Second image should be evicted");
+    assertTrue(Files.exists(directory.resolve(third)));
+  }
+
+  @Test
+  void testCachedImagesSurviveRestart() throws IOException {
+    // Given
+    BingImageCache cache = new BingImageCache(source, Optional.of(directory.toString()), 10_000);
+    String name = cache.register("/th?id=OHR.Test_EN-US1", "UHD");
+    cache.get(name);
+
+    // When - a new cache is created on the same directory, without registering the image
+    BingImageCache restarted =
+        new BingImageCache(source, Optional.of(directory.toString()), 10_000);
+
+    // Then
+    assertTrue(restarted.get(name).isPresent());
+    assertEquals(IMAGE_SIZE, restarted.getTotalBytes());
+    assertEquals(1, requests.size(), "Image should not be downloaded again");
+  }
+
+  @Test
+  void testUnknownAndFailedImages() {
+    // Given
+    BingImageCache cache = new BingImageCache(source, Optional.of(directory.toString()), 10_000);
+    String missing = cache.register("/th?id=OHR.missing_EN-US1", "UHD");
+
+    // When / Then
+    assertThrows(IOException.class, () -> cache.get(missing));
+    assertDoesNotThrow(
+        () -> assertTrue(cache.get(BingImageCache.fileName("/th?id=x", "UHD")).isEmpty()));
+    assertDoesNotThrow(() -> assertTrue(cache.get("../etc/passwd").isEmpty()));
+    assertEquals(0, cache.getTotalBytes());
+  }
+}
@@ -2,20 +2,58 @@ package us.ullberg.startpunkt.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import us.ullberg.startpunkt.objects.bingimage.BingImage;
 
 /**
  * Test class for BingImageService. Tests circuit breaker behavior and fallback mechanisms for Bing
- * API integration.
+ * API integration, and the prefetched archive.
  */
 @QuarkusTest
 class BingImageServiceTest {
 
+  private static final String ARCHIVE =
+      "{\"images\":["
+          + "{\"startdate\":\"20261018\",\"fullstartdate\":\"202610180700\","
+          + "\"urlbase\":\"/th?id=OHR.Today_EN-US1\",\"copyright\":\"c1\",\"title\":\"Today\"},"
+          + "{\"startdate\":\"20261017\",\"fullstartdate\":\"202610170700\","
+          + "\"urlbase\":\"/th?id=OHR.Yesterday_EN-US2\",\"copyright\":\"c2\","
+          + "\"title\":\"Yesterday\"}]}";
+
   @Inject BingImageService bingImageService;
 
+  /** Source standing in for Bing, failing when told to. */
+  private static final class StubSource implements BingImageSource {
+    boolean failing;
+    int requestedCount;
+
+    @Override
+    public String fetchArchive(int index, int count) throws IOException {
+      if (failing) {
+        throw new IOException("Bing is unreachable");
+      }
+      requestedCount = count;
+      return ARCHIVE;
+    }
+
+    @Override
+    public String imageUrl(String urlbase, String resolution) {
+      return "https://www.bing.com" + urlbase + "_" + resolution + ".jpg";
+    }
+
+    @Override
+    public void download(String urlbase, String resolution, Path target) throws IOException {
+      throw new IOException("Not used");
+    }
+  }
+
   @Test
   void testGetBingImageOfDay_returnsValidImage() {
     // Given - Valid screen dimensions
@@ -30,8 +68,8 @@ class BingImageServiceTest {
     assertNotNull(result.getImageUrl(), "Image URL should not be null");
     assertNotNull(result.getDate(), "Date should not be null");
     assertTrue(
-        result.getImageUrl().contains("bing.com"),
-        "Image URL should be from Bing: " + result.getImageUrl());
+        result.getImageUrl().startsWith("/api/bingimage/"),
+        "Image URL should be served by Startpunkt: " + result.getImageUrl());
   }
 
   @Test
@@ -146,7 +184,48 @@ class BingImageServiceTest {
           result, "Request " + i + " should return a valid BingImage (never throw exception)");
       assertNotNull(result.getImageUrl(), "Image URL should always be present");
       assertTrue(
-          result.getImageUrl().contains("bing.com"), "Should always be a Bing.com image URL");
+          result.getImageUrl().startsWith("/api/bingimage/"),
+          "Should always be a proxied Bing image URL");
     }
   }
+
+  @Test
+  void testParseArchive_newestFirstWithRollover() throws IOException {
+    // Given
+    BingImageService service = new BingImageService(new ObjectMapper(), new StubSource(), null);
+
+    // When
+    List<BingImageService.BingImageData> archive = service.parseArchive(ARCHIVE);
+
+    // Then
+    assertEquals(2, archive.size());
+    assertEquals("/th?id=OHR.Today_EN-US1", archive.get(0).urlbase());
+    assertEquals("20261017", archive.get(1).date());
+    assertEquals(Instant.parse("2026-10-18T07:00:00Z"), archive.get(0).start());
+    assertEquals(
+        Instant.parse("2026-10-19T07:00:00Z"),
+        BingImageService.nextRollover(archive.get(0).start()));
+    assertNull(BingImageService.nextRollover(null));
+  }
+
+  @Test
+  void testArchivedImageUsedWhenBingUnavailable() throws IOException {
+    // Given - the archive was fetched before Bing became unreachable
+    StubSource source = new StubSource();
+    BingImageService service = new BingImageService(new ObjectMapper(), source, null);
+    service.archiveDays = 8;
+    service.fetchBingImageData();
+    source.failing = true;
+
+    // When
+    BingImageService.BingImageData fallback = service.fetchBingImageDataFallback();
+    BingImage image = service.getBingImageOfDay(1920, 1080);
+
+    // Then - the newest real image is used instead of the configured fallback
+    assertEquals(8, source.requestedCount, "Whole archive should be requested");
+    assertEquals(2, service.getArchive().size());
+    assertEquals("Today", fallback.title());
+    assertEquals("https://www.bing.com/th?id=OHR.Today_EN-US1_1920x1080.jpg", image.getImageUrl());
+    assertEquals("20261018", image.getDate());
+  }
 }
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import io.fabric8.kubernetes.api.model.apiextensions.v1.CustomResourceDefinition;
 import io.fabric8.kubernetes.client.NamespacedKubernetesClient;
@@ -15,6 +16,7 @@ import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
 import jakarta.inject.Inject;
 import java.net.HttpURLConnection;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import us.ullberg.startpunkt.crd.v1alpha4.Bookmark;
@@ -290,4 +292,26 @@ class BookmarkServiceTest {
     assertNotNull(bookmarks);
     assertTrue(bookmarks.isEmpty(), "Should return empty list when no bookmarks exist");
   }
+
+  @Test
+  void testInformerResourcesMapLikeListedBookmarks() {
+    // Given - a Hajimari bookmark as delivered by its informer
+    GenericKubernetesResource resource = new GenericKubernetesResource();
+    resource.setMetadata(
+        new ObjectMetaBuilder().withName("hajimari-docs").withNamespace("Docs").build());
+    resource.setAdditionalProperty(
+        "spec", Map.of("name", "Docs", "url", "https://docs.example.com", "location", 0));
+
+    // When
+    List<BookmarkResponse> bookmarks = bookmarkService.toBookmarkResponses(List.of(resource));
+
+    // Then - the same defaults apply as for bookmarks listed from the cluster
+    assertEquals(1, bookmarks.size());
+    BookmarkResponse bookmark = bookmarks.get(0);
+    assertEquals("Docs", bookmark.getName());
+    assertEquals("docs", bookmark.getGroup(), "Group should default to the namespace");
+    assertEquals(1000, bookmark.getLocation(), "Location 0 should be normalized to 1000");
+    assertEquals("local", bookmark.getCluster());
+    assertEquals("hajimari-docs", bookmark.getResourceName());
+  }
 }
@@ -0,0 +1,71 @@
+package us.ullberg.startpunkt.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for BoundedFileCache. Files are keyed by their name and written below the temporary
+ * directory of each test.
+ */
+class BoundedFileCacheTest {
+
+  @TempDir Path directory;
+
+  private BoundedFileCache newCache(long maxBytes) {
+    return new BoundedFileCache(
+        "test file",
+        directory,
+        () -> maxBytes,
+        directory::resolve,
+        path -> path.toString().endsWith(".txt") ? path.toString() : null);
+  }
+
+  private static void write(BoundedFileCache cache, String key, int size) throws IOException {
+    cache.store(key, part -> Files.write(part, new byte[size]));
+  }
+
+  @Test
+  void testLeastRecentlyUsedFileEvictedButNeverTheNewOne() throws IOException {
+    // Given
+    BoundedFileCache cache = newCache(250);
+    write(cache, "first.txt", 100);
+    write(cache, "second.txt", 100);
+
+    // When - the first file is used, and a file larger than the limit is written
+    assertEquals(100L, cache.touch("first.txt"));
+    write(cache, "third.txt", 100);
+    write(cache, "huge.txt", 300);
+
+    // Then
+    assertNull(cache.touch("first.txt"));
+    assertNull(cache.touch("second.txt"));
+    assertNull(cache.touch("third.txt"));
+    assertEquals(300L, cache.touch("huge.txt"));
+    assertEquals(300, cache.getTotalBytes());
+    assertTrue(Files.exists(directory.resolve("huge.txt")));
+    assertFalse(Files.exists(directory.resolve("first.txt")));
+  }
+
+  @Test
+  void testLoadKeepsFilesAndRemovesInterruptedWrites() throws IOException {
+    // Given - a file written before a restart, and one whose write was interrupted
+    write(newCache(1000), "kept.txt", 100);
+    Files.write(directory.resolve("lost.txt1234.part"), new byte[50]);
+    Files.write(directory.resolve("other.dat"), new byte[50]);
+
+    // When
+    BoundedFileCache restarted = newCache(1000);
+    restarted.load();
+
+    // Then
+    assertEquals(100L, restarted.touch("kept.txt"));
+    assertEquals(100, restarted.getTotalBytes());
+    assertFalse(Files.exists(directory.resolve("lost.txt1234.part")));
+    assertTrue(Files.exists(directory.resolve("other.dat")), "Unrelated files should be left");
+  }
+}
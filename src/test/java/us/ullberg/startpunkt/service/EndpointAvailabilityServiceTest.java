@@ -0,0 +1,70 @@
+package us.ullberg.startpunkt.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointBuilder;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointSlice;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointSliceBuilder;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for EndpointAvailabilityService. Tests mapping EndpointSlices to services and
+ * evaluating endpoint readiness.
+ */
+class EndpointAvailabilityServiceTest {
+
+  private EndpointSlice slice(Boolean... readiness) {
+    EndpointSliceBuilder builder =
+        new EndpointSliceBuilder()
+            .withNewMetadata()
+            .withName("web-abc12")
+            .withNamespace("apps")
+            .addToLabels(EndpointAvailabilityService.SERVICE_NAME_LABEL, "web")
+            .endMetadata()
+            .withAddressType("IPv4");
+    for (Boolean ready : readiness) {
+      builder.addToEndpoints(
+          new EndpointBuilder()
+              .withAddresses(List.of("10.0.0.1"))
+              .withNewConditions()
+              .withReady(ready)
+              .endConditions()
+              .build());
+    }
+    return builder.build();
+  }
+
+  @Test
+  void testGetServiceKeyFromLabel() {
+    assertEquals(
+        "apps/web",
+        EndpointAvailabilityService.getServiceKey(slice(true)),
+        "Service key should combine namespace and service name label");
+  }
+
+  @Test
+  void testGetServiceKeyWithoutLabel() {
+    EndpointSlice unowned =
+        new EndpointSliceBuilder()
+            .withNewMetadata()
+            .withName("custom")
+            .withNamespace("apps")
+            .endMetadata()
+            .build();
+
+    assertNull(
+        EndpointAvailabilityService.getServiceKey(unowned),
+        "Slices without a service label should not map to a service");
+  }
+
+  @Test
+  void testHasReadyEndpoint() {
+    assertTrue(EndpointAvailabilityService.hasReadyEndpoint(slice(false, true)), "One ready");
+    assertFalse(EndpointAvailabilityService.hasReadyEndpoint(slice(false, false)), "None ready");
+    assertFalse(EndpointAvailabilityService.hasReadyEndpoint(slice()), "No endpoints");
+    assertTrue(
+        EndpointAvailabilityService.hasReadyEndpoint(slice((Boolean) null)),
+        "Unknown readiness should be treated as ready");
+  }
+}
@@ -2,9 +2,15 @@ package us.ullberg.startpunkt.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.Test;
 
 @QuarkusTest
@@ -267,4 +273,56 @@ class I8nServiceTest {
     assertNotNull(translation, "Translation should fallback to default");
     assertTrue(translation.contains("{"), "Translation should be valid JSON");
   }
+
+  @Test
+  void testMissingKeysFallBackToDefaultLanguage() throws IOException {
+    // When
+    JsonNode translation = new ObjectMapper().readTree(service.getTranslation("sv-SE"));
+
+    // Then - translated keys are kept, keys missing from sv-SE come from en-US
+    assertEquals("Program", translation.at("/home/applications").asText());
+    assertEquals("Edit Mode", translation.at("/layout/editMode").asText());
+  }
+
+  @Test
+  void testBundleIsPrecomputed() throws IOException {
+    // When
+    I8nService.Translation first = service.getBundle("en-US");
+    I8nService.Translation second = service.getBundle("en-US");
+    I8nService.Translation swedish = service.getBundle("sv-SE");
+
+    // Then
+    assertSame(first, second, "Translations should be loaded once");
+    assertNotEquals(first.etag(), swedish.etag());
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(first.gzip()))) {
+      assertArrayEquals(first.body(), gzip.readAllBytes());
+    }
+    assertSame(first, service.getBundle("xx-YY"), "Missing languages should use the default");
+  }
+
+  @Test
+  void testAllTranslationsAreLoadedAtStartup() throws IOException {
+    // When - languages without a translation are requested
+    service.getBundle("xx-YY");
+    service.getBundle("de");
+
+    // Then - only the translations on the classpath are kept
+    assertEquals(Set.of("en-US", "sv-SE"), service.getLanguages());
+  }
+
+  @Test
+  void testMergeCountsMissingKeys() throws IOException {
+    // Given
+    ObjectMapper mapper = new ObjectMapper();
+    ObjectNode defaults =
+        (ObjectNode) mapper.readTree("{\"a\":\"A\",\"b\":{\"c\":\"C\",\"d\":\"D\"}}");
+    ObjectNode translation = (ObjectNode) mapper.readTree("{\"b\":{\"c\":\"X\"},\"e\":\"E\"}");
+
+    // When
+    int missing = I8nService.merge(defaults, translation);
+
+    // Then
+    assertEquals(2, missing);
+    assertEquals("{\"a\":\"A\",\"b\":{\"c\":\"X\",\"d\":\"D\"},\"e\":\"E\"}", defaults.toString());
+  }
 }
@@ -0,0 +1,88 @@
+package us.ullberg.startpunkt.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for IconCatalog, loading collections from a directory laid out like @iconify/json. */
+class IconCatalogTest {
+
+  private static final String MDI =
+      "{\"prefix\":\"mdi\",\"info\":{\"name\":\"Material Design Icons\",\"total\":5},"
+          + "\"icons\":{\"home\":{\"body\":\"<path d='M1'/>\"},"
+          + "\"home-outline\":{\"body\":\"<path/>\"},\"account-home\":{\"body\":\"<path/>\"},"
+          + "\"kubernetes\":{\"body\":\"<path/>\"},"
+          + "\"old-home\":{\"body\":\"<path/>\",\"hidden\":true}},"
+          + "\"aliases\":{\"house\":{\"parent\":\"home\"}},\"width\":24,\"height\":24}";
+
+  private static final String TABLER =
+      "{\"prefix\":\"tabler\",\"info\":{\"total\":3},"
+          + "\"icons\":{\"home\":{\"body\":\"<path/>\"},\"smart-home\":{\"body\":\"<path/>\"},"
+          + "\"brand-github\":{\"body\":\"<path/>\"}}}";
+
+  @TempDir Path directory;
+
+  private IconCatalog catalog;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    Files.createDirectories(directory.resolve("json"));
+    Files.writeString(directory.resolve("json/mdi.json"), MDI, StandardCharsets.UTF_8);
+    Files.writeString(directory.resolve("json/tabler.json"), TABLER, StandardCharsets.UTF_8);
+    Files.writeString(directory.resolve("collections.json"), "{\"mdi\":{}}");
+    catalog = new IconCatalog(Optional.of(directory.toString()), Optional.empty(), List.of("mdi"));
+    catalog.load();
+  }
+
+  @Test
+  void testLoadsVisibleIconsAndAliases() {
+    // Then - 4 visible mdi icons and 1 alias, 3 tabler icons
+    assertEquals(8, catalog.size());
+    assertEquals(0, catalog.search("old", 10).total(), "Hidden icons should be left out");
+    assertEquals(List.of("mdi:house"), catalog.search("house", 10).icons());
+  }
+
+  @Test
+  void testRanksByMatchThenPopularity() {
+    // When
+    IconCatalog.SearchResult result = catalog.search("home", 10);
+
+    // Then - exact matches first, popular collection first, then prefix and word matches
+    assertEquals(5, result.total());
+    assertEquals(
+        List.of(
+            "mdi:home",
+            "tabler:home",
+            "mdi:home-outline",
+            "mdi:account-home",
+            "tabler:smart-home"),
+        result.icons());
+  }
+
+  @Test
+  void testPrefixShortTermsAndSeveralWords() {
+    assertEquals(
+        List.of("tabler:home", "tabler:smart-home"), catalog.search("tabler:home", 10).icons());
+    assertEquals(List.of("mdi:kubernetes"), catalog.search("k", 10).icons());
+    assertEquals(List.of("tabler:brand-github"), catalog.search("github brand", 10).icons());
+    assertEquals(List.of("mdi:home-outline"), catalog.search("Home Outline", 10).icons());
+    assertEquals(5, catalog.search("mdi:", 2).total());
+    assertEquals(2, catalog.search("home", 2).icons().size());
+    assertEquals(0, catalog.search("nothing", 10).total());
+  }
+
+  @Test
+  void testEmptyUntilLoaded() {
+    IconCatalog empty = new IconCatalog(Optional.empty(), Optional.empty(), List.of());
+    assertEquals(0, empty.size());
+    assertEquals(0, empty.search("home", 10).total());
+  }
+}
@@ -0,0 +1,219 @@
+package us.ullberg.startpunkt.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import us.ullberg.startpunkt.objects.ApplicationResponse;
+
+/**
+ * Unit tests for IconService. Resolves icons from a local catalog and from a local server standing
+ * in for the Iconify API, and checks caching and the icon bundle.
+ */
+class IconServiceTest {
+
+  private static final String MDI =
+      "{\"prefix\":\"mdi\",\"width\":24,\"height\":24,"
+          + "\"icons\":{\"home\":{\"body\":\"<path d=\\\"M1\\\"/>\"},"
+          + "\"arrow\":{\"body\":\"<path d=\\\"M2\\\"/>\",\"width\":20}},"
+          + "\"aliases\":{\"house\":{\"parent\":\"home\"},"
+          + "\"arrow-left\":{\"parent\":\"arrow\",\"hFlip\":true},"
+          + "\"arrow-down\":{\"parent\":\"arrow\",\"rotate\":1}}}";
+
+  private static final String REMOTE =
+      "{\"prefix\":\"logos\","
+          + "\"icons\":{\"github\":{\"body\":\"<g/>\",\"width\":32,\"height\":32}}}";
+
+  @TempDir Path directory;
+
+  private HttpServer server;
+  private final List<String> remoteRequests = new CopyOnWriteArrayList<>();
+  private ApplicationCacheService applications;
+  private IconService service;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(
+        "/logos.json",
+        exchange -> {
+          remoteRequests.add(exchange.getRequestURI().getQuery());
+          byte[] body = REMOTE.getBytes(StandardCharsets.UTF_8);
+          exchange.sendResponseHeaders(200, body.length);
+          exchange.getResponseBody().write(body);
+          exchange.close();
+        });
+    server.createContext(
+        "/broken.json",
+        exchange -> {
+          remoteRequests.add(exchange.getRequestURI().getQuery());
+          exchange.sendResponseHeaders(503, -1);
+          exchange.close();
+        });
+    server.start();
+
+    Path catalogDirectory = Files.createDirectories(directory.resolve("catalog"));
+    Files.writeString(catalogDirectory.resolve("mdi.json"), MDI, StandardCharsets.UTF_8);
+    IconCatalog catalog =
+        new IconCatalog(Optional.of(catalogDirectory.toString()), Optional.empty(), List.of());
+    catalog.load();
+    applications = new ApplicationCacheService();
+    service = newService(catalog);
+  }
+
+  private IconService newService(IconCatalog catalog) {
+    IconService service =
+        new IconService(
+            catalog,
+            applications,
+            new BookmarkCacheService(),
+            new ObjectMapper(),
+            Optional.of(directory.resolve("cache").toString()));
+    service.remoteEnabled = true;
+    service.remoteUrl = "http://localhost:" + server.getAddress().getPort();
+    service.maxMemoryBytes = 1_000_000;
+    service.maxDiskBytes = 1_000_000;
+    service.bundleIncludes = List.of("mdi:house");
+    return service;
+  }
+
+  private static ApplicationResponse app(String icon, String url) {
+    ApplicationResponse app = new ApplicationResponse();
+    app.setName("app");
+    app.setNamespace("default");
+    app.setResourceName("app");
+    app.setCluster("local");
+    app.setIcon(icon);
+    app.setUrl(url);
+    return app;
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  void testAliasesAndTransformations() throws IOException {
+    // Given
+    JsonNode collection = new ObjectMapper().readTree(MDI);
+
+    // When
+    Map<String, IconService.IconData> icons =
+        IconService.extract(collection, List.of("house", "arrow-left", "arrow-down", "missing"));
+
+    // Then
+    assertEquals(
+        new IconService.IconData("<path d=\"M1\"/>", 0, 0, 24, 24), icons.get("house"));
+    assertEquals(
+        "<g transform=\"translate(20 0) scale(-1 1)\"><path d=\"M2\"/></g>",
+        icons.get("arrow-left").body());
+    IconService.IconData down = icons.get("arrow-down");
+    assertEquals("<g transform=\"rotate(90 12 12)\"><path d=\"M2\"/></g>", down.body());
+    assertEquals(24, down.width(), "Quarter turns swap width and height");
+    assertEquals(20, down.height());
+    assertFalse(icons.containsKey("missing"));
+    assertEquals(
+        "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"1em\" height=\"1em\""
+            + " viewBox=\"0 0 24 24\"><path d=\"M1\"/></svg>",
+        IconService.toSvg(icons.get("house")));
+  }
+
+  @Test
+  void testResolvesFromCatalogThenRemoteAndCaches() {
+    // When
+    Map<String, IconService.IconData> first =
+        service.resolve(List.of("mdi:home", "logos:github", "logos:unknown", "https://x/y.png"));
+    Map<String, IconService.IconData> second =
+        service.resolve(List.of("mdi:home", "logos:github", "logos:unknown"));
+
+    // Then - one remote request for the missing icons, and none once they are cached
+    assertEquals(Set.of("mdi:home", "logos:github"), first.keySet());
+    assertEquals(first, second);
+    assertEquals(List.of("icons=github,unknown"), remoteRequests);
+    assertEquals(32, first.get("logos:github").width());
+  }
+
+  @Test
+  void testFailedRemoteLookupIsRetried() {
+    // When - the Iconify API fails, then the icon is requested again
+    Map<String, IconService.IconData> first = service.resolve(List.of("broken:icon"));
+    Map<String, IconService.IconData> second = service.resolve(List.of("broken:icon"));
+
+    // Then - a failure is not an answer, so the icon is not remembered as missing
+    assertTrue(first.isEmpty());
+    assertTrue(second.isEmpty());
+    assertEquals(List.of("icons=icon", "icons=icon"), remoteRequests);
+  }
+
+  @Test
+  void testDiskCacheSurvivesRestart() {
+    // Given
+    service.resolve(List.of("logos:github"));
+
+    // When - a new service without catalog or remote uses the same cache directory
+    IconService restarted =
+        newService(new IconCatalog(Optional.empty(), Optional.empty(), List.of()));
+    restarted.remoteEnabled = false;
+
+    // Then
+    assertTrue(restarted.getSvg("logos:github").isPresent());
+    assertEquals(1, remoteRequests.size());
+  }
+
+  @Test
+  void testBundleRebuiltWhenIconsChange() throws IOException {
+    // Given
+    applications.put(app("mdi:home", "https://app"));
+
+    // When - the URL of the application changes, then its icon
+    IconService.Bundle first = service.getBundle();
+    applications.put(app("mdi:home", "https://app.example.com"));
+    IconService.Bundle sameIcons = service.getBundle();
+    applications.put(app("logos:github", "https://app.example.com"));
+    IconService.Bundle changed = service.getBundle();
+
+    // Then
+    JsonNode collections = new ObjectMapper().readTree(first.body());
+    assertEquals("mdi", collections.get(0).get("prefix").asText());
+    assertTrue(collections.get(0).get("icons").has("home"));
+    assertTrue(collections.get(0).get("icons").has("house"), "Included icons should be bundled");
+    assertNotEquals(first.version(), sameIcons.version());
+    assertSame(first.body(), sameIcons.body(), "Same icons should reuse the encoded bundle");
+    assertNotEquals(first.etag(), changed.etag());
+    assertTrue(new String(changed.body(), StandardCharsets.UTF_8).contains("\"logos\""));
+  }
+
+  @Test
+  void testBundleRebuiltAfterFailedLookup() throws IOException {
+    // Given - the icon of the application cannot be fetched, as the remote fails
+    applications.put(app("broken:icon", "https://app"));
+    IconService.Bundle failed = service.getBundle();
+
+    // When - a change that leaves the icons alone
+    applications.put(app("broken:icon", "https://app.example.com"));
+    IconService.Bundle retried = service.getBundle();
+
+    // Then - the icon is looked up again instead of reusing the incomplete bundle
+    assertFalse(failed.complete());
+    assertEquals(Set.of("mdi:house"), failed.resolved());
+    assertEquals(List.of("icons=icon", "icons=icon"), remoteRequests);
+    assertFalse(retried.complete());
+  }
+}
@@ -0,0 +1,100 @@
+package us.ullberg.startpunkt.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.fabric8.kubernetes.api.model.Status;
+import io.fabric8.kubernetes.api.model.StatusBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.kubernetes.client.KubernetesServer;
+import io.quarkus.test.kubernetes.client.KubernetesTestServer;
+import io.quarkus.test.kubernetes.client.WithKubernetesTestServer;
+import java.net.HttpURLConnection;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import us.ullberg.startpunkt.objects.ApplicationResponse;
+import us.ullberg.startpunkt.objects.kubernetes.IngressApplicationWrapper;
+
+/**
+ * Test class for loading the partitions of the application cache in KubernetesInformerService. A
+ * source whose resources cannot be listed keeps its last-known-good applications.
+ */
+@QuarkusTest
+@WithKubernetesTestServer
+class KubernetesInformerServiceTest {
+
+  private static final String PARTITION = "local/IngressApplicationWrapper";
+
+  @KubernetesTestServer KubernetesServer server;
+
+  private ApplicationCacheService applicationCacheService;
+  private KubernetesInformerService informerService;
+
+  @BeforeEach
+  void setUp() {
+    applicationCacheService = new ApplicationCacheService();
+    informerService =
+        new KubernetesInformerService(
+            server.getClient(),
+            null,
+            applicationCacheService,
+            new BookmarkCacheService(),
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            new SimpleMeterRegistry());
+  }
+
+  private static ApplicationResponse app(String name) {
+    ApplicationResponse app = new ApplicationResponse();
+    app.setName(name);
+    app.setGroup("group");
+    app.setUrl("https://" + name + ".example.com");
+    app.setNamespace("default");
+    app.setResourceName(name);
+    app.setCluster("local");
+    return app;
+  }
+
+  @Test
+  void testFailedListingKeepsLastKnownGoodApplications() {
+    // Given - the partition was loaded before, and listing ingresses is now forbidden
+    applicationCacheService.replacePartition(PARTITION, List.of(app("first"), app("second")));
+    Status forbidden =
+        new StatusBuilder()
+            .withCode(HttpURLConnection.HTTP_FORBIDDEN)
+            .withReason("Forbidden")
+            .withMessage("ingresses is forbidden")
+            .build();
+    server
+        .expect()
+        .get()
+        .withPath("/apis/networking.k8s.io/v1/namespaces/default/ingresses")
+        .andReturn(HttpURLConnection.HTTP_FORBIDDEN, forbidden)
+        .always();
+
+    // When
+    int loaded =
+        informerService.loadApplicationWrapper(
+            new IngressApplicationWrapper(false),
+            server.getClient(),
+            false,
+            List.of("default"),
+            "local");
+
+    // Then - the applications are kept and the partition is reported as stale
+    assertEquals(0, loaded);
+    assertEquals(2, applicationCacheService.size(), "Last-known-good applications should be kept");
+    PartitionStatus status =
+        applicationCacheService.getPartitionStatuses().stream()
+            .filter(partition -> partition.partition().equals(PARTITION))
+            .findFirst()
+            .orElseThrow();
+    assertTrue(status.stale(), "The failed partition should be reported as stale");
+    assertEquals(2, status.size());
+  }
+}
@@ -0,0 +1,99 @@
+package us.ullberg.startpunkt.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ProbeStatistics. Tests histogram bucketing, percentile calculation, histogram
+ * rotation and the rolling 24 hour uptime window.
+ */
+class ProbeStatisticsTest {
+
+  private static final long HOUR = 3_600_000L;
+  private static final long START = 100 * 24 * HOUR;
+
+  @Test
+  void testBucketBoundsCoverValues() {
+    // Every value maps to a bucket whose upper bound is not below the value and within ~12.5%
+    for (long value = 0; value < 200_000; value += 7) {
+      int index = ProbeStatistics.bucketIndex(value);
+      long upper = ProbeStatistics.bucketUpperBound(index);
+      assertTrue(upper >= value, "Upper bound " + upper + " should cover " + value);
+      assertTrue(
+          upper <= Math.max(value, 15) * 1.125 + 1,
+          "Upper bound " + upper + " should be close to " + value);
+    }
+  }
+
+  @Test
+  void testHugeValuesAreClamped() {
+    assertEquals(
+        ProbeStatistics.BUCKETS - 1,
+        ProbeStatistics.bucketIndex(Long.MAX_VALUE),
+        "Values beyond the range should land in the last bucket");
+    assertEquals(0, ProbeStatistics.bucketIndex(-5), "Negative values should land in bucket 0");
+  }
+
+  @Test
+  void testPercentilesWithoutSamplesAreNull() {
+    ProbeStatistics statistics = new ProbeStatistics();
+
+    assertNull(statistics.getPercentile(50, START), "No samples should yield no percentile");
+    assertNull(statistics.getUptime(START), "No probes should yield no uptime");
+  }
+
+  @Test
+  void testPercentiles() {
+    // Given - 90 fast responses and 10 slow ones
+    ProbeStatistics statistics = new ProbeStatistics();
+    for (int i = 0; i < 90; i++) {
+      statistics.recordLatency(10, START);
+    }
+    for (int i = 0; i < 10; i++) {
+      statistics.recordLatency(1000, START);
+    }
+
+    // Then
+    assertEquals(10L, statistics.getPercentile(50, START), "Median should be the fast response");
+    long p95 = statistics.getPercentile(95, START);
+    assertTrue(p95 >= 1000 && p95 < 1125, "P95 should be the slow response, was " + p95);
+  }
+
+  @Test
+  void testHistogramRotationForgetsOldSamples() {
+    // Given
+    ProbeStatistics statistics = new ProbeStatistics();
+    statistics.recordLatency(2000, START);
+
+    // When - One rotation keeps the previous hour, two rotations drop it
+    assertNotNull(statistics.getPercentile(50, START + HOUR + 1), "Previous hour should remain");
+    statistics.recordLatency(5, START + 2 * HOUR + 2);
+
+    // Then
+    assertEquals(
+        5L, statistics.getPercentile(99, START + 2 * HOUR + 2), "Old samples should be dropped");
+  }
+
+  @Test
+  void testUptimeOverRollingWindow() {
+    // Given - One failure and three successes in the first hour
+    ProbeStatistics statistics = new ProbeStatistics();
+    statistics.recordOutcome(false, START);
+    statistics.recordOutcome(true, START);
+    statistics.recordOutcome(true, START);
+    statistics.recordOutcome(true, START);
+
+    // Then
+    assertEquals(75.0, statistics.getUptime(START), 0.001, "Uptime should be 75%");
+    assertEquals(
+        75.0, statistics.getUptime(START + 23 * HOUR), 0.001, "Hour should count for 24 hours");
+    assertNull(statistics.getUptime(START + 24 * HOUR), "Hour should expire after 24 hours");
+
+    // When - A success a day later reuses the slot
+    statistics.recordOutcome(true, START + 24 * HOUR);
+
+    // Then
+    assertEquals(100.0, statistics.getUptime(START + 24 * HOUR), 0.001, "Slot should be reset");
+  }
+}
@@ -0,0 +1,153 @@
+package us.ullberg.startpunkt.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.net.URL;
+import java.net.http.WebSocket;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import us.ullberg.startpunkt.config.ClusterConfig;
+import us.ullberg.startpunkt.messaging.EventBroadcaster;
+import us.ullberg.startpunkt.objects.ApplicationResponse;
+import us.ullberg.startpunkt.objects.BookmarkResponse;
+
+/**
+ * Integration test for the GraphQL subscriptions of RemoteStartpunktClient. The client subscribes
+ * to the GraphQL endpoint of the running application, which stands in for a remote instance.
+ */
+@QuarkusTest
+class RemoteStartpunktClientSubscriptionTest {
+
+  @Inject RemoteStartpunktClient remoteStartpunktClient;
+
+  @Inject EventBroadcaster eventBroadcaster;
+
+  @TestHTTPResource("/graphql")
+  URL graphqlUrl;
+
+  @Test
+  void testApplicationEventsArePushed() throws Exception {
+    // Given
+    CountDownLatch subscribed = new CountDownLatch(1);
+    BlockingQueue<ApplicationResponse> received = new LinkedBlockingQueue<>();
+    RemoteStartpunktClient.SubscriptionListener listener =
+        new RemoteStartpunktClient.SubscriptionListener() {
+          @Override
+          public void subscribed() {
+            subscribed.countDown();
+          }
+
+          @Override
+          public void applicationEvent(String type, ApplicationResponse application) {
+            if ("ADDED".equals(type) && "pushed".equals(application.getName())) {
+              received.add(application);
+            }
+          }
+
+          @Override
+          public void bookmarkEvent(String type, BookmarkResponse bookmark) {}
+
+          @Override
+          public void disconnected(String reason) {}
+        };
+    ClusterConfig config = new ClusterConfig("remote", graphqlUrl.toString(), true);
+    WebSocket webSocket =
+        remoteStartpunktClient.subscribe(config, "remote", listener).get(10, TimeUnit.SECONDS);
+
+    try {
+      assertTrue(subscribed.await(10, TimeUnit.SECONDS), "Connection should be acknowledged");
+
+      // When - an application is added on the "remote"; the subscription is registered
+      // asynchronously, so keep broadcasting until the first event arrives
+      ApplicationResponse application = new ApplicationResponse();
+      application.setName("pushed");
+      application.setGroup("remote-group");
+      application.setUrl("https://pushed.example.com");
+      application.setNamespace("default");
+      application.setResourceName("pushed");
+      ApplicationResponse event = null;
+      for (int attempt = 0; attempt < 20 && event == null; attempt++) {
+        eventBroadcaster.broadcastApplicationAdded(application);
+        event = received.poll(500, TimeUnit.MILLISECONDS);
+      }
+
+      // Then
+      assertNotNull(event, "The added application should be pushed to the subscriber");
+      assertEquals("remote", event.getCluster(), "Cluster name should be overridden");
+      assertEquals("https://pushed.example.com", event.getUrl());
+    } finally {
+      webSocket.abort();
+    }
+  }
+
+  @Test
+  void testUpdatesOfDifferentApplicationsWithinDebounceWindowArePushed() throws Exception {
+    // Given
+    CountDownLatch subscribed = new CountDownLatch(1);
+    BlockingQueue<String> added = new LinkedBlockingQueue<>();
+    BlockingQueue<String> updated = new LinkedBlockingQueue<>();
+    RemoteStartpunktClient.SubscriptionListener listener =
+        new RemoteStartpunktClient.SubscriptionListener() {
+          @Override
+          public void subscribed() {
+            subscribed.countDown();
+          }
+
+          @Override
+          public void applicationEvent(String type, ApplicationResponse application) {
+            if ("ADDED".equals(type)) {
+              added.add(application.getName());
+            } else if ("UPDATED".equals(type)) {
+              updated.add(application.getName());
+            }
+          }
+
+          @Override
+          public void bookmarkEvent(String type, BookmarkResponse bookmark) {}
+
+          @Override
+          public void disconnected(String reason) {}
+        };
+    ClusterConfig config = new ClusterConfig("remote", graphqlUrl.toString(), true);
+    WebSocket webSocket =
+        remoteStartpunktClient.subscribe(config, "remote", listener).get(10, TimeUnit.SECONDS);
+
+    try {
+      assertTrue(subscribed.await(10, TimeUnit.SECONDS), "Connection should be acknowledged");
+
+      // The subscription is registered asynchronously, so wait until an event arrives
+      String event = null;
+      for (int attempt = 0; attempt < 20 && event == null; attempt++) {
+        eventBroadcaster.broadcastApplicationAdded(application("ready"));
+        event = added.poll(500, TimeUnit.MILLISECONDS);
+      }
+      assertNotNull(event, "The subscription should be registered");
+
+      // When - two applications are updated on the "remote" within the debounce window
+      eventBroadcaster.broadcastApplicationUpdated(application("first"));
+      eventBroadcaster.broadcastApplicationUpdated(application("second"));
+
+      // Then - neither update is hidden by the other
+      assertEquals("first", updated.poll(10, TimeUnit.SECONDS));
+      assertEquals("second", updated.poll(10, TimeUnit.SECONDS));
+    } finally {
+      webSocket.abort();
+    }
+  }
+
+  private static ApplicationResponse application(String name) {
+    ApplicationResponse application = new ApplicationResponse();
+    application.setName(name);
+    application.setGroup("remote-group");
+    application.setUrl("https://" + name + ".example.com");
+    application.setNamespace("default");
+    application.setResourceName(name);
+    return application;
+  }
+}
@@ -0,0 +1,304 @@
+package us.ullberg.startpunkt.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import us.ullberg.startpunkt.config.ClusterConfig;
+import us.ullberg.startpunkt.objects.ApplicationResponse;
+import us.ullberg.startpunkt.objects.BookmarkResponse;
+import us.ullberg.startpunkt.sync.SyncFormat;
+
+/**
+ * Unit tests for RemoteStartpunktClient. Fetches from a local HTTP server and checks gzip decoding,
+ * concurrent fetches, the per-remote circuit breaker and the binary sync endpoint.
+ */
+class RemoteStartpunktClientTest {
+
+  private static final String APPLICATIONS =
+      "{\"data\":{\"applicationGroups\":[{\"name\":\"g\",\"applications\":["
+          + "{\"name\":\"one\",\"group\":\"g\",\"url\":\"https://one\"},"
+          + "{\"name\":\"two\",\"group\":\"g\",\"url\":\"https://two\"}]}]}}";
+
+  private static final String BOOKMARKS =
+      "{\"data\":{\"bookmarkGroups\":[{\"name\":\"g\",\"bookmarks\":["
+          + "{\"name\":\"docs\",\"group\":\"g\",\"url\":\"https://docs\"}]}]}}";
+
+  private static final String UNSUPPORTED =
+      "{\"errors\":[{\"message\":\"Validation error (FieldUndefined@[%1$s]) :"
+          + " Field '%1$s' in type 'Query' is undefined\"}],\"data\":null}";
+
+  private static final String FULL_CHANGES =
+      "{\"data\":{\"applicationChanges\":{\"version\":\"e-1\",\"full\":true,\"changed\":["
+          + "{\"name\":\"one\",\"namespace\":\"ns\",\"resourceName\":\"one\"},"
+          + "{\"name\":\"two\",\"namespace\":\"ns\",\"resourceName\":\"two\"}],"
+          + "\"removed\":[]}}}";
+
+  private static final String DELTA_CHANGES =
+      "{\"data\":{\"applicationChanges\":{\"version\":\"e-2\",\"full\":false,\"changed\":["
+          + "{\"name\":\"three\",\"namespace\":\"ns\",\"resourceName\":\"three\"}],"
+          + "\"removed\":[{\"namespace\":\"ns\",\"resourceName\":\"one\"}]}}}";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private HttpServer server;
+  private final List<String> incrementalRequests = new CopyOnWriteArrayList<>();
+  private final List<String> binaryRequests = new CopyOnWriteArrayList<>();
+  private final AtomicInteger failingRequests = new AtomicInteger();
+  private String baseUrl;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(
+        "/graphql",
+        exchange -> {
+          String request =
+              new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+          // Behave like a remote that predates the incremental queries
+          String body =
+              request.contains("Changes")
+                  ? UNSUPPORTED.formatted(
+                      request.contains("bookmarkChanges")
+                          ? "bookmarkChanges"
+                          : "applicationChanges")
+                  : request.contains("bookmarkGroups") ? BOOKMARKS : APPLICATIONS;
+          ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+          try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+          }
+          exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+          exchange.sendResponseHeaders(200, compressed.size());
+          exchange.getResponseBody().write(compressed.toByteArray());
+          exchange.close();
+        });
+    server.createContext(
+        "/incremental",
+        exchange -> {
+          String request =
+              new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+          incrementalRequests.add(request);
+          byte[] body =
+              (request.contains("\"e-1\"") ? DELTA_CHANGES : FULL_CHANGES)
+                  .getBytes(StandardCharsets.UTF_8);
+          exchange.sendResponseHeaders(200, body.length);
+          exchange.getResponseBody().write(body);
+          exchange.close();
+        });
+    server.createContext(
+        "/binary/api/sync/applications",
+        exchange -> {
+          String query = exchange.getRequestURI().getRawQuery();
+          binaryRequests.add(query == null ? "" : query);
+          CacheChanges<ApplicationResponse> changes =
+              "since=e-1".equals(query)
+                  ? new CacheChanges<>("e-2", false, List.of(app("three")), List.of(app("one")))
+                  : new CacheChanges<>("e-1", true, List.of(app("one"), app("two")), List.of());
+          byte[] body = SyncFormat.encodeApplications(changes);
+          exchange.getResponseHeaders().add("Content-Type", SyncFormat.MEDIA_TYPE);
+          exchange.sendResponseHeaders(200, body.length);
+          exchange.getResponseBody().write(body);
+          exchange.close();
+        });
+    server.createContext(
+        "/failing",
+        exchange -> {
+          failingRequests.incrementAndGet();
+          exchange.sendResponseHeaders(503, -1);
+          exchange.close();
+        });
+    server.start();
+    baseUrl = "http://localhost:" + server.getAddress().getPort();
+  }
+
+  private static ApplicationResponse app(String name) {
+    ApplicationResponse app = new ApplicationResponse();
+    app.setName(name);
+    app.setUrl("https://" + name);
+    app.setNamespace("ns");
+    app.setResourceName(name);
+    app.setCluster("upstream");
+    return app;
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  void testFetchDecodesGzipResponses() {
+    // Given
+    RemoteStartpunktClient client =
+        new RemoteStartpunktClient(
+            Duration.ofSeconds(5), 3, Duration.ofMinutes(1), false, meterRegistry);
+    ClusterConfig config = new ClusterConfig("remote", baseUrl + "/graphql", true);
+
+    // When - applications and bookmarks are fetched concurrently
+    var applications = client.fetchApplicationSnapshot(config, "remote");
+    var bookmarks = client.fetchBookmarkSnapshot(config, "remote");
+
+    // Then
+    List<ApplicationResponse> apps = applications.join();
+    List<BookmarkResponse> bks = bookmarks.join();
+    assertEquals(2, apps.size(), "Both applications should be parsed");
+    assertEquals("remote", apps.get(0).getCluster(), "Cluster name should be overridden");
+    assertEquals(1, bks.size(), "The bookmark should be parsed");
+    assertEquals("docs", bks.get(0).getName());
+  }
+
+  @Test
+  void testCircuitBreakerOpensAfterConsecutiveFailures() {
+    // Given
+    RemoteStartpunktClient client =
+        new RemoteStartpunktClient(
+            Duration.ofSeconds(5), 2, Duration.ofMinutes(1), false, meterRegistry);
+    ClusterConfig config = new ClusterConfig("flaky", baseUrl + "/failing", true);
+
+    // When
+    assertThrows(
+        CompletionException.class, () -> client.fetchApplicationSnapshot(config, "flaky").join());
+    assertFalse(client.isCircuitOpen("flaky"), "One failure should not open the breaker");
+    assertThrows(
+        CompletionException.class, () -> client.fetchBookmarkSnapshot(config, "flaky").join());
+
+    // Then - further fetches fail fast without reaching the remote
+    assertTrue(client.isCircuitOpen("flaky"), "Breaker should open at the threshold");
+    assertThrows(
+        CompletionException.class, () -> client.fetchApplicationSnapshot(config, "flaky").join());
+    assertEquals(2, failingRequests.get(), "No request should be sent while the breaker is open");
+  }
+
+  @Test
+  void testMissingUrlFails() {
+    // Given
+    RemoteStartpunktClient client =
+        new RemoteStartpunktClient(
+            Duration.ofSeconds(5), 3, Duration.ofMinutes(1), false, meterRegistry);
+
+    // When/Then
+    CompletionException error =
+        assertThrows(
+            CompletionException.class,
+            () ->
+                client
+                    .fetchApplicationSnapshot(new ClusterConfig("none", null, true), "none")
+                    .join());
+    assertInstanceOf(IllegalArgumentException.class, error.getCause());
+  }
+
+  @Test
+  void testWebSocketUriDerivedFromGraphqlUrl() {
+    // When/Then
+    assertEquals(
+        "wss://startpunkt.example.com/graphql",
+        RemoteStartpunktClient.toWebSocketUri("https://startpunkt.example.com/graphql").toString());
+    assertEquals(
+        "ws://localhost:8080/graphql",
+        RemoteStartpunktClient.toWebSocketUri("http://localhost:8080/graphql").toString());
+  }
+
+  @Test
+  void testIncrementalSyncAppliesOnlyChanges() {
+    // Given
+    RemoteStartpunktClient client =
+        new RemoteStartpunktClient(
+            Duration.ofSeconds(5), 3, Duration.ofMinutes(1), false, meterRegistry);
+    ClusterConfig config = new ClusterConfig("remote", baseUrl + "/incremental", true);
+
+    // When
+    List<ApplicationResponse> first = client.fetchApplicationSnapshot(config, "remote").join();
+    List<ApplicationResponse> second = client.fetchApplicationSnapshot(config, "remote").join();
+
+    // Then - the second sync sends the version of the first and applies the delta
+    assertEquals(2, first.size(), "The first sync should receive everything");
+    assertTrue(incrementalRequests.get(1).contains("\"since\":\"e-1\""), "Version should be sent");
+    assertEquals(
+        List.of("two", "three"),
+        second.stream().map(ApplicationResponse::getName).toList(),
+        "The removed application should be dropped and the new one added");
+    assertEquals("remote", second.get(1).getCluster(), "Cluster name should be overridden");
+    assertEquals(
+        2,
+        meterRegistry
+            .get("startpunkt.remote.sync")
+            .tags("cluster", "remote", "kind", "applications", "outcome", "success")
+            .timer()
+            .count(),
+        "Both synchronizations should be timed");
+  }
+
+  @Test
+  void testVersionsOfOtherEpochsAreNewer() {
+    // When/Then
+    assertTrue(RemoteStartpunktClient.isNewer("abc-5", null));
+    assertTrue(RemoteStartpunktClient.isNewer("abc-5", "abc-4"));
+    assertFalse(RemoteStartpunktClient.isNewer("abc-4", "abc-5"), "Stale responses are skipped");
+    assertTrue(RemoteStartpunktClient.isNewer("def-1", "abc-5"), "A restarted remote wins");
+  }
+
+  @Test
+  void testBinarySyncAppliesOnlyChanges() {
+    // Given
+    RemoteStartpunktClient client =
+        new RemoteStartpunktClient(
+            Duration.ofSeconds(5), 3, Duration.ofMinutes(1), true, meterRegistry);
+    ClusterConfig config = new ClusterConfig("remote", baseUrl + "/binary/graphql", true);
+
+    // When
+    List<ApplicationResponse> first = client.fetchApplicationSnapshot(config, "remote").join();
+    List<ApplicationResponse> second = client.fetchApplicationSnapshot(config, "remote").join();
+
+    // Then - the sync endpoint next to the GraphQL endpoint is used with the previous version
+    assertEquals(List.of("", "since=e-1"), binaryRequests, "Version should be sent");
+    assertEquals(2, first.size(), "The first sync should receive everything");
+    assertEquals(
+        List.of("two", "three"),
+        second.stream().map(ApplicationResponse::getName).toList(),
+        "The removed application should be dropped and the new one added");
+    assertEquals("remote", second.get(1).getCluster(), "Cluster name should be overridden");
+    assertEquals("https://three", second.get(1).getUrl());
+  }
+
+  @Test
+  void testBinarySyncFallsBackToGraphql() {
+    // Given - a remote without the sync endpoint
+    RemoteStartpunktClient client =
+        new RemoteStartpunktClient(
+            Duration.ofSeconds(5), 3, Duration.ofMinutes(1), true, meterRegistry);
+    ClusterConfig config = new ClusterConfig("remote", baseUrl + "/graphql", true);
+
+    // When
+    List<ApplicationResponse> apps = client.fetchApplicationSnapshot(config, "remote").join();
+
+    // Then
+    assertEquals(2, apps.size(), "Applications should be fetched over GraphQL instead");
+  }
+
+  @Test
+  void testSyncUriDerivedFromGraphqlUrl() {
+    // When/Then
+    assertEquals(
+        "https://startpunkt.example.com/api/sync/applications",
+        RemoteStartpunktClient.toSyncUri(
+                "https://startpunkt.example.com/graphql", SyncFormat.APPLICATIONS_PATH, null)
+            .toString());
+    assertEquals(
+        "http://localhost:8080/startpunkt/api/sync/bookmarks?since=abc-5",
+        RemoteStartpunktClient.toSyncUri(
+                "http://localhost:8080/startpunkt/graphql", SyncFormat.BOOKMARKS_PATH, "abc-5")
+            .toString());
+  }
+}
@@ -0,0 +1,141 @@
+package us.ullberg.startpunkt.sync;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.management.OperatingSystemMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.logging.Log;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import us.ullberg.startpunkt.config.ClusterConfig;
+import us.ullberg.startpunkt.objects.ApplicationResponse;
+import us.ullberg.startpunkt.service.ApplicationCacheService;
+import us.ullberg.startpunkt.service.RemoteStartpunktClient;
+
+/**
+ * Compares a large full sync over the binary sync endpoint with the GraphQL {@code
+ * applicationChanges} query it replaces. Both are served by the running application and fetched by
+ * RemoteStartpunktClient, so the GraphQL side includes parsing, validating and executing the query.
+ * The CPU time is that of the whole process, server and client. Disabled by default; run it with
+ * {@code mvn test -Dtest=SyncFormatBenchmarkTest -Dstartpunkt.benchmark=true}.
+ */
+@QuarkusTest
+@EnabledIfSystemProperty(named = "startpunkt.benchmark", matches = "true")
+class SyncFormatBenchmarkTest {
+
+  private static final String PARTITION = "benchmark";
+  private static final int APPLICATIONS = 5000;
+  private static final int ROUNDS = 20;
+
+  // The fields RemoteStartpunktClient requests
+  private static final String APPLICATION_CHANGES_QUERY =
+      "{\"query\": \"{ applicationChanges { version full changed { name group icon url targetBlank"
+          + " location info tags rootPath namespace resourceName hasOwnerReferences cluster }"
+          + " removed { cluster namespace resourceName } } }\"}";
+
+  @Inject ApplicationCacheService applicationCacheService;
+
+  @TestHTTPResource("/graphql")
+  URL graphqlUrl;
+
+  @BeforeEach
+  void setUp() {
+    applicationCacheService.replacePartition(PARTITION, SyncFormatTest.apps(APPLICATIONS));
+  }
+
+  @AfterEach
+  void tearDown() {
+    applicationCacheService.replacePartition(PARTITION, List.of());
+  }
+
+  @Test
+  void testBinarySyncAgainstGraphql() {
+    // Given - a full sync of 5k applications
+    ClusterConfig config = new ClusterConfig("benchmark", graphqlUrl.toString(), true);
+    byte[] binaryBody =
+        given()
+            .when()
+            .get("/" + SyncFormat.APPLICATIONS_PATH)
+            .then()
+            .statusCode(200)
+            .extract()
+            .asByteArray();
+    byte[] graphqlBody =
+        given()
+            .contentType("application/json")
+            .body(APPLICATION_CHANGES_QUERY)
+            .when()
+            .post("/graphql")
+            .then()
+            .statusCode(200)
+            .extract()
+            .asByteArray();
+
+    // When - both are fetched repeatedly after a warm-up round, by new clients each time so that
+    // every sync is a full one
+    Sample binary = new Sample();
+    Sample graphql = new Sample();
+    for (int round = 0; round <= ROUNDS; round++) {
+      Sample binaryRound = fullSync(config, true);
+      Sample graphqlRound = fullSync(config, false);
+      if (round > 0) {
+        binary.add(binaryRound);
+        graphql.add(graphqlRound);
+      }
+    }
+
+    // Then
+    Log.infof(
+        "Full sync of %d applications: binary %d bytes, %.1f ms, %.1f ms CPU; GraphQL %d bytes,"
+            + " %.1f ms, %.1f ms CPU",
+        APPLICATIONS,
+        binaryBody.length,
+        binary.wallNanos / 1e6 / ROUNDS,
+        binary.cpuNanos / 1e6 / ROUNDS,
+        graphqlBody.length,
+        graphql.wallNanos / 1e6 / ROUNDS,
+        graphql.cpuNanos / 1e6 / ROUNDS);
+    assertTrue(binaryBody.length < graphqlBody.length, "Binary sync should be smaller than JSON");
+  }
+
+  private Sample fullSync(ClusterConfig config, boolean binarySync) {
+    RemoteStartpunktClient client =
+        new RemoteStartpunktClient(
+            Duration.ofSeconds(30),
+            3,
+            Duration.ofMinutes(1),
+            binarySync,
+            new SimpleMeterRegistry());
+    OperatingSystemMXBean os =
+        (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    Sample sample = new Sample();
+    long startedCpu = os.getProcessCpuTime();
+    long started = System.nanoTime();
+    List<ApplicationResponse> apps = client.fetchApplicationSnapshot(config, "benchmark").join();
+    sample.wallNanos = System.nanoTime() - started;
+    sample.cpuNanos = os.getProcessCpuTime() - startedCpu;
+    assertTrue(apps.size() >= APPLICATIONS, "Every application should be synchronized");
+    return sample;
+  }
+
+  /** Wall-clock and process CPU time of one or more syncs. */
+  private static class Sample {
+    long wallNanos;
+    long cpuNanos;
+
+    void add(Sample other) {
+      wallNanos += other.wallNanos;
+      cpuNanos += other.cpuNanos;
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package us.ullberg.startpunkt.sync;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import us.ullberg.startpunkt.graphql.types.ApplicationChangesType;
+import us.ullberg.startpunkt.graphql.types.ApplicationType;
+import us.ullberg.startpunkt.objects.ApplicationResponse;
+import us.ullberg.startpunkt.service.CacheChanges;
+
+/**
+ * Unit tests for SyncFormat, including a size comparison of the binary sync format with the GraphQL
+ * JSON response it replaces. {@link SyncFormatBenchmarkTest} compares full syncs through the
+ * running endpoints, including the GraphQL engine.
+ */
+class SyncFormatTest {
+
+  static ApplicationResponse app(int i) {
+    ApplicationResponse app = new ApplicationResponse();
+    app.setName("application-" + i);
+    app.setGroup("group-" + (i % 25));
+    app.setIcon("mdi:application");
+    app.setUrl("https://application-" + i + ".apps.example.com");
+    app.setInfo("Application number " + i);
+    app.setTargetBlank(true);
+    app.setLocation(i % 100);
+    app.setNamespace("namespace-" + (i % 40));
+    app.setResourceName("application-" + i);
+    app.setHasOwnerReferences(false);
+    app.setCluster("local");
+    return app;
+  }
+
+  static List<ApplicationResponse> apps(int count) {
+    List<ApplicationResponse> apps = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      apps.add(app(i));
+    }
+    return apps;
+  }
+
+  static List<ApplicationResponse> decode(byte[] body) throws IOException {
+    try (JsonParser parser = SyncFormat.createParser(new ByteArrayInputStream(body))) {
+      assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+      SyncFormat.Header header = parser.readValueAs(SyncFormat.Header.class);
+      List<ApplicationResponse> apps = new ArrayList<>();
+      for (int i = 0; i < header.changed() + header.removed(); i++) {
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        apps.add(parser.readValueAs(ApplicationResponse.class));
+      }
+      assertNull(parser.nextToken(), "No records should follow the announced ones");
+      return apps;
+    }
+  }
+
+  @Test
+  void testApplicationsRoundTrip() throws IOException {
+    // Given
+    ApplicationResponse tagged = app(2);
+    tagged.setTags("admin");
+    CacheChanges<ApplicationResponse> changes =
+        new CacheChanges<>("e-7", false, List.of(app(1), tagged), List.of(app(3)));
+
+    // When
+    byte[] body = SyncFormat.encodeApplications(changes);
+
+    // Then - tagged applications are reported as removed, like applicationChanges does
+    try (JsonParser parser = SyncFormat.createParser(new ByteArrayInputStream(body))) {
+      parser.nextToken();
+      assertEquals(
+          new SyncFormat.Header("e-7", false, 1, 2), parser.readValueAs(SyncFormat.Header.class));
+    }
+    List<ApplicationResponse> records = decode(body);
+    assertEquals("application-1", records.get(0).getName());
+    assertEquals("https://application-1.apps.example.com", records.get(0).getUrl());
+    assertEquals(1, records.get(0).getLocation());
+    assertEquals("application-2", records.get(1).getResourceName());
+    assertEquals("application-3", records.get(2).getResourceName());
+  }
+
+  @Test
+  void testBinarySyncIsSmallerThanGraphql() throws IOException {
+    // Given - a full sync, and the GraphQL response carrying the same fields
+    List<ApplicationResponse> apps = apps(200);
+    CacheChanges<ApplicationResponse> changes = new CacheChanges<>("e-1", true, apps, List.of());
+    ObjectMapper json = jsonMapper();
+
+    // When
+    byte[] binaryBody = SyncFormat.encodeApplications(changes);
+    byte[] jsonBody = json.writeValueAsBytes(graphqlResponse(changes));
+
+    // Then
+    assertEquals(apps.size(), decode(binaryBody).size());
+    assertEquals(apps.size(), decodeJson(json, jsonBody).size());
+    assertTrue(
+        binaryBody.length < jsonBody.length,
+        "Binary sync (" + binaryBody.length + " bytes) should be smaller than JSON");
+  }
+
+  /** Creates the mapper the GraphQL endpoint serializes its responses with. */
+  static ObjectMapper jsonMapper() {
+    return new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+  }
+
+  /** Builds the GraphQL applicationChanges response carrying the same applications. */
+  static Map<String, Object> graphqlResponse(CacheChanges<ApplicationResponse> changes) {
+    ApplicationChangesType graphql = new ApplicationChangesType();
+    graphql.version = changes.version();
+    graphql.full = changes.full();
+    graphql.changed = changes.changed().stream().map(ApplicationType::fromResponse).toList();
+    graphql.removed = List.of();
+    return Map.of("data", Map.of("applicationChanges", graphql));
+  }
+
+  /** Streams the GraphQL JSON response the way RemoteStartpunktClient reads it. */
+  static List<ApplicationResponse> decodeJson(ObjectMapper json, byte[] body)
+      throws IOException {
+    List<ApplicationResponse> apps = new ArrayList<>();
+    try (JsonParser parser = json.createParser(body)) {
+      while (parser.nextToken() != null) {
+        if (parser.currentToken() == JsonToken.FIELD_NAME
+            && "changed".equals(parser.currentName())) {
+          parser.nextToken();
+          while (parser.nextToken() == JsonToken.START_OBJECT) {
+            apps.add(parser.readValueAs(ApplicationResponse.class));
+          }
+        }
+      }
+    }
+    return apps;
+  }
+}
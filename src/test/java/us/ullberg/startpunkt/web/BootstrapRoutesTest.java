@@ -0,0 +1,59 @@
+package us.ullberg.startpunkt.web;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.quarkus.test.junit.QuarkusTest;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Integration tests for the bootstrap document served to the web UI on first load. */
+@QuarkusTest
+class BootstrapRoutesTest {
+
+  @Test
+  void testBootstrapDocument() {
+    given()
+        .queryParam("language", "sv-SE")
+        .when()
+        .get("/api/bootstrap")
+        .then()
+        .statusCode(200)
+        .header("ETag", notNullValue())
+        .body("config.web.title", notNullValue())
+        .body("theme.light.bodyBgColor", notNullValue())
+        .body("translations.home.applications", equalTo("Program"))
+        .body("activeClusters", notNullValue())
+        .body("applicationGroups", notNullValue())
+        .body("bookmarkGroups", notNullValue());
+  }
+
+  @Test
+  void testRevalidationWithETag() {
+    // Given
+    String etag =
+        given()
+            .queryParam("language", "en-US")
+            .when()
+            .get("/api/bootstrap")
+            .then()
+            .extract()
+            .header("ETag");
+
+    // When/Then - nothing changed, so the document is not sent again
+    given()
+        .queryParam("language", "en-US")
+        .header("If-None-Match", etag)
+        .when()
+        .get("/api/bootstrap")
+        .then()
+        .statusCode(304);
+  }
+
+  @Test
+  void testParseTags() {
+    assertEquals(List.of("admin", "dev"), BootstrapRoutes.parseTags(" Dev,admin,,dev "));
+    assertEquals(List.of(), BootstrapRoutes.parseTags(null));
+  }
+}